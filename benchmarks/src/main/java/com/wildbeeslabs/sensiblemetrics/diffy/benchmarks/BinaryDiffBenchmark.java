@@ -0,0 +1,102 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software andAll associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, andAll/or sell
+ * copies of the Software, andAll to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice andAll this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.benchmarks;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.core.entry.utils.BinaryDiffResult;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.service.BinaryDiff;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link BinaryDiff} benchmark
+ * <p>
+ * Compares equal sized contents which differ in a few bytes spread over the second half,
+ * both as in-memory streams and as files.
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class BinaryDiffBenchmark {
+
+    @Param({"4096", "1048576", "67108864"})
+    private int size;
+    @Param({"1", "64"})
+    private int differences;
+
+    private final BinaryDiff binaryDiff = new BinaryDiff();
+    private byte[] expected;
+    private byte[] actual;
+    private Path expectedPath;
+    private Path actualPath;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        final Random random = new Random(this.size);
+        this.expected = new byte[this.size];
+        random.nextBytes(this.expected);
+        this.actual = this.expected.clone();
+        for (int i = 0; i < this.differences; i++) {
+            final int position = this.size / 2 + random.nextInt(this.size / 2);
+            this.actual[position] = (byte) ~this.actual[position];
+        }
+        this.expectedPath = Files.createTempFile("diffy-expected", ".bin");
+        this.actualPath = Files.createTempFile("diffy-actual", ".bin");
+        Files.write(this.expectedPath, this.expected);
+        Files.write(this.actualPath, this.actual);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(this.expectedPath);
+        Files.deleteIfExists(this.actualPath);
+    }
+
+    @Benchmark
+    public BinaryDiffResult diffStreams() throws IOException {
+        return this.binaryDiff.diff(new ByteArrayInputStream(this.actual), new ByteArrayInputStream(this.expected));
+    }
+
+    @Benchmark
+    public BinaryDiffResult diffFiles() throws IOException {
+        return this.binaryDiff.diff(this.actualPath, this.expectedPath);
+    }
+
+    @Benchmark
+    public BinaryDiffResult diffAllFiles() throws IOException {
+        return this.binaryDiff.diffAll(this.actualPath, this.expectedPath);
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software andAll associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, andAll/or sell
+ * copies of the Software, andAll to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice andAll this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.benchmarks;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Patch;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.interfaces.DiffAlgorithm;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.service.DiffAlgorithmService;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.service.HistogramDiffAlgorithmService;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.service.LinearSpaceDiffAlgorithmService;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.service.ParallelDiffAlgorithmService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * {@link DiffAlgorithm} benchmark on synthetic line sequences
+ * <p>
+ * Revised sequence is derived from the original one by random deletions, replacements and insertions
+ * with the given change rate.
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class DiffAlgorithmBenchmark {
+
+    /**
+     * Default {@link DiffAlgorithm} types
+     */
+    public enum AlgorithmType {
+        MYERS(DiffAlgorithmService::new),
+        MYERS_INTERNING(() -> new DiffAlgorithmService<>(true)),
+        LINEAR_SPACE(LinearSpaceDiffAlgorithmService::new),
+        HISTOGRAM(HistogramDiffAlgorithmService::new),
+        PARALLEL(ParallelDiffAlgorithmService::new);
+
+        private final Supplier<DiffAlgorithm<String>> supplier;
+
+        AlgorithmType(final Supplier<DiffAlgorithm<String>> supplier) {
+            this.supplier = supplier;
+        }
+
+        public DiffAlgorithm<String> create() {
+            return this.supplier.get();
+        }
+    }
+
+    @Param({"1000", "10000", "100000"})
+    private int size;
+    @Param({"0.001", "0.01"})
+    private double changeRate;
+    @Param
+    private AlgorithmType algorithm;
+
+    private List<String> original;
+    private List<String> revised;
+    private DiffAlgorithm<String> service;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final Random random = new Random(this.size);
+        this.original = new ArrayList<>(this.size);
+        for (int i = 0; i < this.size; i++) {
+            this.original.add(line(random));
+        }
+        this.revised = new ArrayList<>(this.size);
+        for (final String value : this.original) {
+            if (random.nextDouble() >= this.changeRate) {
+                this.revised.add(value);
+                continue;
+            }
+            switch (random.nextInt(3)) {
+                case 0:
+                    break;
+                case 1:
+                    this.revised.add(line(random));
+                    break;
+                default:
+                    this.revised.add(value);
+                    this.revised.add(line(random));
+            }
+        }
+        this.service = this.algorithm.create();
+    }
+
+    @Benchmark
+    public Patch<String> diff() {
+        return this.service.diff(this.original, this.revised);
+    }
+
+    private static String line(final Random random) {
+        return "line " + random.nextInt(Integer.MAX_VALUE);
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software andAll associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, andAll/or sell
+ * copies of the Software, andAll to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice andAll this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.benchmarks;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.comparator.service.DefaultDiffComparator;
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.entry.iface.DiffEntry;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link DefaultDiffComparator#diffCompare(Object, Object)} benchmark
+ * <p>
+ * Every invocation compares the given number of object pairs, about half of them differing in one property.
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DiffComparatorBenchmark {
+
+    /**
+     * Default benchmark model
+     */
+    @Data
+    @AllArgsConstructor
+    public static class Item {
+        private int id;
+        private long timestamp;
+        private String name;
+        private String description;
+        private BigDecimal amount;
+        private Locale locale;
+        private List<String> tags;
+        private boolean enabled;
+    }
+
+    @Param({"1", "100", "10000"})
+    private int size;
+
+    private final DefaultDiffComparator<Item> comparator = new DefaultDiffComparator<>(Item.class);
+    private Item[] first;
+    private Item[] last;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final Random random = new Random(this.size);
+        this.first = new Item[this.size];
+        this.last = new Item[this.size];
+        for (int i = 0; i < this.size; i++) {
+            this.first[i] = item(i);
+            this.last[i] = item(i);
+            if (random.nextBoolean()) {
+                this.last[i].setName(this.last[i].getName() + "-changed");
+            }
+        }
+    }
+
+    @Benchmark
+    public void diffCompare(final Blackhole blackhole) {
+        for (int i = 0; i < this.size; i++) {
+            final Iterable<DiffEntry<?>> entries = this.comparator.diffCompare(this.first[i], this.last[i]);
+            blackhole.consume(entries);
+        }
+    }
+
+    private static Item item(int id) {
+        final Random random = new Random(id);
+        return new Item(id, random.nextLong(), "item-" + id, "description of item " + id,
+            BigDecimal.valueOf(random.nextInt(100_000), 2), Locale.ENGLISH,
+            new ArrayList<>(Arrays.asList("tag-" + random.nextInt(10), "tag-" + random.nextInt(10))), random.nextBoolean());
+    }
+}
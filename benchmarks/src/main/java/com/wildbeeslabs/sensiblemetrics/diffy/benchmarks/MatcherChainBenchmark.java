@@ -0,0 +1,119 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software andAll associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, andAll/or sell
+ * copies of the Software, andAll to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice andAll this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.benchmarks;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.interfaces.Matcher;
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.service.StringMatcher;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Composite {@link Matcher} chain benchmark
+ * <p>
+ * Chains of the given depth mix plain lambda matchers with {@link StringMatcher}s and are evaluated
+ * against a fixed batch of values, so results are reported per batch.
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MatcherChainBenchmark {
+
+    /**
+     * Default batch size
+     */
+    private static final int BATCH_SIZE = 1024;
+
+    @Param({"2", "8", "32"})
+    private int depth;
+
+    private final String[] values = new String[BATCH_SIZE];
+    private Matcher<String> andChain;
+    private Matcher<String> orChain;
+    private Matcher<String> andAll;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        final Random random = new Random(this.depth);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            this.values[i] = "value-" + random.nextInt(1000) + "-" + Integer.toHexString(random.nextInt());
+        }
+        final Matcher<String>[] matchers = new Matcher[this.depth];
+        for (int i = 0; i < this.depth; i++) {
+            matchers[i] = this.matcher(i);
+        }
+        this.andChain = matchers[0];
+        this.orChain = matchers[0].negate();
+        for (int i = 1; i < this.depth; i++) {
+            this.andChain = this.andChain.and(matchers[i]);
+            this.orChain = this.orChain.or(matchers[i].negate());
+        }
+        this.andAll = Matcher.andAll(matchers);
+    }
+
+    @Benchmark
+    public int andChain() {
+        return this.count(this.andChain);
+    }
+
+    @Benchmark
+    public int orChain() {
+        return this.count(this.orChain);
+    }
+
+    @Benchmark
+    public int andAll() {
+        return this.count(this.andAll);
+    }
+
+    private int count(final Matcher<String> matcher) {
+        int result = 0;
+        for (final String value : this.values) {
+            if (matcher.matches(value)) {
+                result++;
+            }
+        }
+        return result;
+    }
+
+    private Matcher<String> matcher(int index) {
+        switch (index % 3) {
+            case 0:
+                return new StringMatcher("value-", StringMatcher.MatchModeType.STARTS_WITH);
+            case 1:
+                return value -> value.length() > index % 8;
+            default:
+                return new StringMatcher("-", StringMatcher.MatchModeType.CONTAINS);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software andAll associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, andAll/or sell
+ * copies of the Software, andAll to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice andAll this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.benchmarks;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.comparator.interfaces.PropertyAccessor;
+import com.wildbeeslabs.sensiblemetrics.diffy.comparator.utils.PropertyAccessorUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Field;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link PropertyAccessor} benchmark against reflective {@link Field#get(Object)}
+ * <p>
+ * Every invocation reads all properties of the given number of objects, mixing primitive and reference fields.
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PropertyAccessorBenchmark {
+
+    /**
+     * Default benchmark model
+     */
+    public static class Item {
+        private int id;
+        private long timestamp;
+        private String name;
+        private double amount;
+        private Item parent;
+    }
+
+    @Param({"100", "10000"})
+    private int size;
+
+    private Item[] items;
+    private Field[] fields;
+    private PropertyAccessor<Item>[] accessors;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setup() throws NoSuchFieldException {
+        final String[] names = {"id", "timestamp", "name", "amount", "parent"};
+        this.fields = new Field[names.length];
+        this.accessors = new PropertyAccessor[names.length];
+        for (int i = 0; i < names.length; i++) {
+            this.fields[i] = Item.class.getDeclaredField(names[i]);
+            this.fields[i].setAccessible(true);
+            this.accessors[i] = (PropertyAccessor<Item>) PropertyAccessorUtils.getAccessors(Item.class).get(names[i]);
+        }
+        final Random random = new Random(this.size);
+        this.items = new Item[this.size];
+        for (int i = 0; i < this.size; i++) {
+            final Item item = new Item();
+            item.id = i;
+            item.timestamp = random.nextLong();
+            item.name = "item-" + i;
+            item.amount = random.nextDouble();
+            item.parent = i > 0 ? this.items[i - 1] : null;
+            this.items[i] = item;
+        }
+    }
+
+    @Benchmark
+    public void fieldGet(final Blackhole blackhole) throws IllegalAccessException {
+        for (final Item item : this.items) {
+            for (final Field field : this.fields) {
+                blackhole.consume(field.get(item));
+            }
+        }
+    }
+
+    @Benchmark
+    public void propertyAccessor(final Blackhole blackhole) {
+        for (final Item item : this.items) {
+            for (final PropertyAccessor<Item> accessor : this.accessors) {
+                blackhole.consume(accessor.get(item));
+            }
+        }
+    }
+}
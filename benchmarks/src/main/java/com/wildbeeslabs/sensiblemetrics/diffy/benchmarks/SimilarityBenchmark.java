@@ -0,0 +1,89 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software andAll associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, andAll/or sell
+ * copies of the Software, andAll to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice andAll this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.benchmarks;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.metrics.distance.CosineDistance;
+import com.wildbeeslabs.sensiblemetrics.diffy.metrics.distance.LevenshteinDistance;
+import com.wildbeeslabs.sensiblemetrics.diffy.metrics.score.JaroWinklerScore;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * String similarity metrics benchmark
+ * <p>
+ * Right input is the left one with about a tenth of the characters replaced; words are separated by spaces
+ * so {@link CosineDistance} has terms to count.
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SimilarityBenchmark {
+
+    @Param({"16", "256", "4096"})
+    private int length;
+
+    private final LevenshteinDistance levenshteinDistance = LevenshteinDistance.getDefaultInstance();
+    private final JaroWinklerScore jaroWinklerScore = new JaroWinklerScore();
+    private final CosineDistance cosineDistance = new CosineDistance();
+    private String left;
+    private String right;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final Random random = new Random(this.length);
+        final char[] chars = new char[this.length];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = (random.nextInt(6) == 0) ? ' ' : (char) ('a' + random.nextInt(26));
+        }
+        this.left = new String(chars);
+        for (int i = 0; i < chars.length / 10; i++) {
+            chars[random.nextInt(chars.length)] = (char) ('a' + random.nextInt(26));
+        }
+        this.right = new String(chars);
+    }
+
+    @Benchmark
+    public Integer levenshteinDistance() {
+        return this.levenshteinDistance.apply(this.left, this.right);
+    }
+
+    @Benchmark
+    public Double jaroWinklerScore() {
+        return this.jaroWinklerScore.apply(this.left, this.right);
+    }
+
+    @Benchmark
+    public Double cosineDistance() {
+        return this.cosineDistance.apply(this.left, this.right);
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software andAll associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, andAll/or sell
+ * copies of the Software, andAll to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice andAll this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.benchmarks;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Patch;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.interfaces.DiffAlgorithm;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * {@link DiffAlgorithm} benchmark on real source text
+ * <p>
+ * Input is a pair of revisions of a source file, repeated the given number of times to scale the input.
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class TextDiffBenchmark {
+
+    @Param({"1", "16", "128"})
+    private int copies;
+    @Param
+    private DiffAlgorithmBenchmark.AlgorithmType algorithm;
+
+    private List<String> original;
+    private List<String> revised;
+    private DiffAlgorithm<String> service;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        this.original = repeat(readLines("/text/original.txt"), this.copies);
+        this.revised = repeat(readLines("/text/revised.txt"), this.copies);
+        this.service = this.algorithm.create();
+    }
+
+    @Benchmark
+    public Patch<String> diff() {
+        return this.service.diff(this.original, this.revised);
+    }
+
+    private static List<String> readLines(final String resource) throws IOException {
+        try (final BufferedReader reader = new BufferedReader(new InputStreamReader(TextDiffBenchmark.class.getResourceAsStream(resource), StandardCharsets.UTF_8))) {
+            return reader.lines().collect(Collectors.toList());
+        }
+    }
+
+    private static List<String> repeat(final List<String> lines, int copies) {
+        final List<String> result = new ArrayList<>(lines.size() * copies);
+        for (int i = 0; i < copies; i++) {
+            result.addAll(lines);
+        }
+        return result;
+    }
+}
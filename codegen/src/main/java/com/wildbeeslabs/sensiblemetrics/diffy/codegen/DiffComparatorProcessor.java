@@ -0,0 +1,378 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software andAll associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, andAll/or sell
+ * copies of the Software, andAll to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice andAll this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.codegen;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.*;
+
+/**
+ * Difference comparator annotation processor implementation
+ * <p>
+ * Generates {@code <Name>_DiffComparator} and {@code <Name>_Comparator} classes next to every class annotated with
+ * {@code @Diffable} or {@code @Priority}. Generated classes read the properties compared by {@code DefaultDiffComparator}
+ * (non-static, non-final fields of the class and its superclasses, superclass fields first) through direct field access,
+ * or through public getters for fields not accessible from the package, so no reflection is involved at runtime.
+ * Property values are compared with the null-safe comparators {@code DefaultDiffComparator} selects by property type
+ * (locale, currency, class, url, iterable, big decimal, object array or plain object), primitive values directly.
+ * Getters are expected to return the field value as is.
+ * Classes with inaccessible properties, generic, private or non-class types are skipped with a note,
+ * leaving them to the reflective comparators.
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+@SupportedAnnotationTypes({
+    DiffComparatorProcessor.DIFFABLE_ANNOTATION,
+    DiffComparatorProcessor.PRIORITY_ANNOTATION
+})
+public class DiffComparatorProcessor extends AbstractProcessor {
+
+    /**
+     * Default supported annotation names
+     */
+    static final String DIFFABLE_ANNOTATION = "com.wildbeeslabs.sensiblemetrics.diffy.comparator.annotation.Diffable";
+    static final String PRIORITY_ANNOTATION = "com.wildbeeslabs.sensiblemetrics.diffy.comparator.annotation.Priority";
+
+    /**
+     * Default generated class name suffixes
+     */
+    private static final String DIFF_COMPARATOR_SUFFIX = "_DiffComparator";
+    private static final String COMPARATOR_SUFFIX = "_Comparator";
+
+    /**
+     * Default referenced runtime types
+     */
+    private static final String DIFF_COMPARATOR_TYPE = "com.wildbeeslabs.sensiblemetrics.diffy.comparator.interfaces.DiffComparator";
+    private static final String DIFF_ENTRY_TYPE = "com.wildbeeslabs.sensiblemetrics.diffy.matcher.entry.iface.DiffEntry";
+    private static final String DEFAULT_DIFF_ENTRY_TYPE = "com.wildbeeslabs.sensiblemetrics.diffy.matcher.entry.impl.DefaultDiffEntry";
+    private static final String COMPARATOR_UTILS_TYPE = "com.wildbeeslabs.sensiblemetrics.diffy.comparator.utils.ComparatorUtils";
+    private static final String OBJECT_COMPARATOR_TYPE = COMPARATOR_UTILS_TYPE + ".DefaultNullSafeObjectComparator";
+
+    /**
+     * Default property comparator constants by property type, in {@code DefaultDiffComparator} lookup order
+     */
+    private static final Map<String, String> TYPED_COMPARATORS = new LinkedHashMap<>();
+
+    static {
+        TYPED_COMPARATORS.put(Locale.class.getName(), "LOCALE_COMPARATOR");
+        TYPED_COMPARATORS.put(Currency.class.getName(), "CURRENCY_COMPARATOR");
+        TYPED_COMPARATORS.put(Class.class.getName(), "CLASS_COMPARATOR");
+        TYPED_COMPARATORS.put(java.net.URL.class.getName(), "URL_COMPARATOR");
+        TYPED_COMPARATORS.put(Iterable.class.getName(), "ITERABLE_COMPARATOR");
+        TYPED_COMPARATORS.put(java.math.BigDecimal.class.getName(), "BIG_DECIMAL_COMPARATOR");
+    }
+
+    /**
+     * Default property comparator constant initializers
+     */
+    private static final Map<String, String> COMPARATOR_INITIALIZERS = new LinkedHashMap<>();
+
+    static {
+        COMPARATOR_INITIALIZERS.put("LOCALE_COMPARATOR", COMPARATOR_UTILS_TYPE + ".DefaultNullSafeLocaleComparator()");
+        COMPARATOR_INITIALIZERS.put("CURRENCY_COMPARATOR", COMPARATOR_UTILS_TYPE + ".DefaultNullSafeCurrencyComparator()");
+        COMPARATOR_INITIALIZERS.put("CLASS_COMPARATOR", COMPARATOR_UTILS_TYPE + ".DefaultNullSafeClassComparator()");
+        COMPARATOR_INITIALIZERS.put("URL_COMPARATOR", COMPARATOR_UTILS_TYPE + ".DefaultNullSafeUrlComparator()");
+        COMPARATOR_INITIALIZERS.put("ITERABLE_COMPARATOR", COMPARATOR_UTILS_TYPE + ".DefaultNullSafeIterableComparator<>()");
+        COMPARATOR_INITIALIZERS.put("BIG_DECIMAL_COMPARATOR", COMPARATOR_UTILS_TYPE + ".DefaultNullSafeBigDecimalComparator()");
+        COMPARATOR_INITIALIZERS.put("ARRAY_COMPARATOR", COMPARATOR_UTILS_TYPE + ".DefaultNullSafeArrayComparator<>()");
+        COMPARATOR_INITIALIZERS.put("PROPERTY_COMPARATOR", OBJECT_COMPARATOR_TYPE + "<>()");
+    }
+
+    /**
+     * Default processed type names
+     */
+    private final Set<String> processed = new HashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        for (final TypeElement annotation : annotations) {
+            for (final TypeElement type : ElementFilter.typesIn(roundEnv.getElementsAnnotatedWith(annotation))) {
+                if (this.processed.add(type.getQualifiedName().toString())) {
+                    this.process(type);
+                }
+            }
+        }
+        return false;
+    }
+
+    private void process(final TypeElement type) {
+        if (type.getKind() != ElementKind.CLASS || type.getModifiers().contains(Modifier.PRIVATE) || !type.getTypeParameters().isEmpty()
+            || type.getNestingKind() == NestingKind.LOCAL || type.getNestingKind() == NestingKind.ANONYMOUS
+            || (type.getNestingKind() == NestingKind.MEMBER && !type.getModifiers().contains(Modifier.STATIC))) {
+            this.note(type, "comparators are generated for non-private, non-generic top-level or static nested classes only");
+            return;
+        }
+        final String packageName = this.processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        final List<Property> properties = new ArrayList<>();
+        for (final VariableElement field : this.getFields(type)) {
+            final String accessor = this.getAccessor(field, packageName);
+            if (Objects.isNull(accessor)) {
+                this.note(field, "property is neither accessible from package " + packageName + " nor has a public getter");
+                return;
+            }
+            properties.add(new Property(field.getSimpleName().toString(), accessor, field.asType(), this.isComparable(field.asType()), this.getPropertyComparator(field.asType())));
+        }
+
+        final String binaryName = this.processingEnv.getElementUtils().getBinaryName(type).toString();
+        final String simpleName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1)).replace('$', '_');
+        try {
+            this.writeDiffComparator(type, packageName, simpleName + DIFF_COMPARATOR_SUFFIX, properties);
+            this.writeComparator(type, packageName, simpleName + COMPARATOR_SUFFIX, properties);
+        } catch (IOException e) {
+            this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "cannot generate comparators: " + e.getMessage(), type);
+        }
+    }
+
+    private List<VariableElement> getFields(final TypeElement type) {
+        final Deque<TypeElement> hierarchy = new ArrayDeque<>();
+        for (TypeElement current = type; Objects.nonNull(current); current = this.getSuperclass(current)) {
+            hierarchy.push(current);
+        }
+        final List<VariableElement> fields = new ArrayList<>();
+        final Set<String> names = new HashSet<>();
+        for (final TypeElement current : hierarchy) {
+            for (final VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+                final Set<Modifier> modifiers = field.getModifiers();
+                if (!modifiers.contains(Modifier.STATIC) && !modifiers.contains(Modifier.FINAL) && names.add(field.getSimpleName().toString())) {
+                    fields.add(field);
+                }
+            }
+        }
+        return fields;
+    }
+
+    private TypeElement getSuperclass(final TypeElement type) {
+        final TypeMirror superclass = type.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        final TypeElement element = (TypeElement) ((DeclaredType) superclass).asElement();
+        return element.getQualifiedName().contentEquals(Object.class.getName()) ? null : element;
+    }
+
+    private String getAccessor(final VariableElement field, final String packageName) {
+        final Set<Modifier> modifiers = field.getModifiers();
+        final TypeElement owner = (TypeElement) field.getEnclosingElement();
+        final boolean samePackage = this.processingEnv.getElementUtils().getPackageOf(owner).getQualifiedName().contentEquals(packageName);
+        if (modifiers.contains(Modifier.PUBLIC) && owner.getModifiers().contains(Modifier.PUBLIC) || !modifiers.contains(Modifier.PRIVATE) && samePackage) {
+            return field.getSimpleName().toString();
+        }
+        final String name = field.getSimpleName().toString();
+        final String suffix = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        for (final ExecutableElement method : ElementFilter.methodsIn(owner.getEnclosedElements())) {
+            final String methodName = method.getSimpleName().toString();
+            if ((methodName.equals("get" + suffix) || methodName.equals("is" + suffix)) && method.getParameters().isEmpty()
+                && method.getModifiers().contains(Modifier.PUBLIC) && !method.getModifiers().contains(Modifier.STATIC)
+                && this.processingEnv.getTypeUtils().isSameType(method.getReturnType(), field.asType())) {
+                return methodName + "()";
+            }
+        }
+        return null;
+    }
+
+    private boolean isComparable(final TypeMirror type) {
+        return type.getKind().isPrimitive() || this.isAssignable(type, Comparable.class.getName());
+    }
+
+    private String getPropertyComparator(final TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return null;
+        }
+        for (final Map.Entry<String, String> entry : TYPED_COMPARATORS.entrySet()) {
+            if (this.isAssignable(type, entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        if (type.getKind() == TypeKind.ARRAY && !((ArrayType) type).getComponentType().getKind().isPrimitive()) {
+            return "ARRAY_COMPARATOR";
+        }
+        return "PROPERTY_COMPARATOR";
+    }
+
+    private boolean isAssignable(final TypeMirror type, final String typeName) {
+        final TypeElement element = this.processingEnv.getElementUtils().getTypeElement(typeName);
+        return Objects.nonNull(element) && this.processingEnv.getTypeUtils().isAssignable(
+            this.processingEnv.getTypeUtils().erasure(type),
+            this.processingEnv.getTypeUtils().erasure(element.asType())
+        );
+    }
+
+    private void writeDiffComparator(final TypeElement type, final String packageName, final String className, final List<Property> properties) throws IOException {
+        final String typeName = type.getQualifiedName().toString();
+        try (final PrintWriter out = this.createSource(type, packageName, className)) {
+            out.println("/**");
+            out.println(" * Generated difference comparator of {@link " + typeName + "}");
+            out.println(" */");
+            out.println("@SuppressWarnings(\"unchecked\")");
+            out.println("public final class " + className + " implements " + DIFF_COMPARATOR_TYPE + "<" + typeName + "> {");
+            out.println();
+            out.println("    private static final long serialVersionUID = 1L;");
+            out.println();
+            final Set<String> comparators = new LinkedHashSet<>();
+            properties.stream().map(property -> property.comparator).filter(Objects::nonNull).forEach(comparators::add);
+            for (final String comparator : comparators) {
+                out.println("    private static final java.util.Comparator<Object> " + comparator
+                    + " = (java.util.Comparator<Object>) (java.util.Comparator<?>) new " + COMPARATOR_INITIALIZERS.get(comparator) + ";");
+            }
+            if (!comparators.isEmpty()) {
+                out.println();
+            }
+            out.println("    @Override");
+            out.println("    public <S extends Iterable<? extends " + DIFF_ENTRY_TYPE + "<?>>> S diffCompare(final " + typeName + " first, final " + typeName + " last) {");
+            out.println("        final java.util.List<" + DIFF_ENTRY_TYPE + "<?>> result = new java.util.ArrayList<>();");
+            for (final Property property : properties) {
+                final String first = "first." + property.accessor;
+                final String last = "last." + property.accessor;
+                out.println("        if (" + this.getDifferenceCondition(property, first, last) + ") {");
+                out.println("            result.add(" + DEFAULT_DIFF_ENTRY_TYPE + ".of(\"" + property.name + "\", " + first + ", " + last + "));");
+                out.println("        }");
+            }
+            out.println("        return (S) result;");
+            out.println("    }");
+            out.println("}");
+        }
+    }
+
+    private void writeComparator(final TypeElement type, final String packageName, final String className, final List<Property> properties) throws IOException {
+        final String typeName = type.getQualifiedName().toString();
+        try (final PrintWriter out = this.createSource(type, packageName, className)) {
+            out.println("/**");
+            out.println(" * Generated comparator of {@link " + typeName + "} by properties in declaration order, nulls first");
+            out.println(" */");
+            out.println("public final class " + className + " implements java.util.Comparator<" + typeName + ">, java.io.Serializable {");
+            out.println();
+            out.println("    private static final long serialVersionUID = 1L;");
+            out.println();
+            out.println("    private static final java.util.Comparator<Object> PROPERTY_COMPARATOR = new " + OBJECT_COMPARATOR_TYPE + "<>();");
+            out.println("    private static final java.util.Comparator<Object> COMPARABLE_COMPARATOR = new " + OBJECT_COMPARATOR_TYPE + "<>(null, false);");
+            out.println();
+            out.println("    @Override");
+            out.println("    public int compare(final " + typeName + " first, final " + typeName + " last) {");
+            out.println("        if (first == last) return 0;");
+            out.println("        if (first == null) return -1;");
+            out.println("        if (last == null) return 1;");
+            out.println("        int result;");
+            for (final Property property : properties) {
+                out.println("        if ((result = " + this.getComparison(property, "first." + property.accessor, "last." + property.accessor) + ") != 0) return result;");
+            }
+            out.println("        return 0;");
+            out.println("    }");
+            out.println("}");
+        }
+    }
+
+    private String getDifferenceCondition(final Property property, final String first, final String last) {
+        switch (property.type.getKind()) {
+            case FLOAT:
+                return "Float.compare(" + first + ", " + last + ") != 0";
+            case DOUBLE:
+                return "Double.compare(" + first + ", " + last + ") != 0";
+            case BOOLEAN:
+            case BYTE:
+            case SHORT:
+            case CHAR:
+            case INT:
+            case LONG:
+                return first + " != " + last;
+            default:
+                return "java.util.Objects.compare(" + first + ", " + last + ", " + property.comparator + ") != 0";
+        }
+    }
+
+    private String getComparison(final Property property, final String first, final String last) {
+        switch (property.type.getKind()) {
+            case BOOLEAN:
+                return "Boolean.compare(" + first + ", " + last + ")";
+            case BYTE:
+                return "Byte.compare(" + first + ", " + last + ")";
+            case SHORT:
+                return "Short.compare(" + first + ", " + last + ")";
+            case CHAR:
+                return "Character.compare(" + first + ", " + last + ")";
+            case INT:
+                return "Integer.compare(" + first + ", " + last + ")";
+            case LONG:
+                return "Long.compare(" + first + ", " + last + ")";
+            case FLOAT:
+                return "Float.compare(" + first + ", " + last + ")";
+            case DOUBLE:
+                return "Double.compare(" + first + ", " + last + ")";
+            default:
+                return (property.comparable ? "COMPARABLE_COMPARATOR" : "PROPERTY_COMPARATOR") + ".compare(" + first + ", " + last + ")";
+        }
+    }
+
+    private PrintWriter createSource(final TypeElement type, final String packageName, final String className) throws IOException {
+        final String qualifiedName = packageName.isEmpty() ? className : packageName + "." + className;
+        final Writer writer = this.processingEnv.getFiler().createSourceFile(qualifiedName, type).openWriter();
+        final PrintWriter out = new PrintWriter(writer);
+        if (!packageName.isEmpty()) {
+            out.println("package " + packageName + ";");
+            out.println();
+        }
+        return out;
+    }
+
+    private void note(final Element element, final String message) {
+        this.processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, "Diffy: " + message + ", skipped", element);
+    }
+
+    /**
+     * Compared property
+     */
+    private static final class Property {
+        private final String name;
+        private final String accessor;
+        private final TypeMirror type;
+        private final boolean comparable;
+        private final String comparator;
+
+        Property(final String name, final String accessor, final TypeMirror type, boolean comparable, final String comparator) {
+            this.name = name;
+            this.accessor = accessor;
+            this.type = type;
+            this.comparable = comparable;
+            this.comparator = comparator;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+/**
+ * Diffy API module info
+ */
+module com.wildbeeslabs.sensiblemtrics.diffy.codegen {
+    requires java.compiler;
+
+    // provides comparator annotation processor
+    provides javax.annotation.processing.Processor with com.wildbeeslabs.sensiblemetrics.diffy.codegen.DiffComparatorProcessor;
+}
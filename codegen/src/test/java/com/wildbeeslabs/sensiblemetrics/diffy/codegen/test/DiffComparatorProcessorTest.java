@@ -0,0 +1,249 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software andAll associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, andAll/or sell
+ * copies of the Software, andAll to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice andAll this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.codegen.test;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.codegen.DiffComparatorProcessor;
+import com.wildbeeslabs.sensiblemetrics.diffy.comparator.factory.DefaultDiffComparatorFactory;
+import com.wildbeeslabs.sensiblemetrics.diffy.comparator.interfaces.DiffComparator;
+import com.wildbeeslabs.sensiblemetrics.diffy.comparator.service.DefaultDiffComparator;
+import com.wildbeeslabs.sensiblemetrics.diffy.comparator.utils.GeneratedComparatorUtils;
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.entry.iface.DiffEntry;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.rules.TemporaryFolder;
+
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * {@link DiffComparatorProcessor} unit test
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public class DiffComparatorProcessorTest {
+
+    /**
+     * Default fixture source with a property of every type with a dedicated comparator
+     */
+    private static final String FIXTURE_SOURCE = String.join("\n",
+        "package fixture;",
+        "",
+        "@com.wildbeeslabs.sensiblemetrics.diffy.comparator.annotation.Diffable",
+        "public class Fixture {",
+        "    public int count;",
+        "    public double ratio;",
+        "    public String name;",
+        "    public java.math.BigDecimal amount;",
+        "    public java.util.List<String> tags;",
+        "    public String[] codes;",
+        "    public java.util.Locale locale;",
+        "    public java.util.Currency currency;",
+        "    public Class<?> type;",
+        "    public java.net.URL url;",
+        "    private Object payload;",
+        "",
+        "    public Object getPayload() {",
+        "        return this.payload;",
+        "    }",
+        "}"
+    );
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Class<?> fixtureClass;
+
+    @Before
+    public void setUp() throws Exception {
+        final Path sources = this.folder.newFolder("sources").toPath();
+        final Path classes = this.folder.newFolder("classes").toPath();
+        final Path source = Files.createDirectories(sources.resolve("fixture")).resolve("Fixture.java");
+        Files.write(source, FIXTURE_SOURCE.getBytes(StandardCharsets.UTF_8));
+
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (final StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+            final JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null,
+                Arrays.asList("-classpath", System.getProperty("java.class.path"), "-d", classes.toString(), "-s", sources.toString()),
+                null, fileManager.getJavaFileObjects(source.toFile()));
+            task.setProcessors(Collections.singletonList(new DiffComparatorProcessor()));
+            assertThat(task.call(), equalTo(true));
+        }
+        final ClassLoader classLoader = new URLClassLoader(new URL[]{classes.toUri().toURL()}, this.getClass().getClassLoader());
+        this.fixtureClass = Class.forName("fixture.Fixture", true, classLoader);
+    }
+
+    @Test
+    @DisplayName("Test generated comparator selects typed property comparators")
+    public void testGeneratedSourceUsesTypedComparators() throws Exception {
+        // given
+        final String source = new String(Files.readAllBytes(
+            this.folder.getRoot().toPath().resolve("sources/fixture/Fixture_DiffComparator.java")), StandardCharsets.UTF_8);
+
+        // then
+        assertThat(source, containsString("DefaultNullSafeBigDecimalComparator"));
+        assertThat(source, containsString("DefaultNullSafeIterableComparator"));
+        assertThat(source, containsString("DefaultNullSafeArrayComparator"));
+        assertThat(source, containsString("DefaultNullSafeLocaleComparator"));
+        assertThat(source, containsString("DefaultNullSafeCurrencyComparator"));
+        assertThat(source, containsString("DefaultNullSafeClassComparator"));
+        assertThat(source, containsString("DefaultNullSafeUrlComparator"));
+        assertThat(source, containsString("\"tags\", first.tags, last.tags"));
+        assertThat(source, containsString("\"payload\", first.getPayload(), last.getPayload()"));
+    }
+
+    @Test
+    @DisplayName("Test generated comparator reports equal-valued distinct instances as reflective comparator does")
+    public void testGeneratedMatchesReflectiveOnEqualValues() throws Exception {
+        // given
+        final Object first = this.newFixture(1, 0.5d, "name", new BigDecimal("1.0"), new ArrayList<>(Arrays.asList("a", "b")),
+            new String[]{"x", "y"}, Locale.US, Currency.getInstance("USD"), String.class, new URL("http://localhost/a"), new StringBuilder("p"));
+        final Object last = this.newFixture(1, 0.5d, new String("name"), new BigDecimal("1.00"), new LinkedList<>(Arrays.asList("a", "b")),
+            new String[]{"x", "y"}, new Locale("en", "US"), Currency.getInstance("USD"), String.class, new URL("http://localhost/a"), new StringBuilder("p"));
+
+        // when
+        final List<String> generated = this.diffCompare(DefaultDiffComparatorFactory.createGenerated(this.fixtureClass), first, last);
+        final List<String> reflective = this.diffCompare(DefaultDiffComparatorFactory.create(this.fixtureClass), first, last);
+
+        // then
+        assertThat(generated, everyItem(not(isOneOf("codes", "tags", "locale", "url"))));
+        assertThat(generated, equalTo(reflective));
+    }
+
+    @Test
+    @DisplayName("Test generated comparator reports different values as reflective comparator does")
+    public void testGeneratedMatchesReflectiveOnDifferentValues() throws Exception {
+        // given
+        final Object first = this.newFixture(1, 0.5d, "name", new BigDecimal("1.0"), Arrays.asList("a", "b"),
+            new String[]{"x", "y"}, Locale.US, Currency.getInstance("USD"), String.class, new URL("http://localhost/a"), "p");
+        final Object last = this.newFixture(2, 1.5d, "other", new BigDecimal("2.0"), Arrays.asList("a", "c"),
+            new String[]{"x", "z"}, Locale.UK, Currency.getInstance("EUR"), CharSequence.class, new URL("http://localhost/b"), "q");
+        final Object empty = this.newFixture(1, 0.5d, null, null, null, null, null, null, null, null, null);
+
+        // when
+        final List<String> generated = this.diffCompare(DefaultDiffComparatorFactory.createGenerated(this.fixtureClass), first, last);
+        final List<String> reflective = this.diffCompare(DefaultDiffComparatorFactory.create(this.fixtureClass), first, last);
+        final List<String> generatedNulls = this.diffCompare(DefaultDiffComparatorFactory.createGenerated(this.fixtureClass), first, empty);
+        final List<String> reflectiveNulls = this.diffCompare(DefaultDiffComparatorFactory.create(this.fixtureClass), first, empty);
+
+        // then
+        assertThat(generated, containsInAnyOrder("count", "ratio", "name", "amount", "tags", "codes", "locale", "currency", "type", "url", "payload"));
+        assertThat(generated, equalTo(reflective));
+        assertThat(generatedNulls, equalTo(reflectiveNulls));
+    }
+
+    @Test
+    @DisplayName("Test factory returns generated comparator on request only")
+    public void testFactoryReturnsGeneratedComparatorOnRequest() {
+        // when
+        final DiffComparator<Object> generated = DefaultDiffComparatorFactory.createGenerated(this.fixtureClass);
+        final DefaultDiffComparator<Object> reflective = DefaultDiffComparatorFactory.create(this.fixtureClass);
+        final DiffComparator<Object> fallback = DefaultDiffComparatorFactory.createGenerated(Object.class);
+
+        // then
+        assertThat(generated.getClass().getName(), equalTo("fixture.Fixture_DiffComparator"));
+        assertThat(reflective, instanceOf(DefaultDiffComparator.class));
+        assertThat(fallback, instanceOf(DefaultDiffComparator.class));
+    }
+
+    @Test
+    @DisplayName("Test generated comparator is found for annotated classes only")
+    public void testComparatorLookup() {
+        // when
+        final Optional<Comparator<Object>> generated = GeneratedComparatorUtils.findComparator(this.fixtureClass);
+        final Optional<Comparator<Object>> missing = GeneratedComparatorUtils.findComparator(Object.class);
+
+        // then
+        assertThat(generated.isPresent(), equalTo(true));
+        assertThat(generated.get().getClass().getName(), equalTo("fixture.Fixture_Comparator"));
+        assertThat(GeneratedComparatorUtils.findComparator(this.fixtureClass).get(), sameInstance(generated.get()));
+        assertThat(missing.isPresent(), equalTo(false));
+    }
+
+    @Test
+    @DisplayName("Test generated comparator orders by properties in declaration order, nulls first")
+    public void testComparatorOrdering() throws Exception {
+        // given
+        final Comparator<Object> comparator = GeneratedComparatorUtils.findComparator(this.fixtureClass).orElseThrow(AssertionError::new);
+        final Object base = this.newFixture(1, 0.5d, "b", new BigDecimal("10"), Arrays.asList("b"), null, null, null, null, null, null);
+
+        // then
+        assertThat(comparator.compare(base, base), equalTo(0));
+        assertThat(comparator.compare(null, base), lessThan(0));
+        assertThat(comparator.compare(base, null), greaterThan(0));
+        assertThat(comparator.compare(null, null), equalTo(0));
+        // primitive int and double properties
+        assertThat(comparator.compare(this.newFixture(0, 9d, "z", null, null, null, null, null, null, null, null), base), lessThan(0));
+        assertThat(comparator.compare(this.newFixture(1, -0.0d, "b", null, null, null, null, null, null, null, null),
+            this.newFixture(1, 0.0d, "b", null, null, null, null, null, null, null, null)), lessThan(0));
+        assertThat(comparator.compare(this.newFixture(1, Double.NaN, "a", null, null, null, null, null, null, null, null), base), greaterThan(0));
+        // nulls first for object properties
+        assertThat(comparator.compare(this.newFixture(1, 0.5d, null, new BigDecimal("10"), Arrays.asList("b"), null, null, null, null, null, null), base), lessThan(0));
+        assertThat(comparator.compare(base, this.newFixture(1, 0.5d, "b", null, Arrays.asList("b"), null, null, null, null, null, null)), greaterThan(0));
+        // comparable properties by natural order: 9 < 10 although "9" > "10", 10 equals 10.0
+        assertThat(comparator.compare(this.newFixture(1, 0.5d, "b", new BigDecimal("9"), Arrays.asList("z"), null, null, null, null, null, null), base), lessThan(0));
+        assertThat(comparator.compare(this.newFixture(1, 0.5d, "b", new BigDecimal("10.0"), Arrays.asList("b"), null, null, null, null, null, null), base), equalTo(0));
+        assertThat(comparator.compare(this.newFixture(1, 0.5d, "a", new BigDecimal("99"), null, null, null, null, null, null, null), base), lessThan(0));
+        // non-comparable properties by string representation: "[a, z]" < "[b]"
+        assertThat(comparator.compare(this.newFixture(1, 0.5d, "b", new BigDecimal("10"), Arrays.asList("a", "z"), null, null, null, null, null, null), base), lessThan(0));
+        assertThat(comparator.compare(this.newFixture(1, 0.5d, "b", new BigDecimal("10"), new LinkedList<>(Arrays.asList("b")), null, null, null, null, null, null), base), equalTo(0));
+    }
+
+    private Object newFixture(int count, double ratio, final Object... values) throws Exception {
+        final Object fixture = this.fixtureClass.getConstructor().newInstance();
+        this.fixtureClass.getField("count").setInt(fixture, count);
+        this.fixtureClass.getField("ratio").setDouble(fixture, ratio);
+        final String[] names = {"name", "amount", "tags", "codes", "locale", "currency", "type", "url"};
+        for (int i = 0; i < names.length; i++) {
+            this.fixtureClass.getField(names[i]).set(fixture, values[i]);
+        }
+        final java.lang.reflect.Field payload = this.fixtureClass.getDeclaredField("payload");
+        payload.setAccessible(true);
+        payload.set(fixture, values[names.length]);
+        return fixture;
+    }
+
+    private List<String> diffCompare(final DiffComparator<Object> comparator, final Object first, final Object last) {
+        final List<String> result = new ArrayList<>();
+        final Iterable<? extends DiffEntry<?>> entries = comparator.diffCompare(first, last);
+        entries.forEach(entry -> result.add(entry.getPropertyName()));
+        Collections.sort(result);
+        return result;
+    }
+}
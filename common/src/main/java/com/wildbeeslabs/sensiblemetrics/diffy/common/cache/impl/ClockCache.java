@@ -0,0 +1,381 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software andAll associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, andAll/or sell
+ * copies of the Software, andAll to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice andAll this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.common.cache.impl;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.common.cache.interfaces.ConcurrentCache;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ValidationUtils;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded {@link ConcurrentCache} implementation with CLOCK eviction and TinyLFU admission
+ * <p>
+ * Reads are lock-free: a hit only sets the entry's reference bit and records the access in a {@link FrequencySketch}.
+ * Writes are serialized by a single lock. When the cache is full the clock hand sweeps the slots,
+ * giving referenced entries a second chance, and the candidate replaces the chosen victim only if the sketch
+ * estimates it to be accessed at least as often, so one-off keys cannot flush frequently used entries.
+ * Declined entries are not stored: {@link #put(Object, Object)} and {@link #putIfAbsent(Object, Object)} return normally,
+ * {@link #admitIfAbsent(Object, Object)} stores the entry regardless of its frequency.
+ * With weak keys enabled, entries are dropped once their key is garbage collected.
+ *
+ * @param <K> type of cache key
+ * @param <V> type of cache value
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public class ClockCache<K, V> implements ConcurrentCache<K, V> {
+
+    /**
+     * Default maximum number of entries
+     */
+    private final int capacity;
+    /**
+     * Default weak keys flag
+     */
+    private final boolean weakKeys;
+    /**
+     * Default entries by key (or by {@link WeakKey} if weak keys are enabled)
+     */
+    private final ConcurrentMap<Object, Node<V>> map;
+    /**
+     * Default clock slots and free slot indices, guarded by lock
+     */
+    private final Node<V>[] slots;
+    private final int[] freeSlots;
+    private int freeCount;
+    private int hand;
+    /**
+     * Default {@link FrequencySketch}
+     */
+    private final FrequencySketch sketch;
+    /**
+     * Default collected weak keys {@link ReferenceQueue}
+     */
+    private final ReferenceQueue<K> queue = new ReferenceQueue<>();
+    /**
+     * Default write {@link ReentrantLock}
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+    /**
+     * Default hit/miss/eviction counters
+     */
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Default clock cache constructor by input maximum size
+     *
+     * @param capacity - initial input maximum number of entries
+     */
+    public ClockCache(final int capacity) {
+        this(capacity, false);
+    }
+
+    /**
+     * Default clock cache constructor by input maximum size and weak keys flag
+     *
+     * @param capacity - initial input maximum number of entries
+     * @param weakKeys - initial input weak keys flag
+     */
+    @SuppressWarnings("unchecked")
+    public ClockCache(final int capacity, boolean weakKeys) {
+        ValidationUtils.isTrue(capacity > 0, "Capacity should be greater than zero");
+        this.capacity = capacity;
+        this.weakKeys = weakKeys;
+        this.map = new ConcurrentHashMap<>(Math.min(capacity, 1 << 16));
+        this.slots = new Node[capacity];
+        this.freeSlots = new int[capacity];
+        this.sketch = new FrequencySketch(capacity);
+        this.resetSlots();
+    }
+
+    @Override
+    public V get(final K key) {
+        ValidationUtils.notNull(key, "Key should not be null");
+        final Node<V> node = this.map.get(this.lookupKey(key));
+        if (Objects.isNull(node)) {
+            this.misses.increment();
+            this.sketch.increment(hash(key));
+            return null;
+        }
+        node.referenced = true;
+        this.sketch.increment(node.hash);
+        this.hits.increment();
+        return node.value;
+    }
+
+    @Override
+    public void put(final K key, final V value) {
+        ValidationUtils.notNull(key, "Key should not be null");
+        ValidationUtils.notNull(value, "Value should not be null");
+        this.lock.lock();
+        try {
+            this.expungeStaleEntries();
+            final Node<V> node = this.map.get(this.lookupKey(key));
+            if (Objects.nonNull(node)) {
+                node.value = value;
+                node.referenced = true;
+            } else {
+                this.insert(key, value, false);
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public V putIfAbsent(final K key, final V value) {
+        return this.putIfAbsent(key, value, false);
+    }
+
+    @Override
+    public V admitIfAbsent(final K key, final V value) {
+        return this.putIfAbsent(key, value, true);
+    }
+
+    @Override
+    public V remove(final K key) {
+        ValidationUtils.notNull(key, "Key should not be null");
+        this.lock.lock();
+        try {
+            this.expungeStaleEntries();
+            final Node<V> node = this.map.remove(this.lookupKey(key));
+            if (Objects.isNull(node)) {
+                return null;
+            }
+            this.release(node);
+            return node.value;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean remove(final K key, final V value) {
+        ValidationUtils.notNull(key, "Key should not be null");
+        this.lock.lock();
+        try {
+            this.expungeStaleEntries();
+            final Node<V> node = this.map.get(this.lookupKey(key));
+            if (Objects.isNull(node) || !Objects.equals(node.value, value)) {
+                return false;
+            }
+            this.map.remove(node.key, node);
+            this.release(node);
+            return true;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        this.lock.lock();
+        try {
+            this.map.clear();
+            this.resetSlots();
+            while (Objects.nonNull(this.queue.poll())) ;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        return this.map.size();
+    }
+
+    @Override
+    public long getHitCount() {
+        return this.hits.sum();
+    }
+
+    @Override
+    public long getMissCount() {
+        return this.misses.sum();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return this.evictions.sum();
+    }
+
+    /**
+     * Returns maximum number of entries
+     *
+     * @return maximum number of entries
+     */
+    public int getCapacity() {
+        return this.capacity;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ClockCache{capacity=%d, size=%d, weakKeys=%s, hits=%d, misses=%d, evictions=%d}",
+            this.capacity, this.size(), this.weakKeys, this.getHitCount(), this.getMissCount(), this.getEvictionCount());
+    }
+
+    private V putIfAbsent(final K key, final V value, boolean admit) {
+        ValidationUtils.notNull(key, "Key should not be null");
+        ValidationUtils.notNull(value, "Value should not be null");
+        this.lock.lock();
+        try {
+            this.expungeStaleEntries();
+            final Node<V> node = this.map.get(this.lookupKey(key));
+            if (Objects.nonNull(node)) {
+                node.referenced = true;
+                return node.value;
+            }
+            this.insert(key, value, admit);
+            return null;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private void insert(final K key, final V value, boolean admit) {
+        final int hash = hash(key);
+        final int index;
+        if (this.freeCount > 0) {
+            index = this.freeSlots[--this.freeCount];
+        } else {
+            index = this.sweep();
+            final Node<V> victim = this.slots[index];
+            if (!admit && this.sketch.frequency(hash) < this.sketch.frequency(victim.hash)) {
+                return;
+            }
+            this.map.remove(victim.key, victim);
+            this.evictions.increment();
+        }
+        final Node<V> node = new Node<>(this.weakKeys ? new WeakKey<>(key, this.queue) : key, value, hash, index);
+        this.slots[index] = node;
+        this.map.put(node.key, node);
+    }
+
+    private int sweep() {
+        while (true) {
+            final int index = this.hand;
+            this.hand = (index + 1 == this.capacity) ? 0 : index + 1;
+            final Node<V> node = this.slots[index];
+            if (!node.referenced) {
+                return index;
+            }
+            node.referenced = false;
+        }
+    }
+
+    private void release(final Node<V> node) {
+        this.slots[node.index] = null;
+        this.freeSlots[this.freeCount++] = node.index;
+    }
+
+    private void resetSlots() {
+        Arrays.fill(this.slots, null);
+        for (int i = 0; i < this.capacity; i++) {
+            this.freeSlots[i] = this.capacity - 1 - i;
+        }
+        this.freeCount = this.capacity;
+        this.hand = 0;
+    }
+
+    private void expungeStaleEntries() {
+        Reference<? extends K> reference;
+        while (Objects.nonNull(reference = this.queue.poll())) {
+            final Node<V> node = this.map.remove(reference);
+            if (Objects.nonNull(node)) {
+                this.release(node);
+            }
+        }
+    }
+
+    private Object lookupKey(final K key) {
+        return this.weakKeys ? new WeakKey<>(key, null) : key;
+    }
+
+    private static int hash(final Object key) {
+        final int hash = key.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Cache entry with CLOCK reference bit
+     *
+     * @param <V> type of cache value
+     */
+    private static final class Node<V> {
+        private final Object key;
+        private final int hash;
+        private final int index;
+        private volatile V value;
+        private volatile boolean referenced;
+
+        Node(final Object key, final V value, final int hash, final int index) {
+            this.key = key;
+            this.value = value;
+            this.hash = hash;
+            this.index = index;
+        }
+    }
+
+    /**
+     * Weak cache key comparing referents by {@link Object#equals(Object)}
+     *
+     * @param <K> type of cache key
+     */
+    private static final class WeakKey<K> extends WeakReference<K> {
+        private final int hashCode;
+
+        WeakKey(final K key, final ReferenceQueue<? super K> queue) {
+            super(key, queue);
+            this.hashCode = key.hashCode();
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof WeakKey)) {
+                return false;
+            }
+            final K key = this.get();
+            return Objects.nonNull(key) && key.equals(((WeakKey<?>) other).get());
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hashCode;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software andAll associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, andAll/or sell
+ * copies of the Software, andAll to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice andAll this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.common.cache.impl;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Count-min sketch of key access frequencies used by the TinyLFU admission policy
+ * <p>
+ * Each key is counted in four 4-bit counters (saturating at 15) packed sixteen to a {@code long}.
+ * Counters are updated lock-free by CAS; after a sample of {@code 10 * width} increments every counter is halved,
+ * so the sketch follows changes of popularity over time.
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public final class FrequencySketch {
+
+    /**
+     * Default hash seeds per counter row
+     */
+    private static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+    /**
+     * Default mask clearing the carried high bit of every counter on reset
+     */
+    private static final long RESET_MASK = 0x7777777777777777L;
+    /**
+     * Default maximum counter value
+     */
+    private static final int MAX_COUNT = 15;
+
+    private final AtomicLongArray table;
+    private final int mask;
+    private final int sampleSize;
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * Default frequency sketch constructor by input expected number of keys
+     *
+     * @param capacity - initial input expected number of keys
+     */
+    public FrequencySketch(final int capacity) {
+        final int width = Integer.highestOneBit(Math.max(16, capacity - 1) << 1);
+        this.table = new AtomicLongArray(width);
+        this.mask = width - 1;
+        this.sampleSize = 10 * width;
+    }
+
+    /**
+     * Returns estimated access frequency of key by input hash
+     *
+     * @param hash - initial input key hash
+     * @return estimated frequency in range [0, 15]
+     */
+    public int frequency(final int hash) {
+        final int start = (hash & 3) << 2;
+        int frequency = MAX_COUNT;
+        for (int i = 0; i < SEEDS.length; i++) {
+            final long word = this.table.get(this.indexOf(hash, i));
+            frequency = Math.min(frequency, (int) ((word >>> ((start + i) << 2)) & 0xfL));
+        }
+        return frequency;
+    }
+
+    /**
+     * Records an access of key by input hash
+     *
+     * @param hash - initial input key hash
+     */
+    public void increment(final int hash) {
+        final int start = (hash & 3) << 2;
+        boolean added = false;
+        for (int i = 0; i < SEEDS.length; i++) {
+            added |= this.incrementAt(this.indexOf(hash, i), (start + i) << 2);
+        }
+        if (added && this.size.incrementAndGet() == this.sampleSize) {
+            this.reset();
+        }
+    }
+
+    private boolean incrementAt(final int index, final int offset) {
+        while (true) {
+            final long word = this.table.get(index);
+            if (((word >>> offset) & 0xfL) == MAX_COUNT) {
+                return false;
+            }
+            if (this.table.compareAndSet(index, word, word + (1L << offset))) {
+                return true;
+            }
+        }
+    }
+
+    private void reset() {
+        for (int i = 0; i < this.table.length(); i++) {
+            long word;
+            do {
+                word = this.table.get(i);
+            } while (!this.table.compareAndSet(i, word, (word >>> 1) & RESET_MASK));
+        }
+        this.size.set(this.sampleSize / 2);
+    }
+
+    private int indexOf(final int hash, final int row) {
+        long index = (hash + SEEDS[row]) * SEEDS[row];
+        index += (index >>> 32);
+        return ((int) index) & this.mask;
+    }
+}
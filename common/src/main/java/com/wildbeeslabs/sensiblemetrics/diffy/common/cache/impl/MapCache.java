@@ -0,0 +1,158 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software andAll associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, andAll/or sell
+ * copies of the Software, andAll to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice andAll this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.common.cache.impl;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.common.cache.interfaces.ConcurrentCache;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ValidationUtils;
+
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link ConcurrentCache} implementation backed by {@link ConcurrentMap}
+ * <p>
+ * Unbounded by default; with a maximum size an arbitrary entry (the first one returned by the map iterator)
+ * is evicted inline before a new key is stored into a full map. Every entry is admitted.
+ *
+ * @param <K> type of cache key
+ * @param <V> type of cache value
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public class MapCache<K, V> implements ConcurrentCache<K, V> {
+
+    /**
+     * Default {@link ConcurrentMap}
+     */
+    private final ConcurrentMap<K, V> map;
+    /**
+     * Default maximum number of entries
+     */
+    private final int maximumSize;
+    /**
+     * Default hit/miss/eviction counters
+     */
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Default map cache constructor by input {@link ConcurrentMap}
+     *
+     * @param map - initial input {@link ConcurrentMap} to store entries in
+     */
+    public MapCache(final ConcurrentMap<K, V> map) {
+        this(map, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Default map cache constructor by input {@link ConcurrentMap} and maximum size
+     *
+     * @param map         - initial input {@link ConcurrentMap} to store entries in
+     * @param maximumSize - initial input maximum number of entries
+     */
+    public MapCache(final ConcurrentMap<K, V> map, int maximumSize) {
+        ValidationUtils.notNull(map, "Map should not be null");
+        ValidationUtils.isTrue(maximumSize > 0, "Maximum size should be greater than zero");
+        this.map = map;
+        this.maximumSize = maximumSize;
+    }
+
+    @Override
+    public V get(final K key) {
+        final V value = this.map.get(key);
+        if (Objects.isNull(value)) {
+            this.misses.increment();
+        } else {
+            this.hits.increment();
+        }
+        return value;
+    }
+
+    @Override
+    public void put(final K key, final V value) {
+        this.evictIfFull(key);
+        this.map.put(key, value);
+    }
+
+    @Override
+    public V putIfAbsent(final K key, final V value) {
+        this.evictIfFull(key);
+        return this.map.putIfAbsent(key, value);
+    }
+
+    @Override
+    public V remove(final K key) {
+        return this.map.remove(key);
+    }
+
+    @Override
+    public boolean remove(final K key, final V value) {
+        return this.map.remove(key, value);
+    }
+
+    @Override
+    public void clear() {
+        this.map.clear();
+    }
+
+    @Override
+    public int size() {
+        return this.map.size();
+    }
+
+    @Override
+    public long getHitCount() {
+        return this.hits.sum();
+    }
+
+    @Override
+    public long getMissCount() {
+        return this.misses.sum();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return this.evictions.sum();
+    }
+
+    @Override
+    public String toString() {
+        return this.map.toString();
+    }
+
+    private void evictIfFull(final K key) {
+        if (this.map.size() >= this.maximumSize && !this.map.containsKey(key)) {
+            final Iterator<K> iterator = this.map.keySet().iterator();
+            if (iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+                this.evictions.increment();
+            }
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software andAll associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, andAll/or sell
+ * copies of the Software, andAll to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice andAll this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.common.cache.interfaces;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Concurrent cache declaration
+ * <p>
+ * Thread-safe key/value cache with hit, miss and eviction counters. Implementations may decline to store a new entry
+ * (bounded caches with an admission policy), so callers must not rely on a value being present after {@link #put(Object, Object)}
+ * or {@link #putIfAbsent(Object, Object)}; callers that share the stored value between threads should use {@link #admitIfAbsent(Object, Object)}.
+ *
+ * @param <K> type of cache key
+ * @param <V> type of cache value
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public interface ConcurrentCache<K, V> {
+
+    /**
+     * Returns cached value by input key, or {@code null} if not present
+     *
+     * @param key - initial input key to look up by
+     * @return cached value, or {@code null}
+     */
+    V get(final K key);
+
+    /**
+     * Stores input value by key, replacing any existing value. A new entry may be declined by the admission policy.
+     *
+     * @param key   - initial input key
+     * @param value - initial input value
+     */
+    void put(final K key, final V value);
+
+    /**
+     * Stores input value by key if there is no value cached yet. The new entry may be declined by the admission policy,
+     * so {@code null} means there was no cached value, not that the input value is cached now.
+     *
+     * @param key   - initial input key
+     * @param value - initial input value
+     * @return existing cached value, or {@code null} if there was none
+     */
+    V putIfAbsent(final K key, final V value);
+
+    /**
+     * Stores input value by key if there is no value cached yet, bypassing the admission policy:
+     * the value is always stored, evicting another entry if needed, so it stays visible to concurrent lookups
+     * until evicted later (used by memoizers sharing one pending result per key)
+     *
+     * @param key   - initial input key
+     * @param value - initial input value
+     * @return existing cached value, or {@code null} if the input value has been stored
+     */
+    default V admitIfAbsent(final K key, final V value) {
+        return this.putIfAbsent(key, value);
+    }
+
+    /**
+     * Removes cached value by input key
+     *
+     * @param key - initial input key to remove by
+     * @return removed value, or {@code null} if not present
+     */
+    V remove(final K key);
+
+    /**
+     * Removes cached value by input key if it is currently mapped to the given value
+     *
+     * @param key   - initial input key to remove by
+     * @param value - initial input value expected to be cached
+     * @return true - if the entry was removed, false - otherwise
+     */
+    boolean remove(final K key, final V value);
+
+    /**
+     * Returns cached value by input key, computing and storing it by the function on a miss.
+     * The function may be called concurrently for the same key, so it should be free of side effects.
+     * The computed value is returned even if the admission policy declines to store it.
+     *
+     * @param key      - initial input key to look up by
+     * @param function - initial input function to compute the value by
+     * @return cached or computed value
+     */
+    default V computeIfAbsent(final K key, final Function<? super K, ? extends V> function) {
+        V value = this.get(key);
+        if (Objects.isNull(value)) {
+            value = function.apply(key);
+            if (Objects.nonNull(value)) {
+                final V existing = this.putIfAbsent(key, value);
+                return Objects.nonNull(existing) ? existing : value;
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Removes all cached entries
+     */
+    void clear();
+
+    /**
+     * Returns number of cached entries
+     *
+     * @return number of cached entries
+     */
+    int size();
+
+    /**
+     * Returns number of lookups that found a cached value
+     *
+     * @return number of cache hits
+     */
+    long getHitCount();
+
+    /**
+     * Returns number of lookups that found no cached value
+     *
+     * @return number of cache misses
+     */
+    long getMissCount();
+
+    /**
+     * Returns number of entries evicted to make room for new ones
+     *
+     * @return number of evictions
+     */
+    long getEvictionCount();
+
+    /**
+     * Returns ratio of cache hits to all lookups, or {@code 1.0} if there were no lookups
+     *
+     * @return cache hit rate
+     */
+    default double getHitRate() {
+        final long hits = this.getHitCount();
+        final long total = hits + this.getMissCount();
+        return (total == 0) ? 1.0 : (double) hits / total;
+    }
+}
@@ -25,19 +25,25 @@ package com.wildbeeslabs.sensiblemetrics.diffy.common.entry.impl;
 
 import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Delta;
 import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Patch;
+import lombok.AccessLevel;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.ToString;
-import org.apache.commons.collections.comparators.ComparableComparator;
 
 import java.util.*;
 
+import static com.google.common.base.Preconditions.checkState;
 import static com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ServiceUtils.listOf;
 
 /**
  * Copy from https://code.google.com/p/java-diff-utils/.
  * <p>
  * Describes the patch holding all deltas between the original and revised texts.
+ * <p>
+ * Deltas are kept in an array-backed list. Appending deltas in path order keeps the list sorted,
+ * so {@link #getDeltas()} re-sorts only after an out-of-order {@link #addDelta(Delta)}.
  *
  * @param <T> The type of the compared elements in the 'lines'.
  */
@@ -47,20 +53,37 @@ import static com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ServiceUtils.l
 @SuppressWarnings("unchecked")
 public class DefaultPatch<T> implements Patch<T> {
 
+    /**
+     * Default {@link Comparator} by original chunk position
+     */
+    private static final Comparator<Delta<?>> DEFAULT_DELTA_COMPARATOR = Comparator.comparingInt(delta -> delta.getOriginal().getPosition());
+    /**
+     * Default initial capacity
+     */
+    private static final int DEFAULT_CAPACITY = 10;
+
     /**
      * Default {@link List} of {@link Delta}s
      */
-    private final List<Delta<T>> deltas = new LinkedList<>();
+    private final List<Delta<T>> deltas;
     /**
      * Default {@link Comparator} instance
      */
     private final Comparator<? super Delta<T>> comparator;
+    /**
+     * Default sorted flag
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private boolean sorted = true;
 
     /**
      * Default patch constructor
      */
     public DefaultPatch() {
-        this(null);
+        this(DEFAULT_CAPACITY, null);
     }
 
     /**
@@ -69,11 +92,24 @@ public class DefaultPatch<T> implements Patch<T> {
      * @param comparator - initial input {@link Comparator} instance
      */
     public DefaultPatch(final Comparator<? super Delta<T>> comparator) {
-        this.comparator = Optional.ofNullable(comparator).orElseGet(ComparableComparator::getInstance);
+        this(DEFAULT_CAPACITY, comparator);
+    }
+
+    /**
+     * Default patch constructor by input parameters
+     *
+     * @param capacity   - initial input expected number of {@link Delta}s
+     * @param comparator - initial input {@link Comparator} instance
+     */
+    public DefaultPatch(int capacity, final Comparator<? super Delta<T>> comparator) {
+        this.deltas = new ArrayList<>(capacity);
+        this.comparator = Objects.nonNull(comparator) ? comparator : DEFAULT_DELTA_COMPARATOR;
     }
 
     /**
      * Apply this patch to the given target
+     * <p>
+     * Builds the result in a single pass over the target and the sorted deltas.
      *
      * @param target the list to patch
      * @return the patched text
@@ -81,11 +117,18 @@ public class DefaultPatch<T> implements Patch<T> {
      */
     @Override
     public Iterable<T> applyTo(final Iterable<T> target) {
-        final List<T> result = listOf(target);
-        final ListIterator<Delta<T>> it = this.getDeltas().listIterator(this.deltas.size());
-        while (it.hasPrevious()) {
-            it.previous().applyTo(result);
+        final List<T> source = listOf(target);
+        final List<T> result = new ArrayList<>(source.size());
+        int position = 0;
+        for (final Delta<T> delta : this.getDeltas()) {
+            delta.verify(source);
+            final int start = delta.getOriginal().getPosition();
+            checkState(start >= position, "Incorrect patch: overlapping deltas at position " + start);
+            result.addAll(source.subList(position, start));
+            result.addAll(delta.getRevised().getLines());
+            position = start + delta.getOriginal().size();
         }
+        result.addAll(source.subList(position, source.size()));
         return result;
     }
 
@@ -95,17 +138,23 @@ public class DefaultPatch<T> implements Patch<T> {
      * @param delta the given delta
      */
     public void addDelta(final Delta<T> delta) {
+        if (this.sorted && !this.deltas.isEmpty()) {
+            this.sorted = this.comparator.compare(this.deltas.get(this.deltas.size() - 1), delta) <= 0;
+        }
         this.deltas.add(delta);
     }
 
     /**
      * Get the list of computed deltas
      *
-     * @return the deltas
+     * @return the unmodifiable sorted deltas
      */
     @Override
     public List<Delta<T>> getDeltas() {
-        this.deltas.sort(this.comparator);
-        return this.deltas;
+        if (!this.sorted) {
+            this.deltas.sort(this.comparator);
+            this.sorted = true;
+        }
+        return Collections.unmodifiableList(this.deltas);
     }
 }
@@ -0,0 +1,609 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software andAll associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, andAll/or sell
+ * copies of the Software, andAll to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice andAll this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.common.sort;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ValidationUtils;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * External merge sort service implementation
+ * <p>
+ * Reads the input in chunks of at most {@code maxInMemory} elements sorted by {@link Arrays#parallelSort(Object[], int, int, Comparator)}.
+ * The chunk buffer starts small and doubles on demand up to {@code maxInMemory}, so small inputs do not pay for a full chunk.
+ * Inputs fitting into a single chunk are emitted directly. Otherwise every chunk except the last one is spilled
+ * as a sorted run to a temporary file by the {@link SortSerializer} through buffered {@link FileChannel}s, and the runs
+ * are k-way merged with a loser tree, at most {@code maxFanIn} runs at a time. The sort is stable.
+ * <p>
+ * The {@link Comparator} is usually the one of a {@link SortManager}, for instance built by a comparator dispatcher.
+ *
+ * @param <T> type of sorted element
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+@Getter
+@ToString
+@SuppressWarnings("unchecked")
+public class ExternalSortService<T> {
+
+    /**
+     * Default maximum number of elements sorted in memory
+     */
+    public static final int DEFAULT_MAX_IN_MEMORY = 1 << 20;
+    /**
+     * Default maximum number of runs merged at a time
+     */
+    public static final int DEFAULT_MAX_FAN_IN = 64;
+    /**
+     * Default run file buffer size in bytes
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+    /**
+     * Default initial chunk buffer capacity
+     */
+    private static final int DEFAULT_CHUNK_CAPACITY = 16;
+
+    /**
+     * Default {@link Comparator}
+     */
+    private final Comparator<? super T> comparator;
+    /**
+     * Default {@link SortSerializer}
+     */
+    private final SortSerializer<T> serializer;
+    /**
+     * Default temporary files directory {@link Path}, system default if {@code null}
+     */
+    private final Path directory;
+    /**
+     * Default maximum number of elements sorted in memory
+     */
+    private final int maxInMemory;
+    /**
+     * Default maximum number of runs merged at a time
+     */
+    private final int maxFanIn;
+    /**
+     * Default run file buffer size in bytes
+     */
+    private final int bufferSize;
+
+    /**
+     * Creates external sort service with initial {@link Comparator} and {@link SortSerializer}
+     *
+     * @param comparator - initial input {@link Comparator}
+     * @param serializer - initial input {@link SortSerializer}
+     */
+    public ExternalSortService(final Comparator<? super T> comparator, final SortSerializer<T> serializer) {
+        this(comparator, serializer, null, DEFAULT_MAX_IN_MEMORY, DEFAULT_MAX_FAN_IN, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Creates external sort service with initial {@link Comparator}, {@link SortSerializer} and sort parameters
+     *
+     * @param comparator  - initial input {@link Comparator}
+     * @param serializer  - initial input {@link SortSerializer}
+     * @param directory   - initial input temporary files directory {@link Path}, system default if {@code null}
+     * @param maxInMemory - initial input maximum number of elements sorted in memory
+     * @param maxFanIn    - initial input maximum number of runs merged at a time
+     * @param bufferSize  - initial input run file buffer size in bytes
+     * @throws IllegalArgumentException if comparator or serializer is {@code null}, maxInMemory or bufferSize is not positive, or maxFanIn is less than 2
+     */
+    public ExternalSortService(final Comparator<? super T> comparator, final SortSerializer<T> serializer, final Path directory, int maxInMemory, int maxFanIn, int bufferSize) {
+        ValidationUtils.notNull(comparator, "Comparator should not be null");
+        ValidationUtils.notNull(serializer, "Serializer should not be null");
+        ValidationUtils.isTrue(maxInMemory > 0, "Max in-memory elements should be positive");
+        ValidationUtils.isTrue(maxFanIn > 1, "Max fan-in should be greater than one");
+        ValidationUtils.isTrue(bufferSize > 0, "Buffer size should be positive");
+
+        this.comparator = comparator;
+        this.serializer = serializer;
+        this.directory = directory;
+        this.maxInMemory = maxInMemory;
+        this.maxFanIn = maxFanIn;
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Sorts input {@link Stream} and passes the sorted elements to the output {@link Consumer}
+     *
+     * @param input  - initial input {@link Stream} to be sorted
+     * @param output - initial input {@link Consumer} of sorted elements
+     * @throws IllegalArgumentException if input or output is {@code null}
+     * @throws UncheckedIOException     if an I/O error occurs on run files
+     */
+    public void sort(final Stream<? extends T> input, final Consumer<? super T> output) {
+        ValidationUtils.notNull(input, "Input should not be null");
+
+        this.sort(input.iterator(), output);
+    }
+
+    /**
+     * Sorts input {@link Iterable} and passes the sorted elements to the output {@link Consumer}
+     *
+     * @param input  - initial input {@link Iterable} to be sorted
+     * @param output - initial input {@link Consumer} of sorted elements
+     * @throws IllegalArgumentException if input or output is {@code null}
+     * @throws UncheckedIOException     if an I/O error occurs on run files
+     */
+    public void sort(final Iterable<? extends T> input, final Consumer<? super T> output) {
+        ValidationUtils.notNull(input, "Input should not be null");
+
+        this.sort(input.iterator(), output);
+    }
+
+    /**
+     * Sorts input {@link Iterator} and passes the sorted elements to the output {@link Consumer}
+     *
+     * @param input  - initial input {@link Iterator} to be sorted
+     * @param output - initial input {@link Consumer} of sorted elements
+     * @throws IllegalArgumentException if input or output is {@code null}
+     * @throws UncheckedIOException     if an I/O error occurs on run files
+     */
+    public void sort(final Iterator<? extends T> input, final Consumer<? super T> output) {
+        ValidationUtils.notNull(input, "Input should not be null");
+        ValidationUtils.notNull(output, "Output should not be null");
+
+        final ChunkBuffer chunk = new ChunkBuffer(Math.min(this.maxInMemory, DEFAULT_CHUNK_CAPACITY));
+        final Deque<Run> runs = new ArrayDeque<>();
+        try {
+            this.fill(input, chunk);
+            while (input.hasNext()) {
+                runs.addLast(this.spill(chunk));
+                this.fill(input, chunk);
+            }
+            if (runs.isEmpty()) {
+                for (int i = 0; i < chunk.size; i++) {
+                    output.accept((T) chunk.elements[i]);
+                }
+                return;
+            }
+            while (runs.size() >= this.maxFanIn) {
+                final int tail = runs.size() % this.maxFanIn;
+                for (int group = runs.size() / this.maxFanIn; group > 0; group--) {
+                    final List<Run> merged = new ArrayList<>(this.maxFanIn);
+                    for (int i = 0; i < this.maxFanIn; i++) {
+                        merged.add(runs.removeFirst());
+                    }
+                    runs.addLast(this.merge(this.open(merged, null)));
+                }
+                for (int i = tail; i > 0; i--) {
+                    runs.addLast(runs.removeFirst());
+                }
+            }
+            final List<Run> group = new ArrayList<>(runs);
+            runs.clear();
+            try (final LoserTree<T> tree = this.open(group, new ArraySource<>(chunk.elements, chunk.size))) {
+                while (tree.hasNext()) {
+                    output.accept(tree.next());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            for (final Run run : runs) {
+                run.delete();
+            }
+        }
+    }
+
+    private void fill(final Iterator<? extends T> input, final ChunkBuffer chunk) {
+        chunk.size = 0;
+        while (chunk.size < this.maxInMemory && input.hasNext()) {
+            if (chunk.size == chunk.elements.length) {
+                chunk.elements = Arrays.copyOf(chunk.elements, (int) Math.min(2L * chunk.elements.length, this.maxInMemory));
+            }
+            chunk.elements[chunk.size++] = input.next();
+        }
+        Arrays.parallelSort((T[]) chunk.elements, 0, chunk.size, this.comparator);
+    }
+
+    private Run spill(final ChunkBuffer chunk) throws IOException {
+        final Run run = new Run(this.createFile());
+        try (final DataOutputStream output = new DataOutputStream(new ChannelOutputStream(FileChannel.open(run.path, StandardOpenOption.WRITE), this.bufferSize))) {
+            for (int i = 0; i < chunk.size; i++) {
+                this.serializer.write(output, (T) chunk.elements[i]);
+                chunk.elements[i] = null;
+            }
+            run.size = chunk.size;
+        } catch (IOException | RuntimeException e) {
+            run.delete();
+            throw e;
+        }
+        return run;
+    }
+
+    private Run merge(final LoserTree<T> tree) throws IOException {
+        final Run run;
+        try {
+            run = new Run(this.createFile());
+        } catch (IOException | RuntimeException e) {
+            tree.close();
+            throw e;
+        }
+        try (tree; final DataOutputStream output = new DataOutputStream(new ChannelOutputStream(FileChannel.open(run.path, StandardOpenOption.WRITE), this.bufferSize))) {
+            while (tree.hasNext()) {
+                this.serializer.write(output, tree.next());
+                run.size++;
+            }
+        } catch (IOException | RuntimeException e) {
+            run.delete();
+            throw e;
+        }
+        return run;
+    }
+
+    private LoserTree<T> open(final List<Run> runs, final Source<T> last) throws IOException {
+        final List<Source<T>> sources = new ArrayList<>(runs.size() + 1);
+        try {
+            for (final Run run : runs) {
+                sources.add(new RunSource<>(run, this.serializer, this.bufferSize));
+            }
+            if (Objects.nonNull(last)) {
+                sources.add(last);
+            }
+            return new LoserTree<>(sources, this.comparator);
+        } catch (IOException | RuntimeException e) {
+            for (final Source<T> source : sources) {
+                try {
+                    source.close();
+                } catch (IOException ex) {
+                    e.addSuppressed(ex);
+                }
+            }
+            for (final Run run : runs) {
+                run.delete();
+            }
+            throw e;
+        }
+    }
+
+    private Path createFile() throws IOException {
+        return Objects.isNull(this.directory) ? Files.createTempFile("sort", ".run") : Files.createTempFile(this.directory, "sort", ".run");
+    }
+
+    /**
+     * Sorted run file
+     */
+    private static final class Run {
+        private final Path path;
+        private long size;
+
+        Run(final Path path) {
+            this.path = path;
+        }
+
+        void delete() {
+            try {
+                Files.deleteIfExists(this.path);
+            } catch (IOException e) {
+                // temporary file is left to the system
+            }
+        }
+    }
+
+    /**
+     * Sorted source of a merge
+     *
+     * @param <T> type of sorted element
+     */
+    private interface Source<T> extends Closeable {
+
+        /**
+         * Moves to the next element, returns false if the source is exhausted
+         */
+        boolean advance() throws IOException;
+
+        /**
+         * Returns current element
+         */
+        T head();
+    }
+
+    /**
+     * In-memory chunk buffer growing on demand up to {@code maxInMemory} elements
+     */
+    private static final class ChunkBuffer {
+        private Object[] elements;
+        private int size;
+
+        ChunkBuffer(int capacity) {
+            this.elements = new Object[capacity];
+        }
+    }
+
+    /**
+     * In-memory sorted chunk source
+     *
+     * @param <T> type of sorted element
+     */
+    private static final class ArraySource<T> implements Source<T> {
+        private final Object[] elements;
+        private final int size;
+        private int index = -1;
+
+        ArraySource(final Object[] elements, int size) {
+            this.elements = elements;
+            this.size = size;
+        }
+
+        @Override
+        public boolean advance() {
+            if (this.index >= 0) {
+                this.elements[this.index] = null;
+            }
+            return ++this.index < this.size;
+        }
+
+        @Override
+        public T head() {
+            return (T) this.elements[this.index];
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    /**
+     * Run file source, the run file is deleted on close
+     *
+     * @param <T> type of sorted element
+     */
+    private static final class RunSource<T> implements Source<T> {
+        private final Run run;
+        private final SortSerializer<T> serializer;
+        private final DataInputStream input;
+        private long remaining;
+        private T head;
+
+        RunSource(final Run run, final SortSerializer<T> serializer, int bufferSize) throws IOException {
+            this.run = run;
+            this.serializer = serializer;
+            this.input = new DataInputStream(new ChannelInputStream(FileChannel.open(run.path, StandardOpenOption.READ), bufferSize));
+            this.remaining = run.size;
+        }
+
+        @Override
+        public boolean advance() throws IOException {
+            if (this.remaining == 0) {
+                this.head = null;
+                return false;
+            }
+            this.remaining--;
+            this.head = this.serializer.read(this.input);
+            return true;
+        }
+
+        @Override
+        public T head() {
+            return this.head;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                this.input.close();
+            } finally {
+                this.run.delete();
+            }
+        }
+    }
+
+    /**
+     * Loser tree over sorted sources, ties are resolved by source order
+     *
+     * @param <T> type of sorted element
+     */
+    private static final class LoserTree<T> implements Closeable {
+        private final List<Source<T>> sources;
+        private final Comparator<? super T> comparator;
+        private final boolean[] exhausted;
+        private final int[] tree;
+
+        LoserTree(final List<Source<T>> sources, final Comparator<? super T> comparator) throws IOException {
+            this.sources = sources;
+            this.comparator = comparator;
+            this.exhausted = new boolean[sources.size()];
+            this.tree = new int[sources.size()];
+            for (int i = 0; i < sources.size(); i++) {
+                this.exhausted[i] = !sources.get(i).advance();
+            }
+            this.tree[0] = this.build(1);
+        }
+
+        boolean hasNext() {
+            return !this.exhausted[this.tree[0]];
+        }
+
+        T next() throws IOException {
+            final int winner = this.tree[0];
+            final Source<T> source = this.sources.get(winner);
+            final T value = source.head();
+            this.exhausted[winner] = !source.advance();
+
+            int candidate = winner;
+            for (int node = (winner + this.tree.length) >>> 1; node > 0; node >>>= 1) {
+                if (this.precedes(this.tree[node], candidate)) {
+                    final int loser = candidate;
+                    candidate = this.tree[node];
+                    this.tree[node] = loser;
+                }
+            }
+            this.tree[0] = candidate;
+            return value;
+        }
+
+        private int build(int node) {
+            if (node >= this.tree.length) {
+                return node - this.tree.length;
+            }
+            final int left = this.build(2 * node);
+            final int right = this.build(2 * node + 1);
+            if (this.precedes(left, right)) {
+                this.tree[node] = right;
+                return left;
+            }
+            this.tree[node] = left;
+            return right;
+        }
+
+        private boolean precedes(int first, int last) {
+            if (this.exhausted[first] || this.exhausted[last]) {
+                return this.exhausted[last] && (!this.exhausted[first] || first < last);
+            }
+            final int result = this.comparator.compare(this.sources.get(first).head(), this.sources.get(last).head());
+            return result < 0 || (result == 0 && first < last);
+        }
+
+        @Override
+        public void close() throws IOException {
+            IOException error = null;
+            for (final Source<T> source : this.sources) {
+                try {
+                    source.close();
+                } catch (IOException e) {
+                    error = Objects.isNull(error) ? e : error;
+                }
+            }
+            if (Objects.nonNull(error)) {
+                throw error;
+            }
+        }
+    }
+
+    /**
+     * Buffered {@link FileChannel} output stream
+     */
+    private static final class ChannelOutputStream extends OutputStream {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+
+        ChannelOutputStream(final FileChannel channel, int bufferSize) {
+            this.channel = channel;
+            this.buffer = ByteBuffer.allocateDirect(bufferSize);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (!this.buffer.hasRemaining()) {
+                this.drain();
+            }
+            this.buffer.put((byte) b);
+        }
+
+        @Override
+        public void write(final byte[] bytes, int offset, int length) throws IOException {
+            while (length > 0) {
+                if (!this.buffer.hasRemaining()) {
+                    this.drain();
+                }
+                final int count = Math.min(length, this.buffer.remaining());
+                this.buffer.put(bytes, offset, count);
+                offset += count;
+                length -= count;
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            this.drain();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try (final FileChannel channel = this.channel) {
+                this.drain();
+            }
+        }
+
+        private void drain() throws IOException {
+            this.buffer.flip();
+            while (this.buffer.hasRemaining()) {
+                this.channel.write(this.buffer);
+            }
+            this.buffer.clear();
+        }
+    }
+
+    /**
+     * Buffered {@link FileChannel} input stream
+     */
+    private static final class ChannelInputStream extends InputStream {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+
+        ChannelInputStream(final FileChannel channel, int bufferSize) {
+            this.channel = channel;
+            this.buffer = ByteBuffer.allocateDirect(bufferSize);
+            this.buffer.flip();
+        }
+
+        @Override
+        public int read() throws IOException {
+            return this.fill() ? (this.buffer.get() & 0xFF) : -1;
+        }
+
+        @Override
+        public int read(final byte[] bytes, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            if (!this.fill()) {
+                return -1;
+            }
+            final int count = Math.min(length, this.buffer.remaining());
+            this.buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.channel.close();
+        }
+
+        private boolean fill() throws IOException {
+            while (!this.buffer.hasRemaining()) {
+                this.buffer.clear();
+                final int count = this.channel.read(this.buffer);
+                this.buffer.flip();
+                if (count < 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software andAll associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, andAll/or sell
+ * copies of the Software, andAll to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice andAll this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.common.sort;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Sort run serializer declaration
+ *
+ * @param <T> type of serialized element
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public interface SortSerializer<T> {
+
+    /**
+     * Writes input value {@code T} to the output {@link DataOutput}
+     *
+     * @param output - initial input {@link DataOutput} to write to
+     * @param value  - initial input value {@code T} to be written
+     * @throws IOException if an I/O error occurs
+     */
+    void write(final DataOutput output, final T value) throws IOException;
+
+    /**
+     * Returns value {@code T} read from the input {@link DataInput}
+     *
+     * @param input - initial input {@link DataInput} to read from
+     * @return value {@code T}
+     * @throws IOException if an I/O error occurs
+     */
+    T read(final DataInput input) throws IOException;
+}
@@ -35,6 +35,9 @@ open module com.wildbeeslabs.sensiblemtrics.diffy.common {
 
     // exports common annotation
     exports com.wildbeeslabs.sensiblemetrics.diffy.common.annotation;
+    // exports common cache
+    exports com.wildbeeslabs.sensiblemetrics.diffy.common.cache.interfaces;
+    exports com.wildbeeslabs.sensiblemetrics.diffy.common.cache.impl;
     // exports common context
     exports com.wildbeeslabs.sensiblemetrics.diffy.common.context;
     // exports common entry
@@ -0,0 +1,263 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software andAll associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, andAll/or sell
+ * copies of the Software, andAll to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice andAll this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.common.test.cache;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.common.cache.impl.ClockCache;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.cache.interfaces.ConcurrentCache;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * {@link ClockCache} unit test
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public class ClockCacheTest {
+
+    @Test
+    @DisplayName("Test cache keeps at most capacity entries")
+    public void testCacheIsBounded() {
+        // given
+        final ClockCache<Integer, String> cache = new ClockCache<>(4);
+
+        // when
+        for (int i = 0; i < 100; i++) {
+            cache.put(i, String.valueOf(i));
+        }
+
+        // then
+        assertThat(cache.size(), equalTo(4));
+        assertThat(cache.getCapacity(), equalTo(4));
+        assertThat(cache.getEvictionCount(), equalTo(96L));
+        assertThat(cache.get(99), equalTo("99"));
+    }
+
+    @Test
+    @DisplayName("Test referenced entries get a second chance on eviction")
+    public void testReferencedEntryIsNotEvicted() {
+        // given
+        final ClockCache<String, String> cache = new ClockCache<>(3);
+        cache.put("a", "A");
+        cache.put("b", "B");
+        cache.put("c", "C");
+
+        // when
+        cache.get("a");
+        cache.put("d", "D");
+
+        // then
+        assertThat(cache.size(), equalTo(3));
+        assertThat(cache.get("b"), nullValue());
+        assertThat(cache.get("a"), equalTo("A"));
+        assertThat(cache.get("c"), equalTo("C"));
+        assertThat(cache.get("d"), equalTo("D"));
+        assertThat(cache.getEvictionCount(), equalTo(1L));
+    }
+
+    @Test
+    @DisplayName("Test infrequent candidates are declined and frequent ones admitted")
+    public void testAdmission() {
+        // given
+        final ClockCache<String, String> cache = new ClockCache<>(2);
+        cache.put("a", "A");
+        cache.put("b", "B");
+        for (int i = 0; i < 5; i++) {
+            cache.get("a");
+            cache.get("b");
+        }
+
+        // when
+        final String existing = cache.putIfAbsent("c", "C");
+
+        // then
+        assertThat(existing, nullValue());
+        assertThat(cache.size(), equalTo(2));
+        assertThat(cache.get("a"), equalTo("A"));
+        assertThat(cache.get("b"), equalTo("B"));
+        assertThat(cache.getEvictionCount(), equalTo(0L));
+
+        // when
+        for (int i = 0; i < 10; i++) {
+            cache.get("d");
+        }
+        cache.put("d", "D");
+
+        // then
+        assertThat(cache.size(), equalTo(2));
+        assertThat(cache.get("d"), equalTo("D"));
+        assertThat(cache.getEvictionCount(), equalTo(1L));
+    }
+
+    @Test
+    @DisplayName("Test admitIfAbsent stores entries declined by admission")
+    public void testAdmitIfAbsentBypassesAdmission() {
+        // given
+        final ConcurrentCache<String, String> cache = new ClockCache<>(2);
+        cache.put("a", "A");
+        cache.put("b", "B");
+        for (int i = 0; i < 5; i++) {
+            cache.get("a");
+            cache.get("b");
+        }
+
+        // when
+        final String stored = cache.admitIfAbsent("c", "C");
+        final String existing = cache.admitIfAbsent("c", "X");
+
+        // then
+        assertThat(stored, nullValue());
+        assertThat(existing, equalTo("C"));
+        assertThat(cache.get("c"), equalTo("C"));
+        assertThat(cache.size(), equalTo(2));
+        assertThat(cache.getEvictionCount(), equalTo(1L));
+    }
+
+    @Test
+    @DisplayName("Test cache replaces and removes entries")
+    public void testReplaceAndRemove() {
+        // given
+        final ConcurrentCache<String, String> cache = new ClockCache<>(2);
+        cache.put("a", "A");
+
+        // when
+        cache.put("a", "B");
+
+        // then
+        assertThat(cache.putIfAbsent("a", "C"), equalTo("B"));
+        assertThat(cache.remove("a", "A"), equalTo(false));
+        assertThat(cache.remove("a", "B"), equalTo(true));
+        assertThat(cache.remove("a"), nullValue());
+        assertThat(cache.size(), equalTo(0));
+
+        // when
+        cache.put("x", "X");
+        cache.put("y", "Y");
+        cache.clear();
+        cache.put("z", "Z");
+
+        // then
+        assertThat(cache.size(), equalTo(1));
+        assertThat(cache.getEvictionCount(), equalTo(0L));
+    }
+
+    @Test
+    @DisplayName("Test cache counts hits and misses")
+    public void testCounters() {
+        // given
+        final ConcurrentCache<String, String> cache = new ClockCache<>(4);
+        assertThat(cache.getHitRate(), equalTo(1.0));
+        cache.put("a", "A");
+
+        // when
+        cache.get("a");
+        cache.get("a");
+        cache.get("a");
+        cache.get("b");
+
+        // then
+        assertThat(cache.getHitCount(), equalTo(3L));
+        assertThat(cache.getMissCount(), equalTo(1L));
+        assertThat(cache.getHitRate(), closeTo(0.75, 1e-9));
+        assertThat(cache.computeIfAbsent("b", key -> "B"), equalTo("B"));
+        assertThat(cache.get("b"), equalTo("B"));
+    }
+
+    @Test
+    @DisplayName("Test cache expunges entries of collected weak keys")
+    public void testWeakKeysAreExpunged() throws InterruptedException {
+        // given
+        final ClockCache<Object, String> cache = new ClockCache<>(4, true);
+        final String strongKey = new String("strong");
+        cache.put(strongKey, "S");
+        cache.put(new Object(), "W");
+        assertThat(cache.size(), equalTo(2));
+
+        // when
+        for (int i = 0; i < 50 && cache.size() > 1; i++) {
+            System.gc();
+            Thread.sleep(10);
+            cache.remove(new Object());
+        }
+
+        // then
+        assertThat(cache.size(), equalTo(1));
+        assertThat(cache.get(new String("strong")), equalTo("S"));
+    }
+
+    @Test
+    @DisplayName("Test cache stays bounded under concurrent access")
+    public void testConcurrentAccess() throws Exception {
+        // given
+        final ClockCache<Integer, Integer> cache = new ClockCache<>(16);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // when
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                final int seed = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        final int key = (i * 31 + seed) % 64;
+                        if (cache.get(key) == null) {
+                            cache.putIfAbsent(key, key);
+                        }
+                    }
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // then
+        assertThat(cache.size(), lessThanOrEqualTo(16));
+        assertThat(cache.getHitCount() + cache.getMissCount(), equalTo(40_000L));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    @DisplayName("Test cache rejects null keys")
+    public void testNullKey() {
+        new ClockCache<String, String>(2).put(null, "A");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    @DisplayName("Test cache rejects non-positive capacity")
+    public void testInvalidCapacity() {
+        new ClockCache<String, String>(0);
+    }
+}
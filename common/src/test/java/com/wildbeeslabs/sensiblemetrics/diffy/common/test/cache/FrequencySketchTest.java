@@ -0,0 +1,94 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software andAll associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, andAll/or sell
+ * copies of the Software, andAll to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice andAll this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.common.test.cache;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.common.cache.impl.FrequencySketch;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * {@link FrequencySketch} unit test
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public class FrequencySketchTest {
+
+    @Test
+    @DisplayName("Test sketch counts increments per key")
+    public void testIncrement() {
+        // given
+        final FrequencySketch sketch = new FrequencySketch(64);
+
+        // when
+        for (int i = 0; i < 5; i++) {
+            sketch.increment(42);
+        }
+        sketch.increment(7);
+
+        // then
+        assertThat(sketch.frequency(42), equalTo(5));
+        assertThat(sketch.frequency(7), greaterThanOrEqualTo(1));
+        assertThat(sketch.frequency(7), lessThan(5));
+    }
+
+    @Test
+    @DisplayName("Test sketch never underestimates and saturates at fifteen")
+    public void testSaturation() {
+        // given
+        final FrequencySketch sketch = new FrequencySketch(64);
+
+        // when
+        for (int i = 0; i < 100; i++) {
+            sketch.increment(1);
+        }
+
+        // then
+        assertThat(sketch.frequency(1), equalTo(15));
+        assertThat(sketch.frequency(2), lessThanOrEqualTo(15));
+    }
+
+    @Test
+    @DisplayName("Test sketch halves counters after a sample of increments")
+    public void testAging() {
+        // given
+        final FrequencySketch sketch = new FrequencySketch(16);
+        for (int i = 0; i < 8; i++) {
+            sketch.increment(-1);
+        }
+        assertThat(sketch.frequency(-1), equalTo(8));
+
+        // when
+        for (int key = 0; key < 1_000; key++) {
+            sketch.increment(key * 0x9e3779b9);
+        }
+
+        // then
+        assertThat(sketch.frequency(-1), lessThan(8));
+    }
+}
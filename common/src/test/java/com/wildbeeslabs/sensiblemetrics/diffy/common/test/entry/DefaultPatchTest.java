@@ -0,0 +1,189 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software andAll associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, andAll/or sell
+ * copies of the Software, andAll to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice andAll this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.common.test.entry;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Chunk;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Delta;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.impl.DefaultChunk;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.impl.DefaultDelta;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.impl.DefaultPatch;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.fail;
+
+/**
+ * {@link DefaultPatch} unit test
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public class DefaultPatchTest {
+
+    @Test
+    @DisplayName("Test patch deltas are sorted by original position when added out of order")
+    public void testPatchSortsOutOfOrderDeltas() {
+        // given
+        final DefaultPatch<String> patch = new DefaultPatch<>();
+
+        // when
+        patch.addDelta(changeDelta(5, "f", "F"));
+        patch.addDelta(changeDelta(1, "b", "B"));
+        patch.addDelta(changeDelta(3, "d", "D"));
+
+        // then
+        assertThat(positionsOf(patch.getDeltas()), contains(1, 3, 5));
+    }
+
+    @Test
+    @DisplayName("Test patch deltas are re-sorted after further out of order additions")
+    public void testPatchResortsAfterFurtherAdditions() {
+        // given
+        final DefaultPatch<String> patch = new DefaultPatch<>();
+        patch.addDelta(changeDelta(2, "c", "C"));
+        patch.addDelta(changeDelta(4, "e", "E"));
+        assertThat(positionsOf(patch.getDeltas()), contains(2, 4));
+
+        // when
+        patch.addDelta(changeDelta(0, "a", "A"));
+
+        // then
+        assertThat(positionsOf(patch.getDeltas()), contains(0, 2, 4));
+    }
+
+    @Test
+    @DisplayName("Test patch deltas are sorted by custom comparator")
+    public void testPatchSortsByCustomComparator() {
+        // given
+        final Comparator<Delta<String>> comparator = Comparator.comparingInt(delta -> -delta.getOriginal().getPosition());
+        final DefaultPatch<String> patch = new DefaultPatch<>(comparator);
+
+        // when
+        patch.addDelta(changeDelta(1, "b", "B"));
+        patch.addDelta(changeDelta(5, "f", "F"));
+        patch.addDelta(changeDelta(3, "d", "D"));
+
+        // then
+        assertThat(positionsOf(patch.getDeltas()), contains(5, 3, 1));
+    }
+
+    @Test
+    @DisplayName("Test patch applies deltas added out of order")
+    public void testPatchAppliesOutOfOrderDeltas() {
+        // given
+        final List<String> source = Arrays.asList("a", "b", "c", "d", "e", "f");
+        final DefaultPatch<String> patch = new DefaultPatch<>();
+        patch.addDelta(changeDelta(5, "f", "F"));
+        patch.addDelta(changeDelta(1, "b", "B"));
+        patch.addDelta(changeDelta(3, "d", "D"));
+
+        // when
+        final Iterable<String> result = patch.applyTo(source);
+
+        // then
+        assertThat(result, contains("a", "B", "c", "D", "e", "F"));
+    }
+
+    @Test
+    @DisplayName("Test patch deltas are returned as unmodifiable list")
+    public void testPatchDeltasAreUnmodifiable() {
+        // given
+        final DefaultPatch<String> patch = new DefaultPatch<>();
+        patch.addDelta(changeDelta(3, "d", "D"));
+        patch.addDelta(changeDelta(1, "b", "B"));
+        final List<Delta<String>> deltas = patch.getDeltas();
+
+        // when
+        try {
+            deltas.add(changeDelta(0, "a", "A"));
+            fail("Expected UnsupportedOperationException on add");
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+        try {
+            deltas.remove(0);
+            fail("Expected UnsupportedOperationException on remove");
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+        try {
+            deltas.sort(Collections.reverseOrder(Comparator.comparingInt(delta -> delta.getOriginal().getPosition())));
+            fail("Expected UnsupportedOperationException on sort");
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+
+        // then
+        assertThat(positionsOf(patch.getDeltas()), contains(1, 3));
+    }
+
+    private static List<Integer> positionsOf(final List<Delta<String>> deltas) {
+        return deltas.stream().map(delta -> delta.getOriginal().getPosition()).collect(Collectors.toList());
+    }
+
+    private static Delta<String> changeDelta(int position, final String original, final String revised) {
+        return new TestChangeDelta<>(new DefaultChunk<>(position, Collections.singletonList(original)), new DefaultChunk<>(position, Collections.singletonList(revised)));
+    }
+
+    /**
+     * Minimal change {@link Delta} implementation for patch tests
+     */
+    private static class TestChangeDelta<T> extends DefaultDelta<T> {
+
+        TestChangeDelta(final Chunk<T> original, final Chunk<T> revised) {
+            super(original, revised);
+        }
+
+        @Override
+        public void verify(final List<T> target) {
+            getOriginal().verify(target);
+        }
+
+        @Override
+        public void applyTo(final List<T> target) {
+            verify(target);
+            final int position = getOriginal().getPosition();
+            final List<T> result = new ArrayList<>(target.subList(0, position));
+            result.addAll(getRevised().getLines());
+            result.addAll(target.subList(position + getOriginal().size(), target.size()));
+            target.clear();
+            target.addAll(result);
+        }
+
+        @Override
+        public Delta.TYPE getType() {
+            return Delta.TYPE.CHANGE;
+        }
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software andAll associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, andAll/or sell
+ * copies of the Software, andAll to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice andAll this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.common.test.sort;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.common.sort.ExternalSortService;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.sort.SortSerializer;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.*;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * {@link ExternalSortService} unit test
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public class ExternalSortServiceTest {
+
+    /**
+     * Default element comparator by key only
+     */
+    private static final Comparator<long[]> DEFAULT_COMPARATOR = Comparator.comparingLong(value -> value[0]);
+
+    /**
+     * Default element serializer
+     */
+    private static final SortSerializer<long[]> DEFAULT_SERIALIZER = new SortSerializer<>() {
+        @Override
+        public void write(final DataOutput output, final long[] value) throws IOException {
+            output.writeLong(value[0]);
+            output.writeLong(value[1]);
+        }
+
+        @Override
+        public long[] read(final DataInput input) throws IOException {
+            return new long[]{input.readLong(), input.readLong()};
+        }
+    };
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    @DisplayName("Test external sort equals stable in-memory sort without spilling")
+    public void test_sort_by_inMemoryChunk() throws IOException {
+        // given
+        final Path directory = this.folder.newFolder().toPath();
+        final List<long[]> input = this.input(500);
+
+        // when
+        final List<long[]> output = this.sort(input, directory, 1000, 2);
+
+        // then
+        assertThat(this.render(output), equalTo(this.render(this.expected(input))));
+        assertThat(directory.toFile().list(), emptyArray());
+    }
+
+    @Test
+    @DisplayName("Test external sort grows the chunk buffer on demand for small inputs")
+    public void test_sort_by_unboundedInMemoryChunk() throws IOException {
+        // given
+        final Path directory = this.folder.newFolder().toPath();
+        final List<long[]> input = this.input(10);
+
+        // when
+        final List<long[]> output = this.sort(input, directory, Integer.MAX_VALUE, 2);
+
+        // then
+        assertThat(this.render(output), equalTo(this.render(this.expected(input))));
+        assertThat(directory.toFile().list(), emptyArray());
+    }
+
+    @Test
+    @DisplayName("Test external sort spills runs, merges them in several passes and keeps equal keys in input order")
+    public void test_sort_by_spilledRuns() throws IOException {
+        for (final int fanIn : new int[]{2, 3, 64}) {
+            // given
+            final Path directory = this.folder.newFolder().toPath();
+            final List<long[]> input = this.input(10_007);
+
+            // when
+            final List<long[]> output = this.sort(input, directory, 97, fanIn);
+
+            // then
+            assertThat(this.render(output), equalTo(this.render(this.expected(input))));
+            assertThat(directory.toFile().list(), emptyArray());
+        }
+    }
+
+    @Test
+    @DisplayName("Test external sort removes run files on serializer failure")
+    public void test_sort_on_serializerFailure() throws IOException {
+        // given
+        final Path directory = this.folder.newFolder().toPath();
+        final SortSerializer<long[]> serializer = new SortSerializer<>() {
+            private int count;
+
+            @Override
+            public void write(final DataOutput output, final long[] value) throws IOException {
+                if (++this.count > 250) {
+                    throw new IOException("failure");
+                }
+                DEFAULT_SERIALIZER.write(output, value);
+            }
+
+            @Override
+            public long[] read(final DataInput input) throws IOException {
+                return DEFAULT_SERIALIZER.read(input);
+            }
+        };
+
+        // when
+        try {
+            new ExternalSortService<>(DEFAULT_COMPARATOR, serializer, directory, 100, 2, 64).sort(this.input(1000), value -> {
+            });
+            throw new AssertionError("Failure should be rethrown");
+        } catch (UncheckedIOException e) {
+            // then
+            assertThat(e.getCause().getMessage(), equalTo("failure"));
+            assertThat(directory.toFile().list(), emptyArray());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    @DisplayName("Test external sort rejects fan-in less than two")
+    public void test_create_on_invalidFanIn() {
+        // when
+        new ExternalSortService<>(DEFAULT_COMPARATOR, DEFAULT_SERIALIZER, null, 10, 1, 64);
+    }
+
+    private List<long[]> sort(final List<long[]> input, final Path directory, int maxInMemory, int maxFanIn) {
+        final List<long[]> output = new ArrayList<>(input.size());
+        new ExternalSortService<>(DEFAULT_COMPARATOR, DEFAULT_SERIALIZER, directory, maxInMemory, maxFanIn, 64).sort(input.stream(), output::add);
+        return output;
+    }
+
+    private List<long[]> expected(final List<long[]> input) {
+        final List<long[]> result = new ArrayList<>(input);
+        result.sort(DEFAULT_COMPARATOR);
+        return result;
+    }
+
+    private List<String> render(final List<long[]> values) {
+        final List<String> result = new ArrayList<>(values.size());
+        values.forEach(value -> result.add(value[0] + ":" + value[1]));
+        return result;
+    }
+
+    private List<long[]> input(int size) {
+        final Random random = new Random(size);
+        final List<long[]> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(new long[]{random.nextInt(50), i});
+        }
+        return result;
+    }
+}
@@ -24,11 +24,19 @@
 package com.wildbeeslabs.sensiblemetrics.diffy.comparator.factory;
 
 import com.wildbeeslabs.sensiblemetrics.diffy.common.annotation.Factory;
+import com.wildbeeslabs.sensiblemetrics.diffy.comparator.annotation.Diffable;
+import com.wildbeeslabs.sensiblemetrics.diffy.comparator.annotation.Priority;
 import com.wildbeeslabs.sensiblemetrics.diffy.comparator.interfaces.DiffComparator;
+import com.wildbeeslabs.sensiblemetrics.diffy.comparator.service.BulkDiffComparator;
 import com.wildbeeslabs.sensiblemetrics.diffy.comparator.service.DefaultDiffComparator;
+import com.wildbeeslabs.sensiblemetrics.diffy.comparator.service.KeyedCollectionDiffComparator;
+import com.wildbeeslabs.sensiblemetrics.diffy.comparator.utils.GeneratedComparatorUtils;
 import lombok.experimental.UtilityClass;
 
 import java.util.Comparator;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
 
 /**
  * Default difference comparator factory implementation
@@ -54,6 +62,23 @@ public class DefaultDiffComparatorFactory {
         return (E) new DefaultDiffComparator<>(clazz);
     }
 
+    /**
+     * Creates difference comparator instance {@link DiffComparator} by class instance {@link Class}
+     * <p>
+     * Returns the comparator generated at compile time for classes annotated with {@link Diffable} or {@link Priority}
+     * when available (see {@link GeneratedComparatorUtils}), {@link DefaultDiffComparator} otherwise. Generated comparators
+     * are not configurable, so the result is typed as {@link DiffComparator} only.
+     *
+     * @param <T>   type of input element to create comparator for
+     * @param clazz - initial class instance {@link Class} to initialize comparator {@link DiffComparator}
+     * @return difference comparator {@link DiffComparator}
+     */
+    @Factory
+    public static <T> DiffComparator<T> createGenerated(final Class<? extends T> clazz) {
+        final Optional<DiffComparator<T>> generated = GeneratedComparatorUtils.findDiffComparator(clazz);
+        return generated.orElseGet(() -> new DefaultDiffComparator<>(clazz));
+    }
+
     /**
      * Creates difference comparator instance {@link DiffComparator} by class instance {@link Class} and iterableOf collections of included/excluded properties {@link Iterable}
      *
@@ -137,4 +162,45 @@ public class DefaultDiffComparatorFactory {
         defaultDiffComparator.excludeProperties(excludeProperties);
         return (E) defaultDiffComparator;
     }
+
+    /**
+     * Creates bulk difference comparator instance {@link BulkDiffComparator} by class instance {@link Class} on the common fork-join pool
+     *
+     * @param <T>   type of input element to create comparator for
+     * @param clazz - initial class instance {@link Class} to initialize comparator {@link DiffComparator}
+     * @return bulk difference comparator {@link BulkDiffComparator}
+     */
+    @Factory
+    public static <T> BulkDiffComparator<T> createBulk(final Class<? extends T> clazz) {
+        return new BulkDiffComparator<>(new DefaultDiffComparator<>(clazz));
+    }
+
+    /**
+     * Creates bulk difference comparator instance {@link BulkDiffComparator} by comparator instance {@link DiffComparator}, executor {@link Executor} and batching parameters
+     *
+     * @param <T>         type of input element to create comparator for
+     * @param comparator  - initial difference comparator instance {@link DiffComparator}
+     * @param executor    - initial executor instance {@link Executor}
+     * @param batchSize   - initial number of pairs per batch
+     * @param maxInFlight - initial maximum number of submitted batches
+     * @return bulk difference comparator {@link BulkDiffComparator}
+     */
+    @Factory
+    public static <T> BulkDiffComparator<T> createBulk(final DiffComparator<T> comparator, final Executor executor, int batchSize, int maxInFlight) {
+        return new BulkDiffComparator<>(comparator, executor, batchSize, maxInFlight);
+    }
+
+    /**
+     * Creates keyed collection difference comparator instance {@link KeyedCollectionDiffComparator} by element class instance {@link Class} and key extractor {@link Function}
+     *
+     * @param <T>          type of collection element to create comparator for
+     * @param <K>          type of element key
+     * @param clazz        - initial element class instance {@link Class} to initialize comparator {@link DiffComparator}
+     * @param keyExtractor - initial element key extractor {@link Function}
+     * @return keyed collection difference comparator {@link KeyedCollectionDiffComparator}
+     */
+    @Factory
+    public static <T, K> KeyedCollectionDiffComparator<T, K> createKeyed(final Class<? extends T> clazz, final Function<? super T, ? extends K> keyExtractor) {
+        return new KeyedCollectionDiffComparator<>(clazz, keyExtractor);
+    }
 }
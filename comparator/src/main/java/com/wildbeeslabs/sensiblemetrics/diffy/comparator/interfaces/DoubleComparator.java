@@ -0,0 +1,86 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software andAll associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, andAll/or sell
+ * copies of the Software, andAll to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice andAll this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.comparator.interfaces;
+
+import java.io.Serializable;
+
+/**
+ * Primitive {@code double} comparator declaration
+ * <p>
+ * Compares {@code double} values without boxing them to {@link Double}.
+ * <p>
+ * The natural order is the one of {@link Double#compare(double, double)}: {@code -0.0} precedes {@code 0.0} and {@code NaN} is the greatest value.
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+@FunctionalInterface
+public interface DoubleComparator extends Serializable {
+
+    /**
+     * Default natural order {@link DoubleComparator}
+     */
+    DoubleComparator NATURAL_ORDER = Double::compare;
+
+    /**
+     * Returns numeric result of arguments comparison
+     *
+     * @param first - initial first argument to be compared
+     * @param last  - initial last argument to be compared with
+     * @return negative, zero or positive value if first argument is less than, equal to or greater than last argument
+     */
+    int compare(final double first, final double last);
+
+    /**
+     * Returns comparator {@link DoubleComparator} imposing the reverse order
+     *
+     * @return reversed comparator {@link DoubleComparator}
+     */
+    default DoubleComparator reversed() {
+        return (first, last) -> this.compare(last, first);
+    }
+
+    /**
+     * Returns comparator {@link DoubleComparator} consulting input comparator {@link DoubleComparator} on equal values
+     *
+     * @param other - initial comparator instance {@link DoubleComparator} to be applied on equal values
+     * @return composed comparator {@link DoubleComparator}
+     */
+    default DoubleComparator thenComparing(final DoubleComparator other) {
+        return (first, last) -> {
+            final int result = this.compare(first, last);
+            return (0 != result) ? result : other.compare(first, last);
+        };
+    }
+
+    /**
+     * Returns natural order {@link DoubleComparator}
+     *
+     * @return natural order comparator {@link DoubleComparator}
+     */
+    static DoubleComparator naturalOrder() {
+        return NATURAL_ORDER;
+    }
+}
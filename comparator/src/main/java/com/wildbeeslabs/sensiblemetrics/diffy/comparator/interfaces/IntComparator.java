@@ -0,0 +1,84 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software andAll associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, andAll/or sell
+ * copies of the Software, andAll to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice andAll this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.comparator.interfaces;
+
+import java.io.Serializable;
+
+/**
+ * Primitive {@code int} comparator declaration
+ * <p>
+ * Compares {@code int} values without boxing them to {@link Integer}.
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+@FunctionalInterface
+public interface IntComparator extends Serializable {
+
+    /**
+     * Default natural order {@link IntComparator}
+     */
+    IntComparator NATURAL_ORDER = Integer::compare;
+
+    /**
+     * Returns numeric result of arguments comparison
+     *
+     * @param first - initial first argument to be compared
+     * @param last  - initial last argument to be compared with
+     * @return negative, zero or positive value if first argument is less than, equal to or greater than last argument
+     */
+    int compare(final int first, final int last);
+
+    /**
+     * Returns comparator {@link IntComparator} imposing the reverse order
+     *
+     * @return reversed comparator {@link IntComparator}
+     */
+    default IntComparator reversed() {
+        return (first, last) -> this.compare(last, first);
+    }
+
+    /**
+     * Returns comparator {@link IntComparator} consulting input comparator {@link IntComparator} on equal values
+     *
+     * @param other - initial comparator instance {@link IntComparator} to be applied on equal values
+     * @return composed comparator {@link IntComparator}
+     */
+    default IntComparator thenComparing(final IntComparator other) {
+        return (first, last) -> {
+            final int result = this.compare(first, last);
+            return (0 != result) ? result : other.compare(first, last);
+        };
+    }
+
+    /**
+     * Returns natural order {@link IntComparator}
+     *
+     * @return natural order comparator {@link IntComparator}
+     */
+    static IntComparator naturalOrder() {
+        return NATURAL_ORDER;
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software andAll associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, andAll/or sell
+ * copies of the Software, andAll to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice andAll this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.comparator.interfaces;
+
+/**
+ * Property accessor declaration
+ *
+ * @param <T> type of input element to read property from
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public interface PropertyAccessor<T> {
+
+    /**
+     * Returns property name {@link String}
+     *
+     * @return property name {@link String}
+     */
+    String getName();
+
+    /**
+     * Returns property type {@link Class}
+     *
+     * @return property type {@link Class}
+     */
+    Class<?> getType();
+
+    /**
+     * Returns property value of the input target {@code T}
+     *
+     * @param target - initial input target {@code T} to read property from
+     * @return property value
+     */
+    Object get(final T target);
+}
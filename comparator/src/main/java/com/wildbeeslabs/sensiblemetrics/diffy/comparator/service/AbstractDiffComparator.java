@@ -102,8 +102,8 @@ public abstract class AbstractDiffComparator<T> implements DiffComparator<T> {
         ValidationUtils.notNull(clazz, "Class should not be null!");
         this.clazz = clazz;
         this.comparator = Optional.ofNullable(comparator).orElse(ComparatorUtils.DEFAULT_COMPARATOR);
-        this.getPropertyMap().putAll(this.getFieldsMap(this.clazz));
-        this.getPropertySet().addAll(this.getPropertyMap().keySet());
+        this.propertyMap.putAll(this.getFieldsMap(this.clazz));
+        this.propertySet.addAll(this.propertyMap.keySet());
     }
 
     /**
@@ -122,7 +122,8 @@ public abstract class AbstractDiffComparator<T> implements DiffComparator<T> {
      */
     public void excludeProperty(final String property) {
         if (Objects.nonNull(property)) {
-            this.getPropertySet().remove(property);
+            this.propertySet.remove(property);
+            this.onPropertiesChanged();
         }
     }
 
@@ -132,7 +133,8 @@ public abstract class AbstractDiffComparator<T> implements DiffComparator<T> {
      * @param properties - initial input {@link Iterable} collection of properties to include in comparison
      */
     public void includeProperties(final Iterable<String> properties) {
-        this.getPropertySet().clear();
+        this.propertySet.clear();
+        this.onPropertiesChanged();
         ServiceUtils.listOf(properties).forEach(this::includeProperty);
     }
 
@@ -143,10 +145,46 @@ public abstract class AbstractDiffComparator<T> implements DiffComparator<T> {
      */
     protected void includeProperty(final String property) {
         if (Objects.nonNull(property)) {
-            this.getPropertySet().add(property);
+            this.propertySet.add(property);
+            this.onPropertiesChanged();
         }
     }
 
+    /**
+     * Returns unmodifiable {@link Map} of property {@link Comparator}s by names {@link String},
+     * use {@link #setComparator(String, Comparator)} / {@link #removeComparator(String)} to change it
+     *
+     * @return unmodifiable {@link Map} of property {@link Comparator}s
+     */
+    public Map<String, Comparator<?>> getPropertyComparatorMap() {
+        return Collections.unmodifiableMap(this.propertyComparatorMap);
+    }
+
+    /**
+     * Returns unmodifiable {@link Map} of property {@link Field}s by names {@link String}
+     *
+     * @return unmodifiable {@link Map} of property {@link Field}s
+     */
+    public Map<String, Field> getPropertyMap() {
+        return Collections.unmodifiableMap(this.propertyMap);
+    }
+
+    /**
+     * Returns unmodifiable {@link Set} of properties to compare by,
+     * use {@link #includeProperties(Iterable)} / {@link #excludeProperty(String)} to change it
+     *
+     * @return unmodifiable {@link Set} of properties {@link String}
+     */
+    public Set<String> getPropertySet() {
+        return Collections.unmodifiableSet(this.propertySet);
+    }
+
+    /**
+     * Notifies about changes of the collection of properties {@link Set} to compare by or their {@link Comparator}s
+     */
+    protected void onPropertiesChanged() {
+    }
+
     /**
      * Sets property {@link String} {@link Comparator}
      *
@@ -157,7 +195,8 @@ public abstract class AbstractDiffComparator<T> implements DiffComparator<T> {
     public void setComparator(final String property, final Comparator<?> comparator) {
         ValidationUtils.notNull(property, "Property should not be null!");
         log.debug("DEBUG <{}>: storing property by name={}, comparator={}", getClass().getName(), property, comparator);
-        this.getPropertyComparatorMap().put(ParserUtils.sanitize(property), comparator);
+        this.propertyComparatorMap.put(ParserUtils.sanitize(property), comparator);
+        this.onPropertiesChanged();
     }
 
     /**
@@ -179,7 +218,8 @@ public abstract class AbstractDiffComparator<T> implements DiffComparator<T> {
      */
     public void removeComparator(final String property) {
         log.debug("DEBUG: <{}>: removing comparator for property={}", getClass().getName(), property);
-        this.getPropertyComparatorMap().remove(ParserUtils.sanitize(property));
+        this.propertyComparatorMap.remove(ParserUtils.sanitize(property));
+        this.onPropertiesChanged();
     }
 
     /**
@@ -0,0 +1,268 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software andAll associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, andAll/or sell
+ * copies of the Software, andAll to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice andAll this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.comparator.service;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ValidationUtils;
+import com.wildbeeslabs.sensiblemetrics.diffy.comparator.interfaces.DiffComparator;
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.entry.iface.DiffEntry;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+
+/**
+ * Bulk difference comparator implementation
+ * <p>
+ * Compares a sequence of (first, last) pairs with a shared {@link DiffComparator} on an {@link Executor}.
+ * Pairs are read by the calling thread in batches of {@code batchSize}; at most {@code maxInFlight} batches
+ * are submitted at any time, so the input is consumed no faster than the results are delivered. Results are
+ * delivered to the sink on the calling thread as soon as a batch completes, hence not necessarily in input order.
+ * Batch buffers are recycled between submissions.
+ *
+ * @param <T> type of input element to be compared by operation
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+@Getter
+@ToString
+public class BulkDiffComparator<T> {
+
+    /**
+     * Default number of pairs per batch
+     */
+    public static final int DEFAULT_BATCH_SIZE = 256;
+
+    /**
+     * Default {@link DiffComparator}
+     */
+    private final DiffComparator<T> comparator;
+    /**
+     * Default {@link Executor}
+     */
+    private final Executor executor;
+    /**
+     * Default number of pairs per batch
+     */
+    private final int batchSize;
+    /**
+     * Default maximum number of submitted batches
+     */
+    private final int maxInFlight;
+
+    /**
+     * Creates bulk difference comparator with initial {@link DiffComparator} on the common {@link ForkJoinPool}
+     *
+     * @param comparator - initial difference comparator instance {@link DiffComparator}
+     */
+    public BulkDiffComparator(final DiffComparator<T> comparator) {
+        this(comparator, ForkJoinPool.commonPool(), DEFAULT_BATCH_SIZE, 2 * ForkJoinPool.getCommonPoolParallelism());
+    }
+
+    /**
+     * Creates bulk difference comparator with initial {@link DiffComparator}, {@link Executor} and batching parameters
+     *
+     * @param comparator  - initial difference comparator instance {@link DiffComparator}
+     * @param executor    - initial executor instance {@link Executor}
+     * @param batchSize   - initial number of pairs per batch
+     * @param maxInFlight - initial maximum number of submitted batches
+     * @throws IllegalArgumentException if comparator or executor is {@code null}, or batchSize / maxInFlight is not positive
+     */
+    public BulkDiffComparator(final DiffComparator<T> comparator, final Executor executor, int batchSize, int maxInFlight) {
+        ValidationUtils.notNull(comparator, "Comparator should not be null");
+        ValidationUtils.notNull(executor, "Executor should not be null");
+        ValidationUtils.isTrue(batchSize > 0, "Batch size should be positive");
+        ValidationUtils.isTrue(maxInFlight > 0, "Max in-flight batches should be positive");
+
+        this.comparator = comparator;
+        this.executor = executor;
+        this.batchSize = batchSize;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Compares every (key, value) pair of input {@link Stream} and delivers the results to the sink {@link BiConsumer}
+     *
+     * @param <E>   type of input pair
+     * @param pairs - initial stream of pairs {@link Stream} to be compared
+     * @param sink  - initial sink {@link BiConsumer} of pairs and their {@link DiffEntry} collections
+     * @throws IllegalArgumentException if pairs or sink is {@code null}
+     */
+    public <E extends Map.Entry<? extends T, ? extends T>> void diffCompare(final Stream<E> pairs, final BiConsumer<? super E, ? super Iterable<? extends DiffEntry<?>>> sink) {
+        ValidationUtils.notNull(pairs, "Pairs should not be null");
+
+        this.diffCompare(pairs.iterator(), sink);
+    }
+
+    /**
+     * Compares every (key, value) pair of input {@link Iterable} and delivers the results to the sink {@link BiConsumer}
+     *
+     * @param <E>   type of input pair
+     * @param pairs - initial iterable collection of pairs {@link Iterable} to be compared
+     * @param sink  - initial sink {@link BiConsumer} of pairs and their {@link DiffEntry} collections
+     * @throws IllegalArgumentException if pairs or sink is {@code null}
+     */
+    public <E extends Map.Entry<? extends T, ? extends T>> void diffCompare(final Iterable<E> pairs, final BiConsumer<? super E, ? super Iterable<? extends DiffEntry<?>>> sink) {
+        ValidationUtils.notNull(pairs, "Pairs should not be null");
+
+        this.diffCompare(pairs.iterator(), sink);
+    }
+
+    /**
+     * Compares every (key, value) pair of input {@link Iterator} and delivers the results to the sink {@link BiConsumer}
+     * <p>
+     * The first failure of the comparator or the sink stops reading the input and is rethrown
+     * once the already submitted batches have completed.
+     *
+     * @param <E>   type of input pair
+     * @param pairs - initial iterator of pairs {@link Iterator} to be compared
+     * @param sink  - initial sink {@link BiConsumer} of pairs and their {@link DiffEntry} collections
+     * @throws IllegalArgumentException if pairs or sink is {@code null}
+     * @throws IllegalStateException    if the comparator fails with a checked exception or an error
+     */
+    public <E extends Map.Entry<? extends T, ? extends T>> void diffCompare(final Iterator<E> pairs, final BiConsumer<? super E, ? super Iterable<? extends DiffEntry<?>>> sink) {
+        ValidationUtils.notNull(pairs, "Pairs should not be null");
+        ValidationUtils.notNull(sink, "Sink should not be null");
+
+        final BlockingQueue<Batch<T>> completed = new ArrayBlockingQueue<>(this.maxInFlight);
+        final Deque<Batch<T>> free = new ArrayDeque<>(this.maxInFlight);
+        RuntimeException error = null;
+        int inFlight = 0;
+        try {
+            while (Objects.isNull(error) && pairs.hasNext()) {
+                if (inFlight == this.maxInFlight) {
+                    error = this.deliver(this.take(completed), sink, free);
+                    inFlight--;
+                    continue;
+                }
+                final Batch<T> batch = free.isEmpty() ? new Batch<>(this.batchSize) : free.pop();
+                while (batch.size < this.batchSize && pairs.hasNext()) {
+                    batch.pairs[batch.size++] = pairs.next();
+                }
+                this.submit(batch, completed);
+                inFlight++;
+            }
+        } catch (RuntimeException e) {
+            error = e;
+        }
+        while (inFlight > 0) {
+            final RuntimeException e = this.deliver(this.take(completed), sink, free);
+            error = Objects.isNull(error) ? e : error;
+            inFlight--;
+        }
+        if (Objects.nonNull(error)) {
+            throw error;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void submit(final Batch<T> batch, final BlockingQueue<Batch<T>> completed) {
+        try {
+            this.executor.execute(() -> {
+                try {
+                    for (int i = 0; i < batch.size; i++) {
+                        final Map.Entry<? extends T, ? extends T> pair = (Map.Entry<? extends T, ? extends T>) batch.pairs[i];
+                        batch.results[i] = this.comparator.diffCompare(pair.getKey(), pair.getValue());
+                    }
+                } catch (Throwable t) {
+                    batch.error = (t instanceof RuntimeException) ? (RuntimeException) t : new IllegalStateException(t);
+                } finally {
+                    completed.add(batch);
+                }
+            });
+        } catch (RuntimeException e) {
+            batch.error = e;
+            completed.add(batch);
+        }
+    }
+
+    private Batch<T> take(final BlockingQueue<Batch<T>> completed) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return completed.take();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <E> RuntimeException deliver(final Batch<T> batch, final BiConsumer<? super E, ? super Iterable<? extends DiffEntry<?>>> sink, final Deque<Batch<T>> free) {
+        RuntimeException error = batch.error;
+        try {
+            for (int i = 0; Objects.isNull(error) && i < batch.size; i++) {
+                sink.accept((E) batch.pairs[i], batch.results[i]);
+            }
+        } catch (RuntimeException e) {
+            error = e;
+        }
+        batch.clear();
+        free.push(batch);
+        return error;
+    }
+
+    /**
+     * Reusable buffer of pairs and their results
+     *
+     * @param <T> type of input element to be compared by operation
+     */
+    private static final class Batch<T> {
+        private final Object[] pairs;
+        private final Iterable<? extends DiffEntry<?>>[] results;
+        private int size;
+        private RuntimeException error;
+
+        @SuppressWarnings("unchecked")
+        Batch(int capacity) {
+            this.pairs = new Object[capacity];
+            this.results = new Iterable[capacity];
+        }
+
+        void clear() {
+            for (int i = 0; i < this.size; i++) {
+                this.pairs[i] = null;
+                this.results[i] = null;
+            }
+            this.size = 0;
+            this.error = null;
+        }
+    }
+}
@@ -0,0 +1,360 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software andAll associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, andAll/or sell
+ * copies of the Software, andAll to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice andAll this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.comparator.service;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.common.cache.impl.ClockCache;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.cache.interfaces.ConcurrentCache;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.sort.SortManager;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ValidationUtils;
+import com.wildbeeslabs.sensiblemetrics.diffy.comparator.interfaces.ComparatorDispatcher;
+import com.wildbeeslabs.sensiblemetrics.diffy.comparator.interfaces.PropertyAccessor;
+import com.wildbeeslabs.sensiblemetrics.diffy.comparator.utils.ComparatorUtils;
+import com.wildbeeslabs.sensiblemetrics.diffy.comparator.utils.PropertyAccessorUtils;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.*;
+
+/**
+ * Compiled multi-key sort comparator implementation
+ * <p>
+ * Resolves every {@link SortManager.SortOrder} of input {@link SortManager} once into a flat array of sort keys
+ * (property {@link PropertyAccessor}, key kind, direction and null priority), so a comparison is a single loop
+ * instead of a chain of composed comparators. Integral and floating point properties are ordered numerically,
+ * other properties as {@link Comparable}s ({@link String}s case-insensitively if requested).
+ * Nulls are ordered by {@link SortManager.NullPriority} regardless of direction, {@link SortManager.NullPriority#NATIVE} puts them last.
+ * <p>
+ * {@link #compare(Object, Object)} still reads both keys through the property accessors and unboxes numeric
+ * properties on every call, so passing this comparator to {@link Collections#sort(List, Comparator)},
+ * {@link List#sort(Comparator)} or a {@link ComparatorDispatcher} consumer only saves the comparator chain.
+ * The flat fast path is {@link #sort(List)} and {@link #sort(Object[])}: they extract every key of every element
+ * once into primitive columns and sort an index permutation, so prefer them for bulk sorting.
+ * Compiled comparators are cached per ({@link Class}, sort orders) in a bounded {@link ClockCache}, the orders
+ * are copied so later changes of the caller's list do not affect the cached comparator.
+ *
+ * @param <T> type of input element to be compared by operation
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+@SuppressWarnings("unchecked")
+public final class CompiledSortComparator<T> implements Comparator<T> {
+
+    /**
+     * Default maximum number of cached compiled comparators
+     */
+    public static final int DEFAULT_CACHE_SIZE = 1024;
+
+    /**
+     * Default compiled comparators cache by compared {@link Class} and sort orders
+     */
+    private static final ConcurrentCache<CacheKey, CompiledSortComparator<?>> DEFAULT_COMPARATOR_CACHE = new ClockCache<>(DEFAULT_CACHE_SIZE);
+
+    /**
+     * Default key kinds
+     */
+    private static final int LONG = 0;
+    private static final int DOUBLE = 1;
+    private static final int OBJECT = 2;
+
+    /**
+     * Default compared {@link Class}
+     */
+    private final Class<T> clazz;
+    /**
+     * Default {@link SortManager}
+     */
+    private final SortManager sortManager;
+    /**
+     * Default sort keys in comparison order
+     */
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final Key<T>[] keys;
+
+    private CompiledSortComparator(final Class<T> clazz, final SortManager sortManager) {
+        final Map<String, PropertyAccessor<?>> accessors = PropertyAccessorUtils.getAccessors(clazz);
+        final List<Key<T>> keys = new ArrayList<>();
+        for (final SortManager.SortOrder order : sortManager) {
+            final PropertyAccessor<T> accessor = (PropertyAccessor<T>) accessors.get(order.getProperty());
+            ValidationUtils.notNull(accessor, String.format("Property {%s} not found in class {%s}", order.getProperty(), clazz.getName()));
+            keys.add(new Key<>(accessor, order));
+        }
+        this.clazz = clazz;
+        this.sortManager = sortManager;
+        this.keys = keys.toArray(new Key[0]);
+    }
+
+    /**
+     * Returns cached {@link CompiledSortComparator} by input {@link Class} and {@link SortManager}
+     *
+     * @param <T>         type of input element to be compared by operation
+     * @param clazz       - initial input {@link Class} to be compared
+     * @param sortManager - initial input {@link SortManager}
+     * @return compiled comparator {@link CompiledSortComparator}
+     * @throws IllegalArgumentException if clazz or sortManager is {@code null}, or a sort property is not found in clazz
+     */
+    public static <T> CompiledSortComparator<T> of(final Class<T> clazz, final SortManager sortManager) {
+        ValidationUtils.notNull(clazz, "Class should not be null");
+        ValidationUtils.notNull(sortManager, "Sort manager should not be null");
+
+        final CacheKey key = new CacheKey(clazz, List.copyOf(sortManager.getOrders()));
+        final CompiledSortComparator<?> comparator = DEFAULT_COMPARATOR_CACHE.get(key);
+        if (Objects.nonNull(comparator)) {
+            return (CompiledSortComparator<T>) comparator;
+        }
+        final CompiledSortComparator<T> result = new CompiledSortComparator<>(clazz, new SortManager(key.orders));
+        final CompiledSortComparator<?> previous = DEFAULT_COMPARATOR_CACHE.putIfAbsent(key, result);
+        return Objects.isNull(previous) ? result : (CompiledSortComparator<T>) previous;
+    }
+
+    /**
+     * Returns {@link ComparatorDispatcher} of cached {@link CompiledSortComparator}s by input {@link Class}
+     * <p>
+     * Dispatched comparators compare through property accessors, cast the result to {@link CompiledSortComparator}
+     * and call {@link #sort(List)} to sort on extracted key columns instead.
+     *
+     * @param <T>   type of input element to be compared by operation
+     * @param clazz - initial input {@link Class} to be compared
+     * @return {@link ComparatorDispatcher}
+     * @throws IllegalArgumentException if clazz is {@code null}
+     */
+    @NonNull
+    public static <T> ComparatorDispatcher<T> dispatcher(final Class<T> clazz) {
+        ValidationUtils.notNull(clazz, "Class should not be null");
+        return (final SortManager sortManager) -> of(clazz, sortManager);
+    }
+
+    /**
+     * Returns numeric result of arguments comparison by sort keys
+     * <p>
+     * Every call reads the keys through property accessors, use {@link #sort(List)} or {@link #sort(Object[])} for bulk sorting.
+     *
+     * @param first - initial input first argument to be compared
+     * @param last  - initial input last argument to be compared with
+     * @return negative, zero or positive value if first argument precedes, equals or follows last argument
+     */
+    @Override
+    public int compare(final T first, final T last) {
+        for (final Key<T> key : this.keys) {
+            final int result = key.compare(key.get(first), key.get(last));
+            if (0 != result) {
+                return result;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Sorts input {@link List} in place by sort keys
+     * <p>
+     * The sort is stable.
+     *
+     * @param list - initial input {@link List} to be sorted
+     * @throws IllegalArgumentException if list is {@code null}
+     */
+    public void sort(final List<T> list) {
+        ValidationUtils.notNull(list, "List should not be null");
+
+        final Object[] elements = list.toArray();
+        final int[] order = this.order(elements);
+        final ListIterator<T> iterator = list.listIterator();
+        for (final int index : order) {
+            iterator.next();
+            iterator.set((T) elements[index]);
+        }
+    }
+
+    /**
+     * Sorts input array in place by sort keys
+     * <p>
+     * The sort is stable.
+     *
+     * @param array - initial input array to be sorted
+     * @throws IllegalArgumentException if array is {@code null}
+     */
+    public void sort(final T[] array) {
+        ValidationUtils.notNull(array, "Array should not be null");
+
+        final Object[] elements = array.clone();
+        final int[] order = this.order(elements);
+        for (int i = 0; i < order.length; i++) {
+            array[i] = (T) elements[order[i]];
+        }
+    }
+
+    private int[] order(final Object[] elements) {
+        final int size = elements.length;
+        final int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        if (size < 2 || 0 == this.keys.length) {
+            return order;
+        }
+        final Column<T>[] columns = new Column[this.keys.length];
+        for (int k = 0; k < columns.length; k++) {
+            columns[k] = new Column<>(this.keys[k], elements);
+        }
+        ComparatorUtils.sort(order, (i, j) -> {
+            for (final Column<T> column : columns) {
+                final int result = column.compare(i, j);
+                if (0 != result) {
+                    return result;
+                }
+            }
+            return 0;
+        });
+        return order;
+    }
+
+    /**
+     * Compiled comparators cache key by compared {@link Class} and immutable copy of sort orders
+     */
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static final class CacheKey {
+        private final Class<?> clazz;
+        private final List<SortManager.SortOrder> orders;
+    }
+
+    /**
+     * Resolved sort key
+     *
+     * @param <T> type of input element to be compared by operation
+     */
+    private static final class Key<T> {
+        private final PropertyAccessor<T> accessor;
+        private final int kind;
+        private final boolean descending;
+        private final boolean nullsFirst;
+        private final boolean ignoreCase;
+
+        Key(final PropertyAccessor<T> accessor, final SortManager.SortOrder order) {
+            this.accessor = accessor;
+            this.kind = kindOf(accessor.getType());
+            this.descending = order.isDescending();
+            this.nullsFirst = SortManager.NullPriority.NULLS_FIRST == order.getNullPriority();
+            this.ignoreCase = order.isIgnoreCase() && CharSequence.class.isAssignableFrom(accessor.getType());
+        }
+
+        Object get(final T target) {
+            return Objects.isNull(target) ? null : this.accessor.get(target);
+        }
+
+        int compare(final Object first, final Object last) {
+            if (first == last) return 0;
+            if (Objects.isNull(first)) return this.nullsFirst ? -1 : 1;
+            if (Objects.isNull(last)) return this.nullsFirst ? 1 : -1;
+            final int result;
+            if (LONG == this.kind) {
+                result = Long.compare(((Number) first).longValue(), ((Number) last).longValue());
+            } else if (DOUBLE == this.kind) {
+                result = Double.compare(((Number) first).doubleValue(), ((Number) last).doubleValue());
+            } else if (this.ignoreCase) {
+                result = String.CASE_INSENSITIVE_ORDER.compare(first.toString(), last.toString());
+            } else {
+                result = ((Comparable<Object>) first).compareTo(last);
+            }
+            return this.direct(result);
+        }
+
+        /**
+         * Returns ascending comparison result in the key direction, {@link Integer#MIN_VALUE} is not negated
+         */
+        int direct(int result) {
+            return this.descending ? Integer.compare(0, result) : result;
+        }
+
+        private static int kindOf(final Class<?> type) {
+            if (type == long.class || type == int.class || type == short.class || type == byte.class
+                || type == Long.class || type == Integer.class || type == Short.class || type == Byte.class) {
+                return LONG;
+            }
+            if (type == double.class || type == float.class || type == Double.class || type == Float.class) {
+                return DOUBLE;
+            }
+            return OBJECT;
+        }
+    }
+
+    /**
+     * Pre-extracted sort key values of the sorted elements
+     *
+     * @param <T> type of input element to be compared by operation
+     */
+    private static final class Column<T> {
+        private final Key<T> key;
+        private final long[] longs;
+        private final double[] doubles;
+        private final Object[] objects;
+        private final BitSet nulls = new BitSet();
+
+        Column(final Key<T> key, final Object[] elements) {
+            final int size = elements.length;
+            this.key = key;
+            this.longs = (LONG == key.kind) ? new long[size] : null;
+            this.doubles = (DOUBLE == key.kind) ? new double[size] : null;
+            this.objects = (OBJECT == key.kind) ? new Object[size] : null;
+            for (int i = 0; i < size; i++) {
+                final Object value = key.get((T) elements[i]);
+                if (Objects.isNull(value)) {
+                    this.nulls.set(i);
+                } else if (LONG == key.kind) {
+                    this.longs[i] = ((Number) value).longValue();
+                } else if (DOUBLE == key.kind) {
+                    this.doubles[i] = ((Number) value).doubleValue();
+                } else {
+                    this.objects[i] = value;
+                }
+            }
+        }
+
+        int compare(int first, int last) {
+            final boolean firstNull = this.nulls.get(first);
+            final boolean lastNull = this.nulls.get(last);
+            if (firstNull || lastNull) {
+                if (firstNull == lastNull) return 0;
+                return (firstNull == this.key.nullsFirst) ? -1 : 1;
+            }
+            final int result;
+            if (LONG == this.key.kind) {
+                result = Long.compare(this.longs[first], this.longs[last]);
+            } else if (DOUBLE == this.key.kind) {
+                result = Double.compare(this.doubles[first], this.doubles[last]);
+            } else {
+                return this.key.compare(this.objects[first], this.objects[last]);
+            }
+            return this.key.direct(result);
+        }
+    }
+}
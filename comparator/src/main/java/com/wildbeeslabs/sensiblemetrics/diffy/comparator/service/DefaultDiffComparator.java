@@ -23,25 +23,15 @@
  */
 package com.wildbeeslabs.sensiblemetrics.diffy.comparator.service;
 
-import com.wildbeeslabs.sensiblemetrics.diffy.common.sort.SortManager;
 import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ParserUtils;
-import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ReflectionUtils;
-import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.StringUtils;
 import com.wildbeeslabs.sensiblemetrics.diffy.comparator.utils.ComparatorUtils;
 import com.wildbeeslabs.sensiblemetrics.diffy.matcher.entry.iface.DiffEntry;
-import com.wildbeeslabs.sensiblemetrics.diffy.matcher.entry.impl.DefaultDiffEntry;
-import lombok.Data;
-import lombok.EqualsAndHashCode;
-import lombok.ToString;
+import lombok.*;
 import lombok.extern.slf4j.Slf4j;
 
 import java.math.BigDecimal;
 import java.net.URL;
-import java.util.Comparator;
-import java.util.Currency;
-import java.util.Locale;
-import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.*;
 
 /**
  * Difference comparator implementation by input class {@link Class} / comparator instance {@link Comparator}
@@ -63,6 +53,15 @@ public class DefaultDiffComparator<T> extends AbstractDiffComparator<T> {
      */
     private static final long serialVersionUID = 2088063953605270171L;
 
+    /**
+     * Default {@link DiffComparatorPlan} of the compared properties, resolved lazily
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private transient volatile DiffComparatorPlan<T> plan;
+
     /**
      * Creates default difference comparator with initial class {@link Class}
      *
@@ -123,24 +122,19 @@ public class DefaultDiffComparator<T> extends AbstractDiffComparator<T> {
      */
     @Override
     public <S extends Iterable<? extends DiffEntry<?>>> S diffCompare(final T first, final T last) {
-        return (S) this.getPropertySet().stream()
-            .filter(property -> this.getPropertyMap().containsKey(property))
-            .map(property -> this.processProperty(first, last, property))
-            .filter(Objects::nonNull)
-            .collect(Collectors.toList());
+        DiffComparatorPlan<T> plan = this.plan;
+        if (Objects.isNull(plan)) {
+            plan = DiffComparatorPlan.of(this);
+            this.plan = plan;
+        }
+        return (S) plan.diffCompare(first, last);
     }
 
-    private DiffEntry<?> processProperty(final T first, final T last, final String property) {
-        try {
-            ReflectionUtils.setAccessible(this.getPropertyMap().get(property));
-            final Object firstValue = this.getPropertyMap().get(property).get(first);
-            final Object lastValue = this.getPropertyMap().get(property).get(last);
-            if (!Objects.equals(compare(firstValue, lastValue, property), SortManager.SortDirection.EQ)) {
-                return DefaultDiffEntry.of(property, firstValue, lastValue);
-            }
-        } catch (IllegalAccessException e) {
-            log.error(StringUtils.formatMessage("ERROR: cannot process property: {%s}, message: {%s}", property, e.getMessage()));
-        }
-        return null;
+    /**
+     * Resets resolved {@link DiffComparatorPlan} on property changes
+     */
+    @Override
+    protected void onPropertiesChanged() {
+        this.plan = null;
     }
 }
@@ -0,0 +1,124 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software andAll associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, andAll/or sell
+ * copies of the Software, andAll to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice andAll this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.comparator.service;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.comparator.interfaces.PropertyAccessor;
+import com.wildbeeslabs.sensiblemetrics.diffy.comparator.utils.PropertyAccessorUtils;
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.entry.iface.DiffEntry;
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.entry.impl.DefaultDiffEntry;
+
+import java.lang.reflect.Field;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Difference comparator plan implementation
+ * <p>
+ * Plan is an immutable array of property {@link PropertyAccessor} / {@link Comparator} pairs resolved once.
+ * Plans of plain {@link DefaultDiffComparator}s without property comparators depend only on the compared
+ * class and properties, so they are shared across instances through a concurrent cache.
+ *
+ * @param <T> type of input element to be compared by operation
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+final class DiffComparatorPlan<T> {
+
+    /**
+     * Default shared plans cache by compared {@link Class} and properties in comparison order
+     */
+    private static final ClassValue<ConcurrentMap<List<String>, DiffComparatorPlan<?>>> DEFAULT_PLAN_CACHE = new ClassValue<>() {
+        @Override
+        protected ConcurrentMap<List<String>, DiffComparatorPlan<?>> computeValue(final Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    /**
+     * Default property names / {@link PropertyAccessor}s / {@link Comparator}s
+     */
+    private final String[] names;
+    private final PropertyAccessor<T>[] accessors;
+    private final Comparator<Object>[] comparators;
+
+    private DiffComparatorPlan(final String[] names, final PropertyAccessor<T>[] accessors, final Comparator<Object>[] comparators) {
+        this.names = names;
+        this.accessors = accessors;
+        this.comparators = comparators;
+    }
+
+    /**
+     * Returns {@link DiffComparatorPlan} of the input {@link DefaultDiffComparator}
+     *
+     * @param <T>        type of input element to be compared by operation
+     * @param comparator - initial input {@link DefaultDiffComparator}
+     * @return {@link DiffComparatorPlan}
+     */
+    @SuppressWarnings("unchecked")
+    static <T> DiffComparatorPlan<T> of(final DefaultDiffComparator<T> comparator) {
+        if (comparator.getClass() != DefaultDiffComparator.class || !comparator.getPropertyComparatorMap().isEmpty()) {
+            return build(comparator);
+        }
+        final List<String> properties = List.copyOf(comparator.getPropertySet());
+        return (DiffComparatorPlan<T>) DEFAULT_PLAN_CACHE.get(comparator.getClazz()).computeIfAbsent(properties, key -> build(comparator));
+    }
+
+    /**
+     * Returns {@link List} of {@link DiffEntry}s by differing properties of the input values
+     *
+     * @param first - initial first argument to be compared {@code T}
+     * @param last  - initial last argument to be compared with {@code T}
+     * @return {@link List} of {@link DiffEntry}s
+     */
+    List<DiffEntry<?>> diffCompare(final T first, final T last) {
+        final List<DiffEntry<?>> result = new ArrayList<>();
+        for (int i = 0; i < this.accessors.length; i++) {
+            final Object firstValue = this.accessors[i].get(first);
+            final Object lastValue = this.accessors[i].get(last);
+            if (Objects.compare(firstValue, lastValue, this.comparators[i]) != 0) {
+                result.add(DefaultDiffEntry.of(this.names[i], firstValue, lastValue));
+            }
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> DiffComparatorPlan<T> build(final DefaultDiffComparator<T> comparator) {
+        final List<String> names = new ArrayList<>(comparator.getPropertySet().size());
+        final List<PropertyAccessor<T>> accessors = new ArrayList<>(comparator.getPropertySet().size());
+        final List<Comparator<Object>> comparators = new ArrayList<>(comparator.getPropertySet().size());
+        for (final String property : comparator.getPropertySet()) {
+            final Field field = comparator.getPropertyMap().get(property);
+            final PropertyAccessor<T> accessor = Objects.isNull(field) ? null : PropertyAccessorUtils.getAccessor(comparator.getClazz(), field);
+            if (Objects.nonNull(accessor)) {
+                names.add(property);
+                accessors.add(accessor);
+                comparators.add((Comparator<Object>) comparator.getPropertyComparator(property));
+            }
+        }
+        return new DiffComparatorPlan<>(names.toArray(new String[0]), accessors.toArray(new PropertyAccessor[0]), comparators.toArray(new Comparator[0]));
+    }
+}
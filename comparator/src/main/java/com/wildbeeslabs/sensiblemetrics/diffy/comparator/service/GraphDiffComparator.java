@@ -0,0 +1,428 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software andAll associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, andAll/or sell
+ * copies of the Software, andAll to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice andAll this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.comparator.service;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ReflectionUtils;
+import com.wildbeeslabs.sensiblemetrics.diffy.comparator.interfaces.DiffComparator;
+import com.wildbeeslabs.sensiblemetrics.diffy.comparator.interfaces.PropertyAccessor;
+import com.wildbeeslabs.sensiblemetrics.diffy.comparator.utils.PropertyAccessorUtils;
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.entry.iface.DiffEntry;
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.entry.impl.DefaultDiffEntry;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.lang.reflect.Array;
+import java.util.*;
+
+/**
+ * Recursive object graph difference comparator implementation
+ * <p>
+ * Walks nested beans, arrays, lists and maps of both graphs side by side and emits {@link DiffEntry}s
+ * with path-qualified property names, for instance {@code address.lines[3].zip}. Map keys and list / array indexes
+ * missing on one side are always reported, with {@code null} for the missing value. Identical references are
+ * skipped without traversal, and every (first, last) pair of containers or beans is visited once by identity,
+ * so shared subgraphs are not traversed again and cycles terminate. Value types (see {@link #isValueType(Class)})
+ * and collections other than {@link List} are compared by {@link Object#equals(Object)}.
+ * <p>
+ * Lists, maps and collections are matched by interface regardless of their implementation classes (for instance
+ * {@link ArrayList} and {@link List#of()}, {@link HashMap} and {@link LinkedHashMap}), arrays by component type;
+ * any other pair of values of different classes is reported as a whole. Beans are walked over all non-static fields,
+ * final fields included. Beans with a field that can not be accessed (see {@link #getAccessors(Class)}) are compared
+ * as a whole by {@link Object#equals(Object)} instead, so inaccessible state is never reported as equal.
+ * <p>
+ * Distinct but equal subtrees, for instance of a copied or deserialized graph, are skipped without traversal:
+ * every array, list, map and bean overriding {@link Object#equals(Object)} gets a structural hash memoized by identity
+ * over the whole walk, and the descent is skipped when both hashes match and {@link Objects#deepEquals(Object, Object)}
+ * confirms. Cyclic subtrees are always walked.
+ * <p>
+ * The walk uses an explicit stack, so deep graphs (for instance long linked structures) do not exhaust the call stack.
+ *
+ * @param <T> type of input element to be compared by operation
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+@EqualsAndHashCode
+@ToString
+@SuppressWarnings("unchecked")
+public class GraphDiffComparator<T> implements DiffComparator<T> {
+
+    /**
+     * Default explicit serialVersionUID for interoperability
+     */
+    private static final long serialVersionUID = -3401787306561204829L;
+
+    /**
+     * Default structural hash of a back reference to a node being hashed
+     */
+    private static final int CYCLE_HASH = 0x9E3779B9;
+
+    /**
+     * Default bean {@link PropertyAccessor}s cache by {@link Class}, {@code null} if any field can not be accessed
+     */
+    private static final ClassValue<PropertyAccessor<Object>[]> DEFAULT_ACCESSOR_CACHE = new ClassValue<>() {
+        @Override
+        protected PropertyAccessor<Object>[] computeValue(final Class<?> type) {
+            final Map<String, PropertyAccessor<?>> accessors = PropertyAccessorUtils.getAccessors(type, true);
+            final Set<String> names = new HashSet<>();
+            ReflectionUtils.getValidFields(ReflectionUtils.getAllFields(type), true, false).forEach(field -> names.add(field.getName()));
+            if (accessors.size() < names.size()) {
+                return null;
+            }
+            return accessors.values().toArray(new PropertyAccessor[0]);
+        }
+    };
+    /**
+     * Default flags by {@link Class} whether {@link Object#equals(Object)} is overridden
+     */
+    private static final ClassValue<Boolean> DEFAULT_EQUALS_CACHE = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(final Class<?> type) {
+            try {
+                return Object.class != type.getMethod("equals", Object.class).getDeclaringClass();
+            } catch (NoSuchMethodException e) {
+                return Boolean.FALSE;
+            }
+        }
+    };
+
+    /**
+     * Returns iterableOf collection of difference entries {@link DiffEntry} of the object graphs
+     *
+     * @param <S>   type of difference entry collection
+     * @param first - initial first argument to be compared {@code T}
+     * @param last  - initial last argument to be compared with {@code T}
+     * @return collection of {@link DiffEntry} instances
+     */
+    @Override
+    public <S extends Iterable<? extends DiffEntry<?>>> S diffCompare(final T first, final T last) {
+        final List<DiffEntry<?>> result = new ArrayList<>();
+        final Set<Pair> visited = new HashSet<>();
+        final Map<Object, Integer> hashes = new IdentityHashMap<>();
+        final Set<Object> cyclic = Collections.newSetFromMap(new IdentityHashMap<>());
+        final Deque<Node> stack = new ArrayDeque<>();
+        stack.push(new Node(null, null, null, Node.PROPERTY, first, last, false));
+        while (!stack.isEmpty()) {
+            final Node node = stack.pop();
+            final Object a = node.first;
+            final Object b = node.last;
+            if (node.absent) {
+                result.add(DefaultDiffEntry.of(node.getPath(), a, b));
+                continue;
+            }
+            if (a == b) {
+                continue;
+            }
+            if (Objects.isNull(a) || Objects.isNull(b)) {
+                result.add(DefaultDiffEntry.of(node.getPath(), a, b));
+                continue;
+            }
+            final Class<?> type = a.getClass();
+            final boolean lists = (a instanceof List) && (b instanceof List);
+            final boolean maps = (a instanceof Map) && (b instanceof Map);
+            final boolean collections = !lists && (a instanceof Collection) && (b instanceof Collection);
+            if (!lists && !maps && !collections && type != b.getClass()) {
+                result.add(DefaultDiffEntry.of(node.getPath(), a, b));
+                continue;
+            }
+            final boolean bean = !type.isArray() && !lists && !maps;
+            final PropertyAccessor<Object>[] accessors = bean && !collections && !this.isValueType(type) ? this.getAccessors(type) : null;
+            if (collections || (bean && Objects.isNull(accessors))) {
+                if (!Objects.equals(a, b)) {
+                    result.add(DefaultDiffEntry.of(node.getPath(), a, b));
+                }
+                continue;
+            }
+            if ((!bean || DEFAULT_EQUALS_CACHE.get(type)) && this.hashOf(a, hashes, cyclic) == this.hashOf(b, hashes, cyclic)
+                && !cyclic.contains(a) && !cyclic.contains(b) && Objects.deepEquals(a, b)) {
+                continue;
+            }
+            if (!visited.add(new Pair(a, b))) {
+                continue;
+            }
+            if (type.isArray()) {
+                final int firstSize = Array.getLength(a);
+                final int lastSize = Array.getLength(b);
+                for (int i = Math.max(firstSize, lastSize) - 1; i >= 0; i--) {
+                    stack.push(new Node(node, null, null, i, i < firstSize ? Array.get(a, i) : null, i < lastSize ? Array.get(b, i) : null, i >= firstSize || i >= lastSize));
+                }
+            } else if (lists) {
+                final List<Object> firstList = (List<Object>) a;
+                final List<Object> lastList = (List<Object>) b;
+                final int size = Math.max(firstList.size(), lastList.size());
+                for (int i = size - 1; i >= 0; i--) {
+                    stack.push(new Node(node, null, null, i, i < firstList.size() ? firstList.get(i) : null, i < lastList.size() ? lastList.get(i) : null, i >= firstList.size() || i >= lastList.size()));
+                }
+            } else if (maps) {
+                this.pushEntries(node, (Map<Object, Object>) a, (Map<Object, Object>) b, stack);
+            } else {
+                for (int i = accessors.length - 1; i >= 0; i--) {
+                    final PropertyAccessor<Object> accessor = accessors[i];
+                    stack.push(new Node(node, accessor.getName(), null, Node.PROPERTY, accessor.get(a), accessor.get(b), false));
+                }
+            }
+        }
+        return (S) result;
+    }
+
+    /**
+     * Returns binary flag whether values of the input {@link Class} are compared as a whole by {@link Object#equals(Object)}
+     *
+     * @param type - initial input {@link Class}
+     * @return true - if values of the type are compared as a whole, false - otherwise
+     */
+    protected boolean isValueType(final Class<?> type) {
+        final String name = type.getName();
+        return Enum.class.isAssignableFrom(type)
+            || Number.class.isAssignableFrom(type)
+            || CharSequence.class.isAssignableFrom(type)
+            || name.startsWith("java.")
+            || name.startsWith("javax.")
+            || name.startsWith("jdk.");
+    }
+
+    /**
+     * Returns cached bean {@link PropertyAccessor}s of the input {@link Class} including final fields
+     *
+     * @param type - initial input {@link Class}
+     * @return array of {@link PropertyAccessor}s or {@code null} if any field of the type can not be accessed
+     */
+    protected PropertyAccessor<Object>[] getAccessors(final Class<?> type) {
+        return DEFAULT_ACCESSOR_CACHE.get(type);
+    }
+
+    /**
+     * Returns structural hash of the input value, memoized by identity for every array, list, map and bean of the subtree
+     * <p>
+     * Subtrees reaching a back reference are added to the cyclic set and never skipped, since {@link Object#equals(Object)}
+     * of cyclic structures may not terminate.
+     *
+     * @param value  - initial input value
+     * @param hashes - initial input {@link Map} of structural hashes by identity
+     * @param cyclic - initial input {@link Set} of values with cyclic subtrees by identity
+     * @return structural hash
+     */
+    private int hashOf(final Object value, final Map<Object, Integer> hashes, final Set<Object> cyclic) {
+        final Integer cached = hashes.get(value);
+        if (Objects.nonNull(cached)) {
+            return cached;
+        }
+        final HashFrame root = this.frameOf(value);
+        if (Objects.isNull(root)) {
+            return Objects.hashCode(value);
+        }
+        final Set<Object> pending = Collections.newSetFromMap(new IdentityHashMap<>());
+        final Deque<HashFrame> frames = new ArrayDeque<>();
+        pending.add(value);
+        frames.push(root);
+        int hash = 0;
+        while (!frames.isEmpty()) {
+            final HashFrame frame = frames.peek();
+            if (frame.index < frame.children.length) {
+                final Object child = frame.children[frame.index++];
+                if (Objects.isNull(child)) {
+                    frame.add(0);
+                } else if (pending.contains(child)) {
+                    frame.cyclic = true;
+                    frame.add(CYCLE_HASH);
+                } else if (hashes.containsKey(child)) {
+                    frame.cyclic |= cyclic.contains(child);
+                    frame.add(hashes.get(child));
+                } else {
+                    final HashFrame next = this.frameOf(child);
+                    if (Objects.isNull(next)) {
+                        frame.add(child.hashCode());
+                    } else {
+                        pending.add(child);
+                        frames.push(next);
+                    }
+                }
+                continue;
+            }
+            frames.pop();
+            pending.remove(frame.value);
+            hash = frame.hash;
+            hashes.put(frame.value, hash);
+            if (frame.cyclic) {
+                cyclic.add(frame.value);
+            }
+            if (!frames.isEmpty()) {
+                frames.peek().cyclic |= frame.cyclic;
+                frames.peek().add(hash);
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Returns structural hash frame of the input value or {@code null} if the value is hashed as a whole
+     *
+     * @param value - initial input value
+     * @return {@link HashFrame} or {@code null}
+     */
+    private HashFrame frameOf(final Object value) {
+        if (Objects.isNull(value)) {
+            return null;
+        }
+        final Class<?> type = value.getClass();
+        if (type.isArray()) {
+            final Object[] children = new Object[Array.getLength(value)];
+            for (int i = 0; i < children.length; i++) {
+                children[i] = Array.get(value, i);
+            }
+            return new HashFrame(value, children, null);
+        }
+        if (value instanceof List) {
+            return new HashFrame(value, ((List<?>) value).toArray(), null);
+        }
+        if (value instanceof Map) {
+            final Map<?, ?> map = (Map<?, ?>) value;
+            final Object[] keys = new Object[map.size()];
+            final Object[] children = new Object[map.size()];
+            int i = 0;
+            for (final Map.Entry<?, ?> entry : map.entrySet()) {
+                keys[i] = entry.getKey();
+                children[i++] = entry.getValue();
+            }
+            return new HashFrame(value, children, keys);
+        }
+        if (value instanceof Collection || this.isValueType(type)) {
+            return null;
+        }
+        final PropertyAccessor<Object>[] accessors = this.getAccessors(type);
+        if (Objects.isNull(accessors)) {
+            return null;
+        }
+        final Object[] children = new Object[accessors.length];
+        for (int i = 0; i < children.length; i++) {
+            children[i] = accessors[i].get(value);
+        }
+        return new HashFrame(value, children, null);
+    }
+
+    private void pushEntries(final Node node, final Map<Object, Object> first, final Map<Object, Object> last, final Deque<Node> stack) {
+        final List<Node> nodes = new ArrayList<>(Math.max(first.size(), last.size()));
+        for (final Map.Entry<Object, Object> entry : first.entrySet()) {
+            final boolean absent = !last.containsKey(entry.getKey());
+            nodes.add(new Node(node, null, entry.getKey(), Node.KEY, entry.getValue(), absent ? null : last.get(entry.getKey()), absent));
+        }
+        for (final Map.Entry<Object, Object> entry : last.entrySet()) {
+            if (!first.containsKey(entry.getKey())) {
+                nodes.add(new Node(node, null, entry.getKey(), Node.KEY, null, entry.getValue(), true));
+            }
+        }
+        for (int i = nodes.size() - 1; i >= 0; i--) {
+            stack.push(nodes.get(i));
+        }
+    }
+
+    /**
+     * Graph node with lazily rendered path: property name {@link String}, map key or list / array index
+     */
+    @RequiredArgsConstructor
+    private static final class Node {
+        /**
+         * Default property / map key node index markers
+         */
+        private static final int PROPERTY = -1;
+        private static final int KEY = -2;
+
+        private final Node parent;
+        private final String name;
+        private final Object key;
+        private final int index;
+        private final Object first;
+        private final Object last;
+        /**
+         * Flag whether the map key or index is missing on one side, reported even if the present value is {@code null}
+         */
+        private final boolean absent;
+
+        String getPath() {
+            final Deque<Node> nodes = new ArrayDeque<>();
+            for (Node node = this; Objects.nonNull(node.parent); node = node.parent) {
+                nodes.push(node);
+            }
+            final StringBuilder builder = new StringBuilder();
+            for (final Node node : nodes) {
+                if (node.index == KEY) {
+                    builder.append('[').append(node.key).append(']');
+                } else if (node.index >= 0) {
+                    builder.append('[').append(node.index).append(']');
+                } else {
+                    if (builder.length() > 0) {
+                        builder.append('.');
+                    }
+                    builder.append(node.name);
+                }
+            }
+            return builder.toString();
+        }
+    }
+
+    /**
+     * Structural hash frame of an array, list, map or bean: ordered children or map values by keys, combined order-independently
+     */
+    @RequiredArgsConstructor
+    private static final class HashFrame {
+        private final Object value;
+        private final Object[] children;
+        private final Object[] keys;
+        private int index;
+        private int hash = 1;
+        private boolean cyclic;
+
+        void add(int childHash) {
+            if (Objects.nonNull(this.keys)) {
+                this.hash += Objects.hashCode(this.keys[this.index - 1]) ^ childHash;
+            } else {
+                this.hash = 31 * this.hash + childHash;
+            }
+        }
+    }
+
+    /**
+     * Identity pair of compared values
+     */
+    @RequiredArgsConstructor
+    private static final class Pair {
+        private final Object first;
+        private final Object last;
+
+        @Override
+        public boolean equals(final Object other) {
+            if (!(other instanceof Pair)) {
+                return false;
+            }
+            final Pair pair = (Pair) other;
+            return this.first == pair.first && this.last == pair.last;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(this.first) + System.identityHashCode(this.last);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software andAll associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, andAll/or sell
+ * copies of the Software, andAll to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice andAll this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.comparator.service;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ValidationUtils;
+import com.wildbeeslabs.sensiblemetrics.diffy.comparator.interfaces.DiffComparator;
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.entry.iface.DiffEntry;
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.entry.impl.DefaultDiffEntry;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.*;
+import java.util.function.Function;
+
+import static com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ServiceUtils.listOf;
+
+/**
+ * Keyed collection difference comparator implementation
+ * <p>
+ * Matches elements of both collections by the key {@code K} of input key extractor {@link Function} through a hash index
+ * instead of by position, so reordered or inserted elements do not shift the comparison of the following ones.
+ * Emits {@link DiffEntry}s with property names prefixed by the element key:
+ * <ul>
+ * <li>{@code [key]} with {@code null} last value for removed elements</li>
+ * <li>{@code [key]} with {@code null} first value for added elements</li>
+ * <li>{@code [key].property} for every difference of matched elements reported by the element {@link DiffComparator}</li>
+ * </ul>
+ * Removed and modified elements are reported in order of the first collection, followed by added elements
+ * in order of the last collection. Elements sharing a key are matched in order of occurrence.
+ *
+ * @param <T> type of input element to be compared by operation
+ * @param <K> type of element key
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+public class KeyedCollectionDiffComparator<T, K> implements DiffComparator<Iterable<T>> {
+
+    /**
+     * Default explicit serialVersionUID for interoperability
+     */
+    private static final long serialVersionUID = 6216731309438153318L;
+
+    /**
+     * Default element key extractor {@link Function}
+     */
+    private final Function<? super T, ? extends K> keyExtractor;
+    /**
+     * Default element {@link DiffComparator}
+     */
+    private final DiffComparator<T> elementComparator;
+
+    /**
+     * Creates keyed collection difference comparator with initial element class {@link Class} and key extractor {@link Function}
+     *
+     * @param clazz        - initial element class instance {@link Class}
+     * @param keyExtractor - initial element key extractor {@link Function}
+     */
+    public KeyedCollectionDiffComparator(final Class<? extends T> clazz, final Function<? super T, ? extends K> keyExtractor) {
+        this(keyExtractor, new DefaultDiffComparator<>(clazz));
+    }
+
+    /**
+     * Creates keyed collection difference comparator with initial key extractor {@link Function} and element {@link DiffComparator}
+     *
+     * @param keyExtractor      - initial element key extractor {@link Function}
+     * @param elementComparator - initial element difference comparator {@link DiffComparator}
+     * @throws IllegalArgumentException if keyExtractor or elementComparator is {@code null}
+     */
+    public KeyedCollectionDiffComparator(final Function<? super T, ? extends K> keyExtractor, final DiffComparator<T> elementComparator) {
+        ValidationUtils.notNull(keyExtractor, "Key extractor should not be null");
+        ValidationUtils.notNull(elementComparator, "Element comparator should not be null");
+
+        this.keyExtractor = keyExtractor;
+        this.elementComparator = elementComparator;
+    }
+
+    /**
+     * Returns iterableOf collection of difference entries {@link DiffEntry} of the keyed collections
+     *
+     * @param <S>   type of difference entry collection
+     * @param first - initial first collection to be compared {@link Iterable}, {@code null} is treated as empty
+     * @param last  - initial last collection to be compared with {@link Iterable}, {@code null} is treated as empty
+     * @return collection of {@link DiffEntry} instances
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <S extends Iterable<? extends DiffEntry<?>>> S diffCompare(final Iterable<T> first, final Iterable<T> last) {
+        final List<T> firstList = Objects.isNull(first) ? Collections.emptyList() : listOf(first);
+        final List<T> lastList = Objects.isNull(last) ? Collections.emptyList() : listOf(last);
+
+        final int size = lastList.size();
+        final Object[] keys = new Object[size];
+        final int[] next = new int[size];
+        final Map<Object, Integer> heads = new HashMap<>(Math.max(16, (int) (size / 0.75f) + 1));
+        for (int i = size - 1; i >= 0; i--) {
+            keys[i] = this.keyExtractor.apply(lastList.get(i));
+            final Integer head = heads.put(keys[i], i);
+            next[i] = Objects.isNull(head) ? -1 : head;
+        }
+
+        final boolean[] matched = new boolean[size];
+        final List<DiffEntry<?>> result = new ArrayList<>();
+        for (final T a : firstList) {
+            final K key = this.keyExtractor.apply(a);
+            final Integer head = heads.get(key);
+            if (Objects.isNull(head)) {
+                result.add(DefaultDiffEntry.of(this.getPath(key, null), a, null));
+                continue;
+            }
+            final int index = head;
+            if (next[index] < 0) {
+                heads.remove(key);
+            } else {
+                heads.put(key, next[index]);
+            }
+            matched[index] = true;
+
+            final T b = lastList.get(index);
+            if (a == b) {
+                continue;
+            }
+            final Iterable<? extends DiffEntry<?>> entries = this.elementComparator.diffCompare(a, b);
+            for (final DiffEntry<?> entry : entries) {
+                result.add(DefaultDiffEntry.of(this.getPath(key, entry.getPropertyName()), entry.getFirst(), entry.getLast()));
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            if (!matched[i]) {
+                result.add(DefaultDiffEntry.of(this.getPath(keys[i], null), null, lastList.get(i)));
+            }
+        }
+        return (S) result;
+    }
+
+    private String getPath(final Object key, final String propertyName) {
+        final String path = "[" + key + "]";
+        return Objects.isNull(propertyName) || propertyName.isEmpty() ? path : path + "." + propertyName;
+    }
+}
@@ -32,6 +32,9 @@ import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.StringUtils;
 import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ValidationUtils;
 import com.wildbeeslabs.sensiblemetrics.diffy.comparator.annotation.Priority;
 import com.wildbeeslabs.sensiblemetrics.diffy.comparator.enumeration.PriorityType;
+import com.wildbeeslabs.sensiblemetrics.diffy.comparator.interfaces.DoubleComparator;
+import com.wildbeeslabs.sensiblemetrics.diffy.comparator.interfaces.IntComparator;
+import com.wildbeeslabs.sensiblemetrics.diffy.comparator.interfaces.LongComparator;
 import lombok.*;
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
@@ -52,6 +55,9 @@ import java.net.URL;
 import java.util.*;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 import java.util.stream.Collector;
 import java.util.stream.Collectors;
 
@@ -79,6 +85,10 @@ public class ComparatorUtils {
      * Default equal {@link Comparator}
      */
     public static final Comparator DEFAULT_EQUAL_COMPARATOR = (first, last) -> 0;
+    /**
+     * Default maximum range length sorted by insertion in primitive merge sorts
+     */
+    private static final int INSERTION_SORT_THRESHOLD = 32;
 
     /**
      * Lexicographic order {@link CharSequence} comparator
@@ -864,6 +874,403 @@ public class ComparatorUtils {
         return true;
     }
 
+    /**
+     * Returns {@code T} comparator {@link Comparator} by {@code int} key extractor {@link ToIntFunction} and primitive comparator {@link IntComparator}
+     * <p>
+     * Extracted keys are compared without boxing, {@code null} arguments are ordered according to nullsFirst argument.
+     *
+     * @param <T>        type of input element to be compared by operation
+     * @param extractor  - initial input key extractor {@link ToIntFunction}
+     * @param comparator - initial input key comparator {@link IntComparator}
+     * @param nullsFirst - initial input "null" order (true - if nulls are first, false - otherwise)
+     * @return {@code T} comparator instance {@link Comparator}
+     * @throws IllegalArgumentException if extractor or comparator is {@code null}
+     */
+    @Factory
+    public static <T> Comparator<T> comparingInt(final ToIntFunction<? super T> extractor, final IntComparator comparator, boolean nullsFirst) {
+        ValidationUtils.notNull(extractor, "Extractor should not be null");
+        ValidationUtils.notNull(comparator, "Comparator should not be null");
+
+        return (first, last) -> {
+            if (first == last) return 0;
+            if (Objects.isNull(first)) return nullsFirst ? -1 : 1;
+            if (Objects.isNull(last)) return nullsFirst ? 1 : -1;
+            return comparator.compare(extractor.applyAsInt(first), extractor.applyAsInt(last));
+        };
+    }
+
+    /**
+     * Sorts input {@code int[]} array by primitive comparator {@link IntComparator}
+     *
+     * @param values     - initial input {@code int[]} array to be sorted, ignored if {@code null}
+     * @param comparator - initial input comparator {@link IntComparator}
+     * @throws IllegalArgumentException if comparator is {@code null}
+     */
+    public static void sort(final int[] values, final IntComparator comparator) {
+        if (Objects.nonNull(values)) {
+            sort(values, 0, values.length, comparator);
+        }
+    }
+
+    /**
+     * Sorts range of input {@code int[]} array by primitive comparator {@link IntComparator}
+     * <p>
+     * The sort is stable. Natural order ranges are delegated to {@link Arrays#sort(int[], int, int)}.
+     *
+     * @param values     - initial input {@code int[]} array to be sorted
+     * @param fromIndex  - initial input index of the first element (inclusive)
+     * @param toIndex    - initial input index of the last element (exclusive)
+     * @param comparator - initial input comparator {@link IntComparator}
+     * @throws IllegalArgumentException       if values or comparator is {@code null}, or fromIndex is greater than toIndex
+     * @throws ArrayIndexOutOfBoundsException if fromIndex is negative or toIndex is greater than array length
+     */
+    public static void sort(final int[] values, int fromIndex, int toIndex, final IntComparator comparator) {
+        ValidationUtils.notNull(values, "Values should not be null");
+        ValidationUtils.notNull(comparator, "Comparator should not be null");
+        checkRange(values.length, fromIndex, toIndex);
+
+        if (comparator == IntComparator.NATURAL_ORDER) {
+            Arrays.sort(values, fromIndex, toIndex);
+        } else if (toIndex - fromIndex > 1) {
+            mergeSort(values, new int[(toIndex - fromIndex + 1) / 2], fromIndex, toIndex, comparator);
+        }
+    }
+
+    /**
+     * Sorts input {@code int[]} column with {@code null} mask {@link BitSet} by primitive comparator {@link IntComparator}
+     * <p>
+     * Values at positions set in the mask are treated as {@code null}: they are moved to the start or to the end
+     * of the column according to nullsFirst argument, the mask is updated accordingly and the remaining values are sorted.
+     *
+     * @param values     - initial input {@code int[]} column to be sorted, ignored if {@code null}
+     * @param nulls      - initial input {@code null} mask {@link BitSet}
+     * @param comparator - initial input comparator {@link IntComparator}
+     * @param nullsFirst - initial input "null" order (true - if nulls are first, false - otherwise)
+     * @throws IllegalArgumentException if nulls or comparator is {@code null}
+     */
+    public static void sort(final int[] values, final BitSet nulls, final IntComparator comparator, boolean nullsFirst) {
+        ValidationUtils.notNull(nulls, "Nulls mask should not be null");
+        if (Objects.isNull(values)) {
+            return;
+        }
+        final int length = values.length;
+        final int count = nulls.get(0, length).cardinality();
+        if (nullsFirst) {
+            int k = length;
+            for (int i = length - 1; i >= 0; i--) {
+                if (!nulls.get(i)) values[--k] = values[i];
+            }
+            Arrays.fill(values, 0, count, 0);
+            nulls.clear(0, length);
+            nulls.set(0, count);
+            sort(values, count, length, comparator);
+        } else {
+            int k = 0;
+            for (int i = 0; i < length; i++) {
+                if (!nulls.get(i)) values[k++] = values[i];
+            }
+            Arrays.fill(values, k, length, 0);
+            nulls.clear(0, length);
+            nulls.set(k, length);
+            sort(values, 0, k, comparator);
+        }
+    }
+
+    private static void mergeSort(final int[] values, final int[] buffer, int low, int high, final IntComparator comparator) {
+        if (high - low <= INSERTION_SORT_THRESHOLD) {
+            for (int i = low + 1; i < high; i++) {
+                final int value = values[i];
+                int j = i - 1;
+                for (; j >= low && comparator.compare(values[j], value) > 0; j--) {
+                    values[j + 1] = values[j];
+                }
+                values[j + 1] = value;
+            }
+            return;
+        }
+        final int middle = (low + high) >>> 1;
+        mergeSort(values, buffer, low, middle, comparator);
+        mergeSort(values, buffer, middle, high, comparator);
+        if (comparator.compare(values[middle - 1], values[middle]) <= 0) {
+            return;
+        }
+        System.arraycopy(values, low, buffer, 0, middle - low);
+        int i = 0, j = middle, k = low;
+        final int end = middle - low;
+        while (i < end && j < high) {
+            values[k++] = (comparator.compare(values[j], buffer[i]) < 0) ? values[j++] : buffer[i++];
+        }
+        System.arraycopy(buffer, i, values, k, end - i);
+    }
+
+    /**
+     * Returns {@code T} comparator {@link Comparator} by {@code long} key extractor {@link ToLongFunction} and primitive comparator {@link LongComparator}
+     * <p>
+     * Extracted keys are compared without boxing, {@code null} arguments are ordered according to nullsFirst argument.
+     *
+     * @param <T>        type of input element to be compared by operation
+     * @param extractor  - initial input key extractor {@link ToLongFunction}
+     * @param comparator - initial input key comparator {@link LongComparator}
+     * @param nullsFirst - initial input "null" order (true - if nulls are first, false - otherwise)
+     * @return {@code T} comparator instance {@link Comparator}
+     * @throws IllegalArgumentException if extractor or comparator is {@code null}
+     */
+    @Factory
+    public static <T> Comparator<T> comparingLong(final ToLongFunction<? super T> extractor, final LongComparator comparator, boolean nullsFirst) {
+        ValidationUtils.notNull(extractor, "Extractor should not be null");
+        ValidationUtils.notNull(comparator, "Comparator should not be null");
+
+        return (first, last) -> {
+            if (first == last) return 0;
+            if (Objects.isNull(first)) return nullsFirst ? -1 : 1;
+            if (Objects.isNull(last)) return nullsFirst ? 1 : -1;
+            return comparator.compare(extractor.applyAsLong(first), extractor.applyAsLong(last));
+        };
+    }
+
+    /**
+     * Sorts input {@code long[]} array by primitive comparator {@link LongComparator}
+     *
+     * @param values     - initial input {@code long[]} array to be sorted, ignored if {@code null}
+     * @param comparator - initial input comparator {@link LongComparator}
+     * @throws IllegalArgumentException if comparator is {@code null}
+     */
+    public static void sort(final long[] values, final LongComparator comparator) {
+        if (Objects.nonNull(values)) {
+            sort(values, 0, values.length, comparator);
+        }
+    }
+
+    /**
+     * Sorts range of input {@code long[]} array by primitive comparator {@link LongComparator}
+     * <p>
+     * The sort is stable. Natural order ranges are delegated to {@link Arrays#sort(long[], int, int)}.
+     *
+     * @param values     - initial input {@code long[]} array to be sorted
+     * @param fromIndex  - initial input index of the first element (inclusive)
+     * @param toIndex    - initial input index of the last element (exclusive)
+     * @param comparator - initial input comparator {@link LongComparator}
+     * @throws IllegalArgumentException       if values or comparator is {@code null}, or fromIndex is greater than toIndex
+     * @throws ArrayIndexOutOfBoundsException if fromIndex is negative or toIndex is greater than array length
+     */
+    public static void sort(final long[] values, int fromIndex, int toIndex, final LongComparator comparator) {
+        ValidationUtils.notNull(values, "Values should not be null");
+        ValidationUtils.notNull(comparator, "Comparator should not be null");
+        checkRange(values.length, fromIndex, toIndex);
+
+        if (comparator == LongComparator.NATURAL_ORDER) {
+            Arrays.sort(values, fromIndex, toIndex);
+        } else if (toIndex - fromIndex > 1) {
+            mergeSort(values, new long[(toIndex - fromIndex + 1) / 2], fromIndex, toIndex, comparator);
+        }
+    }
+
+    /**
+     * Sorts input {@code long[]} column with {@code null} mask {@link BitSet} by primitive comparator {@link LongComparator}
+     * <p>
+     * Values at positions set in the mask are treated as {@code null}: they are moved to the start or to the end
+     * of the column according to nullsFirst argument, the mask is updated accordingly and the remaining values are sorted.
+     *
+     * @param values     - initial input {@code long[]} column to be sorted, ignored if {@code null}
+     * @param nulls      - initial input {@code null} mask {@link BitSet}
+     * @param comparator - initial input comparator {@link LongComparator}
+     * @param nullsFirst - initial input "null" order (true - if nulls are first, false - otherwise)
+     * @throws IllegalArgumentException if nulls or comparator is {@code null}
+     */
+    public static void sort(final long[] values, final BitSet nulls, final LongComparator comparator, boolean nullsFirst) {
+        ValidationUtils.notNull(nulls, "Nulls mask should not be null");
+        if (Objects.isNull(values)) {
+            return;
+        }
+        final int length = values.length;
+        final int count = nulls.get(0, length).cardinality();
+        if (nullsFirst) {
+            int k = length;
+            for (int i = length - 1; i >= 0; i--) {
+                if (!nulls.get(i)) values[--k] = values[i];
+            }
+            Arrays.fill(values, 0, count, 0L);
+            nulls.clear(0, length);
+            nulls.set(0, count);
+            sort(values, count, length, comparator);
+        } else {
+            int k = 0;
+            for (int i = 0; i < length; i++) {
+                if (!nulls.get(i)) values[k++] = values[i];
+            }
+            Arrays.fill(values, k, length, 0L);
+            nulls.clear(0, length);
+            nulls.set(k, length);
+            sort(values, 0, k, comparator);
+        }
+    }
+
+    private static void mergeSort(final long[] values, final long[] buffer, int low, int high, final LongComparator comparator) {
+        if (high - low <= INSERTION_SORT_THRESHOLD) {
+            for (int i = low + 1; i < high; i++) {
+                final long value = values[i];
+                int j = i - 1;
+                for (; j >= low && comparator.compare(values[j], value) > 0; j--) {
+                    values[j + 1] = values[j];
+                }
+                values[j + 1] = value;
+            }
+            return;
+        }
+        final int middle = (low + high) >>> 1;
+        mergeSort(values, buffer, low, middle, comparator);
+        mergeSort(values, buffer, middle, high, comparator);
+        if (comparator.compare(values[middle - 1], values[middle]) <= 0) {
+            return;
+        }
+        System.arraycopy(values, low, buffer, 0, middle - low);
+        int i = 0, j = middle, k = low;
+        final int end = middle - low;
+        while (i < end && j < high) {
+            values[k++] = (comparator.compare(values[j], buffer[i]) < 0) ? values[j++] : buffer[i++];
+        }
+        System.arraycopy(buffer, i, values, k, end - i);
+    }
+
+    /**
+     * Returns {@code T} comparator {@link Comparator} by {@code double} key extractor {@link ToDoubleFunction} and primitive comparator {@link DoubleComparator}
+     * <p>
+     * Extracted keys are compared without boxing, {@code null} arguments are ordered according to nullsFirst argument.
+     *
+     * @param <T>        type of input element to be compared by operation
+     * @param extractor  - initial input key extractor {@link ToDoubleFunction}
+     * @param comparator - initial input key comparator {@link DoubleComparator}
+     * @param nullsFirst - initial input "null" order (true - if nulls are first, false - otherwise)
+     * @return {@code T} comparator instance {@link Comparator}
+     * @throws IllegalArgumentException if extractor or comparator is {@code null}
+     */
+    @Factory
+    public static <T> Comparator<T> comparingDouble(final ToDoubleFunction<? super T> extractor, final DoubleComparator comparator, boolean nullsFirst) {
+        ValidationUtils.notNull(extractor, "Extractor should not be null");
+        ValidationUtils.notNull(comparator, "Comparator should not be null");
+
+        return (first, last) -> {
+            if (first == last) return 0;
+            if (Objects.isNull(first)) return nullsFirst ? -1 : 1;
+            if (Objects.isNull(last)) return nullsFirst ? 1 : -1;
+            return comparator.compare(extractor.applyAsDouble(first), extractor.applyAsDouble(last));
+        };
+    }
+
+    /**
+     * Sorts input {@code double[]} array by primitive comparator {@link DoubleComparator}
+     *
+     * @param values     - initial input {@code double[]} array to be sorted, ignored if {@code null}
+     * @param comparator - initial input comparator {@link DoubleComparator}
+     * @throws IllegalArgumentException if comparator is {@code null}
+     */
+    public static void sort(final double[] values, final DoubleComparator comparator) {
+        if (Objects.nonNull(values)) {
+            sort(values, 0, values.length, comparator);
+        }
+    }
+
+    /**
+     * Sorts range of input {@code double[]} array by primitive comparator {@link DoubleComparator}
+     * <p>
+     * The sort is stable. Natural order ranges are delegated to {@link Arrays#sort(double[], int, int)}.
+     *
+     * @param values     - initial input {@code double[]} array to be sorted
+     * @param fromIndex  - initial input index of the first element (inclusive)
+     * @param toIndex    - initial input index of the last element (exclusive)
+     * @param comparator - initial input comparator {@link DoubleComparator}
+     * @throws IllegalArgumentException       if values or comparator is {@code null}, or fromIndex is greater than toIndex
+     * @throws ArrayIndexOutOfBoundsException if fromIndex is negative or toIndex is greater than array length
+     */
+    public static void sort(final double[] values, int fromIndex, int toIndex, final DoubleComparator comparator) {
+        ValidationUtils.notNull(values, "Values should not be null");
+        ValidationUtils.notNull(comparator, "Comparator should not be null");
+        checkRange(values.length, fromIndex, toIndex);
+
+        if (comparator == DoubleComparator.NATURAL_ORDER) {
+            Arrays.sort(values, fromIndex, toIndex);
+        } else if (toIndex - fromIndex > 1) {
+            mergeSort(values, new double[(toIndex - fromIndex + 1) / 2], fromIndex, toIndex, comparator);
+        }
+    }
+
+    /**
+     * Sorts input {@code double[]} column with {@code null} mask {@link BitSet} by primitive comparator {@link DoubleComparator}
+     * <p>
+     * Values at positions set in the mask are treated as {@code null}: they are moved to the start or to the end
+     * of the column according to nullsFirst argument, the mask is updated accordingly and the remaining values are sorted.
+     *
+     * @param values     - initial input {@code double[]} column to be sorted, ignored if {@code null}
+     * @param nulls      - initial input {@code null} mask {@link BitSet}
+     * @param comparator - initial input comparator {@link DoubleComparator}
+     * @param nullsFirst - initial input "null" order (true - if nulls are first, false - otherwise)
+     * @throws IllegalArgumentException if nulls or comparator is {@code null}
+     */
+    public static void sort(final double[] values, final BitSet nulls, final DoubleComparator comparator, boolean nullsFirst) {
+        ValidationUtils.notNull(nulls, "Nulls mask should not be null");
+        if (Objects.isNull(values)) {
+            return;
+        }
+        final int length = values.length;
+        final int count = nulls.get(0, length).cardinality();
+        if (nullsFirst) {
+            int k = length;
+            for (int i = length - 1; i >= 0; i--) {
+                if (!nulls.get(i)) values[--k] = values[i];
+            }
+            Arrays.fill(values, 0, count, 0d);
+            nulls.clear(0, length);
+            nulls.set(0, count);
+            sort(values, count, length, comparator);
+        } else {
+            int k = 0;
+            for (int i = 0; i < length; i++) {
+                if (!nulls.get(i)) values[k++] = values[i];
+            }
+            Arrays.fill(values, k, length, 0d);
+            nulls.clear(0, length);
+            nulls.set(k, length);
+            sort(values, 0, k, comparator);
+        }
+    }
+
+    private static void mergeSort(final double[] values, final double[] buffer, int low, int high, final DoubleComparator comparator) {
+        if (high - low <= INSERTION_SORT_THRESHOLD) {
+            for (int i = low + 1; i < high; i++) {
+                final double value = values[i];
+                int j = i - 1;
+                for (; j >= low && comparator.compare(values[j], value) > 0; j--) {
+                    values[j + 1] = values[j];
+                }
+                values[j + 1] = value;
+            }
+            return;
+        }
+        final int middle = (low + high) >>> 1;
+        mergeSort(values, buffer, low, middle, comparator);
+        mergeSort(values, buffer, middle, high, comparator);
+        if (comparator.compare(values[middle - 1], values[middle]) <= 0) {
+            return;
+        }
+        System.arraycopy(values, low, buffer, 0, middle - low);
+        int i = 0, j = middle, k = low;
+        final int end = middle - low;
+        while (i < end && j < high) {
+            values[k++] = (comparator.compare(values[j], buffer[i]) < 0) ? values[j++] : buffer[i++];
+        }
+        System.arraycopy(buffer, i, values, k, end - i);
+    }
+
+    private static void checkRange(int length, int fromIndex, int toIndex) {
+        ValidationUtils.isTrue(fromIndex <= toIndex, "From index should not be greater than to index");
+        if (fromIndex < 0) {
+            throw new ArrayIndexOutOfBoundsException(fromIndex);
+        }
+        if (toIndex > length) {
+            throw new ArrayIndexOutOfBoundsException(toIndex);
+        }
+    }
+
     /**
      * Default abstract null-safe {@code T} comparator implementation {@link Comparator}
      *
@@ -0,0 +1,136 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software andAll associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, andAll/or sell
+ * copies of the Software, andAll to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice andAll this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.comparator.utils;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ValidationUtils;
+import com.wildbeeslabs.sensiblemetrics.diffy.comparator.interfaces.DiffComparator;
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Generated comparator utilities implementation
+ * <p>
+ * Looks up the {@code <Name>_DiffComparator} / {@code <Name>_Comparator} classes generated at compile time
+ * by the {@code diffy-codegen} annotation processor next to the compared class. Lookups are done once per class,
+ * the generated comparators are stateless and shared.
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+@Slf4j
+@UtilityClass
+@SuppressWarnings("unchecked")
+public class GeneratedComparatorUtils {
+
+    /**
+     * Default generated difference comparator class name suffix
+     */
+    public static final String DIFF_COMPARATOR_SUFFIX = "_DiffComparator";
+    /**
+     * Default generated comparator class name suffix
+     */
+    public static final String COMPARATOR_SUFFIX = "_Comparator";
+
+    /**
+     * Default generated {@link DiffComparator}s cache by compared {@link Class}
+     */
+    private static final ClassValue<Optional<DiffComparator<?>>> DEFAULT_DIFF_COMPARATOR_CACHE = new ClassValue<>() {
+        @Override
+        protected Optional<DiffComparator<?>> computeValue(final Class<?> type) {
+            return Optional.ofNullable((DiffComparator<?>) newInstance(type, DIFF_COMPARATOR_SUFFIX, DiffComparator.class));
+        }
+    };
+    /**
+     * Default generated {@link Comparator}s cache by compared {@link Class}
+     */
+    private static final ClassValue<Optional<Comparator<?>>> DEFAULT_COMPARATOR_CACHE = new ClassValue<>() {
+        @Override
+        protected Optional<Comparator<?>> computeValue(final Class<?> type) {
+            return Optional.ofNullable((Comparator<?>) newInstance(type, COMPARATOR_SUFFIX, Comparator.class));
+        }
+    };
+
+    /**
+     * Returns generated {@link DiffComparator} of the input {@link Class}
+     *
+     * @param <T>   type of input element to be compared by operation
+     * @param clazz - initial input {@link Class}
+     * @return optional generated {@link DiffComparator}
+     * @throws IllegalArgumentException if clazz is {@code null}
+     */
+    public static <T> Optional<DiffComparator<T>> findDiffComparator(final Class<? extends T> clazz) {
+        ValidationUtils.notNull(clazz, "Class should not be null");
+        return DEFAULT_DIFF_COMPARATOR_CACHE.get(clazz).map(comparator -> (DiffComparator<T>) comparator);
+    }
+
+    /**
+     * Returns generated {@link Comparator} of the input {@link Class}
+     *
+     * @param <T>   type of input element to be compared by operation
+     * @param clazz - initial input {@link Class}
+     * @return optional generated {@link Comparator}
+     * @throws IllegalArgumentException if clazz is {@code null}
+     */
+    public static <T> Optional<Comparator<T>> findComparator(final Class<? extends T> clazz) {
+        ValidationUtils.notNull(clazz, "Class should not be null");
+        return DEFAULT_COMPARATOR_CACHE.get(clazz).map(comparator -> (Comparator<T>) comparator);
+    }
+
+    /**
+     * Returns generated class name by input {@link Class} and suffix, {@code Outer.Inner} becomes {@code Outer_Inner<suffix>}
+     *
+     * @param clazz  - initial input {@link Class}
+     * @param suffix - initial input generated class name suffix {@link String}
+     * @return generated class name {@link String}
+     */
+    public static String getGeneratedName(final Class<?> clazz, final String suffix) {
+        final String packageName = clazz.getPackageName();
+        final String simpleName = clazz.getName().substring(packageName.isEmpty() ? 0 : packageName.length() + 1).replace('$', '_');
+        return (packageName.isEmpty() ? "" : packageName + ".") + simpleName + suffix;
+    }
+
+    private static Object newInstance(final Class<?> type, final String suffix, final Class<?> expectedType) {
+        if (type.isPrimitive() || type.isArray() || Objects.isNull(type.getClassLoader())) {
+            return null;
+        }
+        final String name = getGeneratedName(type, suffix);
+        try {
+            final Class<?> generated = Class.forName(name, true, type.getClassLoader());
+            if (!expectedType.isAssignableFrom(generated)) {
+                return null;
+            }
+            return generated.getConstructor().newInstance();
+        } catch (ClassNotFoundException e) {
+            return null;
+        } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+            log.warn("WARN: cannot instantiate generated comparator={}, message={}", name, e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software andAll associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, andAll/or sell
+ * copies of the Software, andAll to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice andAll this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.comparator.utils;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.common.exception.PropertyAccessException;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.StringUtils;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ValidationUtils;
+import com.wildbeeslabs.sensiblemetrics.diffy.comparator.interfaces.PropertyAccessor;
+import lombok.Data;
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import static com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ReflectionUtils.getAllFields;
+import static com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ReflectionUtils.getValidFields;
+
+/**
+ * Property accessor utilities implementation
+ * <p>
+ * Accessors read field values only (bean getters are never called) through a getter {@link MethodHandle}
+ * resolved once per class with the access checks done up front and adapted to the exact {@code (Object)Object} type,
+ * so every read is an {@link MethodHandle#invokeExact(Object...)} call. Fields that can not be accessed
+ * are logged and skipped, as before.
+ */
+@Slf4j
+@UtilityClass
+public class PropertyAccessorUtils {
+
+    /**
+     * Default {@link PropertyAccessor}s cache by {@link Class}
+     */
+    private static final ClassValue<Map<String, PropertyAccessor<?>>> DEFAULT_ACCESSOR_CACHE = new ClassValue<>() {
+        @Override
+        protected Map<String, PropertyAccessor<?>> computeValue(final Class<?> type) {
+            return createAccessors(type, false);
+        }
+    };
+    /**
+     * Default {@link PropertyAccessor}s cache (including final fields) by {@link Class}
+     */
+    private static final ClassValue<Map<String, PropertyAccessor<?>>> DEFAULT_FINAL_ACCESSOR_CACHE = new ClassValue<>() {
+        @Override
+        protected Map<String, PropertyAccessor<?>> computeValue(final Class<?> type) {
+            return createAccessors(type, true);
+        }
+    };
+
+    /**
+     * Returns cached {@link Map} of {@link PropertyAccessor}s by property names of the input {@link Class},
+     * inaccessible fields are skipped
+     *
+     * @param clazz - initial input {@link Class}
+     * @return unmodifiable {@link Map} of {@link PropertyAccessor}s by property names
+     * @throws IllegalArgumentException if clazz is {@code null}
+     */
+    public static Map<String, PropertyAccessor<?>> getAccessors(final Class<?> clazz) {
+        ValidationUtils.notNull(clazz, "Class should not be null");
+        return DEFAULT_ACCESSOR_CACHE.get(clazz);
+    }
+
+    /**
+     * Returns cached {@link Map} of {@link PropertyAccessor}s by property names of the input {@link Class}
+     * optionally including final fields, inaccessible fields are skipped
+     *
+     * @param clazz              - initial input {@link Class}
+     * @param includeFinalFields - initial input flag to include final fields
+     * @return unmodifiable {@link Map} of {@link PropertyAccessor}s by property names
+     * @throws IllegalArgumentException if clazz is {@code null}
+     */
+    public static Map<String, PropertyAccessor<?>> getAccessors(final Class<?> clazz, boolean includeFinalFields) {
+        ValidationUtils.notNull(clazz, "Class should not be null");
+        return includeFinalFields ? DEFAULT_FINAL_ACCESSOR_CACHE.get(clazz) : DEFAULT_ACCESSOR_CACHE.get(clazz);
+    }
+
+    /**
+     * Returns {@link PropertyAccessor} of the input {@link Class} by {@link Field}, taken from the cache
+     * when the field is one of the class properties
+     *
+     * @param <T>   type of input element to read property from
+     * @param clazz - initial input {@link Class}
+     * @param field - initial input {@link Field}
+     * @return {@link PropertyAccessor} or {@code null} if the field can not be accessed
+     * @throws IllegalArgumentException if clazz is {@code null}
+     * @throws IllegalArgumentException if field is {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> PropertyAccessor<T> getAccessor(final Class<? extends T> clazz, final Field field) {
+        ValidationUtils.notNull(field, "Field should not be null");
+        final PropertyAccessor<?> accessor = getAccessors(clazz).get(field.getName());
+        if (Objects.nonNull(accessor) && accessor.getType() == field.getType()) {
+            return (PropertyAccessor<T>) accessor;
+        }
+        return (PropertyAccessor<T>) createAccessor(field);
+    }
+
+    /**
+     * Returns new unmodifiable {@link Map} of {@link PropertyAccessor}s by property names of the input {@link Class}
+     *
+     * @param type               - initial input {@link Class}
+     * @param includeFinalFields - initial input flag to include final fields
+     * @return unmodifiable {@link Map} of {@link PropertyAccessor}s by property names
+     */
+    private static Map<String, PropertyAccessor<?>> createAccessors(final Class<?> type, boolean includeFinalFields) {
+        final Map<String, PropertyAccessor<?>> result = new LinkedHashMap<>();
+        for (final Field field : getValidFields(getAllFields(type), includeFinalFields, false)) {
+            if (!result.containsKey(field.getName())) {
+                final PropertyAccessor<?> accessor = createAccessor(field);
+                if (Objects.nonNull(accessor)) {
+                    result.put(field.getName(), accessor);
+                }
+            }
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * Returns new {@link PropertyAccessor} by input {@link Field}
+     *
+     * @param field - initial input {@link Field}
+     * @return {@link PropertyAccessor} or {@code null} if the field can not be accessed
+     */
+    private static PropertyAccessor<?> createAccessor(final Field field) {
+        try {
+            MethodHandle handle;
+            try {
+                handle = MethodHandles.privateLookupIn(field.getDeclaringClass(), MethodHandles.lookup()).unreflectGetter(field);
+            } catch (IllegalAccessException e) {
+                // unlike unreflectVarHandle, unreflectGetter honours the accessible flag
+                field.setAccessible(true);
+                handle = MethodHandles.lookup().unreflectGetter(field);
+            }
+            return new FieldPropertyAccessor<>(field.getName(), field.getType(), handle.asType(MethodType.methodType(Object.class, Object.class)));
+        } catch (IllegalAccessException | RuntimeException e) {
+            log.error(StringUtils.formatMessage("ERROR: cannot process property: {%s}, message: {%s}", field.getName(), e.getMessage()));
+        }
+        return null;
+    }
+
+    /**
+     * {@link PropertyAccessor} implementation by field getter {@link MethodHandle} of {@code (Object)Object} type
+     */
+    @Data
+    private static final class FieldPropertyAccessor<T> implements PropertyAccessor<T> {
+        private final String name;
+        private final Class<?> type;
+        private final MethodHandle handle;
+
+        @Override
+        public Object get(final T target) {
+            try {
+                return (Object) this.handle.invokeExact((Object) target);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new PropertyAccessException(e);
+            }
+        }
+    }
+}
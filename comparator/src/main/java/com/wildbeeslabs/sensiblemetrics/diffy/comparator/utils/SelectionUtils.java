@@ -0,0 +1,407 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software andAll associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, andAll/or sell
+ * copies of the Software, andAll to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice andAll this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.comparator.utils;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.common.annotation.Factory;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.sort.SortManager;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ValidationUtils;
+import com.wildbeeslabs.sensiblemetrics.diffy.comparator.interfaces.ComparatorDispatcher;
+import lombok.experimental.UtilityClass;
+
+import java.util.*;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+
+/**
+ * Selection utilities implementation
+ * <p>
+ * Top-K selection keeps a bounded heap of the {@code limit} first elements seen so far in O(n log k) time and O(k) space,
+ * so the input is consumed as a stream and never sorted as a whole. Ties are resolved by encounter order, so the result
+ * equals the first {@code limit} elements of a stable sort. K-th element selection is an in-place quickselect with
+ * three-way partitioning, falling back to sorting the remaining range after too many unbalanced partitions.
+ * <p>
+ * Every selection also accepts a {@link SortManager} with a {@link ComparatorDispatcher}, the comparator is resolved
+ * by {@link ComparatorDispatcher#getComparator(SortManager)} once per call.
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+@UtilityClass
+@SuppressWarnings("unchecked")
+public class SelectionUtils {
+
+    /**
+     * Returns sorted {@link List} of the first {@code limit} elements of input {@link Iterator} in {@link Comparator} order
+     *
+     * @param <T>        type of input element
+     * @param iterator   - initial input {@link Iterator}
+     * @param limit      - initial input maximum number of returned elements
+     * @param comparator - initial input {@link Comparator}
+     * @return sorted {@link List} of the first elements
+     * @throws IllegalArgumentException if iterator or comparator is {@code null}, or limit is negative
+     */
+    public static <T> List<T> topK(final Iterator<? extends T> iterator, int limit, final Comparator<? super T> comparator) {
+        ValidationUtils.notNull(iterator, "Iterator should not be null");
+
+        final TopK<T> heap = new TopK<>(limit, comparator);
+        while (iterator.hasNext()) {
+            heap.add(iterator.next());
+        }
+        return heap.toList();
+    }
+
+    /**
+     * Returns sorted {@link List} of the first {@code limit} elements of input {@link Iterable} in {@link Comparator} order
+     *
+     * @param <T>        type of input element
+     * @param iterable   - initial input {@link Iterable}
+     * @param limit      - initial input maximum number of returned elements
+     * @param comparator - initial input {@link Comparator}
+     * @return sorted {@link List} of the first elements
+     * @throws IllegalArgumentException if iterable or comparator is {@code null}, or limit is negative
+     */
+    public static <T> List<T> topK(final Iterable<? extends T> iterable, int limit, final Comparator<? super T> comparator) {
+        ValidationUtils.notNull(iterable, "Iterable should not be null");
+
+        return topK(iterable.iterator(), limit, comparator);
+    }
+
+    /**
+     * Returns sorted {@link List} of the first {@code limit} elements of input {@link Stream} in {@link Comparator} order
+     * <p>
+     * Parallel streams select into a heap per worker and merge the heaps.
+     *
+     * @param <T>        type of input element
+     * @param stream     - initial input {@link Stream}
+     * @param limit      - initial input maximum number of returned elements
+     * @param comparator - initial input {@link Comparator}
+     * @return sorted {@link List} of the first elements
+     * @throws IllegalArgumentException if stream or comparator is {@code null}, or limit is negative
+     */
+    public static <T> List<T> topK(final Stream<? extends T> stream, int limit, final Comparator<? super T> comparator) {
+        ValidationUtils.notNull(stream, "Stream should not be null");
+
+        return stream.collect(toTopK(limit, comparator));
+    }
+
+    /**
+     * Returns sorted {@link List} of the first {@code limit} elements of input {@link Iterable} in {@link SortManager} order
+     *
+     * @param <T>         type of input element
+     * @param iterable    - initial input {@link Iterable}
+     * @param limit       - initial input maximum number of returned elements
+     * @param dispatcher  - initial input {@link ComparatorDispatcher}
+     * @param sortManager - initial input {@link SortManager}
+     * @return sorted {@link List} of the first elements
+     * @throws IllegalArgumentException if iterable, dispatcher or sortManager is {@code null}, or limit is negative
+     */
+    public static <T> List<T> topK(final Iterable<? extends T> iterable, int limit, final ComparatorDispatcher<T> dispatcher, final SortManager sortManager) {
+        return topK(iterable, limit, comparatorOf(dispatcher, sortManager));
+    }
+
+    /**
+     * Returns sorted {@link List} of the first {@code limit} elements of input {@link Stream} in {@link SortManager} order
+     *
+     * @param <T>         type of input element
+     * @param stream      - initial input {@link Stream}
+     * @param limit       - initial input maximum number of returned elements
+     * @param dispatcher  - initial input {@link ComparatorDispatcher}
+     * @param sortManager - initial input {@link SortManager}
+     * @return sorted {@link List} of the first elements
+     * @throws IllegalArgumentException if stream, dispatcher or sortManager is {@code null}, or limit is negative
+     */
+    public static <T> List<T> topK(final Stream<? extends T> stream, int limit, final ComparatorDispatcher<T> dispatcher, final SortManager sortManager) {
+        return topK(stream, limit, comparatorOf(dispatcher, sortManager));
+    }
+
+    /**
+     * Returns sorted {@link List} of the first {@code limit} elements of input {@link Collection} in {@link Comparator} order
+     * selected in parallel
+     *
+     * @param <T>        type of input element
+     * @param collection - initial input {@link Collection}
+     * @param limit      - initial input maximum number of returned elements
+     * @param comparator - initial input {@link Comparator}
+     * @return sorted {@link List} of the first elements
+     * @throws IllegalArgumentException if collection or comparator is {@code null}, or limit is negative
+     */
+    public static <T> List<T> parallelTopK(final Collection<? extends T> collection, int limit, final Comparator<? super T> comparator) {
+        ValidationUtils.notNull(collection, "Collection should not be null");
+
+        return collection.parallelStream().collect(toTopK(limit, comparator));
+    }
+
+    /**
+     * Returns {@link Collector} of the first {@code limit} elements in {@link Comparator} order into sorted {@link List}
+     *
+     * @param <T>        type of input element
+     * @param limit      - initial input maximum number of collected elements
+     * @param comparator - initial input {@link Comparator}
+     * @return top-K {@link Collector}
+     * @throws IllegalArgumentException if comparator is {@code null}, or limit is negative
+     */
+    @Factory
+    public static <T> Collector<T, ?, List<T>> toTopK(int limit, final Comparator<? super T> comparator) {
+        ValidationUtils.isTrue(limit >= 0, "Limit should not be negative");
+        ValidationUtils.notNull(comparator, "Comparator should not be null");
+
+        return Collector.of(() -> new TopK<T>(limit, comparator), TopK::add, TopK::merge, TopK::toList);
+    }
+
+    /**
+     * Returns {@link Collector} of the first {@code limit} elements in {@link SortManager} order into sorted {@link List}
+     *
+     * @param <T>         type of input element
+     * @param limit       - initial input maximum number of collected elements
+     * @param dispatcher  - initial input {@link ComparatorDispatcher}
+     * @param sortManager - initial input {@link SortManager}
+     * @return top-K {@link Collector}
+     * @throws IllegalArgumentException if dispatcher or sortManager is {@code null}, or limit is negative
+     */
+    @Factory
+    public static <T> Collector<T, ?, List<T>> toTopK(int limit, final ComparatorDispatcher<T> dispatcher, final SortManager sortManager) {
+        return toTopK(limit, comparatorOf(dispatcher, sortManager));
+    }
+
+    /**
+     * Returns element of input {@link Iterable} at the input position of {@link Comparator} order
+     *
+     * @param <T>        type of input element
+     * @param iterable   - initial input {@link Iterable}
+     * @param k          - initial input zero-based position in sorted order
+     * @param comparator - initial input {@link Comparator}
+     * @return k-th element in sorted order
+     * @throws IllegalArgumentException if iterable or comparator is {@code null}, or k is out of range
+     */
+    public static <T> T kth(final Iterable<? extends T> iterable, int k, final Comparator<? super T> comparator) {
+        ValidationUtils.notNull(iterable, "Iterable should not be null");
+
+        final Object[] array;
+        if (iterable instanceof Collection) {
+            array = ((Collection<?>) iterable).toArray();
+        } else {
+            final List<T> list = new ArrayList<>();
+            iterable.forEach(list::add);
+            array = list.toArray();
+        }
+        select((T[]) array, 0, array.length, k, comparator);
+        return (T) array[k];
+    }
+
+    /**
+     * Returns element of input {@link Iterable} at the input position of {@link SortManager} order
+     *
+     * @param <T>         type of input element
+     * @param iterable    - initial input {@link Iterable}
+     * @param k           - initial input zero-based position in sorted order
+     * @param dispatcher  - initial input {@link ComparatorDispatcher}
+     * @param sortManager - initial input {@link SortManager}
+     * @return k-th element in sorted order
+     * @throws IllegalArgumentException if iterable, dispatcher or sortManager is {@code null}, or k is out of range
+     */
+    public static <T> T kth(final Iterable<? extends T> iterable, int k, final ComparatorDispatcher<T> dispatcher, final SortManager sortManager) {
+        return kth(iterable, k, comparatorOf(dispatcher, sortManager));
+    }
+
+    /**
+     * Reorders range of input array in place, so the element at position {@code k} is the one of sorted order,
+     * no element before it follows it and no element after it precedes it
+     *
+     * @param <T>        type of input element
+     * @param array      - initial input array
+     * @param fromIndex  - initial input index of the first element (inclusive)
+     * @param toIndex    - initial input index of the last element (exclusive)
+     * @param k          - initial input position to be selected
+     * @param comparator - initial input {@link Comparator}
+     * @throws IllegalArgumentException if array or comparator is {@code null}, or range or position is invalid
+     */
+    public static <T> void select(final T[] array, int fromIndex, int toIndex, int k, final Comparator<? super T> comparator) {
+        ValidationUtils.notNull(array, "Array should not be null");
+        ValidationUtils.notNull(comparator, "Comparator should not be null");
+        ValidationUtils.isTrue(0 <= fromIndex && fromIndex <= toIndex && toIndex <= array.length, "Range should be within array bounds");
+        ValidationUtils.isTrue(fromIndex <= k && k < toIndex, "Position should be within range");
+
+        int low = fromIndex;
+        int high = toIndex - 1;
+        int budget = 2 * (32 - Integer.numberOfLeadingZeros(toIndex - fromIndex));
+        while (low < high) {
+            if (budget-- == 0) {
+                Arrays.sort(array, low, high + 1, comparator);
+                return;
+            }
+            final T pivot = median(array[low], array[(low + high) >>> 1], array[high], comparator);
+            int lt = low, i = low, gt = high;
+            while (i <= gt) {
+                final int result = comparator.compare(array[i], pivot);
+                if (result < 0) {
+                    swap(array, lt++, i++);
+                } else if (result > 0) {
+                    swap(array, i, gt--);
+                } else {
+                    i++;
+                }
+            }
+            if (k < lt) {
+                high = lt - 1;
+            } else if (k > gt) {
+                low = gt + 1;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private static <T> Comparator<? super T> comparatorOf(final ComparatorDispatcher<T> dispatcher, final SortManager sortManager) {
+        ValidationUtils.notNull(dispatcher, "Dispatcher should not be null");
+        ValidationUtils.notNull(sortManager, "Sort manager should not be null");
+
+        return dispatcher.getComparator(sortManager);
+    }
+
+    private static <T> T median(final T a, final T b, final T c, final Comparator<? super T> comparator) {
+        if (comparator.compare(a, b) < 0) {
+            if (comparator.compare(b, c) < 0) return b;
+            return comparator.compare(a, c) < 0 ? c : a;
+        }
+        if (comparator.compare(a, c) < 0) return a;
+        return comparator.compare(b, c) < 0 ? c : b;
+    }
+
+    private static void swap(final Object[] array, int i, int j) {
+        final Object value = array[i];
+        array[i] = array[j];
+        array[j] = value;
+    }
+
+    /**
+     * Bounded max-heap of the first elements ordered by comparator and encounter sequence
+     *
+     * @param <T> type of input element
+     */
+    private static final class TopK<T> {
+        private final int limit;
+        private final Comparator<? super T> comparator;
+        private Object[] elements;
+        private long[] sequences;
+        private int size;
+        private long count;
+
+        TopK(int limit, final Comparator<? super T> comparator) {
+            ValidationUtils.isTrue(limit >= 0, "Limit should not be negative");
+            ValidationUtils.notNull(comparator, "Comparator should not be null");
+
+            this.limit = limit;
+            this.comparator = comparator;
+            this.elements = new Object[Math.min(limit, 16)];
+            this.sequences = new long[this.elements.length];
+        }
+
+        void add(final T value) {
+            this.offer(value, this.count++);
+        }
+
+        TopK<T> merge(final TopK<T> other) {
+            for (int i = 0; i < other.size; i++) {
+                this.offer((T) other.elements[i], this.count + other.sequences[i]);
+            }
+            this.count += other.count;
+            return this;
+        }
+
+        List<T> toList() {
+            final int[] order = new int[this.size];
+            for (int i = 0; i < this.size; i++) {
+                order[i] = i;
+            }
+            ComparatorUtils.sort(order, (i, j) -> this.follows(i, j) ? 1 : (this.follows(j, i) ? -1 : 0));
+            final List<T> result = new ArrayList<>(this.size);
+            for (final int index : order) {
+                result.add((T) this.elements[index]);
+            }
+            return result;
+        }
+
+        private void offer(final T value, long sequence) {
+            if (this.size < this.limit) {
+                if (this.size == this.elements.length) {
+                    final int capacity = (int) Math.min(this.limit, 2L * this.size);
+                    this.elements = Arrays.copyOf(this.elements, capacity);
+                    this.sequences = Arrays.copyOf(this.sequences, capacity);
+                }
+                this.elements[this.size] = value;
+                this.sequences[this.size] = sequence;
+                this.siftUp(this.size++);
+            } else if (this.size > 0) {
+                final int result = this.comparator.compare(value, (T) this.elements[0]);
+                if (result < 0 || (result == 0 && sequence < this.sequences[0])) {
+                    this.elements[0] = value;
+                    this.sequences[0] = sequence;
+                    this.siftDown(0);
+                }
+            }
+        }
+
+        private boolean follows(int i, int j) {
+            final int result = this.comparator.compare((T) this.elements[i], (T) this.elements[j]);
+            return result > 0 || (result == 0 && this.sequences[i] > this.sequences[j]);
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                final int parent = (index - 1) >>> 1;
+                if (!this.follows(index, parent)) {
+                    return;
+                }
+                this.swap(index, parent);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                final int left = 2 * index + 1;
+                if (left >= this.size) {
+                    return;
+                }
+                final int right = left + 1;
+                final int child = (right < this.size && this.follows(right, left)) ? right : left;
+                if (!this.follows(child, index)) {
+                    return;
+                }
+                this.swap(index, child);
+                index = child;
+            }
+        }
+
+        private void swap(int i, int j) {
+            final Object element = this.elements[i];
+            this.elements[i] = this.elements[j];
+            this.elements[j] = element;
+            final long sequence = this.sequences[i];
+            this.sequences[i] = this.sequences[j];
+            this.sequences[j] = sequence;
+        }
+    }
+}
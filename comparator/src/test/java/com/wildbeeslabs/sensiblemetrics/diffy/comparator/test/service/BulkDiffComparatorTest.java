@@ -0,0 +1,155 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software andAll associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, andAll/or sell
+ * copies of the Software, andAll to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice andAll this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.comparator.test.service;
+
+import com.google.common.collect.Lists;
+import com.wildbeeslabs.sensiblemetrics.diffy.comparator.interfaces.DiffComparator;
+import com.wildbeeslabs.sensiblemetrics.diffy.comparator.service.BulkDiffComparator;
+import com.wildbeeslabs.sensiblemetrics.diffy.comparator.service.DefaultDiffComparator;
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.entry.iface.DiffEntry;
+import org.junit.AfterClass;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * {@link BulkDiffComparator} unit test
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public class BulkDiffComparatorTest {
+
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(4);
+
+    @AfterClass
+    public static void tearDown() {
+        EXECUTOR.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Test bulk comparator delivers every pair with its differences")
+    public void test_diffCompare_by_pairs() {
+        // given
+        final DefaultDiffComparator<Bean> comparator = new DefaultDiffComparator<>(Bean.class);
+        final List<Map.Entry<Bean, Bean>> pairs = this.pairs(1000);
+        final Map<Map.Entry<Bean, Bean>, List<DiffEntry<?>>> results = new IdentityHashMap<>();
+
+        // when
+        new BulkDiffComparator<>(comparator, EXECUTOR, 7, 3).diffCompare(pairs, (pair, entries) -> assertThat(results.put(pair, Lists.newArrayList(entries)), nullValue()));
+
+        // then
+        assertThat(results.size(), equalTo(pairs.size()));
+        for (final Map.Entry<Bean, Bean> pair : pairs) {
+            assertThat(results.get(pair), hasSize(pair.getKey().value == pair.getValue().value ? 0 : 1));
+        }
+    }
+
+    @Test
+    @DisplayName("Test bulk comparator keeps at most max in-flight batches submitted")
+    public void test_diffCompare_by_maxInFlight() {
+        // given
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+        final Executor executor = task -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            EXECUTOR.execute(task);
+        };
+        final BulkDiffComparator<Bean> comparator = new BulkDiffComparator<>(new DefaultDiffComparator<>(Bean.class), executor, 4, 2);
+        final AtomicInteger delivered = new AtomicInteger();
+
+        // when
+        comparator.diffCompare(this.pairs(500).stream(), (pair, entries) -> {
+            if (delivered.incrementAndGet() % 4 == 0) {
+                inFlight.decrementAndGet();
+            }
+        });
+
+        // then
+        assertThat(delivered.get(), equalTo(500));
+        assertThat(maxInFlight.get(), lessThanOrEqualTo(2));
+    }
+
+    @Test
+    @DisplayName("Test bulk comparator rethrows comparator failure after submitted batches complete")
+    public void test_diffCompare_on_comparatorFailure() {
+        // given
+        final DiffComparator<Bean> comparator = new DiffComparator<>() {
+            @Override
+            public <S extends Iterable<? extends DiffEntry<?>>> S diffCompare(final Bean first, final Bean last) {
+                if (first.value == 13) {
+                    throw new IllegalStateException("failure");
+                }
+                return (S) Collections.<DiffEntry<?>>emptyList();
+            }
+        };
+        final AtomicInteger delivered = new AtomicInteger();
+
+        // when
+        try {
+            new BulkDiffComparator<>(comparator, EXECUTOR, 5, 2).diffCompare(this.pairs(100), (pair, entries) -> delivered.incrementAndGet());
+            throw new AssertionError("Failure should be rethrown");
+        } catch (IllegalStateException e) {
+            // then
+            assertThat(e.getMessage(), equalTo("failure"));
+            assertThat(delivered.get(), lessThan(100));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    @DisplayName("Test bulk comparator rejects non-positive batch size")
+    public void test_create_on_invalidBatchSize() {
+        // when
+        new BulkDiffComparator<>(new DefaultDiffComparator<>(Bean.class), EXECUTOR, 0, 1);
+    }
+
+    private List<Map.Entry<Bean, Bean>> pairs(int size) {
+        final Random random = new Random(size);
+        final List<Map.Entry<Bean, Bean>> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(new AbstractMap.SimpleImmutableEntry<>(new Bean(i), new Bean(random.nextBoolean() ? i : -i - 1)));
+        }
+        return result;
+    }
+
+    /**
+     * Bean to compare
+     */
+    private static class Bean {
+        private int value;
+
+        Bean(int value) {
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software andAll associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, andAll/or sell
+ * copies of the Software, andAll to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice andAll this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.comparator.test.service;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.common.sort.SortManager;
+import com.wildbeeslabs.sensiblemetrics.diffy.comparator.service.CompiledSortComparator;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.*;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * {@link CompiledSortComparator} unit test
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public class CompiledSortComparatorTest {
+
+    private final SortManager sortManager = SortManager.by(
+        SortManager.SortOrder.desc("rank"),
+        SortManager.SortOrder.asc("name").ignoreCase().nullsFirst(),
+        SortManager.SortOrder.asc("score").nullsLast()
+    );
+
+    private final Comparator<Bean> expected = Comparator.<Bean>comparingInt(bean -> bean.rank).reversed()
+        .thenComparing(bean -> bean.name, Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER))
+        .thenComparing(bean -> bean.score, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    @Test
+    @DisplayName("Test compiled comparator equals composed comparator")
+    public void test_compare_by_sortManager() {
+        // given
+        final CompiledSortComparator<Bean> comparator = CompiledSortComparator.of(Bean.class, this.sortManager);
+        final List<Bean> beans = this.beans(300);
+
+        // then
+        for (final Bean first : beans) {
+            for (final Bean last : beans) {
+                assertThat(Integer.signum(comparator.compare(first, last)), equalTo(Integer.signum(this.expected.compare(first, last))));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test compiled comparator sorts lists and arrays stably")
+    public void test_sort_by_sortManager() {
+        // given
+        final CompiledSortComparator<Bean> comparator = CompiledSortComparator.of(Bean.class, this.sortManager);
+        final List<Bean> list = this.beans(2000);
+        final Bean[] array = list.toArray(new Bean[0]);
+        final List<Bean> sorted = new ArrayList<>(list);
+        sorted.sort(this.expected);
+
+        // when
+        comparator.sort(list);
+        comparator.sort(array);
+
+        // then
+        assertThat(list, equalTo(sorted));
+        assertThat(Arrays.asList(array), equalTo(sorted));
+    }
+
+    @Test
+    @DisplayName("Test compiled comparators are cached by an immutable copy of the orders")
+    public void test_of_by_cachedOrders() {
+        // given
+        final List<SortManager.SortOrder> orders = new ArrayList<>(Collections.singletonList(SortManager.SortOrder.asc("rank")));
+        final CompiledSortComparator<Bean> first = CompiledSortComparator.of(Bean.class, new SortManager(orders));
+
+        // when
+        orders.set(0, SortManager.SortOrder.desc("rank"));
+        final CompiledSortComparator<Bean> last = CompiledSortComparator.of(Bean.class, new SortManager(orders));
+
+        // then
+        assertThat(CompiledSortComparator.of(Bean.class, SortManager.by(SortManager.SortOrder.asc("rank"))), sameInstance(first));
+        assertThat(first.getSortManager().getOrders(), contains(SortManager.SortOrder.asc("rank")));
+        assertThat(last, not(sameInstance(first)));
+        assertThat(first.compare(new Bean(1, null, null), new Bean(2, null, null)), lessThan(0));
+        assertThat(last.compare(new Bean(1, null, null), new Bean(2, null, null)), greaterThan(0));
+    }
+
+    @Test
+    @DisplayName("Test compiled comparator dispatcher returns cached comparators")
+    public void test_dispatcher_by_sortManager() {
+        // then
+        assertThat(CompiledSortComparator.dispatcher(Bean.class).getComparator(this.sortManager), sameInstance(CompiledSortComparator.of(Bean.class, this.sortManager)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    @DisplayName("Test compiled comparator rejects unknown properties")
+    public void test_of_on_unknownProperty() {
+        // when
+        CompiledSortComparator.of(Bean.class, SortManager.by("unknown"));
+    }
+
+    @Test
+    @DisplayName("Test compiled comparator reverses Comparable results of Integer.MIN_VALUE in descending order")
+    public void test_compare_on_minValueCompareTo() {
+        // given
+        final CompiledSortComparator<LevelBean> comparator = CompiledSortComparator.of(LevelBean.class, SortManager.by(SortManager.SortOrder.desc("level")));
+        final LevelBean low = new LevelBean(new Level(1));
+        final LevelBean high = new LevelBean(new Level(2));
+        final List<LevelBean> list = new ArrayList<>(Arrays.asList(low, high, new LevelBean(new Level(0))));
+
+        // when
+        comparator.sort(list);
+
+        // then
+        assertThat(comparator.compare(low, high), greaterThan(0));
+        assertThat(comparator.compare(high, low), lessThan(0));
+        assertThat(list.get(0), sameInstance(high));
+        assertThat(list.get(1), sameInstance(low));
+    }
+
+    private List<Bean> beans(int size) {
+        final Random random = new Random(size);
+        final String[] names = {null, "a", "A", "b", "B", "c"};
+        final List<Bean> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(new Bean(random.nextInt(3), names[random.nextInt(names.length)], random.nextInt(4) == 0 ? null : (double) random.nextInt(3)));
+        }
+        return result;
+    }
+
+    /**
+     * Comparable value returning extreme comparison results
+     */
+    private static class Level implements Comparable<Level> {
+        private final int value;
+
+        Level(int value) {
+            this.value = value;
+        }
+
+        @Override
+        public int compareTo(final Level other) {
+            return this.value < other.value ? Integer.MIN_VALUE : (this.value > other.value ? Integer.MAX_VALUE : 0);
+        }
+    }
+
+    /**
+     * Bean to sort by {@link Level}
+     */
+    private static class LevelBean {
+        private Level level;
+
+        LevelBean(final Level level) {
+            this.level = level;
+        }
+    }
+
+    /**
+     * Bean to sort
+     */
+    private static class Bean {
+        private int rank;
+        private String name;
+        private Double score;
+
+        Bean(int rank, final String name, final Double score) {
+            this.rank = rank;
+            this.name = name;
+            this.score = score;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software andAll associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, andAll/or sell
+ * copies of the Software, andAll to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice andAll this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.comparator.test.service;
+
+import com.google.common.collect.Lists;
+import com.wildbeeslabs.sensiblemetrics.diffy.comparator.service.DefaultDiffComparator;
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.entry.iface.DiffEntry;
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.entry.impl.DefaultDiffEntry;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * {@link DefaultDiffComparator} unit test
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public class DefaultDiffComparatorTest {
+
+    @Test
+    @DisplayName("Test difference comparator reports differing properties")
+    public void test_diffCompare_by_properties() {
+        // given
+        final DefaultDiffComparator<Bean> comparator = new DefaultDiffComparator<>(Bean.class);
+
+        // when
+        final List<DiffEntry<?>> entries = this.diffCompare(comparator, new Bean("a", 1), new Bean("b", 1));
+
+        // then
+        assertThat(entries, hasSize(1));
+        assertThat(entries.get(0), hasProperty("propertyName", equalTo("name")));
+    }
+
+    @Test
+    @DisplayName("Test difference comparator returns mutable result for equal values")
+    public void test_diffCompare_on_equalValues() {
+        // given
+        final DefaultDiffComparator<Bean> comparator = new DefaultDiffComparator<>(Bean.class);
+
+        // when
+        final List<DiffEntry<?>> entries = comparator.diffCompare(new Bean("a", 1), new Bean("a", 1));
+        entries.add(DefaultDiffEntry.of("name", "a", "a"));
+
+        // then
+        assertThat(entries, hasSize(1));
+    }
+
+    @Test
+    @DisplayName("Test difference comparator applies property changes after comparison")
+    public void test_diffCompare_on_changedProperties() {
+        // given
+        final DefaultDiffComparator<Bean> comparator = new DefaultDiffComparator<>(Bean.class);
+        final Bean first = new Bean("a", 1);
+        final Bean last = new Bean("A", 2);
+        assertThat(this.diffCompare(comparator, first, last), hasSize(2));
+
+        // when
+        comparator.excludeProperty("count");
+        final List<DiffEntry<?>> excluded = this.diffCompare(comparator, first, last);
+        comparator.setComparator("name", String.CASE_INSENSITIVE_ORDER);
+        final List<DiffEntry<?>> compared = this.diffCompare(comparator, first, last);
+        comparator.includeProperties(Arrays.asList("name", "count"));
+        final List<DiffEntry<?>> included = this.diffCompare(comparator, first, last);
+
+        // then
+        assertThat(excluded, hasSize(1));
+        assertThat(excluded.get(0), hasProperty("propertyName", equalTo("name")));
+        assertThat(compared, is(empty()));
+        assertThat(included, hasSize(1));
+        assertThat(included.get(0), hasProperty("propertyName", equalTo("count")));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    @DisplayName("Test difference comparator property set is unmodifiable")
+    public void test_getPropertySet_on_modification() {
+        // given
+        final DefaultDiffComparator<Bean> comparator = new DefaultDiffComparator<>(Bean.class);
+
+        // when
+        comparator.getPropertySet().remove("name");
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    @DisplayName("Test difference comparator property comparators are unmodifiable")
+    public void test_getPropertyComparatorMap_on_modification() {
+        // given
+        final DefaultDiffComparator<Bean> comparator = new DefaultDiffComparator<>(Bean.class);
+
+        // when
+        comparator.getPropertyComparatorMap().put("name", Comparator.naturalOrder());
+    }
+
+    private List<DiffEntry<?>> diffCompare(final DefaultDiffComparator<Bean> comparator, final Bean first, final Bean last) {
+        return Lists.newArrayList((Iterable<DiffEntry<?>>) comparator.diffCompare(first, last));
+    }
+
+    /**
+     * Bean to compare
+     */
+    private static class Bean {
+        private String name;
+        private int count;
+
+        Bean(final String name, int count) {
+            this.name = name;
+            this.count = count;
+        }
+    }
+}
@@ -0,0 +1,286 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software andAll associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, andAll/or sell
+ * copies of the Software, andAll to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice andAll this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.comparator.test.service;
+
+import com.google.common.collect.Lists;
+import com.wildbeeslabs.sensiblemetrics.diffy.comparator.interfaces.PropertyAccessor;
+import com.wildbeeslabs.sensiblemetrics.diffy.comparator.service.GraphDiffComparator;
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.entry.iface.DiffEntry;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.*;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * {@link GraphDiffComparator} unit test
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public class GraphDiffComparatorTest {
+
+    @Test
+    @DisplayName("Test graph comparator reports path-qualified nested properties")
+    public void test_diffCompare_by_nestedProperties() {
+        // given
+        final Node first = new Node("root", new Node("child", null));
+        final Node last = new Node("root", new Node("other", null));
+
+        // when
+        final List<DiffEntry<?>> entries = this.diffCompare(first, last);
+
+        // then
+        assertThat(entries, hasSize(1));
+        assertThat(entries.get(0), hasProperty("propertyName", equalTo("next.name")));
+        assertThat(entries.get(0), hasProperty("first", equalTo("child")));
+        assertThat(entries.get(0), hasProperty("last", equalTo("other")));
+    }
+
+    @Test
+    @DisplayName("Test graph comparator reports map keys missing on one side")
+    public void test_diffCompare_on_missingMapKeys() {
+        // given
+        final Map<String, Object> first = new HashMap<>();
+        first.put("a", null);
+        first.put("b", 1);
+        final Map<String, Object> last = new HashMap<>();
+        last.put("b", 1);
+        last.put("c", null);
+
+        // when
+        final List<DiffEntry<?>> entries = this.diffCompare(new Node("map", null, first, null), new Node("map", null, last, null));
+
+        // then
+        assertThat(entries, hasSize(2));
+        assertThat(entries, containsInAnyOrder(hasProperty("propertyName", equalTo("values[a]")), hasProperty("propertyName", equalTo("values[c]"))));
+        assertThat(entries, everyItem(allOf(hasProperty("first", nullValue()), hasProperty("last", nullValue()))));
+    }
+
+    @Test
+    @DisplayName("Test graph comparator reports list items missing on one side")
+    public void test_diffCompare_on_missingListItems() {
+        // given
+        final Node first = new Node("list", null, null, new ArrayList<>(Arrays.asList("a", null)));
+        final Node last = new Node("list", null, null, new ArrayList<>(Collections.singletonList("b")));
+
+        // when
+        final List<DiffEntry<?>> entries = this.diffCompare(first, last);
+
+        // then
+        assertThat(entries, hasSize(2));
+        assertThat(entries.get(0), hasProperty("propertyName", equalTo("items[0]")));
+        assertThat(entries.get(1), hasProperty("propertyName", equalTo("items[1]")));
+    }
+
+    @Test
+    @DisplayName("Test graph comparator matches lists and maps of different implementations by contents")
+    public void test_diffCompare_on_mixedImplementations() {
+        // given
+        final Map<String, Object> hashMap = new HashMap<>();
+        hashMap.put("a", 1);
+        hashMap.put("b", Arrays.asList("x", "y"));
+        final Map<String, Object> linkedMap = new LinkedHashMap<>();
+        linkedMap.put("b", List.of("x", "z"));
+        linkedMap.put("a", 1);
+        final Node first = new Node("node", null, hashMap, new ArrayList<>(Arrays.asList("a", "b")));
+        final Node last = new Node("node", null, new LinkedHashMap<>(hashMap), Arrays.asList("a", "b"));
+        final Node other = new Node("node", null, linkedMap, List.of("a", "c"));
+
+        // when
+        final List<DiffEntry<?>> equal = this.diffCompare(first, last);
+        final List<DiffEntry<?>> entries = this.diffCompare(first, other);
+
+        // then
+        assertThat(equal, is(empty()));
+        assertThat(entries, hasSize(2));
+        assertThat(entries, containsInAnyOrder(hasProperty("propertyName", equalTo("values[b][1]")), hasProperty("propertyName", equalTo("items[1]"))));
+    }
+
+    @Test
+    @DisplayName("Test graph comparator reports differences of final fields")
+    public void test_diffCompare_on_finalFields() {
+        // given
+        final FinalNode first = new FinalNode("root", new FinalNode("child", null));
+        final FinalNode last = new FinalNode("root", new FinalNode("other", null));
+
+        // when
+        final List<DiffEntry<?>> entries = Lists.newArrayList((Iterable<DiffEntry<?>>) new GraphDiffComparator<FinalNode>().diffCompare(first, last));
+
+        // then
+        assertThat(entries, hasSize(1));
+        assertThat(entries.get(0), hasProperty("propertyName", equalTo("next.name")));
+        assertThat(entries.get(0), hasProperty("first", equalTo("child")));
+        assertThat(entries.get(0), hasProperty("last", equalTo("other")));
+    }
+
+    @Test
+    @DisplayName("Test graph comparator terminates on cycles and deep graphs")
+    public void test_diffCompare_on_cyclesAndDeepGraphs() {
+        // given
+        final Node first = new Node("a", null);
+        first.next = first;
+        final Node last = new Node("b", null);
+        last.next = last;
+        final Node firstChain = this.chain(100_000, "x");
+        final Node lastChain = this.chain(100_000, "y");
+
+        // when
+        final List<DiffEntry<?>> cycle = this.diffCompare(first, last);
+        final List<DiffEntry<?>> chain = this.diffCompare(firstChain, lastChain);
+
+        // then
+        assertThat(cycle, hasSize(1));
+        assertThat(cycle.get(0), hasProperty("propertyName", equalTo("name")));
+        assertThat(chain, hasSize(1));
+        assertThat((String) chain.get(0).getPropertyName(), endsWith("next.name"));
+    }
+
+    @Test
+    @DisplayName("Test graph comparator skips distinct equal subtrees by structural hash")
+    public void test_diffCompare_on_equalSubtrees() {
+        // given
+        final List<ValueNode> first = Arrays.asList(new ValueNode("a", new ValueNode("b", null)), new ValueNode("c", null));
+        final List<ValueNode> last = Arrays.asList(new ValueNode("a", new ValueNode("b", null)), new ValueNode("c", null));
+        ValueNode.EQUALS_CALLS = 0;
+
+        // when
+        final List<DiffEntry<?>> entries = Lists.newArrayList((Iterable<DiffEntry<?>>) new GraphDiffComparator<List<ValueNode>>().diffCompare(first, last));
+
+        // then
+        assertThat(entries, is(empty()));
+        assertThat(ValueNode.EQUALS_CALLS, greaterThan(0));
+    }
+
+    @Test
+    @DisplayName("Test graph comparator walks subtrees equal by equals but structurally different")
+    public void test_diffCompare_on_partialEquals() {
+        // given
+        final ValueNode first = new ValueNode("a", new ValueNode("b", null));
+        final ValueNode last = new ValueNode("a", new ValueNode("c", null));
+
+        // when
+        final List<DiffEntry<?>> entries = Lists.newArrayList((Iterable<DiffEntry<?>>) new GraphDiffComparator<ValueNode>().diffCompare(first, last));
+
+        // then
+        assertThat(first, equalTo(last));
+        assertThat(entries, hasSize(1));
+        assertThat(entries.get(0), hasProperty("propertyName", equalTo("next.name")));
+    }
+
+    @Test
+    @DisplayName("Test graph comparator compares beans with inaccessible fields by equals")
+    public void test_diffCompare_on_inaccessibleFields() {
+        // given
+        final GraphDiffComparator<List<Object>> comparator = new GraphDiffComparator<>() {
+            @Override
+            protected PropertyAccessor<Object>[] getAccessors(final Class<?> type) {
+                return type == FinalNode.class ? null : super.getAccessors(type);
+            }
+        };
+        final FinalNode node = new FinalNode("a", null);
+
+        // when
+        final List<DiffEntry<?>> entries = Lists.newArrayList((Iterable<DiffEntry<?>>) comparator.diffCompare(Arrays.asList(node, new FinalNode("b", null)), Arrays.asList(node, new FinalNode("b", null))));
+
+        // then
+        assertThat(entries, hasSize(1));
+        assertThat(entries.get(0), hasProperty("propertyName", equalTo("[1]")));
+    }
+
+    private Node chain(int size, final String name) {
+        Node node = new Node(name, null);
+        for (int i = 0; i < size; i++) {
+            node = new Node("node", node);
+        }
+        return node;
+    }
+
+    private List<DiffEntry<?>> diffCompare(final Node first, final Node last) {
+        return Lists.newArrayList((Iterable<DiffEntry<?>>) new GraphDiffComparator<Node>().diffCompare(first, last));
+    }
+
+    /**
+     * Immutable graph node to compare
+     */
+    private static final class FinalNode {
+        private final String name;
+        private final FinalNode next;
+
+        FinalNode(final String name, final FinalNode next) {
+            this.name = name;
+            this.next = next;
+        }
+    }
+
+    /**
+     * Value graph node to compare, equal by name only
+     */
+    private static final class ValueNode {
+        private static int EQUALS_CALLS;
+
+        private final String name;
+        private final ValueNode next;
+
+        ValueNode(final String name, final ValueNode next) {
+            this.name = name;
+            this.next = next;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            EQUALS_CALLS++;
+            return other instanceof ValueNode && Objects.equals(this.name, ((ValueNode) other).name);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(this.name);
+        }
+    }
+
+    /**
+     * Graph node to compare
+     */
+    private static class Node {
+        private String name;
+        private Node next;
+        private Map<String, Object> values;
+        private List<String> items;
+
+        Node(final String name, final Node next) {
+            this(name, next, null, null);
+        }
+
+        Node(final String name, final Node next, final Map<String, Object> values, final List<String> items) {
+            this.name = name;
+            this.next = next;
+            this.values = values;
+            this.items = items;
+        }
+    }
+}
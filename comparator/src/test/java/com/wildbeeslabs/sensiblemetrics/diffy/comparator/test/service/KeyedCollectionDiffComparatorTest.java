@@ -0,0 +1,129 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software andAll associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, andAll/or sell
+ * copies of the Software, andAll to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice andAll this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.comparator.test.service;
+
+import com.google.common.collect.Lists;
+import com.wildbeeslabs.sensiblemetrics.diffy.comparator.service.KeyedCollectionDiffComparator;
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.entry.iface.DiffEntry;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * {@link KeyedCollectionDiffComparator} unit test
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public class KeyedCollectionDiffComparatorTest {
+
+    private final KeyedCollectionDiffComparator<Item, Integer> comparator = new KeyedCollectionDiffComparator<>(Item.class, item -> item.id);
+
+    @Test
+    @DisplayName("Test keyed comparator matches reordered elements by key")
+    public void test_diffCompare_on_reorderedElements() {
+        // given
+        final List<Item> first = Arrays.asList(new Item(1, "a"), new Item(2, "b"), new Item(3, "c"));
+        final List<Item> last = Arrays.asList(new Item(3, "c"), new Item(0, "z"), new Item(1, "a"), new Item(2, "b"));
+
+        // when
+        final List<DiffEntry<?>> entries = this.diffCompare(first, last);
+
+        // then
+        assertThat(entries, hasSize(1));
+        assertThat(entries.get(0), hasProperty("propertyName", equalTo("[0]")));
+        assertThat(entries.get(0), hasProperty("first", nullValue()));
+    }
+
+    @Test
+    @DisplayName("Test keyed comparator reports removed, modified and added elements in order")
+    public void test_diffCompare_by_keys() {
+        // given
+        final List<Item> first = Arrays.asList(new Item(1, "a"), new Item(2, "b"), new Item(3, "c"));
+        final List<Item> last = Arrays.asList(new Item(5, "e"), new Item(3, "C"), new Item(4, "d"), new Item(1, "a"));
+
+        // when
+        final List<DiffEntry<?>> entries = this.diffCompare(first, last);
+
+        // then
+        assertThat(entries, contains(
+            allOf(hasProperty("propertyName", equalTo("[2]")), hasProperty("last", nullValue())),
+            allOf(hasProperty("propertyName", equalTo("[3].name")), hasProperty("first", equalTo("c")), hasProperty("last", equalTo("C"))),
+            allOf(hasProperty("propertyName", equalTo("[5]")), hasProperty("first", nullValue())),
+            allOf(hasProperty("propertyName", equalTo("[4]")), hasProperty("first", nullValue()))
+        ));
+    }
+
+    @Test
+    @DisplayName("Test keyed comparator matches elements sharing a key in order of occurrence")
+    public void test_diffCompare_on_duplicateKeys() {
+        // given
+        final List<Item> first = Arrays.asList(new Item(1, "a"), new Item(1, "b"), new Item(1, "c"));
+        final List<Item> last = Arrays.asList(new Item(1, "a"), new Item(1, "x"));
+
+        // when
+        final List<DiffEntry<?>> entries = this.diffCompare(first, last);
+
+        // then
+        assertThat(entries, contains(
+            allOf(hasProperty("propertyName", equalTo("[1].name")), hasProperty("first", equalTo("b")), hasProperty("last", equalTo("x"))),
+            allOf(hasProperty("propertyName", equalTo("[1]")), hasProperty("last", nullValue()))
+        ));
+    }
+
+    @Test
+    @DisplayName("Test keyed comparator treats null collections as empty")
+    public void test_diffCompare_on_nullCollections() {
+        // given
+        final List<Item> items = Arrays.asList(new Item(1, "a"), new Item(2, "b"));
+
+        // then
+        assertThat(this.diffCompare(null, null), is(empty()));
+        assertThat(this.diffCompare(items, null), hasSize(2));
+        assertThat(this.diffCompare(null, items), everyItem(hasProperty("first", nullValue())));
+    }
+
+    private List<DiffEntry<?>> diffCompare(final List<Item> first, final List<Item> last) {
+        return Lists.newArrayList((Iterable<DiffEntry<?>>) this.comparator.diffCompare(first, last));
+    }
+
+    /**
+     * Keyed element to compare
+     */
+    private static class Item {
+        private int id;
+        private String name;
+
+        Item(int id, final String name) {
+            this.id = id;
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software andAll associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, andAll/or sell
+ * copies of the Software, andAll to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice andAll this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.comparator.test.utils;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.comparator.interfaces.DoubleComparator;
+import com.wildbeeslabs.sensiblemetrics.diffy.comparator.interfaces.IntComparator;
+import com.wildbeeslabs.sensiblemetrics.diffy.comparator.interfaces.LongComparator;
+import com.wildbeeslabs.sensiblemetrics.diffy.comparator.utils.ComparatorUtils;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.*;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * {@link ComparatorUtils} primitive sort unit test
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public class ComparatorUtilsTest {
+
+    @Test
+    @DisplayName("Test int sort is stable and equals boxed stable sort")
+    public void test_sort_by_intComparator() {
+        final Random random = new Random(11);
+        for (final int size : new int[]{0, 1, 5, 31, 32, 33, 1000, 5000}) {
+            // given
+            final int[] values = new int[size];
+            for (int i = 0; i < size; i++) {
+                values[i] = (random.nextInt(8) << 16) | i;
+            }
+            final IntComparator comparator = (first, last) -> Integer.compare(last >>> 16, first >>> 16);
+            final List<Integer> expected = this.boxed(values);
+            expected.sort((first, last) -> comparator.compare(first, last));
+
+            // when
+            ComparatorUtils.sort(values, comparator);
+
+            // then
+            assertThat(this.boxed(values), equalTo(expected));
+        }
+    }
+
+    @Test
+    @DisplayName("Test long sort range is stable and leaves the rest untouched")
+    public void test_sort_by_longComparator() {
+        // given
+        final Random random = new Random(13);
+        final long[] values = new long[2000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = ((long) random.nextInt(4) << 32) | i;
+        }
+        final long[] original = values.clone();
+        final LongComparator comparator = (first, last) -> Long.compare(first >>> 32, last >>> 32);
+
+        // when
+        ComparatorUtils.sort(values, 100, 1900, comparator);
+
+        // then
+        assertThat(Arrays.copyOfRange(values, 0, 100), equalTo(Arrays.copyOfRange(original, 0, 100)));
+        assertThat(Arrays.copyOfRange(values, 1900, 2000), equalTo(Arrays.copyOfRange(original, 1900, 2000)));
+        for (int i = 101; i < 1900; i++) {
+            final int order = comparator.compare(values[i - 1], values[i]);
+            assertThat(order, lessThanOrEqualTo(0));
+            if (order == 0) {
+                assertThat((int) values[i - 1], lessThan((int) values[i]));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test double sort keeps order of equal keys")
+    public void test_sort_by_doubleComparator() {
+        // given
+        final double[] values = {2.9, 1.5, 2.1, 1.1, 0.7, 1.9, 2.5, 0.2};
+        final DoubleComparator comparator = (first, last) -> Double.compare(Math.floor(first), Math.floor(last));
+
+        // when
+        ComparatorUtils.sort(values, comparator);
+
+        // then
+        assertThat(values, equalTo(new double[]{0.7, 0.2, 1.5, 1.1, 1.9, 2.9, 2.1, 2.5}));
+    }
+
+    @Test
+    @DisplayName("Test int column sort moves masked nulls and updates the mask")
+    public void test_sort_by_nullMask() {
+        // given
+        final int[] first = {5, 0, 3, 0, 1};
+        final int[] last = first.clone();
+        final BitSet firstNulls = new BitSet();
+        firstNulls.set(1);
+        firstNulls.set(3);
+        final BitSet lastNulls = (BitSet) firstNulls.clone();
+
+        // when
+        ComparatorUtils.sort(first, firstNulls, IntComparator.naturalOrder(), true);
+        ComparatorUtils.sort(last, lastNulls, IntComparator.naturalOrder(), false);
+
+        // then
+        assertThat(Arrays.copyOfRange(first, 2, 5), equalTo(new int[]{1, 3, 5}));
+        assertThat(firstNulls.toString(), equalTo("{0, 1}"));
+        assertThat(Arrays.copyOfRange(last, 0, 3), equalTo(new int[]{1, 3, 5}));
+        assertThat(lastNulls.toString(), equalTo("{3, 4}"));
+    }
+
+    @Test
+    @DisplayName("Test primitive key comparator orders nulls")
+    public void test_comparingInt_on_nulls() {
+        // given
+        final List<String> values = new ArrayList<>(Arrays.asList("ccc", null, "a", "bb"));
+
+        // when
+        values.sort(ComparatorUtils.comparingInt(String::length, IntComparator.naturalOrder().reversed(), false));
+
+        // then
+        assertThat(values, contains("ccc", "bb", "a", null));
+    }
+
+    private List<Integer> boxed(final int[] values) {
+        final List<Integer> result = new ArrayList<>(values.length);
+        for (final int value : values) {
+            result.add(value);
+        }
+        return result;
+    }
+}
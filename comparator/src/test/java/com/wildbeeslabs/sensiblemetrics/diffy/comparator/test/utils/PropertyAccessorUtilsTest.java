@@ -0,0 +1,162 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software andAll associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, andAll/or sell
+ * copies of the Software, andAll to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice andAll this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.comparator.test.utils;
+
+import com.google.common.collect.Lists;
+import com.wildbeeslabs.sensiblemetrics.diffy.comparator.interfaces.PropertyAccessor;
+import com.wildbeeslabs.sensiblemetrics.diffy.comparator.service.DefaultDiffComparator;
+import com.wildbeeslabs.sensiblemetrics.diffy.comparator.utils.PropertyAccessorUtils;
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.entry.iface.DiffEntry;
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.entry.impl.DefaultDiffEntry;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * {@link PropertyAccessorUtils} unit test
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public class PropertyAccessorUtilsTest {
+
+    @Test
+    @DisplayName("Test accessors read field values instead of bean getters")
+    public void test_getAccessors_by_fields() {
+        // given
+        final Bean bean = new Bean("name", 5, true);
+
+        // when
+        final Map<String, PropertyAccessor<?>> accessors = PropertyAccessorUtils.getAccessors(Bean.class);
+
+        // then
+        assertThat(accessors.keySet(), containsInAnyOrder("name", "count", "active"));
+        assertThat(this.read(accessors.get("name"), bean), equalTo("name"));
+        assertThat(this.read(accessors.get("count"), bean), equalTo(5));
+        assertThat(this.read(accessors.get("active"), bean), equalTo(true));
+        assertThat(accessors.get("count").getType(), equalTo(int.class));
+    }
+
+    @Test
+    @DisplayName("Test difference comparator compares field values instead of bean getters")
+    public void test_diffCompare_by_fields() {
+        // given
+        final DefaultDiffComparator<Bean> comparator = new DefaultDiffComparator<>(Bean.class);
+
+        // when
+        final List<DiffEntry<?>> entries = Lists.newArrayList((Iterable<DiffEntry<?>>) comparator.diffCompare(new Bean("a", 1, true), new Bean("A", 1, true)));
+
+        // then
+        assertThat(entries, hasSize(1));
+        assertThat(((DefaultDiffEntry) entries.get(0)).getPropertyName(), equalTo("name"));
+        assertThat(((DefaultDiffEntry) entries.get(0)).getFirst(), equalTo("a"));
+        assertThat(((DefaultDiffEntry) entries.get(0)).getLast(), equalTo("A"));
+    }
+
+    @Test
+    @DisplayName("Test inaccessible fields are skipped")
+    public void test_getAccessors_on_inaccessibleFields() {
+        // given
+        final Items first = new Items("first");
+        final Items last = new Items("last");
+        last.add("item");
+
+        // when
+        final Map<String, PropertyAccessor<?>> accessors = PropertyAccessorUtils.getAccessors(Items.class);
+        final List<DiffEntry<?>> entries = Lists.newArrayList((Iterable<DiffEntry<?>>) new DefaultDiffComparator<>(Items.class).diffCompare(first, last));
+
+        // then
+        assertThat(accessors.keySet(), containsInAnyOrder("name", "size"));
+        assertThat(entries, hasSize(2));
+        assertThat(entries, everyItem(hasProperty("propertyName", isOneOf("name", "size"))));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Object read(final PropertyAccessor<?> accessor, final T target) {
+        return ((PropertyAccessor<T>) accessor).get(target);
+    }
+
+    /**
+     * Bean with getters that differ from the field values
+     */
+    private static class Bean {
+        private String name;
+        private int count;
+        private boolean active;
+
+        Bean(final String name, int count, boolean active) {
+            this.name = name;
+            this.count = count;
+            this.active = active;
+        }
+
+        public String getName() {
+            return this.name.toUpperCase();
+        }
+
+        public int getCount() {
+            return this.count + 1;
+        }
+
+        public boolean isActive() {
+            return !this.active;
+        }
+    }
+
+    /**
+     * List with an own field next to the inaccessible {@link AbstractList#modCount}
+     */
+    private static class Items extends AbstractList<String> {
+        private String name;
+        private int size;
+
+        Items(final String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String get(int index) {
+            return "item";
+        }
+
+        @Override
+        public int size() {
+            return this.size;
+        }
+
+        @Override
+        public boolean add(final String value) {
+            this.size++;
+            this.modCount++;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software andAll associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, andAll/or sell
+ * copies of the Software, andAll to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice andAll this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.comparator.test.utils;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.common.sort.SortManager;
+import com.wildbeeslabs.sensiblemetrics.diffy.comparator.interfaces.ComparatorDispatcher;
+import com.wildbeeslabs.sensiblemetrics.diffy.comparator.utils.SelectionUtils;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * {@link SelectionUtils} unit test
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public class SelectionUtilsTest {
+
+    /**
+     * Default element comparator by key only
+     */
+    private static final Comparator<int[]> DEFAULT_COMPARATOR = Comparator.comparingInt(value -> value[0]);
+
+    @Test
+    @DisplayName("Test top-K equals the first elements of a stable sort")
+    public void test_topK_by_stableSort() {
+        final Random random = new Random(19);
+        for (final int limit : new int[]{0, 1, 7, 100, 5000}) {
+            // given
+            final List<int[]> input = this.input(random, 3000);
+            final List<String> expected = this.render(this.sorted(input).subList(0, Math.min(limit, input.size())));
+
+            // when
+            final List<int[]> sequential = SelectionUtils.topK(input, limit, DEFAULT_COMPARATOR);
+            final List<int[]> parallel = SelectionUtils.parallelTopK(input, limit, DEFAULT_COMPARATOR);
+            final List<int[]> collected = input.parallelStream().collect(SelectionUtils.toTopK(limit, DEFAULT_COMPARATOR));
+
+            // then
+            assertThat(this.render(sequential), equalTo(expected));
+            assertThat(this.render(parallel), equalTo(expected));
+            assertThat(this.render(collected), equalTo(expected));
+        }
+    }
+
+    @Test
+    @DisplayName("Test k-th element equals the element of sorted order")
+    public void test_kth_by_sortedOrder() {
+        final Random random = new Random(23);
+        for (int i = 0; i < 200; i++) {
+            // given
+            final List<Integer> input = IntStream.range(0, 1 + random.nextInt(300)).map(j -> random.nextInt(20)).boxed().collect(Collectors.toList());
+            final List<Integer> sorted = new ArrayList<>(input);
+            Collections.sort(sorted);
+            final int k = random.nextInt(input.size());
+
+            // then
+            assertThat(SelectionUtils.kth(input, k, Comparator.naturalOrder()), equalTo(sorted.get(k)));
+        }
+    }
+
+    @Test
+    @DisplayName("Test select partitions the range around the k-th element")
+    public void test_select_by_range() {
+        // given
+        final Integer[] array = IntStream.range(0, 1000).map(i -> (i * 7919) % 1000).boxed().toArray(Integer[]::new);
+        final Integer[] original = array.clone();
+
+        // when
+        SelectionUtils.select(array, 100, 900, 400, Comparator.naturalOrder());
+
+        // then
+        assertThat(Arrays.copyOfRange(array, 0, 100), equalTo(Arrays.copyOfRange(original, 0, 100)));
+        assertThat(Arrays.copyOfRange(array, 900, 1000), equalTo(Arrays.copyOfRange(original, 900, 1000)));
+        final Integer[] range = Arrays.copyOfRange(original, 100, 900);
+        Arrays.sort(range);
+        assertThat(array[400], equalTo(range[300]));
+        for (int i = 100; i < 900; i++) {
+            assertThat(Integer.compare(array[i], array[400]) * Integer.signum(i - 400), greaterThanOrEqualTo(0));
+        }
+    }
+
+    @Test
+    @DisplayName("Test select on sorted and constant inputs")
+    public void test_select_on_degenerateInputs() {
+        // given
+        final Integer[] sorted = IntStream.range(0, 100_000).boxed().toArray(Integer[]::new);
+        final Integer[] constant = new Integer[100_000];
+        Arrays.fill(constant, 5);
+
+        // when
+        SelectionUtils.select(sorted, 0, sorted.length, 77_777, Comparator.naturalOrder());
+        SelectionUtils.select(constant, 0, constant.length, 50_000, Comparator.naturalOrder());
+
+        // then
+        assertThat(sorted[77_777], equalTo(77_777));
+        assertThat(constant[50_000], equalTo(5));
+    }
+
+    @Test
+    @DisplayName("Test top-K and k-th element by sort manager resolve the dispatcher comparator once")
+    public void test_topK_by_sortManager() {
+        // given
+        final SortManager sortManager = SortManager.by("key");
+        final List<SortManager> requests = new ArrayList<>();
+        final ComparatorDispatcher<int[]> dispatcher = manager -> {
+            requests.add(manager);
+            return DEFAULT_COMPARATOR;
+        };
+        final List<int[]> input = this.input(new Random(29), 1000);
+        final List<int[]> sorted = this.sorted(input);
+
+        // when
+        final List<int[]> iterated = SelectionUtils.topK(input, 10, dispatcher, sortManager);
+        final List<int[]> streamed = SelectionUtils.topK(input.stream(), 10, dispatcher, sortManager);
+        final List<int[]> collected = input.parallelStream().collect(SelectionUtils.toTopK(10, dispatcher, sortManager));
+        final int[] kth = SelectionUtils.kth(input, 500, dispatcher, sortManager);
+
+        // then
+        final List<String> expected = this.render(sorted.subList(0, 10));
+        assertThat(this.render(iterated), equalTo(expected));
+        assertThat(this.render(streamed), equalTo(expected));
+        assertThat(this.render(collected), equalTo(expected));
+        assertThat(kth[0], equalTo(sorted.get(500)[0]));
+        assertThat(requests, hasSize(4));
+        assertThat(requests, everyItem(sameInstance(sortManager)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    @DisplayName("Test top-K by sort manager rejects null dispatcher")
+    public void test_topK_on_nullDispatcher() {
+        // when
+        SelectionUtils.topK(Arrays.asList(1, 2, 3), 1, null, SortManager.by("key"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    @DisplayName("Test k-th element rejects position out of range")
+    public void test_kth_on_invalidPosition() {
+        // when
+        SelectionUtils.kth(Arrays.asList(1, 2, 3), 3, Comparator.<Integer>naturalOrder());
+    }
+
+    private List<int[]> sorted(final List<int[]> input) {
+        final List<int[]> result = new ArrayList<>(input);
+        result.sort(DEFAULT_COMPARATOR);
+        return result;
+    }
+
+    private List<String> render(final List<int[]> values) {
+        return values.stream().map(value -> value[0] + ":" + value[1]).collect(Collectors.toList());
+    }
+
+    private List<int[]> input(final Random random, int size) {
+        final List<int[]> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(new int[]{random.nextInt(40), i});
+        }
+        return result;
+    }
+}
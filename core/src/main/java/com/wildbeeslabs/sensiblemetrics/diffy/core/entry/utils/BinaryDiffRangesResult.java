@@ -0,0 +1,92 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software andAll associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, andAll/or sell
+ * copies of the Software, andAll to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice andAll this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.core.entry.utils;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * {@link BinaryDiffResult} extension holding all differing byte ranges
+ */
+public class BinaryDiffRangesResult extends BinaryDiffResult {
+    /**
+     * Default expected content size
+     */
+    public final long expectedSize;
+    /**
+     * Default actual content size
+     */
+    public final long actualSize;
+    /**
+     * Default {@link List} of differing {@link Range}s in ascending offset order
+     */
+    public final List<Range> ranges;
+
+    /**
+     * Builds a new instance.
+     *
+     * @param offset       the offset at which the first difference occurred, or -1 if there is no difference.
+     * @param expected     the first differing expected byte as an int in the range 0 to 255, or -1 for EOF.
+     * @param actual       the first differing actual byte in the same format.
+     * @param expectedSize the expected content size.
+     * @param actualSize   the actual content size.
+     * @param ranges       the differing ranges.
+     */
+    public BinaryDiffRangesResult(long offset, int expected, int actual, long expectedSize, long actualSize, final List<Range> ranges) {
+        super(offset, expected, actual);
+        this.expectedSize = expectedSize;
+        this.actualSize = actualSize;
+        this.ranges = Collections.unmodifiableList(ranges);
+    }
+
+    /**
+     * Differing byte range
+     */
+    public static final class Range {
+        /**
+         * Default range start offset
+         */
+        public final long offset;
+        /**
+         * Default range length
+         */
+        public final long length;
+
+        /**
+         * Builds a new instance.
+         *
+         * @param offset the offset of the first differing byte.
+         * @param length the number of differing bytes.
+         */
+        public Range(long offset, long length) {
+            this.offset = offset;
+            this.length = length;
+        }
+
+        @Override
+        public String toString() {
+            return "[" + this.offset + ", " + (this.offset + this.length) + ")";
+        }
+    }
+}
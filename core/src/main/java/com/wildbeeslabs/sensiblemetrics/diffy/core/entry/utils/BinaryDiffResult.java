@@ -30,7 +30,7 @@ public class BinaryDiffResult {
     private static final int EOF = -1;
 
     /**
-     * Default offset
+     * Default offset (saturated to {@link Integer#MAX_VALUE} beyond the int range, see {@link #getOffset()})
      */
     public final int offset;
     /**
@@ -41,6 +41,10 @@ public class BinaryDiffResult {
      * Default actual value
      */
     public final String actual;
+    /**
+     * Default full-range offset
+     */
+    private final long position;
 
     /**
      * Builds a new instance.
@@ -50,13 +54,34 @@ public class BinaryDiffResult {
      * @param actual   the actual byte in the same format.
      */
     public BinaryDiffResult(int offset, int expected, int actual) {
-        this.offset = offset;
+        this((long) offset, expected, actual);
+    }
+
+    /**
+     * Builds a new instance.
+     *
+     * @param offset   the offset at which the difference occurred.
+     * @param expected the expected byte as an int in the range 0 to 255, or -1 for EOF.
+     * @param actual   the actual byte in the same format.
+     */
+    public BinaryDiffResult(long offset, int expected, int actual) {
+        this.position = offset;
+        this.offset = (int) Math.min(offset, Integer.MAX_VALUE);
         this.expected = describe(expected);
         this.actual = describe(actual);
     }
 
+    /**
+     * Returns offset at which the difference occurred, or -1 if there is no difference
+     *
+     * @return offset at which the difference occurred
+     */
+    public long getOffset() {
+        return this.position;
+    }
+
     public boolean hasNoDiff() {
-        return this.offset == EOF;
+        return this.position == EOF;
     }
 
     public static BinaryDiffResult noDiff() {
@@ -23,20 +23,44 @@
  */
 package com.wildbeeslabs.sensiblemetrics.diffy.core.service;
 
+import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ValidationUtils;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.entry.utils.BinaryDiffRangesResult;
 import com.wildbeeslabs.sensiblemetrics.diffy.core.entry.utils.BinaryDiffResult;
 
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * Compares the binary content of two input streams / paths
+ * <p>
+ * Content is compared block-wise with {@link Arrays#mismatch(byte[], int, int, byte[], int, int)},
+ * which checks several bytes per step instead of reading and comparing single bytes.
  */
 public class BinaryDiff {
 
+    /**
+     * Default EOF marker
+     */
+    private static final int EOF = -1;
+    /**
+     * Default comparison block size
+     */
+    private static final int DEFAULT_BLOCK_SIZE = 1 << 20;
+    /**
+     * Default initial stream comparison block size
+     */
+    private static final int DEFAULT_MIN_BLOCK_SIZE = 1 << 13;
+
     public BinaryDiffResult diff(final File actual, final byte[] expected) throws IOException {
         return this.diff(actual.toPath(), expected);
     }
@@ -48,18 +72,174 @@ public class BinaryDiff {
         }
     }
 
+    /**
+     * Returns first difference between the actual and expected streams
+     * <p>
+     * Blocks start at the size of the available content (at least {@value #DEFAULT_MIN_BLOCK_SIZE} bytes)
+     * and double up to {@value #DEFAULT_BLOCK_SIZE} bytes while the streams keep matching.
+     *
+     * @param actualStream   - initial input actual {@link InputStream}
+     * @param expectedStream - initial input expected {@link InputStream}
+     * @return {@link BinaryDiffResult}
+     * @throws IOException if streams can not be read
+     */
     public BinaryDiffResult diff(final InputStream actualStream, final InputStream expectedStream) throws IOException {
-        int index = 0;
+        int size = Math.max(actualStream.available(), expectedStream.available());
+        size = Math.min(DEFAULT_BLOCK_SIZE, Math.max(DEFAULT_MIN_BLOCK_SIZE, size));
+        byte[] actualBlock = new byte[size];
+        byte[] expectedBlock = new byte[size];
+        long position = 0;
         while (true) {
-            final int actual = actualStream.read();
-            final int expected = expectedStream.read();
-            if (actual == -1 && expected == -1) {
+            final int actualCount = actualStream.readNBytes(actualBlock, 0, size);
+            final int expectedCount = expectedStream.readNBytes(expectedBlock, 0, size);
+            final int index = Arrays.mismatch(actualBlock, 0, actualCount, expectedBlock, 0, expectedCount);
+            if (index >= 0) {
+                return new BinaryDiffResult(position + index, byteAt(expectedBlock, index, expectedCount), byteAt(actualBlock, index, actualCount));
+            }
+            if (actualCount < size) {
                 return BinaryDiffResult.noDiff();
             }
-            if (actual != expected) {
-                return new BinaryDiffResult(index, expected, actual);
+            position += actualCount;
+            if (size < DEFAULT_BLOCK_SIZE) {
+                size = Math.min(DEFAULT_BLOCK_SIZE, size << 1);
+                actualBlock = new byte[size];
+                expectedBlock = new byte[size];
+            }
+        }
+    }
+
+    /**
+     * Returns first difference between the actual and expected files
+     * <p>
+     * Both files are read through {@link FileChannel}s in large blocks.
+     *
+     * @param actual   - initial input actual file {@link Path}
+     * @param expected - initial input expected file {@link Path}
+     * @return {@link BinaryDiffResult}
+     * @throws IOException if files can not be read
+     */
+    public BinaryDiffResult diff(final Path actual, final Path expected) throws IOException {
+        final BinaryDiffRangesResult result = this.diffAll(actual, expected, 1);
+        if (result.hasNoDiff()) {
+            return BinaryDiffResult.noDiff();
+        }
+        return result;
+    }
+
+    /**
+     * Returns all differing byte ranges between the actual and expected files
+     *
+     * @param actual   - initial input actual file {@link Path}
+     * @param expected - initial input expected file {@link Path}
+     * @return {@link BinaryDiffRangesResult}
+     * @throws IOException if files can not be read
+     */
+    public BinaryDiffRangesResult diffAll(final Path actual, final Path expected) throws IOException {
+        return this.diffAll(actual, expected, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns at most {@code maxRanges} differing byte ranges between the actual and expected files
+     * <p>
+     * Bytes beyond the end of the shorter file are reported as one trailing range.
+     *
+     * @param actual    - initial input actual file {@link Path}
+     * @param expected  - initial input expected file {@link Path}
+     * @param maxRanges - initial input maximum number of ranges to collect
+     * @return {@link BinaryDiffRangesResult}
+     * @throws IOException if files can not be read
+     */
+    public BinaryDiffRangesResult diffAll(final Path actual, final Path expected, int maxRanges) throws IOException {
+        ValidationUtils.notNull(actual, "Actual path should not be null");
+        ValidationUtils.notNull(expected, "Expected path should not be null");
+        ValidationUtils.isTrue(maxRanges > 0, "Max ranges should be positive");
+
+        try (final FileChannel actualChannel = FileChannel.open(actual, StandardOpenOption.READ);
+             final FileChannel expectedChannel = FileChannel.open(expected, StandardOpenOption.READ)) {
+            final long actualSize = actualChannel.size();
+            final long expectedSize = expectedChannel.size();
+            final long common = Math.min(actualSize, expectedSize);
+
+            final int size = (int) Math.max(1, Math.min(DEFAULT_BLOCK_SIZE, common));
+            final ByteBuffer actualBuffer = ByteBuffer.allocate(size);
+            final ByteBuffer expectedBuffer = ByteBuffer.allocate(size);
+            final byte[] actualBlock = actualBuffer.array();
+            final byte[] expectedBlock = expectedBuffer.array();
+
+            final List<BinaryDiffRangesResult.Range> ranges = new ArrayList<>();
+            long first = EOF;
+            int firstExpected = 0;
+            int firstActual = 0;
+            long rangeStart = EOF;
+            long position = 0;
+            while (position < common && ranges.size() < maxRanges) {
+                final int count = (int) Math.min(size, common - position);
+                readFully(actualChannel, actualBuffer, count);
+                readFully(expectedChannel, expectedBuffer, count);
+
+                int i = 0;
+                while (i < count && ranges.size() < maxRanges) {
+                    if (rangeStart == EOF) {
+                        final int index = Arrays.mismatch(actualBlock, i, count, expectedBlock, i, count);
+                        if (index < 0) {
+                            break;
+                        }
+                        i += index;
+                        rangeStart = position + i;
+                        if (first == EOF) {
+                            first = rangeStart;
+                            firstExpected = expectedBlock[i] & 0xFF;
+                            firstActual = actualBlock[i] & 0xFF;
+                        }
+                    }
+                    while (i < count && actualBlock[i] != expectedBlock[i]) {
+                        i++;
+                    }
+                    if (i < count) {
+                        ranges.add(new BinaryDiffRangesResult.Range(rangeStart, position + i - rangeStart));
+                        rangeStart = EOF;
+                    }
+                }
+                position += count;
+            }
+            if (rangeStart != EOF && ranges.size() < maxRanges) {
+                ranges.add(new BinaryDiffRangesResult.Range(rangeStart, position - rangeStart));
+                rangeStart = EOF;
+            }
+            if (actualSize != expectedSize && ranges.size() < maxRanges) {
+                if (first == EOF) {
+                    first = common;
+                    firstExpected = (expectedSize > common) ? this.byteAt(expected, common) : EOF;
+                    firstActual = (actualSize > common) ? this.byteAt(actual, common) : EOF;
+                }
+                final BinaryDiffRangesResult.Range last = ranges.isEmpty() ? null : ranges.get(ranges.size() - 1);
+                if (last != null && last.offset + last.length == common) {
+                    ranges.set(ranges.size() - 1, new BinaryDiffRangesResult.Range(last.offset, Math.max(actualSize, expectedSize) - last.offset));
+                } else {
+                    ranges.add(new BinaryDiffRangesResult.Range(common, Math.max(actualSize, expectedSize) - common));
+                }
+            }
+            return new BinaryDiffRangesResult(first, firstExpected, firstActual, expectedSize, actualSize, ranges);
+        }
+    }
+
+    private int byteAt(final Path path, long position) throws IOException {
+        try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final ByteBuffer buffer = ByteBuffer.allocate(1);
+            return (channel.read(buffer, position) == 1) ? buffer.get(0) & 0xFF : EOF;
+        }
+    }
+
+    private static int byteAt(final byte[] block, int index, int count) {
+        return (index < count) ? block[index] & 0xFF : EOF;
+    }
+
+    private static void readFully(final FileChannel channel, final ByteBuffer buffer, int count) throws IOException {
+        buffer.clear().limit(count);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new IOException("Unexpected end of file while comparing content");
             }
-            index++;
         }
     }
 }
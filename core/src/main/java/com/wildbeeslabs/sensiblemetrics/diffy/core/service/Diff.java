@@ -25,21 +25,41 @@ package com.wildbeeslabs.sensiblemetrics.diffy.core.service;
 
 import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Delta;
 import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Patch;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.impl.DefaultChunk;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ValidationUtils;
 import com.wildbeeslabs.sensiblemetrics.diffy.core.utils.DiffUtils;
 
 import java.io.*;
 import java.nio.charset.Charset;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ServiceUtils.closeQuietly;
 import static java.nio.file.Files.newBufferedReader;
+import static java.nio.file.Files.newInputStream;
 import static org.apache.commons.collections.ListUtils.unmodifiableList;
 
 @SuppressWarnings("unchecked")
 public class Diff {
 
+    /**
+     * Default line reader buffer size
+     */
+    private static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+    /**
+     * Default initial fingerprints capacity
+     */
+    private static final int DEFAULT_FINGERPRINTS_CAPACITY = 1 << 10;
+
     public List<Delta<String>> diff(final InputStream actual, final InputStream expected) throws IOException {
         return diff(readerFor(actual), readerFor(expected));
     }
@@ -60,6 +80,128 @@ public class Diff {
         return diff(newBufferedReader(actual, charset), readerFor(expected));
     }
 
+    /**
+     * Streams the line differences between the expected and actual files without keeping both files in memory
+     * <p>
+     * The first pass reads both files in large chunks and keeps a {@code long} fingerprint per line only, the common
+     * prefix and suffix are stripped by fingerprints and the remaining window is diffed with the linear-space Myers
+     * algorithm. The second pass re-reads both files lazily and materializes the changed lines only while the
+     * returned {@link Stream} is consumed. Lines matched by equal fingerprints are compared by content in the second pass,
+     * so a fingerprint collision is still reported as a change.
+     * <p>
+     * The returned {@link Stream} holds open readers and should be closed after use.
+     *
+     * @param actual          - initial input actual (revised) file {@link Path}
+     * @param actualCharset   - initial input actual file {@link Charset}
+     * @param expected        - initial input expected (original) file {@link Path}
+     * @param expectedCharset - initial input expected file {@link Charset}
+     * @return {@link Stream} of {@link Delta}s in ascending position order
+     * @throws IOException if files can not be read
+     */
+    public Stream<Delta<String>> stream(final Path actual, final Charset actualCharset, final Path expected, final Charset expectedCharset) throws IOException {
+        ValidationUtils.notNull(actual, "Actual path should not be null");
+        ValidationUtils.notNull(expected, "Expected path should not be null");
+
+        final long[] expectedPrints = this.fingerprintsOf(expected, expectedCharset);
+        final long[] actualPrints = this.fingerprintsOf(actual, actualCharset);
+        final int[] snakes = this.buildPath(expectedPrints, actualPrints);
+
+        final BufferedReader expectedReader = this.newReader(expected, expectedCharset);
+        final BufferedReader actualReader;
+        try {
+            actualReader = this.newReader(actual, actualCharset);
+        } catch (IOException | RuntimeException e) {
+            closeQuietly(expectedReader);
+            throw e;
+        }
+        final DeltaIterator iterator = new DeltaIterator(expectedReader, expectedPrints.length, actualReader, actualPrints.length, snakes);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+            .onClose(iterator::close);
+    }
+
+    /**
+     * Streams the line differences between the expected and actual files to the given {@link Consumer}
+     *
+     * @param actual          - initial input actual (revised) file {@link Path}
+     * @param actualCharset   - initial input actual file {@link Charset}
+     * @param expected        - initial input expected (original) file {@link Path}
+     * @param expectedCharset - initial input expected file {@link Charset}
+     * @param consumer        - initial input {@link Delta} {@link Consumer}
+     * @throws IOException if files can not be read
+     * @see #stream(Path, Charset, Path, Charset)
+     */
+    public void diff(final Path actual, final Charset actualCharset, final Path expected, final Charset expectedCharset, final Consumer<? super Delta<String>> consumer) throws IOException {
+        ValidationUtils.notNull(consumer, "Consumer should not be null");
+        try (final Stream<Delta<String>> stream = this.stream(actual, actualCharset, expected, expectedCharset)) {
+            stream.forEach(consumer);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private int[] buildPath(final long[] original, final long[] revised) {
+        int prefix = 0;
+        final int max = Math.min(original.length, revised.length);
+        while (prefix < max && original[prefix] == revised[prefix]) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < max - prefix && original[original.length - 1 - suffix] == revised[revised.length - 1 - suffix]) {
+            suffix++;
+        }
+
+        final int originalEnd = original.length - suffix;
+        final int revisedEnd = revised.length - suffix;
+        final SnakePath path = new SnakePath();
+        path.add(0, 0, prefix);
+        if (prefix < originalEnd && prefix < revisedEnd) {
+            new LinearSpaceDiffAlgorithmService.PathBuilder(originalEnd - prefix, revisedEnd - prefix, (i, j) -> original[i] == revised[j], path)
+                .compare(prefix, originalEnd, prefix, revisedEnd);
+        }
+        path.add(originalEnd, revisedEnd, suffix);
+        return path.toArray();
+    }
+
+    private long[] fingerprintsOf(final Path path, final Charset charset) throws IOException {
+        try (final BufferedReader reader = this.newReader(path, charset)) {
+            long[] prints = new long[DEFAULT_FINGERPRINTS_CAPACITY];
+            int size = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (size == prints.length) {
+                    prints = Arrays.copyOf(prints, size << 1);
+                }
+                prints[size++] = this.fingerprint(line);
+            }
+            return Arrays.copyOf(prints, size);
+        }
+    }
+
+    private BufferedReader newReader(final Path path, final Charset charset) throws IOException {
+        return new BufferedReader(new InputStreamReader(newInputStream(path), charset), DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Returns 64-bit FNV-1a line fingerprint with the final avalanche step of MurmurHash3
+     *
+     * @param line - initial input line
+     * @return line fingerprint
+     */
+    protected long fingerprint(final String line) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < line.length(); i++) {
+            hash ^= line.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= line.length();
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
     private BufferedReader readerFor(final InputStream stream) {
         return new BufferedReader(new InputStreamReader(stream, Charset.defaultCharset()));
     }
@@ -88,4 +230,137 @@ public class Diff {
         }
         return lines;
     }
+
+    /**
+     * Lazy {@link Delta} iterator re-reading both files in lockstep
+     * <p>
+     * Lines between path snakes are collected into a delta. Lines inside a snake are compared by content,
+     * a pair that differs despite equal fingerprints is added to the delta as a change.
+     */
+    private static final class DeltaIterator implements Iterator<Delta<String>>, Closeable {
+        private final BufferedReader original;
+        private final int originalSize;
+        private final BufferedReader revised;
+        private final int revisedSize;
+        private final int[] snakes;
+        /**
+         * Next snake index, number of lines left in the current snake and number of consumed lines per reader
+         */
+        private int snake;
+        private int remaining;
+        private int i;
+        private int j;
+        /**
+         * Pending delta start positions and lines
+         */
+        private int pendingI;
+        private int pendingJ;
+        private List<String> pendingOriginal;
+        private List<String> pendingRevised;
+        private Delta<String> next;
+
+        DeltaIterator(final BufferedReader original, int originalSize, final BufferedReader revised, int revisedSize, final int[] snakes) {
+            this.original = original;
+            this.originalSize = originalSize;
+            this.revised = revised;
+            this.revisedSize = revisedSize;
+            this.snakes = snakes;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (this.next == null) {
+                try {
+                    this.next = this.advance();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return this.next != null;
+        }
+
+        @Override
+        public Delta<String> next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Delta<String> result = this.next;
+            this.next = null;
+            return result;
+        }
+
+        private Delta<String> advance() throws IOException {
+            final int count = this.snakes[0];
+            while (true) {
+                if (this.remaining > 0) {
+                    this.remaining--;
+                    final String orig = readLine(this.original);
+                    final String rev = readLine(this.revised);
+                    if (orig.equals(rev)) {
+                        final Delta<String> delta = this.flush();
+                        this.i++;
+                        this.j++;
+                        if (delta != null) {
+                            return delta;
+                        }
+                    } else {
+                        this.pend();
+                        this.pendingOriginal.add(orig);
+                        this.pendingRevised.add(rev);
+                        this.i++;
+                        this.j++;
+                    }
+                    continue;
+                }
+                if (this.snake > count) {
+                    return this.flush();
+                }
+                final int x = (this.snake < count) ? this.snakes[1 + 3 * this.snake] : this.originalSize;
+                final int y = (this.snake < count) ? this.snakes[2 + 3 * this.snake] : this.revisedSize;
+                this.remaining = (this.snake < count) ? this.snakes[3 + 3 * this.snake] : 0;
+                this.snake++;
+                if (x > this.i || y > this.j) {
+                    this.pend();
+                    for (; this.i < x; this.i++) {
+                        this.pendingOriginal.add(readLine(this.original));
+                    }
+                    for (; this.j < y; this.j++) {
+                        this.pendingRevised.add(readLine(this.revised));
+                    }
+                }
+            }
+        }
+
+        private void pend() {
+            if (this.pendingOriginal == null) {
+                this.pendingI = this.i;
+                this.pendingJ = this.j;
+                this.pendingOriginal = new ArrayList<>();
+                this.pendingRevised = new ArrayList<>();
+            }
+        }
+
+        private Delta<String> flush() {
+            if (this.pendingOriginal == null) {
+                return null;
+            }
+            final Delta<String> delta = DiffUtils.buildDelta(new DefaultChunk<>(this.pendingI, this.pendingOriginal), new DefaultChunk<>(this.pendingJ, this.pendingRevised));
+            this.pendingOriginal = null;
+            this.pendingRevised = null;
+            return delta;
+        }
+
+        private static String readLine(final BufferedReader reader) throws IOException {
+            final String line = reader.readLine();
+            if (line == null) {
+                throw new IllegalStateException("File was truncated while computing the difference");
+            }
+            return line;
+        }
+
+        @Override
+        public void close() {
+            closeQuietly(this.original, this.revised);
+        }
+    }
 }
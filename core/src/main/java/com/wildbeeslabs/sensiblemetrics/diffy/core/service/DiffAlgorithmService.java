@@ -23,14 +23,9 @@
  */
 package com.wildbeeslabs.sensiblemetrics.diffy.core.service;
 
-import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Chunk;
 import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Delta;
-import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.impl.DefaultChunk;
 import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.impl.DefaultPatch;
 import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ValidationUtils;
-import com.wildbeeslabs.sensiblemetrics.diffy.core.entry.delta.ChangeDelta;
-import com.wildbeeslabs.sensiblemetrics.diffy.core.entry.delta.DeleteDelta;
-import com.wildbeeslabs.sensiblemetrics.diffy.core.entry.delta.InsertDelta;
 import com.wildbeeslabs.sensiblemetrics.diffy.core.entry.node.DiffNode;
 import com.wildbeeslabs.sensiblemetrics.diffy.core.entry.node.PathNode;
 import com.wildbeeslabs.sensiblemetrics.diffy.core.entry.node.SnakeNode;
@@ -40,8 +35,8 @@ import com.wildbeeslabs.sensiblemetrics.diffy.matcher.interfaces.BiMatcher;
 import java.util.List;
 import java.util.Objects;
 
-import static com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ServiceUtils.copyOf;
 import static com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ServiceUtils.listOf;
+import static com.wildbeeslabs.sensiblemetrics.diffy.core.utils.DiffUtils.buildDelta;
 
 /**
  * {@link DiffAlgorithm} service implementation
@@ -54,12 +49,29 @@ public class DiffAlgorithmService<T> implements DiffAlgorithm<T> {
      * Default {@link BiMatcher}
      */
     private final BiMatcher<T> matcher;
+    /**
+     * Default element interning flag
+     */
+    private final boolean interning;
 
     /**
      * Constructs an instance of the Myers differencing algorithm.
      */
     public DiffAlgorithmService() {
+        this(false);
+    }
+
+    /**
+     * Constructs an instance of the Myers differencing algorithm by input interning flag
+     * <p>
+     * With interning enabled every distinct element is mapped to an int identifier by a hash table
+     * before the path search, so the inner loop compares ints instead of calling {@link Object#equals(Object)}.
+     *
+     * @param interning - initial input element interning flag
+     */
+    public DiffAlgorithmService(boolean interning) {
         this.matcher = Objects::equals;
+        this.interning = interning;
     }
 
     /**
@@ -99,9 +111,16 @@ public class DiffAlgorithmService<T> implements DiffAlgorithm<T> {
         ValidationUtils.notNull(original, "Original sequence should not be null");
         ValidationUtils.notNull(revised, "Revised sequence should not be null");
 
-        final int N = original.size();
-        final int M = revised.size();
+        if (this.interning) {
+            final int[][] ids = ElementInterner.intern(original, revised);
+            final int[] first = ids[0];
+            final int[] last = ids[1];
+            return this.buildPath(original.size(), revised.size(), (i, j) -> first[i] == last[j]);
+        }
+        return this.buildPath(original.size(), revised.size(), (i, j) -> this.matcher.matches(original.get(i), revised.get(j)));
+    }
 
+    private PathNode buildPath(final int N, final int M, final IndexMatcher matcher) {
         final int MAX = N + M + 1;
         final int size = 1 + 2 * MAX;
         final int middle = size / 2;
@@ -127,7 +146,7 @@ public class DiffAlgorithmService<T> implements DiffAlgorithm<T> {
                 diagonal[kminus] = null;
                 int j = i - k;
                 PathNode node = new DiffNode(i, j, prev);
-                while (i < N && j < M && this.matcher.matches(original.get(i), revised.get(j))) {
+                while (i < N && j < M && matcher.matches(i, j)) {
                     i++;
                     j++;
                 }
@@ -172,17 +191,7 @@ public class DiffAlgorithmService<T> implements DiffAlgorithm<T> {
             int ianchor = root.origPos;
             int janchor = root.revPos;
 
-            final Chunk<T> orig = new DefaultChunk<>(ianchor, copyOf(original, ianchor, i));
-            final Chunk<T> rev = new DefaultChunk<>(janchor, copyOf(revised, janchor, j));
-            Delta<T> delta;
-            if (orig.size() == 0 && rev.size() != 0) {
-                delta = new InsertDelta<>(orig, rev);
-            } else if (orig.size() > 0 && rev.size() == 0) {
-                delta = new DeleteDelta<>(orig, rev);
-            } else {
-                delta = new ChangeDelta<>(orig, rev);
-            }
-
+            final Delta<T> delta = buildDelta(original, ianchor, i, revised, janchor, j);
             patch.addDelta(delta);
             if (root.isSnake()) {
                 root = root.prev;
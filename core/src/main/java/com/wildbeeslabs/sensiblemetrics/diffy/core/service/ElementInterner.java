@@ -0,0 +1,69 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software andAll associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, andAll/or sell
+ * copies of the Software, andAll to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice andAll this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.core.service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps every distinct element of two sequences to an int identifier, so that
+ * diff algorithms compare ints instead of calling {@link Object#equals(Object)} on every step
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+final class ElementInterner {
+
+    private ElementInterner() {
+    }
+
+    /**
+     * Returns original and revised sequences of element identifiers, equal elements share the identifier
+     *
+     * @param <T>      type of element
+     * @param original - initial input original sequence
+     * @param revised  - initial input revised sequence
+     * @return two int arrays holding identifiers of the original and revised elements
+     */
+    static <T> int[][] intern(final List<T> original, final List<T> revised) {
+        final Map<T, Integer> ids = new HashMap<>(Math.max(16, (original.size() + revised.size()) / 2));
+        return new int[][]{intern(original, ids), intern(revised, ids)};
+    }
+
+    private static <T> int[] intern(final List<T> values, final Map<T, Integer> ids) {
+        final int[] result = new int[values.size()];
+        int i = 0;
+        for (final T value : values) {
+            Integer id = ids.get(value);
+            if (id == null) {
+                id = ids.size();
+                ids.put(value, id);
+            }
+            result[i++] = id;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,265 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software andAll associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, andAll/or sell
+ * copies of the Software, andAll to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice andAll this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.core.service;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.impl.DefaultPatch;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ValidationUtils;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.interfaces.DiffAlgorithm;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ServiceUtils.listOf;
+
+/**
+ * Histogram {@link DiffAlgorithm} service implementation
+ * <p>
+ * Extends the patience diff idea: the revised region is scanned for elements occurring in the original region
+ * with the lowest number of occurrences, the longest common region around such an anchor is fixed and
+ * both sides are diffed independently. Regions where every common element is repeated more than
+ * {@code maxChainLength} times in the original are delegated to the linear-space Myers algorithm.
+ * <p>
+ * Elements are indexed by {@link Object#hashCode()} / {@link Object#equals(Object)}.
+ *
+ * @param <T> type of difference value
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public class HistogramDiffAlgorithmService<T> implements DiffAlgorithm<T> {
+
+    /**
+     * Default maximum number of occurrences of an anchor element
+     */
+    public static final int DEFAULT_MAX_CHAIN_LENGTH = 64;
+
+    /**
+     * Default maximum number of occurrences of an anchor element
+     */
+    private final int maxChainLength;
+
+    /**
+     * Constructs an instance of the histogram differencing algorithm.
+     */
+    public HistogramDiffAlgorithmService() {
+        this(DEFAULT_MAX_CHAIN_LENGTH);
+    }
+
+    /**
+     * Constructs an instance of the histogram differencing algorithm by input maximum chain length
+     *
+     * @param maxChainLength - initial input maximum number of occurrences of an anchor element
+     * @throws IllegalArgumentException if maxChainLength is not positive
+     */
+    public HistogramDiffAlgorithmService(int maxChainLength) {
+        ValidationUtils.isTrue(maxChainLength > 0, "Max chain length should be positive");
+        this.maxChainLength = maxChainLength;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException if original is {@code null}
+     * @throws IllegalArgumentException if revised is {@code null}
+     */
+    @Override
+    public DefaultPatch<T> diff(final Iterable<T> original, final Iterable<T> revised) {
+        ValidationUtils.notNull(original, "Original list must not be null");
+        ValidationUtils.notNull(revised, "Revised list must not be null");
+
+        final List<T> first = listOf(original);
+        final List<T> last = listOf(revised);
+        return SnakePath.toPatch(this.buildPath(first, last), first, last);
+    }
+
+    /**
+     * Returns diff path between the original and revised sequences as
+     * (origPos, revPos, length) snake triples in ascending order, prefixed by the number of triples.
+     *
+     * @param original The original sequence.
+     * @param revised  The revised sequence.
+     * @return the path encoded as int array
+     * @throws IllegalArgumentException if original is {@code null}
+     * @throws IllegalArgumentException if revised is {@code null}
+     */
+    protected int[] buildPath(final List<T> original, final List<T> revised) {
+        ValidationUtils.notNull(original, "Original sequence should not be null");
+        ValidationUtils.notNull(revised, "Revised sequence should not be null");
+
+        final SnakePath path = new SnakePath();
+        new HistogramBuilder<>(original, revised, this.maxChainLength, path).compare(0, original.size(), 0, revised.size());
+        return path.toArray();
+    }
+
+    /**
+     * Occurrences of an element in the original region
+     */
+    private static final class Occurrence {
+        private int count;
+        private int[] positions = new int[2];
+
+        void add(int position, int maxChainLength) {
+            if (this.count < maxChainLength) {
+                if (this.count == this.positions.length) {
+                    this.positions = Arrays.copyOf(this.positions, Math.min(this.count << 1, maxChainLength));
+                }
+                this.positions[this.count] = position;
+            }
+            this.count++;
+        }
+    }
+
+    /**
+     * Histogram path builder
+     *
+     * @param <T> type of difference value
+     */
+    private static final class HistogramBuilder<T> {
+        /**
+         * Work item types
+         */
+        private static final int RANGE = 0;
+        private static final int SNAKE = 1;
+
+        private final List<T> original;
+        private final List<T> revised;
+        private final int maxChainLength;
+        private final SnakePath path;
+        /**
+         * Fallback Myers builder, created lazily
+         */
+        private LinearSpaceDiffAlgorithmService.PathBuilder fallback;
+
+        HistogramBuilder(final List<T> original, final List<T> revised, int maxChainLength, final SnakePath path) {
+            this.original = original;
+            this.revised = revised;
+            this.maxChainLength = maxChainLength;
+            this.path = path;
+        }
+
+        /**
+         * Appends snakes of the given area [a0, a1) x [b0, b1) to the path in ascending order
+         * <p>
+         * Uses an explicit stack, so the depth of anchor splitting is not limited by the thread stack size.
+         */
+        void compare(int a0, int a1, int b0, int b1) {
+            final Deque<int[]> stack = new ArrayDeque<>();
+            stack.push(new int[]{RANGE, a0, a1, b0, b1});
+            while (!stack.isEmpty()) {
+                final int[] item = stack.pop();
+                if (item[0] == SNAKE) {
+                    this.path.add(item[1], item[2], item[3]);
+                } else {
+                    this.split(item[1], item[2], item[3], item[4], stack);
+                }
+            }
+        }
+
+        private void split(int a0, int a1, int b0, int b1, final Deque<int[]> stack) {
+            final int start = a0;
+            while (a0 < a1 && b0 < b1 && this.equals(a0, b0)) {
+                a0++;
+                b0++;
+            }
+            this.path.add(start, b0 - (a0 - start), a0 - start);
+
+            int suffix = 0;
+            while (a0 < a1 && b0 < b1 && this.equals(a1 - 1, b1 - 1)) {
+                a1--;
+                b1--;
+                suffix++;
+            }
+            stack.push(new int[]{SNAKE, a1, b1, suffix});
+            if (a0 == a1 || b0 == b1) {
+                return;
+            }
+
+            final Map<T, Occurrence> histogram = new HashMap<>();
+            for (int i = a0; i < a1; i++) {
+                histogram.computeIfAbsent(this.original.get(i), k -> new Occurrence()).add(i, this.maxChainLength);
+            }
+
+            boolean common = false;
+            int bestCount = this.maxChainLength + 1;
+            int bestLength = 0;
+            int bestA = -1;
+            int bestB = -1;
+            for (int j = b0; j < b1; ) {
+                final Occurrence occurrence = histogram.get(this.revised.get(j));
+                int next = j + 1;
+                if (Objects.nonNull(occurrence)) {
+                    common = true;
+                    if (occurrence.count <= this.maxChainLength && occurrence.count <= bestCount) {
+                        for (int p = 0; p < occurrence.count; p++) {
+                            int as = occurrence.positions[p];
+                            int bs = j;
+                            while (as > a0 && bs > b0 && this.equals(as - 1, bs - 1)) {
+                                as--;
+                                bs--;
+                            }
+                            int ae = occurrence.positions[p] + 1;
+                            int be = j + 1;
+                            while (ae < a1 && be < b1 && this.equals(ae, be)) {
+                                ae++;
+                                be++;
+                            }
+                            if (occurrence.count < bestCount || ae - as > bestLength) {
+                                bestCount = occurrence.count;
+                                bestLength = ae - as;
+                                bestA = as;
+                                bestB = bs;
+                            }
+                            next = Math.max(next, be);
+                        }
+                    }
+                }
+                j = next;
+            }
+
+            if (bestA >= 0) {
+                stack.push(new int[]{RANGE, bestA + bestLength, a1, bestB + bestLength, b1});
+                stack.push(new int[]{SNAKE, bestA, bestB, bestLength});
+                stack.push(new int[]{RANGE, a0, bestA, b0, bestB});
+            } else if (common) {
+                this.getFallback().compare(a0, a1, b0, b1);
+            }
+        }
+
+        private LinearSpaceDiffAlgorithmService.PathBuilder getFallback() {
+            if (Objects.isNull(this.fallback)) {
+                this.fallback = new LinearSpaceDiffAlgorithmService.PathBuilder(this.original.size(), this.revised.size(), this::equals, this.path);
+            }
+            return this.fallback;
+        }
+
+        private boolean equals(int i, int j) {
+            return Objects.equals(this.original.get(i), this.revised.get(j));
+        }
+    }
+}
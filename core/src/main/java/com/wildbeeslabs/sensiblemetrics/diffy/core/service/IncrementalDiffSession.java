@@ -0,0 +1,198 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software andAll associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, andAll/or sell
+ * copies of the Software, andAll to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice andAll this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.core.service;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Delta;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Patch;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.impl.DefaultChunk;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.impl.DefaultPatch;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ValidationUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import static com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ServiceUtils.listOf;
+import static com.wildbeeslabs.sensiblemetrics.diffy.core.utils.DiffUtils.buildDelta;
+
+/**
+ * Stateful difference session between a fixed baseline and an editable revision
+ * <p>
+ * The session keeps element fingerprints of both sequences and the current sorted {@link Delta}s.
+ * On every {@link #replace(int, int, List)} notification only the revision window touched by the edit,
+ * widened to the deltas it overlaps or adjoins, is diffed again; deltas outside of the window are reused
+ * and the following ones are shifted by the size change of the edit.
+ * <p>
+ * Sessions are not thread-safe.
+ *
+ * @param <T> type of difference value
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public class IncrementalDiffSession<T> {
+
+    /**
+     * Default baseline sequence and fingerprints
+     */
+    private final List<T> baseline;
+    private final int[] baselineHashes;
+    /**
+     * Default revision sequence and fingerprints
+     */
+    private final List<T> revision;
+    private int[] revisionHashes;
+    /**
+     * Default {@link List} of sorted {@link Delta}s
+     */
+    private List<Delta<T>> deltas;
+
+    /**
+     * Creates session and computes the initial difference between the baseline and revision
+     *
+     * @param baseline - initial input baseline sequence
+     * @param revision - initial input revision sequence
+     * @throws IllegalArgumentException if baseline is {@code null}
+     * @throws IllegalArgumentException if revision is {@code null}
+     */
+    public IncrementalDiffSession(final Iterable<T> baseline, final Iterable<T> revision) {
+        ValidationUtils.notNull(baseline, "Baseline should not be null");
+        ValidationUtils.notNull(revision, "Revision should not be null");
+
+        this.baseline = Collections.unmodifiableList(listOf(baseline));
+        this.baselineHashes = hashesOf(this.baseline);
+        this.revision = new ArrayList<>(listOf(revision));
+        this.revisionHashes = hashesOf(this.revision);
+        this.deltas = this.diffWindow(0, this.baseline.size(), 0, this.revision.size());
+    }
+
+    /**
+     * Returns current {@link Patch} from the baseline to the revision
+     *
+     * @return current {@link Patch}
+     */
+    public Patch<T> getPatch() {
+        final DefaultPatch<T> patch = new DefaultPatch<>(this.deltas.size(), null);
+        this.deltas.forEach(patch::addDelta);
+        return patch;
+    }
+
+    /**
+     * Returns current revision sequence
+     *
+     * @return unmodifiable revision sequence
+     */
+    public List<T> getRevision() {
+        return Collections.unmodifiableList(this.revision);
+    }
+
+    /**
+     * Replaces revision elements in range [from, to) by the given elements and updates the patch
+     *
+     * @param from        - initial input range start in the revision (inclusive)
+     * @param to          - initial input range end in the revision (exclusive)
+     * @param replacement - initial input {@link List} of replacement elements
+     * @return updated {@link Patch}
+     * @throws IllegalArgumentException  if replacement is {@code null}
+     * @throws IndexOutOfBoundsException if range is out of the revision bounds
+     */
+    public Patch<T> replace(int from, int to, final List<T> replacement) {
+        ValidationUtils.notNull(replacement, "Replacement should not be null");
+        if (from < 0 || from > to || to > this.revision.size()) {
+            throw new IndexOutOfBoundsException("Invalid revision range: [" + from + ", " + to + ")");
+        }
+
+        int first = this.deltas.size();
+        int last = -1;
+        int start = from;
+        int end = to;
+        int shiftBefore = 0;
+        int shiftThrough = 0;
+        for (int k = 0; k < this.deltas.size(); k++) {
+            final Delta<T> delta = this.deltas.get(k);
+            final int deltaStart = delta.getRevised().getPosition();
+            final int deltaEnd = deltaStart + delta.getRevised().size();
+            final int shift = delta.getRevised().size() - delta.getOriginal().size();
+            if (deltaEnd < from) {
+                shiftBefore += shift;
+                continue;
+            }
+            if (deltaStart > to) {
+                first = Math.min(first, k);
+                break;
+            }
+            first = Math.min(first, k);
+            last = k;
+            start = Math.min(start, deltaStart);
+            end = Math.max(end, deltaEnd);
+            shiftThrough += shift;
+        }
+        shiftThrough += shiftBefore;
+
+        final int sizeChange = replacement.size() - (to - from);
+        this.revision.subList(from, to).clear();
+        this.revision.addAll(from, replacement);
+        this.revisionHashes = splice(this.revisionHashes, from, to, hashesOf(replacement));
+
+        final List<Delta<T>> window = this.diffWindow(start - shiftBefore, end - shiftThrough, start, end + sizeChange);
+        final List<Delta<T>> result = new ArrayList<>(this.deltas.size() - Math.max(0, last - first + 1) + window.size());
+        result.addAll(this.deltas.subList(0, first));
+        result.addAll(window);
+        for (int k = Math.max(first, last + 1); k < this.deltas.size(); k++) {
+            final Delta<T> delta = this.deltas.get(k);
+            result.add((sizeChange == 0) ? delta
+                : buildDelta(delta.getOriginal(), new DefaultChunk<>(delta.getRevised().getPosition() + sizeChange, delta.getRevised().getLines())));
+        }
+        this.deltas = result;
+        return this.getPatch();
+    }
+
+    private List<Delta<T>> diffWindow(int a0, int a1, int b0, int b1) {
+        final List<Delta<T>> result = new ArrayList<>();
+        final SnakePath path = new SnakePath();
+        new LinearSpaceDiffAlgorithmService.PathBuilder(a1 - a0, b1 - b0,
+            (i, j) -> this.baselineHashes[i] == this.revisionHashes[j] && Objects.equals(this.baseline.get(i), this.revision.get(j)), path)
+            .compare(a0, a1, b0, b1);
+        SnakePath.toDeltas(path.toArray(), this.baseline, a0, a1, this.revision, b0, b1, result::add);
+        return result;
+    }
+
+    private static <T> int[] hashesOf(final List<T> values) {
+        final int[] result = new int[values.size()];
+        int i = 0;
+        for (final T value : values) {
+            result[i++] = Objects.hashCode(value);
+        }
+        return result;
+    }
+
+    private static int[] splice(final int[] source, int from, int to, final int[] replacement) {
+        final int[] result = new int[source.length - (to - from) + replacement.length];
+        System.arraycopy(source, 0, result, 0, from);
+        System.arraycopy(replacement, 0, result, from, replacement.length);
+        System.arraycopy(source, to, result, from + replacement.length, source.length - to);
+        return result;
+    }
+}
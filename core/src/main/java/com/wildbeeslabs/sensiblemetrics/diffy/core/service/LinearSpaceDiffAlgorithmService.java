@@ -0,0 +1,388 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software andAll associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, andAll/or sell
+ * copies of the Software, andAll to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice andAll this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.core.service;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.impl.DefaultPatch;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ValidationUtils;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.interfaces.DiffAlgorithm;
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.interfaces.BiMatcher;
+
+import java.util.List;
+import java.util.Objects;
+
+import static com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ServiceUtils.listOf;
+
+/**
+ * Linear-space {@link DiffAlgorithm} service implementation
+ * <p>
+ * Computes the same edit script as {@link DiffAlgorithmService}, i.e. the same greedy Myers path with the same
+ * tie-breaking between equally short paths, but without building a
+ * {@link com.wildbeeslabs.sensiblemetrics.diffy.core.entry.node.PathNode} graph. The path is recovered by divide and conquer
+ * over the edit steps: only diagonal vectors of primitive ints are kept, O((N+M) log D) for D edits, and the resulting path
+ * is recorded as (origPos, revPos, length) snake triples in a primitive int array.
+ *
+ * @param <T> type of difference value
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public class LinearSpaceDiffAlgorithmService<T> implements DiffAlgorithm<T> {
+
+    /**
+     * Default {@link BiMatcher}
+     */
+    private final BiMatcher<T> matcher;
+    /**
+     * Default element interning flag
+     */
+    private final boolean interning;
+
+    /**
+     * Constructs an instance of the linear-space Myers differencing algorithm.
+     */
+    public LinearSpaceDiffAlgorithmService() {
+        this(false);
+    }
+
+    /**
+     * Constructs an instance of the linear-space Myers differencing algorithm by input interning flag
+     * <p>
+     * With interning enabled every distinct element is mapped to an int identifier by a hash table
+     * before the path search, so the inner loop compares ints instead of calling {@link Object#equals(Object)}.
+     *
+     * @param interning - initial input element interning flag
+     */
+    public LinearSpaceDiffAlgorithmService(boolean interning) {
+        this.matcher = Objects::equals;
+        this.interning = interning;
+    }
+
+    /**
+     * Constructs an instance of the linear-space Myers differencing algorithm by input {@link BiMatcher}
+     *
+     * @param matcher - initial input {@link BiMatcher} to compare elements with
+     * @throws IllegalArgumentException if matcher is {@code null}
+     */
+    public LinearSpaceDiffAlgorithmService(final BiMatcher<T> matcher) {
+        ValidationUtils.notNull(matcher, "Matcher should not be null");
+        this.matcher = matcher;
+        this.interning = false;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException if original is {@code null}
+     * @throws IllegalArgumentException if revised is {@code null}
+     */
+    @Override
+    public DefaultPatch<T> diff(final Iterable<T> original, final Iterable<T> revised) {
+        ValidationUtils.notNull(original, "Original list must not be null");
+        ValidationUtils.notNull(revised, "Revised list must not be null");
+
+        final List<T> first = listOf(original);
+        final List<T> last = listOf(revised);
+        final int[] snakes = this.buildPath(first, last);
+        return this.buildRevision(snakes, first, last);
+    }
+
+    /**
+     * Returns minimum diff path between the original and revised sequences as
+     * (origPos, revPos, length) snake triples in ascending order, prefixed by the number of triples.
+     *
+     * @param original The original sequence.
+     * @param revised  The revised sequence.
+     * @return the path encoded as int array
+     * @throws IllegalArgumentException if original is {@code null}
+     * @throws IllegalArgumentException if revised is {@code null}
+     */
+    protected int[] buildPath(final List<T> original, final List<T> revised) {
+        ValidationUtils.notNull(original, "Original sequence should not be null");
+        ValidationUtils.notNull(revised, "Revised sequence should not be null");
+
+        final IndexMatcher indexMatcher;
+        if (this.interning) {
+            final int[][] ids = ElementInterner.intern(original, revised);
+            final int[] first = ids[0];
+            final int[] last = ids[1];
+            indexMatcher = (i, j) -> first[i] == last[j];
+        } else {
+            indexMatcher = (i, j) -> this.matcher.matches(original.get(i), revised.get(j));
+        }
+        final SnakePath path = new SnakePath();
+        new GreedyPathBuilder(original.size(), revised.size(), indexMatcher, path).build();
+        return path.toArray();
+    }
+
+    /**
+     * Constructs {@link DefaultPatch} from snake triples
+     *
+     * @param snakes   The path as produced by {@link #buildPath(List, List)}.
+     * @param original The original sequence.
+     * @param revised  The revised sequence.
+     * @return A {@link DefaultPatch} script corresponding to the path.
+     * @throws IllegalArgumentException if snakes is {@code null}
+     * @throws IllegalArgumentException if original is {@code null}
+     * @throws IllegalArgumentException if revised is {@code null}
+     */
+    protected DefaultPatch<T> buildRevision(final int[] snakes, final List<T> original, final List<T> revised) {
+        ValidationUtils.notNull(snakes, "Path should not be null");
+        ValidationUtils.notNull(original, "Original sequence should not be null");
+        ValidationUtils.notNull(revised, "Revised sequence should not be null");
+
+        return SnakePath.toPatch(snakes, original, revised);
+    }
+
+    /**
+     * Greedy Myers path builder
+     * <p>
+     * Reproduces the furthest reaching paths of {@link DiffAlgorithmService} step by step. Instead of linking a node per
+     * diagonal step, the forward pass between two known edit steps is re-run while tracking on which diagonal every path
+     * crossed the middle step, so the diagonal of the final path at that step is known and both halves are solved recursively.
+     */
+    static final class GreedyPathBuilder {
+        private final int originalStart;
+        private final int revisedStart;
+        private final int originalSize;
+        private final int revisedSize;
+        private final IndexMatcher matcher;
+        private final SnakePath path;
+
+        GreedyPathBuilder(int originalSize, int revisedSize, final IndexMatcher matcher, final SnakePath path) {
+            this(0, originalSize, 0, revisedSize, matcher, path);
+        }
+
+        /**
+         * Builds the path of the area [a0, a1) x [b0, b1), the matcher and the path use positions of the whole sequences
+         */
+        GreedyPathBuilder(int a0, int a1, int b0, int b1, final IndexMatcher matcher, final SnakePath path) {
+            this.originalStart = a0;
+            this.revisedStart = b0;
+            this.originalSize = a1 - a0;
+            this.revisedSize = b1 - b0;
+            this.matcher = matcher;
+            this.path = path;
+        }
+
+        /**
+         * Appends snakes of the whole path to the path in ascending order
+         */
+        void build() {
+            final int[] start = {this.snake(0, 0)};
+            this.path.add(this.originalStart, this.revisedStart, start[0]);
+            if (start[0] >= this.originalSize && start[0] >= this.revisedSize) {
+                return;
+            }
+            this.solve(0, start, this.distance(start[0]), this.originalSize - this.revisedSize);
+        }
+
+        /**
+         * Returns number of edit steps of the shortest path by the furthest reaching x-position of step zero
+         */
+        private int distance(int start) {
+            final int max = this.originalSize + this.revisedSize;
+            final int offset = max + 1;
+            final int[] vector = new int[2 * max + 3];
+            vector[offset] = start;
+            for (int d = 1; d <= max; d++) {
+                for (int k = -d; k <= d; k += 2) {
+                    final int x = this.advance(vector, offset, d, k);
+                    if (x >= this.originalSize && x - k >= this.revisedSize) {
+                        return d;
+                    }
+                }
+            }
+            throw new IllegalStateException("could not find a diff path");
+        }
+
+        /**
+         * Appends snakes of the path from step lo (furthest reaching x-positions by diagonal in low) to diagonal k at step hi
+         */
+        private void solve(int lo, final int[] low, int hi, int k) {
+            if (hi - lo == 1) {
+                final int x = (k == -hi || (k != hi && low[k - 1 + lo] < low[k + 1 + lo])) ? low[k + 1 + lo] : low[k - 1 + lo] + 1;
+                this.path.add(this.originalStart + x, this.revisedStart + x - k, this.snake(x, x - k) - x);
+                return;
+            }
+            final int mid = (lo + hi) >>> 1;
+            final int[] middle = new int[2 * mid + 1];
+            final int diagonal = this.cross(lo, low, hi, k, mid, middle);
+            this.solve(lo, low, mid, diagonal);
+            this.solve(mid, middle, hi, k);
+        }
+
+        /**
+         * Runs the forward pass from step lo to step hi, copies the vector of step mid into middle and
+         * returns the diagonal at step mid of the path reaching diagonal k at step hi
+         */
+        private int cross(int lo, final int[] low, int hi, int k, int mid, final int[] middle) {
+            final int offset = hi + 1;
+            final int[] vector = new int[2 * hi + 3];
+            final int[] labels = new int[2 * hi + 3];
+            for (int i = -lo; i <= lo; i += 2) {
+                vector[offset + i] = low[i + lo];
+            }
+            for (int d = lo + 1; d <= hi; d++) {
+                final int from = (d == hi) ? k : -d;
+                final int to = (d == hi) ? k : d;
+                for (int i = from; i <= to; i += 2) {
+                    final boolean down = (i == -d || (i != d && vector[offset + i - 1] < vector[offset + i + 1]));
+                    labels[offset + i] = (d == mid) ? i : labels[offset + (down ? i + 1 : i - 1)];
+                    this.advance(vector, offset, d, i);
+                }
+                if (d == mid) {
+                    for (int i = -mid; i <= mid; i += 2) {
+                        middle[i + mid] = vector[offset + i];
+                    }
+                }
+            }
+            return labels[offset + k];
+        }
+
+        /**
+         * Stores and returns the furthest reaching x-position of diagonal k at step d
+         */
+        private int advance(final int[] vector, int offset, int d, int k) {
+            final int x = (k == -d || (k != d && vector[offset + k - 1] < vector[offset + k + 1]))
+                ? vector[offset + k + 1]
+                : vector[offset + k - 1] + 1;
+            return vector[offset + k] = this.snake(x, x - k);
+        }
+
+        /**
+         * Returns x-position at the end of the snake starting at (x, y)
+         */
+        private int snake(int x, int y) {
+            while (x < this.originalSize && y < this.revisedSize && this.matcher.matches(this.originalStart + x, this.revisedStart + y)) {
+                x++;
+                y++;
+            }
+            return x;
+        }
+    }
+
+    /**
+     * Middle snake path builder
+     */
+    static final class PathBuilder {
+        private final IndexMatcher matcher;
+        /**
+         * Forward / backward furthest reaching x-positions by diagonal
+         */
+        private final int[] forward;
+        private final int[] backward;
+        private final int offset;
+        private final SnakePath path;
+
+        PathBuilder(int originalSize, int revisedSize, final IndexMatcher matcher, final SnakePath path) {
+            this.matcher = matcher;
+            this.path = path;
+            this.offset = (originalSize + revisedSize + 1) / 2 + 1;
+            this.forward = new int[2 * this.offset + 1];
+            this.backward = new int[2 * this.offset + 1];
+        }
+
+        /**
+         * Appends snakes of the given area [a0, a1) x [b0, b1) to the path in ascending order
+         */
+        void compare(int a0, int a1, int b0, int b1) {
+            final int start = a0;
+            while (a0 < a1 && b0 < b1 && this.equals(a0, b0)) {
+                a0++;
+                b0++;
+            }
+            this.path.add(start, b0 - (a0 - start), a0 - start);
+
+            int suffix = 0;
+            while (a0 < a1 && b0 < b1 && this.equals(a1 - 1, b1 - 1)) {
+                a1--;
+                b1--;
+                suffix++;
+            }
+
+            if (a0 < a1 && b0 < b1) {
+                final int[] snake = this.middleSnake(a0, a1, b0, b1);
+                this.compare(a0, snake[0], b0, snake[1]);
+                this.path.add(snake[0], snake[1], snake[2] - snake[0]);
+                this.compare(snake[2], a1, snake[3], b1);
+            }
+            this.path.add(a1, b1, suffix);
+        }
+
+        /**
+         * Returns middle snake of the given area as (x, y, u, v) where (x, y) is the snake start and (u, v) its end
+         */
+        private int[] middleSnake(int a0, int a1, int b0, int b1) {
+            final int n = a1 - a0;
+            final int m = b1 - b0;
+            final int delta = n - m;
+            final boolean odd = (delta & 1) != 0;
+            final int max = (n + m + 1) / 2;
+
+            this.forward[this.offset + 1] = 0;
+            this.backward[this.offset + 1] = 0;
+            for (int d = 0; d <= max; d++) {
+                for (int k = -d; k <= d; k += 2) {
+                    int x = (k == -d || (k != d && this.forward[this.offset + k - 1] < this.forward[this.offset + k + 1]))
+                        ? this.forward[this.offset + k + 1]
+                        : this.forward[this.offset + k - 1] + 1;
+                    int y = x - k;
+                    final int x0 = x;
+                    final int y0 = y;
+                    while (x < n && y < m && this.equals(a0 + x, b0 + y)) {
+                        x++;
+                        y++;
+                    }
+                    this.forward[this.offset + k] = x;
+                    if (odd && delta - k >= -(d - 1) && delta - k <= d - 1
+                        && x + this.backward[this.offset + delta - k] >= n) {
+                        return new int[]{a0 + x0, b0 + y0, a0 + x, b0 + y};
+                    }
+                }
+                for (int k = -d; k <= d; k += 2) {
+                    int x = (k == -d || (k != d && this.backward[this.offset + k - 1] < this.backward[this.offset + k + 1]))
+                        ? this.backward[this.offset + k + 1]
+                        : this.backward[this.offset + k - 1] + 1;
+                    int y = x - k;
+                    final int x0 = x;
+                    final int y0 = y;
+                    while (x < n && y < m && this.equals(a1 - x - 1, b1 - y - 1)) {
+                        x++;
+                        y++;
+                    }
+                    this.backward[this.offset + k] = x;
+                    if (!odd && delta - k >= -d && delta - k <= d
+                        && x + this.forward[this.offset + delta - k] >= n) {
+                        return new int[]{a1 - x, b1 - y, a1 - x0, b1 - y0};
+                    }
+                }
+            }
+            throw new IllegalStateException("could not find a middle snake");
+        }
+
+        private boolean equals(int i, int j) {
+            return this.matcher.matches(i, j);
+        }
+    }
+}
@@ -0,0 +1,266 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software andAll associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, andAll/or sell
+ * copies of the Software, andAll to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice andAll this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.core.service;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.impl.DefaultPatch;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ValidationUtils;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.interfaces.DiffAlgorithm;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+import static com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ServiceUtils.listOf;
+
+/**
+ * Parallel {@link DiffAlgorithm} service implementation
+ * <p>
+ * Elements occurring exactly once in both sequences are used as anchors: the longest increasing subsequence
+ * of their positions splits the problem into independent regions, which are diffed concurrently
+ * with the greedy linear-space Myers algorithm on a {@link ForkJoinPool} and merged in order.
+ * Inputs smaller than {@code threshold} elements form a single region, so their patch equals the one of
+ * {@link DiffAlgorithmService}. Larger inputs keep every anchor in the path: the patch equals the sequential one
+ * whenever the anchors lie on the path chosen by {@link DiffAlgorithmService}, e.g. when the longest common
+ * subsequence is unique, and otherwise is an equally valid patch that may align elements differently.
+ * <p>
+ * Elements are indexed by {@link Object#hashCode()} / {@link Object#equals(Object)}.
+ *
+ * @param <T> type of difference value
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public class ParallelDiffAlgorithmService<T> implements DiffAlgorithm<T> {
+
+    /**
+     * Default minimum number of elements to diff in parallel
+     */
+    public static final int DEFAULT_THRESHOLD = 1 << 14;
+
+    /**
+     * Default {@link ForkJoinPool}
+     */
+    private final ForkJoinPool pool;
+    /**
+     * Default minimum number of elements to diff in parallel
+     */
+    private final int threshold;
+
+    /**
+     * Constructs an instance of the parallel differencing algorithm on the common {@link ForkJoinPool}.
+     */
+    public ParallelDiffAlgorithmService() {
+        this(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Constructs an instance of the parallel differencing algorithm by input parameters
+     *
+     * @param pool      - initial input {@link ForkJoinPool}
+     * @param threshold - initial input minimum number of elements to diff in parallel
+     * @throws IllegalArgumentException if pool is {@code null}
+     * @throws IllegalArgumentException if threshold is not positive
+     */
+    public ParallelDiffAlgorithmService(final ForkJoinPool pool, int threshold) {
+        ValidationUtils.notNull(pool, "Pool should not be null");
+        ValidationUtils.isTrue(threshold > 0, "Threshold should be positive");
+        this.pool = pool;
+        this.threshold = threshold;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException if original is {@code null}
+     * @throws IllegalArgumentException if revised is {@code null}
+     */
+    @Override
+    public DefaultPatch<T> diff(final Iterable<T> original, final Iterable<T> revised) {
+        ValidationUtils.notNull(original, "Original list must not be null");
+        ValidationUtils.notNull(revised, "Revised list must not be null");
+
+        final List<T> first = listOf(original);
+        final List<T> last = listOf(revised);
+        return SnakePath.toPatch(this.buildPath(first, last), first, last);
+    }
+
+    /**
+     * Returns diff path between the original and revised sequences as
+     * (origPos, revPos, length) snake triples in ascending order, prefixed by the number of triples.
+     *
+     * @param original The original sequence.
+     * @param revised  The revised sequence.
+     * @return the path encoded as int array
+     * @throws IllegalArgumentException if original is {@code null}
+     * @throws IllegalArgumentException if revised is {@code null}
+     */
+    protected int[] buildPath(final List<T> original, final List<T> revised) {
+        ValidationUtils.notNull(original, "Original sequence should not be null");
+        ValidationUtils.notNull(revised, "Revised sequence should not be null");
+
+        final int[] anchors = (original.size() + revised.size() < this.threshold) ? new int[0] : this.findAnchors(original, revised);
+        final int regions = anchors.length / 2 + 1;
+        final int groups = Math.min(regions, this.pool.getParallelism() * 4);
+        final List<RegionTask<T>> tasks = new ArrayList<>(groups);
+        for (int g = 0; g < groups; g++) {
+            tasks.add(new RegionTask<>(original, revised, anchors, (int) ((long) regions * g / groups), (int) ((long) regions * (g + 1) / groups)));
+        }
+
+        final SnakePath path = new SnakePath();
+        if (groups == 1) {
+            path.addAll(tasks.get(0).compute());
+        } else {
+            this.pool.invoke(new RecursiveTask<Void>() {
+                @Override
+                protected Void compute() {
+                    ForkJoinTask.invokeAll(tasks);
+                    return null;
+                }
+            });
+            for (final RegionTask<T> task : tasks) {
+                path.addAll(task.join());
+            }
+        }
+        return path.toArray();
+    }
+
+    /**
+     * Returns anchors as (origPos, revPos) pairs in ascending order
+     * <p>
+     * Anchors are the longest increasing subsequence of the elements occurring once in both sequences.
+     */
+    private int[] findAnchors(final List<T> original, final List<T> revised) {
+        final Map<T, int[]> occurrences = new HashMap<>();
+        for (int i = 0; i < original.size(); i++) {
+            final int[] entry = occurrences.computeIfAbsent(original.get(i), k -> new int[]{0, -1, 0});
+            entry[0]++;
+            entry[1] = i;
+        }
+        for (int j = 0; j < revised.size(); j++) {
+            final int[] entry = occurrences.get(revised.get(j));
+            if (Objects.nonNull(entry)) {
+                entry[2] = (entry[2] == 0) ? j + 1 : -1;
+            }
+        }
+
+        int count = 0;
+        final int[] candidates = new int[2 * Math.min(original.size(), revised.size())];
+        for (int j = 0; j < revised.size(); j++) {
+            final int[] entry = occurrences.get(revised.get(j));
+            if (Objects.nonNull(entry) && entry[0] == 1 && entry[2] == j + 1) {
+                candidates[2 * count] = entry[1];
+                candidates[2 * count + 1] = j;
+                count++;
+            }
+        }
+        return longestIncreasing(candidates, count);
+    }
+
+    /**
+     * Returns longest subsequence of (origPos, revPos) pairs (sorted by revPos) with increasing origPos
+     */
+    private static int[] longestIncreasing(final int[] pairs, int count) {
+        final int[] tails = new int[count];
+        final int[] previous = new int[count];
+        int length = 0;
+        for (int c = 0; c < count; c++) {
+            int low = 0;
+            int high = length;
+            while (low < high) {
+                final int mid = (low + high) >>> 1;
+                if (pairs[2 * tails[mid]] < pairs[2 * c]) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            previous[c] = (low > 0) ? tails[low - 1] : -1;
+            tails[low] = c;
+            if (low == length) {
+                length++;
+            }
+        }
+        final int[] result = new int[2 * length];
+        for (int k = length - 1, c = (length > 0) ? tails[length - 1] : -1; k >= 0; k--, c = previous[c]) {
+            result[2 * k] = pairs[2 * c];
+            result[2 * k + 1] = pairs[2 * c + 1];
+        }
+        return result;
+    }
+
+    /**
+     * Diffs regions [from, to) between consecutive anchors
+     *
+     * @param <T> type of difference value
+     */
+    private static final class RegionTask<T> extends RecursiveTask<SnakePath> {
+        private final List<T> original;
+        private final List<T> revised;
+        private final int[] anchors;
+        private final int from;
+        private final int to;
+
+        RegionTask(final List<T> original, final List<T> revised, final int[] anchors, int from, int to) {
+            this.original = original;
+            this.revised = revised;
+            this.anchors = anchors;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected SnakePath compute() {
+            final SnakePath path = new SnakePath();
+            final IndexMatcher matcher = (i, j) -> Objects.equals(this.original.get(i), this.revised.get(j));
+            for (int r = this.from; r < this.to; r++) {
+                if (r > 0) {
+                    path.add(this.anchors[2 * (r - 1)], this.anchors[2 * (r - 1) + 1], 1);
+                }
+                new LinearSpaceDiffAlgorithmService.GreedyPathBuilder(this.startA(r), this.endA(r), this.startB(r), this.endB(r), matcher, path).build();
+            }
+            return path;
+        }
+
+        private int startA(int region) {
+            return (region == 0) ? 0 : this.anchors[2 * (region - 1)] + 1;
+        }
+
+        private int startB(int region) {
+            return (region == 0) ? 0 : this.anchors[2 * (region - 1) + 1] + 1;
+        }
+
+        private int endA(int region) {
+            return (2 * region < this.anchors.length) ? this.anchors[2 * region] : this.original.size();
+        }
+
+        private int endB(int region) {
+            return (2 * region < this.anchors.length) ? this.anchors[2 * region + 1] : this.revised.size();
+        }
+    }
+}
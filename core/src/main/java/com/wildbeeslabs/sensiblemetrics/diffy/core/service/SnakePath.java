@@ -0,0 +1,158 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software andAll associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, andAll/or sell
+ * copies of the Software, andAll to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice andAll this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.core.service;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Delta;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.impl.DefaultPatch;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static com.wildbeeslabs.sensiblemetrics.diffy.core.utils.DiffUtils.buildDelta;
+
+/**
+ * Difference path recorded as (origPos, revPos, length) snake triples in a primitive int array
+ * <p>
+ * Snakes must be appended in ascending path order, zero-length snakes are ignored and adjacent snakes are merged.
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+final class SnakePath {
+
+    /**
+     * Default initial capacity (in triples)
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * Snake triples buffer prefixed by the number of triples
+     */
+    private int[] snakes = new int[1 + 3 * DEFAULT_CAPACITY];
+    /**
+     * Current buffer size (in ints)
+     */
+    private int size = 1;
+
+    /**
+     * Appends snake to the path
+     *
+     * @param origPos - initial input position in the original sequence
+     * @param revPos  - initial input position in the revised sequence
+     * @param length  - initial input snake length
+     */
+    void add(int origPos, int revPos, int length) {
+        if (length <= 0) {
+            return;
+        }
+        if (this.size > 1 && this.snakes[this.size - 3] + this.snakes[this.size - 1] == origPos
+            && this.snakes[this.size - 2] + this.snakes[this.size - 1] == revPos) {
+            this.snakes[this.size - 1] += length;
+            return;
+        }
+        if (this.size + 3 > this.snakes.length) {
+            this.snakes = Arrays.copyOf(this.snakes, this.snakes.length << 1);
+        }
+        this.snakes[this.size++] = origPos;
+        this.snakes[this.size++] = revPos;
+        this.snakes[this.size++] = length;
+    }
+
+    /**
+     * Appends all snakes of the given path, which must follow the snakes of this path
+     *
+     * @param other - initial input {@link SnakePath} to append
+     */
+    void addAll(final SnakePath other) {
+        if (other.size == 1) {
+            return;
+        }
+        this.add(other.snakes[1], other.snakes[2], other.snakes[3]);
+        final int length = other.size - 4;
+        if (this.size + length > this.snakes.length) {
+            this.snakes = Arrays.copyOf(this.snakes, Math.max(this.snakes.length << 1, this.size + length));
+        }
+        System.arraycopy(other.snakes, 4, this.snakes, this.size, length);
+        this.size += length;
+    }
+
+    /**
+     * Returns path as int array where the first item is the number of triples
+     *
+     * @return path as int array
+     */
+    int[] toArray() {
+        this.snakes[0] = (this.size - 1) / 3;
+        return this.snakes;
+    }
+
+    /**
+     * Returns {@link DefaultPatch} built from the gaps between the snakes of the given path
+     *
+     * @param <T>      type of difference value
+     * @param snakes   - initial input path as returned by {@link #toArray()}
+     * @param original - initial input original sequence
+     * @param revised  - initial input revised sequence
+     * @return {@link DefaultPatch}
+     */
+    static <T> DefaultPatch<T> toPatch(final int[] snakes, final List<T> original, final List<T> revised) {
+        final DefaultPatch<T> patch = new DefaultPatch<>(snakes[0] + 1, null);
+        toDeltas(snakes, original, 0, original.size(), revised, 0, revised.size(), patch::addDelta);
+        return patch;
+    }
+
+    /**
+     * Passes {@link Delta}s built from the gaps between the snakes of the given path inside the area [a0, a1) x [b0, b1)
+     * to the given {@link Consumer} in ascending order
+     *
+     * @param <T>      type of difference value
+     * @param snakes   - initial input path as returned by {@link #toArray()}
+     * @param original - initial input original sequence
+     * @param a0       - initial input area start in the original sequence
+     * @param a1       - initial input area end in the original sequence
+     * @param revised  - initial input revised sequence
+     * @param b0       - initial input area start in the revised sequence
+     * @param b1       - initial input area end in the revised sequence
+     * @param consumer - initial input {@link Delta} {@link Consumer}
+     */
+    static <T> void toDeltas(final int[] snakes, final List<T> original, int a0, int a1, final List<T> revised, int b0, int b1, final Consumer<Delta<T>> consumer) {
+        int i = a0;
+        int j = b0;
+        final int count = snakes[0];
+        for (int s = 0; s < count; s++) {
+            final int x = snakes[1 + 3 * s];
+            final int y = snakes[2 + 3 * s];
+            if (x > i || y > j) {
+                consumer.accept(buildDelta(original, i, x, revised, j, y));
+            }
+            i = x + snakes[3 + 3 * s];
+            j = y + snakes[3 + 3 * s];
+        }
+        if (i < a1 || j < b1) {
+            consumer.accept(buildDelta(original, i, a1, revised, j, b1));
+        }
+    }
+}
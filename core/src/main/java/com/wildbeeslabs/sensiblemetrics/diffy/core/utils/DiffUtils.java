@@ -23,29 +23,32 @@
  */
 package com.wildbeeslabs.sensiblemetrics.diffy.core.utils;
 
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Chunk;
 import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Delta;
 import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Patch;
 import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.impl.DefaultChunk;
 import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.impl.DefaultPatch;
 import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ValidationUtils;
 import com.wildbeeslabs.sensiblemetrics.diffy.core.entry.delta.ChangeDelta;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.entry.delta.DeleteDelta;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.entry.delta.InsertDelta;
 import com.wildbeeslabs.sensiblemetrics.diffy.core.entry.utils.BinaryDiffResult;
 import com.wildbeeslabs.sensiblemetrics.diffy.core.interfaces.DiffAlgorithm;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.service.BinaryDiff;
 import com.wildbeeslabs.sensiblemetrics.diffy.core.service.DiffAlgorithmService;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.service.ParallelDiffAlgorithmService;
 import lombok.experimental.UtilityClass;
 
-import java.io.ByteArrayInputStream;
-import java.io.File;
-import java.io.IOException;
-import java.io.InputStream;
+import java.io.*;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.util.*;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import static com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ServiceUtils.copyOf;
+
 /**
  * Diff utilities implementation
  */
@@ -71,6 +74,21 @@ public class DiffUtils {
         return diff(original, revised, new DiffAlgorithmService<>());
     }
 
+    /**
+     * Computes the difference between the original and revised list of elements
+     * with parallel diff algorithm on the common {@link java.util.concurrent.ForkJoinPool}
+     *
+     * @param <T>      the type of elements.
+     * @param original The original text. Must not be {@code null}.
+     * @param revised  The revised text. Must not be {@code null}.
+     * @return The patch describing the difference between the original and
+     * revised sequences. Never {@code null}.
+     * @see ParallelDiffAlgorithmService
+     */
+    public static <T> Patch<T> parallelDiff(final List<T> original, final List<T> revised) {
+        return diff(original, revised, new ParallelDiffAlgorithmService<>());
+    }
+
     /**
      * Computes the difference between the original and revised list of elements
      * with default diff algorithm
@@ -93,6 +111,39 @@ public class DiffUtils {
         return algorithm.diff(original, revised);
     }
 
+    /**
+     * Returns {@link Delta} for the given original [origFrom, origTo) and revised [revFrom, revTo) ranges
+     *
+     * @param <T>      the type of elements.
+     * @param original the original sequence
+     * @param origFrom the start position in the original sequence (inclusive)
+     * @param origTo   the end position in the original sequence (exclusive)
+     * @param revised  the revised sequence
+     * @param revFrom  the start position in the revised sequence (inclusive)
+     * @param revTo    the end position in the revised sequence (exclusive)
+     * @return {@link InsertDelta}, {@link DeleteDelta} or {@link ChangeDelta} depending on the chunk sizes
+     */
+    public static <T> Delta<T> buildDelta(final List<T> original, int origFrom, int origTo, final List<T> revised, int revFrom, int revTo) {
+        return buildDelta(new DefaultChunk<>(origFrom, copyOf(original, origFrom, origTo)), new DefaultChunk<>(revFrom, copyOf(revised, revFrom, revTo)));
+    }
+
+    /**
+     * Returns {@link Delta} for the given original and revised {@link Chunk}s
+     *
+     * @param <T>  the type of elements.
+     * @param orig the original chunk
+     * @param rev  the revised chunk
+     * @return {@link InsertDelta}, {@link DeleteDelta} or {@link ChangeDelta} depending on the chunk sizes
+     */
+    public static <T> Delta<T> buildDelta(final Chunk<T> orig, final Chunk<T> rev) {
+        if (orig.size() == 0 && rev.size() != 0) {
+            return new InsertDelta<>(orig, rev);
+        } else if (orig.size() > 0 && rev.size() == 0) {
+            return new DeleteDelta<>(orig, rev);
+        }
+        return new ChangeDelta<>(orig, rev);
+    }
+
     /**
      * DefaultPatch the original text with given patch
      *
@@ -114,80 +165,34 @@ public class DiffUtils {
      * @return the patch with deltas.
      */
     public static DefaultPatch<String> parseUnifiedDiff(final List<String> diff) {
-        boolean inPrelude = true;
-        final List<String[]> rawChunk = new ArrayList<>();
-        DefaultPatch<String> patch = new DefaultPatch<>();
-
-        int old_ln = 0;
-        int new_ln = 0;
-        String tag;
-        String rest;
+        final DefaultPatch<String> patch = new DefaultPatch<>();
+        final UnifiedDiffParser parser = new UnifiedDiffParser(patch::addDelta);
         for (final String line : diff) {
-            if (inPrelude) {
-                if (line.startsWith("+++")) {
-                    inPrelude = false;
-                }
-                continue;
-            }
-            final Matcher m = DEFAULT_DIFF_CHUNK_REGEX.matcher(line);
-            if (m.find()) {
-                // Process the lines in the previous chunk
-                if (!rawChunk.isEmpty()) {
-                    List<String> oldChunkLines = new ArrayList<>();
-                    List<String> newChunkLines = new ArrayList<>();
-
-                    for (String[] raw_line : rawChunk) {
-                        tag = raw_line[0];
-                        rest = raw_line[1];
-                        if (tag.equals(" ") || tag.equals("-")) {
-                            oldChunkLines.add(rest);
-                        }
-                        if (tag.equals(" ") || tag.equals("+")) {
-                            newChunkLines.add(rest);
-                        }
-                    }
-                    patch.addDelta(new ChangeDelta<>(new DefaultChunk<>(old_ln - 1, oldChunkLines), new DefaultChunk<>(new_ln - 1, newChunkLines)));
-                    rawChunk.clear();
-                }
-                old_ln = m.group(1) == null ? 1 : Integer.parseInt(m.group(1));
-                new_ln = m.group(3) == null ? 1 : Integer.parseInt(m.group(3));
-
-                if (old_ln == 0) {
-                    old_ln += 1;
-                }
-                if (new_ln == 0) {
-                    new_ln += 1;
-                }
-            } else {
-                if (line.length() > 0) {
-                    tag = line.substring(0, 1);
-                    rest = line.substring(1);
-                    if (tag.equals(" ") || tag.equals("+") || tag.equals("-")) {
-                        rawChunk.add(new String[]{tag, rest});
-                    }
-                } else {
-                    rawChunk.add(new String[]{" ", ""});
-                }
-            }
+            parser.accept(line);
         }
+        parser.finish();
+        return patch;
+    }
 
-        if (!rawChunk.isEmpty()) {
-            final List<String> oldChunkLines = new ArrayList<>();
-            final List<String> newChunkLines = new ArrayList<>();
-            for (String[] raw_line : rawChunk) {
-                tag = raw_line[0];
-                rest = raw_line[1];
-                if (tag.equals(" ") || tag.equals("-")) {
-                    oldChunkLines.add(rest);
-                }
-                if (tag.equals(" ") || tag.equals("+")) {
-                    newChunkLines.add(rest);
-                }
-            }
-            patch.addDelta(new ChangeDelta<>(new DefaultChunk<>(old_ln - 1, oldChunkLines), new DefaultChunk<>(new_ln - 1, newChunkLines)));
-            rawChunk.clear();
+    /**
+     * Parse the text in unified format from the given {@link Reader} and passes every hunk
+     * to the given {@link Consumer} as soon as it has been read, so only one hunk is held in memory.
+     *
+     * @param reader   the text in unified format
+     * @param consumer the {@link Delta} {@link Consumer}
+     * @throws IOException if the text can not be read
+     */
+    public static void parseUnifiedDiff(final Reader reader, final Consumer<? super Delta<String>> consumer) throws IOException {
+        ValidationUtils.notNull(reader, "Reader should not be null");
+        ValidationUtils.notNull(consumer, "Consumer should not be null");
+
+        final BufferedReader input = (reader instanceof BufferedReader) ? (BufferedReader) reader : new BufferedReader(reader);
+        final UnifiedDiffParser parser = new UnifiedDiffParser(consumer);
+        String line;
+        while ((line = input.readLine()) != null) {
+            parser.accept(line);
         }
-        return patch;
+        parser.finish();
     }
 
     /**
@@ -204,123 +209,222 @@ public class DiffUtils {
      * the DefaultPatch argument.
      */
     public static List<String> generateUnifiedDiff(final String original, final String revised, final List<String> originalLines, final DefaultPatch<String> patch, int contextSize) {
-        if (!patch.getDeltas().isEmpty()) {
-            final List<String> ret = new ArrayList<>();
-            ret.add("--- " + original);
-            ret.add("+++ " + revised);
-
-            final List<Delta<String>> patchDeltas = new ArrayList<>(patch.getDeltas());
-            final List<Delta<String>> deltas = new ArrayList<>();
-            Delta<String> delta = patchDeltas.get(0);
-            deltas.add(delta);
-            if (patchDeltas.size() > 1) {
-                for (int i = 1; i < patchDeltas.size(); i++) {
-                    int position = delta.getOriginal().getPosition();
-                    final Delta<String> nextDelta = patchDeltas.get(i);
-                    if ((position + delta.getOriginal().size() + contextSize) >= (nextDelta.getOriginal().getPosition() - contextSize)) {
-                        deltas.add(nextDelta);
-                    } else {
-                        final List<String> curBlock = processDeltas(originalLines, deltas, contextSize);
-                        ret.addAll(curBlock);
-                        deltas.clear();
-                        deltas.add(nextDelta);
-                    }
-                    delta = nextDelta;
-                }
+        final List<String> ret = new ArrayList<>();
+        final UnifiedDiffGenerator generator = new UnifiedDiffGenerator(original, revised, originalLines.iterator(), contextSize, ret::add);
+        try {
+            for (final Delta<String> delta : patch.getDeltas()) {
+                generator.accept(delta);
             }
-            final List<String> curBlock = processDeltas(originalLines, deltas, contextSize);
-            ret.addAll(curBlock);
-            return ret;
+            generator.finish();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
-        return Collections.emptyList();
+        return ret;
     }
 
     /**
-     * processDeltas takes a list of Deltas and outputs them together in a
-     * single block of Unified-Diff-format text.
+     * Writes the Unified Diff format text for the given deltas to the {@link Writer}.
+     * <p>
+     * Original lines are read sequentially and hunks are written as soon as the next delta
+     * lies out of their context, so neither the original file nor the whole patch is held in memory.
+     * Deltas should be ordered by original position as produced by {@link Patch#getDeltas()} or
+     * {@link com.wildbeeslabs.sensiblemetrics.diffy.core.service.Diff#stream}.
      *
-     * @param origLines   the lines of the original file
-     * @param deltas      the Deltas to be output as a single block
-     * @param contextSize the number of lines of context to place around block
+     * @param original       Filename of the original (unrevised file)
+     * @param revised        Filename of the revised file
+     * @param originalReader the {@link Reader} of the original file
+     * @param deltas         the {@link Iterator} of ordered deltas
+     * @param contextSize    number of lines of context output around each difference
+     *                       in the file.
+     * @param writer         the {@link Writer} to write Unified Diff text to
+     * @throws IOException              if the original file can not be read or diff can not be written
+     * @throws IllegalArgumentException if deltas are not ordered by original position
      */
-    private static List<String> processDeltas(final List<String> origLines, final List<Delta<String>> deltas, int contextSize) {
-        final List<String> buffer = new ArrayList<>();
-        int origTotal = 0;
-        int revTotal = 0;
-        int line;
-
-        Delta<String> curDelta = deltas.get(0);
-        int origStart = curDelta.getOriginal().getPosition() + 1 - contextSize;
-        if (origStart < 1) {
-            origStart = 1;
-        }
-        int revStart = curDelta.getRevised().getPosition() + 1 - contextSize;
-        if (revStart < 1) {
-            revStart = 1;
-        }
-        int contextStart = curDelta.getOriginal().getPosition() - contextSize;
-        if (contextStart < 0) {
-            contextStart = 0;
+    public static void generateUnifiedDiff(final String original, final String revised, final Reader originalReader, final Iterator<? extends Delta<String>> deltas, int contextSize, final Writer writer) throws IOException {
+        ValidationUtils.notNull(originalReader, "Original reader should not be null");
+        ValidationUtils.notNull(deltas, "Deltas should not be null");
+        ValidationUtils.notNull(writer, "Writer should not be null");
+
+        final BufferedReader input = (originalReader instanceof BufferedReader) ? (BufferedReader) originalReader : new BufferedReader(originalReader);
+        final UnifiedDiffGenerator generator = new UnifiedDiffGenerator(original, revised, input.lines().iterator(), contextSize, line -> {
+            writer.write(line);
+            writer.write('\n');
+        });
+        try {
+            while (deltas.hasNext()) {
+                generator.accept(deltas.next());
+            }
+            generator.finish();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
         }
+        writer.flush();
+    }
+
+    /**
+     * Unified diff line sink
+     */
+    @FunctionalInterface
+    private interface LineWriter {
+        void write(final String line) throws IOException;
+    }
+
+    /**
+     * Unified diff parser, collects the lines of the current hunk only
+     */
+    private static final class UnifiedDiffParser {
+        private final Consumer<? super Delta<String>> consumer;
+        private final List<String> oldChunkLines = new ArrayList<>();
+        private final List<String> newChunkLines = new ArrayList<>();
+        private boolean inPrelude = true;
+        private boolean inChunk;
+        private int old_ln;
+        private int new_ln;
 
-        for (line = contextStart; line < curDelta.getOriginal().getPosition(); line++) {
-            buffer.add(" " + origLines.get(line));
-            origTotal++;
-            revTotal++;
+        UnifiedDiffParser(final Consumer<? super Delta<String>> consumer) {
+            this.consumer = consumer;
         }
 
-        buffer.addAll(getDeltaText(curDelta));
-        origTotal += curDelta.getOriginal().getLines().size();
-        revTotal += curDelta.getRevised().getLines().size();
-
-        int deltaIndex = 1;
-        while (deltaIndex < deltas.size()) {
-            Delta<String> nextDelta = deltas.get(deltaIndex);
-            int intermediateStart = curDelta.getOriginal().getPosition()
-                + curDelta.getOriginal().getLines().size();
-            for (line = intermediateStart; line < nextDelta.getOriginal()
-                .getPosition(); line++) {
-                buffer.add(" " + origLines.get(line));
-                origTotal++;
-                revTotal++;
+        void accept(final String line) {
+            if (this.inPrelude) {
+                if (line.startsWith("+++")) {
+                    this.inPrelude = false;
+                }
+                return;
+            }
+            final Matcher m = DEFAULT_DIFF_CHUNK_REGEX.matcher(line);
+            if (m.find()) {
+                // Process the lines in the previous chunk
+                this.finish();
+                this.old_ln = m.group(1) == null ? 1 : Math.max(1, Integer.parseInt(m.group(1)));
+                this.new_ln = m.group(3) == null ? 1 : Math.max(1, Integer.parseInt(m.group(3)));
+            } else if (line.isEmpty()) {
+                this.add(" ", "");
+            } else {
+                this.add(line.substring(0, 1), line.substring(1));
             }
-            buffer.addAll(getDeltaText(nextDelta));
-            origTotal += nextDelta.getOriginal().getLines().size();
-            revTotal += nextDelta.getRevised().getLines().size();
-            curDelta = nextDelta;
-            deltaIndex++;
         }
 
-        contextStart = curDelta.getOriginal().getPosition()
-            + curDelta.getOriginal().getLines().size();
-        for (line = contextStart; (line < (contextStart + contextSize))
-            && (line < origLines.size()); line++) {
-            buffer.add(" " + origLines.get(line));
-            origTotal++;
-            revTotal++;
+        void finish() {
+            if (this.inChunk) {
+                this.consumer.accept(new ChangeDelta<>(new DefaultChunk<>(this.old_ln - 1, new ArrayList<>(this.oldChunkLines)), new DefaultChunk<>(this.new_ln - 1, new ArrayList<>(this.newChunkLines))));
+                this.oldChunkLines.clear();
+                this.newChunkLines.clear();
+                this.inChunk = false;
+            }
         }
 
-        final String header = "@@ -" + origStart + "," + origTotal + " +" + revStart + "," + revTotal + " @@";
-        buffer.add(0, header);
-        return buffer;
+        private void add(final String tag, final String rest) {
+            if (tag.equals(" ") || tag.equals("-")) {
+                this.oldChunkLines.add(rest);
+                this.inChunk = true;
+            }
+            if (tag.equals(" ") || tag.equals("+")) {
+                this.newChunkLines.add(rest);
+                this.inChunk = true;
+            }
+        }
     }
 
     /**
-     * getDeltaText returns the lines to be added to the Unified Diff text from
-     * the Delta parameter
-     *
-     * @param delta the Delta to output
-     * @return list of String lines of code.
+     * Unified diff generator, keeps the lines of the current hunk and the last context lines of the original file only
      */
-    private static List<String> getDeltaText(final Delta<String> delta) {
-        final List<String> buffer = new ArrayList<>();
-        for (final String original : delta.getOriginal().getLines()) {
-            buffer.add("-" + original);
+    private static final class UnifiedDiffGenerator {
+        private final String original;
+        private final String revised;
+        private final Iterator<String> originalLines;
+        private final int contextSize;
+        private final LineWriter writer;
+        private final Deque<String> context = new ArrayDeque<>();
+        private final List<String> buffer = new ArrayList<>();
+        private boolean headerWritten;
+        private boolean inHunk;
+        private int line;
+        private int end;
+        private int origStart;
+        private int revStart;
+        private int origTotal;
+        private int revTotal;
+
+        UnifiedDiffGenerator(final String original, final String revised, final Iterator<String> originalLines, int contextSize, final LineWriter writer) {
+            this.original = original;
+            this.revised = revised;
+            this.originalLines = originalLines;
+            this.contextSize = contextSize;
+            this.writer = writer;
+        }
+
+        void accept(final Delta<String> delta) throws IOException {
+            final int position = delta.getOriginal().getPosition();
+            ValidationUtils.isTrue(position >= this.end, "Deltas should be ordered by original position");
+
+            if (!this.headerWritten) {
+                this.writer.write("--- " + this.original);
+                this.writer.write("+++ " + this.revised);
+                this.headerWritten = true;
+            }
+            if (this.inHunk && this.end + this.contextSize >= position - this.contextSize) {
+                while (this.line < position && this.originalLines.hasNext()) {
+                    this.addContext(this.nextLine());
+                }
+            } else {
+                this.finish();
+                this.context.clear();
+                while (this.line < position && this.originalLines.hasNext()) {
+                    this.context.addLast(this.nextLine());
+                    if (this.context.size() > this.contextSize) {
+                        this.context.removeFirst();
+                    }
+                }
+                this.origStart = Math.max(1, position + 1 - this.contextSize);
+                this.revStart = Math.max(1, delta.getRevised().getPosition() + 1 - this.contextSize);
+                this.inHunk = true;
+                for (final String value : this.context) {
+                    this.addContext(value);
+                }
+            }
+
+            for (final String value : delta.getOriginal().getLines()) {
+                this.buffer.add("-" + value);
+            }
+            for (final String value : delta.getRevised().getLines()) {
+                this.buffer.add("+" + value);
+            }
+            this.origTotal += delta.getOriginal().size();
+            this.revTotal += delta.getRevised().size();
+            this.end = position + delta.getOriginal().size();
+            for (int i = 0; i < delta.getOriginal().size() && this.originalLines.hasNext(); i++) {
+                this.nextLine();
+            }
+        }
+
+        void finish() throws IOException {
+            if (!this.inHunk) {
+                return;
+            }
+            for (int i = 0; i < this.contextSize && this.originalLines.hasNext(); i++) {
+                this.addContext(this.nextLine());
+            }
+            this.writer.write("@@ -" + this.origStart + "," + this.origTotal + " +" + this.revStart + "," + this.revTotal + " @@");
+            for (final String value : this.buffer) {
+                this.writer.write(value);
+            }
+            this.buffer.clear();
+            this.origTotal = 0;
+            this.revTotal = 0;
+            this.inHunk = false;
+        }
+
+        private String nextLine() {
+            this.line++;
+            return this.originalLines.next();
         }
-        for (final String original : delta.getRevised().getLines()) {
-            buffer.add("+" + original);
+
+        private void addContext(final String value) {
+            this.buffer.add(" " + value);
+            this.origTotal++;
+            this.revTotal++;
         }
-        return buffer;
     }
 
     public static BinaryDiffResult diff(final File actual, final byte[] expected) throws IOException {
@@ -335,13 +439,6 @@ public class DiffUtils {
     }
 
     public static BinaryDiffResult diff(final InputStream actualStream, final InputStream expectedStream) throws IOException {
-        int index = 0;
-        while (true) {
-            int actual = actualStream.read();
-            int expected = expectedStream.read();
-            if (actual == -1 && expected == -1) return BinaryDiffResult.noDiff();
-            if (actual != expected) return new BinaryDiffResult(index, expected, actual);
-            index += 1;
-        }
+        return new BinaryDiff().diff(actualStream, expectedStream);
     }
 }
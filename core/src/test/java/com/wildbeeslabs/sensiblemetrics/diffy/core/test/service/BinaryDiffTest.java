@@ -0,0 +1,169 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software andAll associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, andAll/or sell
+ * copies of the Software, andAll to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice andAll this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.core.test.service;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.core.entry.utils.BinaryDiffRangesResult;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.entry.utils.BinaryDiffResult;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.service.BinaryDiff;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * {@link BinaryDiff} unit test
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public class BinaryDiffTest {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    @DisplayName("Test no difference between equal streams")
+    public void test_noDiff_by_streams() throws IOException {
+        // given
+        final byte[] content = this.content(100_000);
+
+        // when
+        final BinaryDiffResult result = new BinaryDiff().diff(new ByteArrayInputStream(content), new ByteArrayInputStream(content.clone()));
+
+        // then
+        assertThat(result.hasNoDiff(), is(true));
+        assertThat(result.offset, equalTo(-1));
+        assertThat(result.getOffset(), equalTo(-1L));
+    }
+
+    @Test
+    @DisplayName("Test first difference between streams beyond the initial block")
+    public void test_firstDiff_by_streams() throws IOException {
+        // given
+        final byte[] expected = this.content(3 * (1 << 20));
+        final byte[] actual = expected.clone();
+        actual[1_500_000] = (byte) 0xAB;
+
+        // when
+        final BinaryDiffResult result = new BinaryDiff().diff(new ByteArrayInputStream(actual), new ByteArrayInputStream(expected));
+
+        // then
+        assertThat(result.hasNoDiff(), is(false));
+        assertThat(result.offset, equalTo(1_500_000));
+        assertThat(result.getOffset(), equalTo(1_500_000L));
+        assertThat(result.actual, equalTo("0xAB"));
+        assertThat(result.expected, equalTo("0x" + Integer.toHexString(expected[1_500_000] & 0xFF).toUpperCase()));
+    }
+
+    @Test
+    @DisplayName("Test difference between streams of different length is reported as EOF")
+    public void test_eofDiff_by_streams() throws IOException {
+        // given
+        final byte[] expected = this.content(10);
+        final byte[] actual = Arrays.copyOf(expected, 8);
+
+        // when
+        final BinaryDiffResult result = new BinaryDiff().diff(new ByteArrayInputStream(actual), new ByteArrayInputStream(expected));
+
+        // then
+        assertThat(result.offset, equalTo(8));
+        assertThat(result.actual, equalTo("EOF"));
+    }
+
+    @Test
+    @DisplayName("Test all differing ranges between files")
+    public void test_ranges_by_files() throws IOException {
+        // given
+        final byte[] expected = this.content(2 * (1 << 20) + 100);
+        final byte[] actual = Arrays.copyOf(expected, expected.length + 10);
+        for (int i = 10; i < 20; i++) {
+            actual[i] = (byte) ~actual[i];
+        }
+        for (int i = (1 << 20) - 5; i < (1 << 20) + 5; i++) {
+            actual[i] = (byte) ~actual[i];
+        }
+        actual[expected.length - 1] = (byte) ~actual[expected.length - 1];
+        final Path actualPath = this.write(actual);
+        final Path expectedPath = this.write(expected);
+
+        // when
+        final BinaryDiffRangesResult result = new BinaryDiff().diffAll(actualPath, expectedPath);
+        final BinaryDiffRangesResult limited = new BinaryDiff().diffAll(actualPath, expectedPath, 1);
+        final BinaryDiffResult first = new BinaryDiff().diff(actualPath, expectedPath);
+
+        // then
+        assertThat(result.ranges, hasSize(3));
+        this.assertRange(result.ranges.get(0), 10, 10);
+        this.assertRange(result.ranges.get(1), (1 << 20) - 5, 10);
+        this.assertRange(result.ranges.get(2), expected.length - 1, 11);
+        assertThat(result.expectedSize, equalTo((long) expected.length));
+        assertThat(result.actualSize, equalTo((long) actual.length));
+        assertThat(result.getOffset(), equalTo(10L));
+
+        assertThat(limited.ranges, hasSize(1));
+        this.assertRange(limited.ranges.get(0), 10, 10);
+        assertThat(first.getOffset(), equalTo(10L));
+    }
+
+    @Test
+    @DisplayName("Test no differing ranges between equal files")
+    public void test_noRanges_by_equalFiles() throws IOException {
+        // given
+        final byte[] content = this.content(1000);
+
+        // when
+        final BinaryDiffRangesResult result = new BinaryDiff().diffAll(this.write(content), this.write(content));
+
+        // then
+        assertThat(result.hasNoDiff(), is(true));
+        assertThat(result.ranges, is(empty()));
+    }
+
+    private void assertRange(final BinaryDiffRangesResult.Range range, long offset, long length) {
+        assertThat(range.offset, equalTo(offset));
+        assertThat(range.length, equalTo(length));
+    }
+
+    private Path write(final byte[] content) throws IOException {
+        return Files.write(this.folder.newFile().toPath(), content);
+    }
+
+    private byte[] content(int size) {
+        final byte[] result = new byte[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = (byte) (i * 31 + (i >>> 8));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software andAll associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, andAll/or sell
+ * copies of the Software, andAll to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice andAll this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.core.test.service;
+
+import com.google.common.collect.Lists;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Delta;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Patch;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.interfaces.DiffAlgorithm;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.service.DiffAlgorithmService;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.service.LinearSpaceDiffAlgorithmService;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.utils.DiffUtils;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * {@link DiffAlgorithm} implementations unit test
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public class DiffAlgorithmServiceTest {
+
+    /**
+     * Default original / revised sequences
+     */
+    private final List<String> original = Arrays.asList("{", "a", "b", "}", "", "{", "c", "}", "", "{", "d", "}");
+    private final List<String> revised = Arrays.asList("{", "a", "x", "}", "", "{", "d", "}", "", "{", "c", "}", "e");
+
+    @Test
+    @DisplayName("Test patch produced by default Myers algorithm restores revised sequence")
+    public void test_applyPatch_by_defaultAlgorithm() {
+        this.assertRoundTrip(new DiffAlgorithmService<>());
+    }
+
+    @Test
+    @DisplayName("Test patch produced by Myers algorithms with element interning restores revised sequence")
+    public void test_applyPatch_by_interningAlgorithm() {
+        this.assertRoundTrip(new DiffAlgorithmService<>(true));
+        this.assertRoundTrip(new LinearSpaceDiffAlgorithmService<>(true));
+    }
+
+    @Test
+    @DisplayName("Test Myers algorithms produce the same deltas with and without element interning")
+    public void test_deltas_by_interningAlgorithm() {
+        final Random random = new Random(17);
+        for (int i = 0; i < 500; i++) {
+            // given
+            final List<String> first = this.randomStrings(random);
+            final List<String> last = this.randomStrings(random);
+
+            // when
+            final Patch<String> expected = DiffUtils.diff(first, last, new DiffAlgorithmService<>());
+            final Patch<String> interned = DiffUtils.diff(first, last, new DiffAlgorithmService<>(true));
+            final Patch<String> linear = DiffUtils.diff(first, last, new LinearSpaceDiffAlgorithmService<>());
+            final Patch<String> linearInterned = DiffUtils.diff(first, last, new LinearSpaceDiffAlgorithmService<>(true));
+
+            // then
+            assertThat(interned.getDeltas(), equalTo(expected.getDeltas()));
+            assertThat(linearInterned.getDeltas(), equalTo(linear.getDeltas()));
+        }
+    }
+
+    @Test
+    @DisplayName("Test deltas are sorted by original position")
+    public void test_sortedDeltas_by_defaultAlgorithm() {
+        // when
+        final List<Delta<String>> deltas = DiffUtils.diff(this.original, this.revised).getDeltas();
+
+        // then
+        assertThat(deltas, hasSize(greaterThan(1)));
+        for (int i = 1; i < deltas.size(); i++) {
+            assertThat(deltas.get(i).getOriginal().getPosition(), greaterThan(deltas.get(i - 1).getOriginal().getPosition()));
+        }
+    }
+
+    private void assertRoundTrip(final DiffAlgorithm<String> algorithm) {
+        // when
+        final Patch<String> patch = DiffUtils.diff(this.original, this.revised, algorithm);
+
+        // then
+        assertThat(patch.getDeltas(), is(not(empty())));
+        assertThat(Lists.newArrayList(patch.applyTo(this.original)), equalTo(this.revised));
+    }
+
+    private List<String> randomStrings(final Random random) {
+        final int size = random.nextInt(40);
+        final List<String> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(String.valueOf(random.nextInt(4)));
+        }
+        return result;
+    }
+}
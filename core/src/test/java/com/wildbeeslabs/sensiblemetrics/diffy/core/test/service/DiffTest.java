@@ -0,0 +1,161 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software andAll associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, andAll/or sell
+ * copies of the Software, andAll to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice andAll this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.core.test.service;
+
+import com.google.common.collect.Lists;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Delta;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.impl.DefaultPatch;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.service.Diff;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * {@link Diff} unit test
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public class DiffTest {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    @DisplayName("Test streamed deltas restore actual file lines")
+    public void test_applyDeltas_by_stream() throws IOException {
+        final Random random = new Random(17);
+        for (int i = 0; i < 50; i++) {
+            // given
+            final List<String> expected = this.randomLines(random);
+            final List<String> actual = this.randomLines(random);
+
+            // when
+            final List<Delta<String>> deltas = this.streamDeltas(new Diff(), actual, expected);
+
+            // then
+            assertThat(this.applyTo(expected, deltas), equalTo(actual));
+            for (int j = 1; j < deltas.size(); j++) {
+                assertThat(deltas.get(j).getOriginal().getPosition(), greaterThan(deltas.get(j - 1).getOriginal().getPosition()));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test streamed deltas are empty for equal files")
+    public void test_noDeltas_by_stream_on_equalFiles() throws IOException {
+        // given
+        final List<String> lines = Arrays.asList("{", "a", "}", "", "{", "b", "}");
+
+        // then
+        assertThat(this.streamDeltas(new Diff(), lines, lines), is(empty()));
+    }
+
+    @Test
+    @DisplayName("Test streamed deltas report lines with colliding fingerprints as changes")
+    public void test_changeDelta_by_stream_on_fingerprintCollision() throws IOException {
+        // given
+        final Diff diff = new Diff() {
+            @Override
+            protected long fingerprint(final String line) {
+                return line.length();
+            }
+        };
+
+        // when
+        final List<Delta<String>> single = this.streamDeltas(diff, Arrays.asList("a", "cc", "d"), Arrays.asList("a", "bb", "d"));
+        final List<Delta<String>> merged = this.streamDeltas(diff, Arrays.asList("y", "cc", "d", "e"), Arrays.asList("x", "bb", "d"));
+
+        // then
+        assertThat(single, hasSize(1));
+        assertThat(single.get(0).getType(), equalTo(Delta.TYPE.CHANGE));
+        assertThat(single.get(0).getOriginal().getPosition(), equalTo(1));
+        assertThat(single.get(0).getOriginal().getLines(), equalTo(Arrays.asList("bb")));
+        assertThat(single.get(0).getRevised().getLines(), equalTo(Arrays.asList("cc")));
+
+        assertThat(merged, hasSize(2));
+        assertThat(merged.get(0).getOriginal().getLines(), equalTo(Arrays.asList("x", "bb")));
+        assertThat(merged.get(0).getRevised().getLines(), equalTo(Arrays.asList("y", "cc")));
+        assertThat(merged.get(1).getType(), equalTo(Delta.TYPE.INSERT));
+        assertThat(this.applyTo(Arrays.asList("x", "bb", "d"), merged), equalTo(Arrays.asList("y", "cc", "d", "e")));
+    }
+
+    @Test
+    @DisplayName("Test streamed deltas are passed to consumer")
+    public void test_consumeDeltas_by_diff() throws IOException {
+        // given
+        final Path actual = this.write(Arrays.asList("a", "b", "c"));
+        final Path expected = this.write(Arrays.asList("a", "c"));
+        final List<Delta<String>> deltas = new ArrayList<>();
+
+        // when
+        new Diff().diff(actual, StandardCharsets.UTF_8, expected, StandardCharsets.UTF_8, deltas::add);
+
+        // then
+        assertThat(deltas, hasSize(1));
+        assertThat(deltas.get(0).getType(), equalTo(Delta.TYPE.INSERT));
+        assertThat(deltas.get(0).getRevised().getLines(), equalTo(Arrays.asList("b")));
+    }
+
+    private List<Delta<String>> streamDeltas(final Diff diff, final List<String> actual, final List<String> expected) throws IOException {
+        try (final Stream<Delta<String>> stream = diff.stream(this.write(actual), StandardCharsets.UTF_8, this.write(expected), StandardCharsets.UTF_8)) {
+            return stream.collect(Collectors.toList());
+        }
+    }
+
+    private List<String> applyTo(final List<String> target, final List<Delta<String>> deltas) {
+        final DefaultPatch<String> patch = new DefaultPatch<>();
+        deltas.forEach(patch::addDelta);
+        return Lists.newArrayList(patch.applyTo(target));
+    }
+
+    private Path write(final List<String> lines) throws IOException {
+        return Files.write(this.folder.newFile().toPath(), lines, StandardCharsets.UTF_8);
+    }
+
+    private List<String> randomLines(final Random random) {
+        final int size = random.nextInt(60);
+        final List<String> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(String.valueOf(random.nextInt(5)));
+        }
+        return result;
+    }
+}
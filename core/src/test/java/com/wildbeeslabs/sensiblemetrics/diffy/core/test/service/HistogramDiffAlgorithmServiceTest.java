@@ -0,0 +1,122 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software andAll associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, andAll/or sell
+ * copies of the Software, andAll to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice andAll this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.core.test.service;
+
+import com.google.common.collect.Lists;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Delta;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Patch;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.service.HistogramDiffAlgorithmService;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.utils.DiffUtils;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * {@link HistogramDiffAlgorithmService} unit test
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public class HistogramDiffAlgorithmServiceTest {
+
+    /**
+     * Default original / revised sequences
+     */
+    private final List<String> original = Arrays.asList("{", "a", "b", "}", "", "{", "c", "}", "", "{", "d", "}");
+    private final List<String> revised = Arrays.asList("{", "a", "x", "}", "", "{", "d", "}", "", "{", "c", "}", "e");
+
+    @Test
+    @DisplayName("Test patch produced by histogram algorithm restores revised sequence")
+    public void test_applyPatch_by_histogramAlgorithm() {
+        this.assertRoundTrip(new HistogramDiffAlgorithmService<>());
+        this.assertRoundTrip(new HistogramDiffAlgorithmService<>(1));
+    }
+
+    @Test
+    @DisplayName("Test patch produced by histogram algorithm restores revised sequence with repeated elements")
+    public void test_applyPatch_by_histogramAlgorithm_with_repeatedElements() {
+        final Random random = new Random(17);
+        for (final int maxChainLength : new int[]{1, 2, HistogramDiffAlgorithmService.DEFAULT_MAX_CHAIN_LENGTH}) {
+            for (int i = 0; i < 200; i++) {
+                final List<Integer> first = this.randomList(random);
+                final List<Integer> last = this.randomList(random);
+
+                // when
+                final Patch<Integer> patch = DiffUtils.diff(first, last, new HistogramDiffAlgorithmService<>(maxChainLength));
+
+                // then
+                assertThat(Lists.newArrayList(patch.applyTo(first)), equalTo(last));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test histogram algorithm produces no deltas for equal sequences")
+    public void test_noDeltas_by_histogramAlgorithm_on_equalSequences() {
+        assertThat(DiffUtils.diff(this.original, this.original, new HistogramDiffAlgorithmService<>()).getDeltas(), is(empty()));
+    }
+
+    @Test
+    @DisplayName("Test histogram algorithm produces single change delta for sequences without common elements")
+    public void test_changeDelta_by_histogramAlgorithm_on_distinctSequences() {
+        // when
+        final List<Delta<String>> deltas = DiffUtils.diff(Arrays.asList("a", "b"), Arrays.asList("c", "d", "e"), new HistogramDiffAlgorithmService<>()).getDeltas();
+
+        // then
+        assertThat(deltas, hasSize(1));
+        assertThat(deltas.get(0).getType(), equalTo(Delta.TYPE.CHANGE));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    @DisplayName("Test histogram algorithm rejects non-positive max chain length")
+    public void test_invalidMaxChainLength_by_histogramAlgorithm() {
+        new HistogramDiffAlgorithmService<>(0);
+    }
+
+    private void assertRoundTrip(final HistogramDiffAlgorithmService<String> algorithm) {
+        // when
+        final Patch<String> patch = DiffUtils.diff(this.original, this.revised, algorithm);
+
+        // then
+        assertThat(patch.getDeltas(), is(not(empty())));
+        assertThat(Lists.newArrayList(patch.applyTo(this.original)), equalTo(this.revised));
+    }
+
+    private List<Integer> randomList(final Random random) {
+        final int size = random.nextInt(40);
+        final List<Integer> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(random.nextInt(4));
+        }
+        return result;
+    }
+}
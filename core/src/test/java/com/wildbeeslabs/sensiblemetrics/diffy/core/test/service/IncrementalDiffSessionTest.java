@@ -0,0 +1,192 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software andAll associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, andAll/or sell
+ * copies of the Software, andAll to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice andAll this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.core.test.service;
+
+import com.google.common.collect.Lists;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Delta;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Patch;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.service.IncrementalDiffSession;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.utils.DiffUtils;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * {@link IncrementalDiffSession} unit test
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public class IncrementalDiffSessionTest {
+
+    @Test
+    @DisplayName("Test incremental session patch round trip after revision edits")
+    public void test_roundTrip_by_incrementalSession() {
+        // given
+        final Random random = new Random(17);
+        for (int i = 0; i < 50; i++) {
+            final List<Integer> first = this.randomList(random);
+            final IncrementalDiffSession<Integer> session = new IncrementalDiffSession<>(first, first);
+            assertThat(session.getPatch().getDeltas(), is(empty()));
+
+            for (int j = 0; j < 10; j++) {
+                // when
+                final int from = random.nextInt(session.getRevision().size() + 1);
+                final int to = from + random.nextInt(session.getRevision().size() - from + 1);
+                final Patch<Integer> patch = session.replace(from, to, Arrays.asList(random.nextInt(4), random.nextInt(4)).subList(0, random.nextInt(3)));
+
+                // then
+                assertThat(Lists.newArrayList(patch.applyTo(first)), equalTo(session.getRevision()));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test incremental session reuses deltas before the edit and shifts deltas after it")
+    public void test_reusedDeltas_by_incrementalSession() {
+        // given
+        final List<Integer> baseline = this.sequence(20);
+        final List<Integer> revision = new ArrayList<>(baseline);
+        revision.set(2, 100);
+        revision.set(15, 101);
+        final IncrementalDiffSession<Integer> session = new IncrementalDiffSession<>(baseline, revision);
+        final List<Delta<Integer>> previous = session.getPatch().getDeltas();
+
+        // when
+        final List<Delta<Integer>> deltas = session.replace(8, 9, Arrays.asList(200, 201)).getDeltas();
+
+        // then
+        assertThat(previous, hasSize(2));
+        assertThat(deltas, hasSize(3));
+        assertThat(deltas.get(0), sameInstance(previous.get(0)));
+        assertThat(deltas.get(1).getOriginal().getPosition(), equalTo(8));
+        assertThat(deltas.get(1).getOriginal().getLines(), contains(8));
+        assertThat(deltas.get(1).getRevised().getPosition(), equalTo(8));
+        assertThat(deltas.get(1).getRevised().getLines(), contains(200, 201));
+        assertThat(deltas.get(2).getOriginal(), sameInstance(previous.get(1).getOriginal()));
+        assertThat(deltas.get(2).getRevised().getPosition(), equalTo(16));
+        assertThat(deltas.get(2).getRevised().getLines(), contains(101));
+    }
+
+    @Test
+    @DisplayName("Test incremental session merges an edit adjoining an existing delta")
+    public void test_adjoiningEdit_by_incrementalSession() {
+        // given
+        final List<String> baseline = Arrays.asList("a", "b", "c", "d", "e", "f");
+        final IncrementalDiffSession<String> session = new IncrementalDiffSession<>(baseline, Arrays.asList("a", "X", "c", "d", "e", "f"));
+
+        // when
+        final List<Delta<String>> after = session.replace(2, 3, Collections.singletonList("Y")).getDeltas();
+        final List<Delta<String>> before = session.replace(0, 1, Collections.singletonList("Z")).getDeltas();
+
+        // then
+        assertThat(after, hasSize(1));
+        assertThat(after.get(0).getOriginal().getPosition(), equalTo(1));
+        assertThat(after.get(0).getOriginal().getLines(), contains("b", "c"));
+        assertThat(after.get(0).getRevised().getLines(), contains("X", "Y"));
+        assertThat(before, hasSize(1));
+        assertThat(before.get(0).getOriginal().getPosition(), equalTo(0));
+        assertThat(before.get(0).getOriginal().getLines(), contains("a", "b", "c"));
+        assertThat(before.get(0).getRevised().getLines(), contains("Z", "X", "Y"));
+        assertThat(before, equalTo(DiffUtils.diff(baseline, session.getRevision()).getDeltas()));
+    }
+
+    @Test
+    @DisplayName("Test incremental session patch equals a fresh full diff after a sequence of edits")
+    public void test_freshDiff_by_incrementalSession() {
+        final Random random = new Random(17);
+        for (int i = 0; i < 100; i++) {
+            // given
+            final List<Integer> baseline = this.sequence(random.nextInt(60));
+            final IncrementalDiffSession<Integer> session = new IncrementalDiffSession<>(baseline, baseline);
+            int fresh = 1000;
+
+            // when
+            for (int j = 0; j < 20; j++) {
+                final int size = session.getRevision().size();
+                final int from = random.nextInt(size + 1);
+                final int to = from + random.nextInt(Math.min(3, size - from) + 1);
+                final List<Integer> replacement = new ArrayList<>();
+                for (int k = random.nextInt(3); k > 0; k--) {
+                    replacement.add(fresh++);
+                }
+                session.replace(from, to, replacement);
+            }
+
+            // then
+            final Patch<Integer> expected = DiffUtils.diff(baseline, new ArrayList<>(session.getRevision()));
+            assertThat(session.getPatch().getDeltas(), equalTo(expected.getDeltas()));
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    @DisplayName("Test incremental session rejects negative range start")
+    public void test_negativeStart_by_incrementalSession() {
+        new IncrementalDiffSession<>(this.sequence(5), this.sequence(5)).replace(-1, 2, Collections.emptyList());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    @DisplayName("Test incremental session rejects range end past the revision")
+    public void test_rangeEnd_by_incrementalSession() {
+        new IncrementalDiffSession<>(this.sequence(5), this.sequence(5)).replace(3, 6, Collections.emptyList());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    @DisplayName("Test incremental session rejects reversed range")
+    public void test_reversedRange_by_incrementalSession() {
+        new IncrementalDiffSession<>(this.sequence(5), this.sequence(5)).replace(3, 2, Collections.emptyList());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    @DisplayName("Test incremental session rejects null replacement")
+    public void test_nullReplacement_by_incrementalSession() {
+        new IncrementalDiffSession<>(this.sequence(5), this.sequence(5)).replace(0, 1, null);
+    }
+
+    private List<Integer> sequence(int size) {
+        final List<Integer> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(i);
+        }
+        return result;
+    }
+
+    private List<Integer> randomList(final Random random) {
+        final int size = random.nextInt(40);
+        final List<Integer> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(random.nextInt(4));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software andAll associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, andAll/or sell
+ * copies of the Software, andAll to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice andAll this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.core.test.service;
+
+import com.google.common.collect.Lists;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Patch;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.service.DiffAlgorithmService;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.service.LinearSpaceDiffAlgorithmService;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.utils.DiffUtils;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * {@link LinearSpaceDiffAlgorithmService} unit test
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public class LinearSpaceDiffAlgorithmServiceTest {
+
+    /**
+     * Default original / revised sequences
+     */
+    private final List<String> original = Arrays.asList("{", "a", "b", "}", "", "{", "c", "}", "", "{", "d", "}");
+    private final List<String> revised = Arrays.asList("{", "a", "x", "}", "", "{", "d", "}", "", "{", "c", "}", "e");
+
+    @Test
+    @DisplayName("Test patch produced by linear-space Myers algorithm restores revised sequence")
+    public void test_applyPatch_by_linearSpaceAlgorithm() {
+        // when
+        final Patch<String> patch = DiffUtils.diff(this.original, this.revised, new LinearSpaceDiffAlgorithmService<>());
+
+        // then
+        assertThat(patch.getDeltas(), is(not(empty())));
+        assertThat(Lists.newArrayList(patch.applyTo(this.original)), equalTo(this.revised));
+    }
+
+    @Test
+    @DisplayName("Test linear-space Myers algorithm produces the same deltas as default Myers algorithm")
+    public void test_deltas_by_linearSpaceAlgorithm() {
+        final Random random = new Random(17);
+        for (int i = 0; i < 500; i++) {
+            final List<Integer> first = this.randomList(random);
+            final List<Integer> last = this.randomList(random);
+
+            // when
+            final Patch<Integer> expected = DiffUtils.diff(first, last, new DiffAlgorithmService<>());
+            final Patch<Integer> actual = DiffUtils.diff(first, last, new LinearSpaceDiffAlgorithmService<>());
+
+            // then
+            assertThat(actual.getDeltas(), equalTo(expected.getDeltas()));
+            assertThat(Lists.newArrayList(actual.applyTo(first)), equalTo(last));
+        }
+    }
+
+    @Test
+    @DisplayName("Test linear-space Myers algorithm produces the same deltas as default Myers algorithm on empty sequences")
+    public void test_deltas_by_linearSpaceAlgorithm_on_emptySequences() {
+        final List<String> empty = Collections.emptyList();
+
+        assertThat(DiffUtils.diff(empty, empty, new LinearSpaceDiffAlgorithmService<>()).getDeltas(), is(empty()));
+        assertThat(DiffUtils.diff(empty, this.revised, new LinearSpaceDiffAlgorithmService<>()).getDeltas(),
+            equalTo(DiffUtils.diff(empty, this.revised, new DiffAlgorithmService<>()).getDeltas()));
+        assertThat(DiffUtils.diff(this.original, empty, new LinearSpaceDiffAlgorithmService<>()).getDeltas(),
+            equalTo(DiffUtils.diff(this.original, empty, new DiffAlgorithmService<>()).getDeltas()));
+    }
+
+    private List<Integer> randomList(final Random random) {
+        final int size = random.nextInt(40);
+        final List<Integer> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(random.nextInt(4));
+        }
+        return result;
+    }
+}
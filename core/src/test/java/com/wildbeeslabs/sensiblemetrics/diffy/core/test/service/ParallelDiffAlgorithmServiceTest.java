@@ -0,0 +1,183 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software andAll associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, andAll/or sell
+ * copies of the Software, andAll to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice andAll this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.core.test.service;
+
+import com.google.common.collect.Lists;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Patch;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.service.DiffAlgorithmService;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.service.ParallelDiffAlgorithmService;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.utils.DiffUtils;
+import org.junit.AfterClass;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * {@link ParallelDiffAlgorithmService} unit test
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public class ParallelDiffAlgorithmServiceTest {
+
+    /**
+     * Default {@link ForkJoinPool}
+     */
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+    @AfterClass
+    public static void tearDown() {
+        POOL.shutdown();
+    }
+
+    @Test
+    @DisplayName("Test patch produced by parallel algorithm restores revised sequence")
+    public void test_applyPatch_by_parallelAlgorithm() {
+        final Random random = new Random(17);
+        for (final int threshold : new int[]{1, 64, ParallelDiffAlgorithmService.DEFAULT_THRESHOLD}) {
+            for (int i = 0; i < 50; i++) {
+                // given
+                final List<Integer> first = this.randomList(random, 500);
+                final List<Integer> last = this.edit(random, first);
+
+                // when
+                final Patch<Integer> patch = DiffUtils.diff(first, last, new ParallelDiffAlgorithmService<>(POOL, threshold));
+
+                // then
+                assertThat(Lists.newArrayList(patch.applyTo(first)), equalTo(last));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test parallel algorithm produces the same deltas as default Myers algorithm below threshold")
+    public void test_deltas_by_parallelAlgorithm_below_threshold() {
+        final Random random = new Random(17);
+        for (int i = 0; i < 500; i++) {
+            // given
+            final List<Integer> first = this.randomList(random, random.nextInt(60), 5);
+            final List<Integer> last = this.randomList(random, random.nextInt(60), 5);
+
+            // when
+            final Patch<Integer> expected = DiffUtils.diff(first, last, new DiffAlgorithmService<>());
+            final Patch<Integer> actual = DiffUtils.diff(first, last, new ParallelDiffAlgorithmService<>(POOL, ParallelDiffAlgorithmService.DEFAULT_THRESHOLD));
+
+            // then
+            assertThat(actual.getDeltas(), equalTo(expected.getDeltas()));
+        }
+    }
+
+    @Test
+    @DisplayName("Test parallel algorithm produces the same deltas as default Myers algorithm above threshold on unique common subsequence")
+    public void test_deltas_by_parallelAlgorithm_above_threshold() {
+        final Random random = new Random(17);
+        for (int i = 0; i < 100; i++) {
+            // given
+            final List<Integer> first = new ArrayList<>(500);
+            for (int k = 0; k < 500; k++) {
+                first.add(k);
+            }
+            Collections.shuffle(first, random);
+            final List<Integer> last = new ArrayList<>(first);
+            int fresh = first.size();
+            final int edits = random.nextInt(50);
+            for (int k = 0; k < edits && !last.isEmpty(); k++) {
+                final int position = random.nextInt(last.size());
+                switch (random.nextInt(3)) {
+                    case 0:
+                        last.add(position, fresh++);
+                        break;
+                    case 1:
+                        last.remove(position);
+                        break;
+                    default:
+                        last.set(position, fresh++);
+                }
+            }
+
+            // when
+            final Patch<Integer> expected = DiffUtils.diff(first, last, new DiffAlgorithmService<>());
+            final Patch<Integer> actual = DiffUtils.diff(first, last, new ParallelDiffAlgorithmService<>(POOL, 1));
+
+            // then
+            assertThat(actual.getDeltas(), equalTo(expected.getDeltas()));
+        }
+    }
+
+    @Test
+    @DisplayName("Test parallel algorithm produces no deltas for equal sequences")
+    public void test_noDeltas_by_parallelAlgorithm_on_equalSequences() {
+        // given
+        final List<Integer> list = this.randomList(new Random(17), 1000);
+
+        // then
+        assertThat(DiffUtils.diff(list, list, new ParallelDiffAlgorithmService<>(POOL, 1)).getDeltas(), is(empty()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    @DisplayName("Test parallel algorithm rejects non-positive threshold")
+    public void test_invalidThreshold_by_parallelAlgorithm() {
+        new ParallelDiffAlgorithmService<>(POOL, 0);
+    }
+
+    private List<Integer> randomList(final Random random, int size) {
+        return this.randomList(random, size, size);
+    }
+
+    private List<Integer> randomList(final Random random, int size, int bound) {
+        final List<Integer> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(random.nextInt(bound));
+        }
+        return result;
+    }
+
+    private List<Integer> edit(final Random random, final List<Integer> list) {
+        final List<Integer> result = new ArrayList<>(list);
+        final int edits = random.nextInt(50);
+        for (int i = 0; i < edits && !result.isEmpty(); i++) {
+            final int position = random.nextInt(result.size());
+            switch (random.nextInt(3)) {
+                case 0:
+                    result.add(position, random.nextInt(list.size()));
+                    break;
+                case 1:
+                    result.remove(position);
+                    break;
+                default:
+                    result.set(position, random.nextInt(list.size()));
+            }
+        }
+        return result;
+    }
+}
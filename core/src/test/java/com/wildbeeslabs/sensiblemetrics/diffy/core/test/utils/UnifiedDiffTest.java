@@ -0,0 +1,145 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software andAll associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, andAll/or sell
+ * copies of the Software, andAll to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice andAll this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.core.test.utils;
+
+import com.google.common.collect.Lists;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Delta;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.impl.DefaultPatch;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.utils.DiffUtils;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * {@link DiffUtils} unified diff unit test
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public class UnifiedDiffTest {
+
+    @Test
+    @DisplayName("Test streamed unified diff equals unified diff lines")
+    public void test_generateUnifiedDiff_by_writer() throws IOException {
+        final Random random = new Random(31);
+        for (int i = 0; i < 100; i++) {
+            // given
+            final List<String> original = this.randomLines(random);
+            final List<String> revised = this.randomLines(random);
+            final DefaultPatch<String> patch = (DefaultPatch<String>) DiffUtils.diff(original, revised);
+            final int contextSize = random.nextInt(4);
+
+            // when
+            final List<String> expected = DiffUtils.generateUnifiedDiff("a.txt", "b.txt", original, patch, contextSize);
+            final String actual = this.generate(original, patch, contextSize);
+
+            // then
+            assertThat(actual, equalTo(this.join(expected)));
+        }
+    }
+
+    @Test
+    @DisplayName("Test streamed unified diff parses to the same deltas as unified diff lines")
+    public void test_parseUnifiedDiff_by_reader() throws IOException {
+        final Random random = new Random(37);
+        for (int i = 0; i < 100; i++) {
+            // given
+            final List<String> original = this.randomLines(random);
+            final List<String> revised = this.randomLines(random);
+            final DefaultPatch<String> patch = (DefaultPatch<String>) DiffUtils.diff(original, revised);
+            final String diff = this.generate(original, patch, 1 + random.nextInt(3));
+            final List<Delta<String>> deltas = new ArrayList<>();
+
+            // when
+            DiffUtils.parseUnifiedDiff(new StringReader(diff), deltas::add);
+            final DefaultPatch<String> expected = DiffUtils.parseUnifiedDiff(Arrays.asList(diff.split("\n")));
+
+            // then
+            assertThat(deltas, equalTo(expected.getDeltas()));
+            assertThat(Lists.newArrayList(this.patchOf(deltas).applyTo(original)), equalTo(revised));
+        }
+    }
+
+    @Test
+    @DisplayName("Test streamed unified diff is empty for equal lines")
+    public void test_generateUnifiedDiff_by_writer_on_equalLines() throws IOException {
+        // given
+        final List<String> lines = Arrays.asList("a", "b", "c");
+
+        // when
+        final String diff = this.generate(lines, (DefaultPatch<String>) DiffUtils.diff(lines, lines), 3);
+
+        // then
+        assertThat(diff, isEmptyString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    @DisplayName("Test streamed unified diff rejects unordered deltas")
+    public void test_generateUnifiedDiff_by_writer_on_unorderedDeltas() throws IOException {
+        // given
+        final List<String> original = Arrays.asList("a", "b", "c", "d");
+        final List<Delta<String>> deltas = DiffUtils.diff(original, Arrays.asList("x", "b", "c", "y")).getDeltas();
+
+        // when
+        DiffUtils.generateUnifiedDiff("a.txt", "b.txt", new StringReader(this.join(original)), Lists.reverse(deltas).iterator(), 0, new StringWriter());
+    }
+
+    private String generate(final List<String> original, final DefaultPatch<String> patch, int contextSize) throws IOException {
+        final StringWriter writer = new StringWriter();
+        DiffUtils.generateUnifiedDiff("a.txt", "b.txt", new StringReader(this.join(original)), patch.getDeltas().iterator(), contextSize, writer);
+        return writer.toString();
+    }
+
+    private DefaultPatch<String> patchOf(final List<Delta<String>> deltas) {
+        final DefaultPatch<String> patch = new DefaultPatch<>();
+        deltas.forEach(patch::addDelta);
+        return patch;
+    }
+
+    private String join(final List<String> lines) {
+        final StringBuilder result = new StringBuilder();
+        lines.forEach(line -> result.append(line).append('\n'));
+        return result.toString();
+    }
+
+    private List<String> randomLines(final Random random) {
+        final int size = random.nextInt(40);
+        final List<String> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(String.valueOf(random.nextInt(5)));
+        }
+        return result;
+    }
+}
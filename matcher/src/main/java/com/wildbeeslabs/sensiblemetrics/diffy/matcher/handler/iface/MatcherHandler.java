@@ -39,4 +39,14 @@ public interface MatcherHandler<T, S> {
      * @param event - initial input event {@link E} to handle
      */
     <E extends BaseMatcherEvent<T, S>> void handleEvent(final E event);
+
+    /**
+     * Returns binary flag whether events are only used to notify matcher listeners,
+     * so matchers without listeners may skip creating events at all
+     *
+     * @return true - if events are only delivered to matcher listeners, false - otherwise
+     */
+    default boolean isListenerOnly() {
+        return false;
+    }
 }
@@ -0,0 +1,213 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software andAll associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, andAll/or sell
+ * copies of the Software, andAll to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice andAll this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.matcher.handler.impl;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ValidationUtils;
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.event.BaseMatcherEvent;
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.handler.iface.MatcherHandler;
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.listener.iface.MatcherEventListener;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.wildbeeslabs.sensiblemetrics.diffy.common.utils.StringUtils.formatMessage;
+
+/**
+ * Asynchronous {@link MatcherHandler} implementation
+ * <p>
+ * Matching threads publish events into a bounded lock-free ring buffer and return immediately;
+ * a single daemon thread drains the buffer and notifies the listeners of each event's matcher in publication order.
+ * If the buffer is full the event is dropped and counted rather than blocking the matching thread.
+ *
+ * @param <T> type of input element to be matched by operation
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+@Slf4j
+public class AsyncMatcherHandler<T, S> implements MatcherHandler<T, S>, AutoCloseable {
+
+    /**
+     * Default ring buffer capacity
+     */
+    public static final int DEFAULT_CAPACITY = 1 << 12;
+    /**
+     * Default consumer idle park time (in nanos)
+     */
+    private static final long IDLE_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    /**
+     * Default ring buffer of published events
+     */
+    private final AtomicReferenceArray<BaseMatcherEvent<T, S>> buffer;
+    private final int mask;
+    /**
+     * Default next sequence to be claimed by producers
+     */
+    private final AtomicLong producerIndex = new AtomicLong();
+    /**
+     * Default next sequence to be consumed, written by consumer thread only
+     */
+    private volatile long consumerIndex;
+    /**
+     * Default dropped events counter
+     */
+    private final LongAdder dropped = new LongAdder();
+    /**
+     * Default consumer {@link Thread}
+     */
+    private final Thread consumer;
+    private volatile boolean running = true;
+
+    /**
+     * Default asynchronous matcher handler constructor
+     */
+    public AsyncMatcherHandler() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Default asynchronous matcher handler constructor by input ring buffer capacity
+     *
+     * @param capacity - initial input ring buffer capacity, rounded up to a power of two
+     */
+    public AsyncMatcherHandler(final int capacity) {
+        ValidationUtils.isTrue(capacity > 0 && capacity <= (1 << 30), "Capacity should be in range (0, 2^30]");
+        final int size = (capacity == 1) ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.buffer = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        this.consumer = new Thread(this::drain, "matcher-event-dispatcher");
+        this.consumer.setDaemon(true);
+        this.consumer.start();
+    }
+
+    /**
+     * {@link BaseMatcherEvent} handler by input event {@code E}, publishes event to ring buffer
+     *
+     * @param <E>   type of processing event
+     * @param event - initial input event {@link E} to handle
+     */
+    @Override
+    public <E extends BaseMatcherEvent<T, S>> void handleEvent(final E event) {
+        if (Objects.isNull(event) || !event.getMatcher().isEnable() || !this.running) {
+            return;
+        }
+        if (!this.offer(event)) {
+            this.dropped.increment();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Events are only delivered to matcher listeners.
+     */
+    @Override
+    public boolean isListenerOnly() {
+        return true;
+    }
+
+    /**
+     * Returns number of events dropped due to full ring buffer
+     *
+     * @return number of dropped events
+     */
+    public long getDroppedCount() {
+        return this.dropped.sum();
+    }
+
+    /**
+     * Returns number of events published but not yet delivered
+     *
+     * @return number of pending events
+     */
+    public long getPendingCount() {
+        return Math.max(0, this.producerIndex.get() - this.consumerIndex);
+    }
+
+    /**
+     * Stops accepting events, delivers pending ones and waits for the consumer thread to finish,
+     * events published concurrently with closing may be discarded
+     */
+    @Override
+    public void close() {
+        this.running = false;
+        LockSupport.unpark(this.consumer);
+        try {
+            this.consumer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean offer(final BaseMatcherEvent<T, S> event) {
+        long index;
+        do {
+            index = this.producerIndex.get();
+            if (index - this.consumerIndex > this.mask) {
+                return false;
+            }
+        } while (!this.producerIndex.compareAndSet(index, index + 1));
+        this.buffer.set((int) index & this.mask, event);
+        return true;
+    }
+
+    private void drain() {
+        while (true) {
+            final long index = this.consumerIndex;
+            final int slot = (int) index & this.mask;
+            final BaseMatcherEvent<T, S> event = this.buffer.get(slot);
+            if (Objects.isNull(event)) {
+                if (index == this.producerIndex.get()) {
+                    if (!this.running) {
+                        return;
+                    }
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                } else {
+                    // slot claimed by a producer but not published yet
+                    Thread.onSpinWait();
+                }
+                continue;
+            }
+            this.buffer.lazySet(slot, null);
+            this.consumerIndex = index + 1;
+            this.deliver(event);
+        }
+    }
+
+    private void deliver(final BaseMatcherEvent<T, S> event) {
+        for (final MatcherEventListener<T, S> listener : event.getMatcher().<MatcherEventListener<T, S>>getListeners()) {
+            try {
+                listener.onEvent(event);
+            } catch (RuntimeException e) {
+                log.error(formatMessage("ERROR: cannot deliver event = {%s}, message = {%s}", event, e.getMessage()));
+            }
+        }
+    }
+}
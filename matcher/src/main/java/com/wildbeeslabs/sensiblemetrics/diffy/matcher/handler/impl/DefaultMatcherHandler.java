@@ -120,35 +120,16 @@ public class DefaultMatcherHandler<T, S> implements MatcherHandler<T, S> {
      * @param listener - initial input {@link MatcherEventListener}
      */
     private <E extends BaseMatcherEvent<T, S>> void invokeEventListener(final E event, final MatcherEventListener<T, S> listener) {
-        //synchronized (this.mutex) {
-        switch (event.getStateType()) {
-            case MATCH_SUCCESS:
-                listener.onSuccess(event);
-                break;
-            case MATCH_FAILURE:
-                listener.onFailure(event);
-                break;
-            case MATCH_SKIP:
-                listener.onSkip(event);
-                break;
-            case MATCH_ERROR:
-                listener.onError(event);
-                break;
-            case MATCH_START:
-                listener.onStart(event);
-                break;
-            case MATCH_COMPLETE:
-                listener.onComplete(event);
-                break;
-            case MATCH_BEFORE:
-                listener.onBefore(event);
-                break;
-            case MATCH_AFTER:
-                listener.onAfter(event);
-                break;
-            default:
-                break;
-        }
-        // }
+        listener.onEvent(event);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Events are only delivered to matcher listeners.
+     */
+    @Override
+    public boolean isListenerOnly() {
+        return true;
     }
 }
@@ -0,0 +1,106 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software andAll associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, andAll/or sell
+ * copies of the Software, andAll to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice andAll this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.matcher.helpers.impl;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.ReadContext;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.cache.impl.ClockCache;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.cache.interfaces.ConcurrentCache;
+import lombok.experimental.UtilityClass;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Parsed json document cache
+ * <p>
+ * String documents are parsed once and the resulting document tree is kept for every json matcher
+ * evaluated against an equal string. Lookups hash the string content (cached by {@link String} itself)
+ * and compare by identity before content, and keys are held weakly so a document is released together with its source.
+ * The cached tree is never handed out: every lookup returns a {@link ReadContext} over a copy built by the configured
+ * {@link JsonProvider}, so read values keep the provider types (and their json {@link Object#toString()}) and
+ * changes made by one matcher are not seen by another. Copying the tree skips tokenizing and parsing the source again.
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+@UtilityClass
+public class JsonDocumentCache {
+
+    /**
+     * Default maximum number of cached documents
+     */
+    public static final int DEFAULT_CACHE_SIZE = 256;
+    /**
+     * Default parsed document trees by source string
+     */
+    private static final ConcurrentCache<String, Object> DOCUMENTS = new ClockCache<>(DEFAULT_CACHE_SIZE, true);
+
+    /**
+     * Returns {@link ReadContext} by input json source ({@link String} documents are served from cache)
+     *
+     * @param json - initial input json source
+     * @return parsed {@link ReadContext}
+     * @throws IOException if json file can not be read
+     */
+    public static ReadContext parse(final Object json) throws IOException {
+        if (json instanceof String) {
+            final Configuration configuration = Configuration.defaultConfiguration();
+            final JsonProvider provider = configuration.jsonProvider();
+            final Object document = DOCUMENTS.computeIfAbsent((String) json, provider::parse);
+            return JsonPath.using(configuration).parse(copy(provider, document));
+        } else if (json instanceof File) {
+            return JsonPath.parse((File) json);
+        }
+        return JsonPath.parse(json);
+    }
+
+    /**
+     * Returns deep copy of input document tree built by the input {@link JsonProvider}
+     *
+     * @param provider - initial input {@link JsonProvider}
+     * @param value    - initial input document node
+     * @return copied document node
+     */
+    private static Object copy(final JsonProvider provider, final Object value) {
+        if (provider.isMap(value)) {
+            final Object map = provider.createMap();
+            for (final String key : provider.getPropertyKeys(value)) {
+                provider.setProperty(map, key, copy(provider, provider.getMapValue(value, key)));
+            }
+            return map;
+        } else if (provider.isArray(value)) {
+            final Object array = provider.createArray();
+            final int length = provider.length(value);
+            for (int i = 0; i < length; i++) {
+                provider.setArrayIndex(array, i, copy(provider, provider.getArrayIndex(value, i)));
+            }
+            return array;
+        }
+        return value;
+    }
+}
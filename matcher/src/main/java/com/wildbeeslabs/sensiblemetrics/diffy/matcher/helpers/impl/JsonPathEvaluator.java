@@ -0,0 +1,314 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software andAll associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, andAll/or sell
+ * copies of the Software, andAll to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice andAll this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.matcher.helpers.impl;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.PathNotFoundException;
+import com.jayway.jsonpath.ReadContext;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ValidationUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Multiple {@link JsonPath} evaluator
+ * <p>
+ * Definite paths built from property names and non-negative array indices (e.g. {@code $.store.book[0].title})
+ * are merged into a trie and resolved in a single streaming pass over a Jackson {@link JsonParser}:
+ * untracked subtrees are skipped without materialization and only matched values are bound. Once every such path
+ * is resolved the rest of the document is only tokenized, so malformed content anywhere in the document is still reported.
+ * Any other path (wildcards, filters, deep scans, functions) is read from one shared {@link ReadContext}
+ * obtained through {@link JsonDocumentCache}.
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public class JsonPathEvaluator {
+
+    /**
+     * Default {@link ObjectMapper} to bind matched values
+     */
+    private static final ObjectMapper DEFAULT_MAPPER = new ObjectMapper();
+
+    /**
+     * Default streaming path trie root
+     */
+    private final Node root = new Node();
+    /**
+     * Default number of streaming paths
+     */
+    private final int streamingCount;
+    /**
+     * Default {@link List} of paths evaluated against parsed document
+     */
+    private final List<JsonPath> documentPaths = new ArrayList<>();
+
+    /**
+     * Creates {@link JsonPathEvaluator} by input collection of {@link JsonPath}s
+     *
+     * @param paths - initial input {@link Collection} of {@link JsonPath}s
+     * @throws IllegalArgumentException if paths is {@code null}
+     */
+    public JsonPathEvaluator(final Collection<JsonPath> paths) {
+        ValidationUtils.notNull(paths, "Json paths should not be null");
+
+        int count = 0;
+        final Set<String> visited = new HashSet<>();
+        for (final JsonPath path : paths) {
+            ValidationUtils.notNull(path, "Json path should not be null");
+            if (!visited.add(path.getPath())) {
+                continue;
+            }
+            final List<Object> tokens = path.isDefinite() ? tokenize(path.getPath()) : null;
+            if (Objects.isNull(tokens)) {
+                this.documentPaths.add(path);
+                continue;
+            }
+            Node node = this.root;
+            for (final Object token : tokens) {
+                node = (token instanceof Integer)
+                    ? node.indices.computeIfAbsent((Integer) token, k -> new Node())
+                    : node.properties.computeIfAbsent((String) token, k -> new Node());
+            }
+            node.paths.add(path.getPath());
+            count++;
+        }
+        this.streamingCount = count;
+    }
+
+    /**
+     * Returns {@link JsonPathEvaluator} by input array of {@link JsonPath}s
+     *
+     * @param paths - initial input array of {@link JsonPath}s
+     * @return {@link JsonPathEvaluator}
+     */
+    public static JsonPathEvaluator of(final JsonPath... paths) {
+        ValidationUtils.notNull(paths, "Json paths should not be null");
+        return new JsonPathEvaluator(Arrays.asList(paths));
+    }
+
+    /**
+     * Returns binary flag whether input json document can be evaluated
+     *
+     * @param json - initial input json document
+     * @return true - if json is {@link String} or {@link File}, false - otherwise
+     */
+    public static boolean isSupported(final Object json) {
+        return json instanceof String || json instanceof File;
+    }
+
+    /**
+     * Returns {@link Map} of evaluated values by normalized path ({@link JsonPath#getPath()}) for input json document,
+     * paths not found in the document have no entry
+     *
+     * @param json - initial input json {@link String} or {@link File}
+     * @return {@link Map} of evaluated values by normalized path
+     * @throws IOException              if json document is malformed or can not be read
+     * @throws IllegalArgumentException if json is not supported (see {@link #isSupported(Object)})
+     */
+    public Map<String, Object> evaluate(final Object json) throws IOException {
+        ValidationUtils.isTrue(isSupported(json), "Json document should be a string or file");
+
+        final Map<String, Object> result = new LinkedHashMap<>();
+        if (this.streamingCount > 0) {
+            try (final JsonParser parser = createParser(json)) {
+                if (Objects.isNull(parser.nextToken())) {
+                    throw new JsonParseException(parser, "No json content");
+                }
+                this.stream(parser, this.root, result);
+                drain(parser);
+            }
+        }
+        if (!this.documentPaths.isEmpty()) {
+            final ReadContext context = JsonDocumentCache.parse(json);
+            for (final JsonPath path : this.documentPaths) {
+                try {
+                    result.put(path.getPath(), context.read(path));
+                } catch (PathNotFoundException e) {
+                    // path is absent in the document
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns number of paths resolved in streaming pass
+     *
+     * @return number of paths resolved in streaming pass
+     */
+    public int getStreamingCount() {
+        return this.streamingCount;
+    }
+
+    private void stream(final JsonParser parser, final Node node, final Map<String, Object> result) throws IOException {
+        if (!node.paths.isEmpty()) {
+            final Object value = DEFAULT_MAPPER.readValue(parser, Object.class);
+            this.bind(node, value, result);
+            return;
+        }
+        final JsonToken token = parser.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            if (node.properties.isEmpty()) {
+                parser.skipChildren();
+                return;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final Node child = node.properties.get(parser.getCurrentName());
+                parser.nextToken();
+                if (Objects.isNull(child)) {
+                    parser.skipChildren();
+                    continue;
+                }
+                this.stream(parser, child, result);
+                if (this.isResolved(result)) {
+                    return;
+                }
+            }
+        } else if (token == JsonToken.START_ARRAY) {
+            if (node.indices.isEmpty()) {
+                parser.skipChildren();
+                return;
+            }
+            for (int index = 0; parser.nextToken() != JsonToken.END_ARRAY; index++) {
+                final Node child = node.indices.get(index);
+                if (Objects.isNull(child)) {
+                    parser.skipChildren();
+                    continue;
+                }
+                this.stream(parser, child, result);
+                if (this.isResolved(result)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void bind(final Node node, final Object value, final Map<String, Object> result) {
+        for (final String path : node.paths) {
+            result.put(path, value);
+        }
+        if (value instanceof Map) {
+            final Map<?, ?> map = (Map<?, ?>) value;
+            node.properties.forEach((name, child) -> {
+                if (map.containsKey(name)) {
+                    this.bind(child, map.get(name), result);
+                }
+            });
+        } else if (value instanceof List) {
+            final List<?> list = (List<?>) value;
+            node.indices.forEach((index, child) -> {
+                if (index < list.size()) {
+                    this.bind(child, list.get(index), result);
+                }
+            });
+        }
+    }
+
+    private boolean isResolved(final Map<String, Object> result) {
+        return result.size() == this.streamingCount;
+    }
+
+    /**
+     * Reads the rest of the root value after an early return from streaming pass, then requires end of input
+     *
+     * @param parser - initial input {@link JsonParser}
+     * @throws IOException if the remaining content is malformed
+     */
+    private static void drain(final JsonParser parser) throws IOException {
+        while (!parser.getParsingContext().inRoot()) {
+            if (Objects.isNull(parser.nextToken())) {
+                throw new JsonParseException(parser, "Unexpected end of json content");
+            }
+        }
+        if (Objects.nonNull(parser.nextToken())) {
+            throw new JsonParseException(parser, "Unexpected content after json root value");
+        }
+    }
+
+    private static JsonParser createParser(final Object json) throws IOException {
+        if (json instanceof File) {
+            return DEFAULT_MAPPER.getFactory().createParser((File) json);
+        }
+        return DEFAULT_MAPPER.getFactory().createParser((String) json);
+    }
+
+    /**
+     * Returns {@link List} of property name and array index tokens by normalized path, or {@code null} if path
+     * contains any other token ({@code $['store']['book'][0]} -> {@code [store, book, 0]})
+     *
+     * @param path - initial input normalized path
+     * @return {@link List} of path tokens
+     */
+    private static List<Object> tokenize(final String path) {
+        if (!path.startsWith("$")) {
+            return null;
+        }
+        final List<Object> tokens = new ArrayList<>();
+        int position = 1;
+        while (position < path.length()) {
+            if (path.startsWith("['", position)) {
+                final int end = path.indexOf("']", position + 2);
+                if (end < 0) {
+                    return null;
+                }
+                final String name = path.substring(position + 2, end);
+                if (name.contains("','")) {
+                    return null;
+                }
+                tokens.add(name);
+                position = end + 2;
+            } else if (path.charAt(position) == '[') {
+                final int end = path.indexOf(']', position);
+                if (end < 0) {
+                    return null;
+                }
+                final String index = path.substring(position + 1, end);
+                if (index.isEmpty() || index.length() > 9 || !index.chars().allMatch(Character::isDigit)) {
+                    return null;
+                }
+                tokens.add(Integer.valueOf(index));
+                position = end + 1;
+            } else {
+                return null;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Streaming path trie node
+     */
+    private static final class Node {
+        private final Map<String, Node> properties = new HashMap<>();
+        private final Map<Integer, Node> indices = new HashMap<>();
+        private final List<String> paths = new ArrayList<>();
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software andAll associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, andAll/or sell
+ * copies of the Software, andAll to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice andAll this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.matcher.interfaces;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ValidationUtils;
+
+import java.io.Serializable;
+
+/**
+ * Primitive {@code int} matcher declaration
+ * <p>
+ * Matches {@code int} values without boxing them to {@link Integer}, e.g. by column scans of {@code BatchMatcherUtils}.
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+@FunctionalInterface
+public interface IntMatcher extends Serializable {
+
+    /**
+     * Returns binary flag by initial argument match comparison
+     *
+     * @param value - initial input argument value to be matched
+     * @return true - if initial value matches input argument, false - otherwise
+     */
+    boolean matches(final int value);
+
+    /**
+     * Returns negated {@link IntMatcher} operator
+     *
+     * @return negated {@link IntMatcher} operator
+     */
+    default IntMatcher negate() {
+        return value -> !this.matches(value);
+    }
+
+    /**
+     * Returns composed {@link IntMatcher} operator that represents a short-circuiting logical "AND" of current matcher and another
+     *
+     * @param matcher - initial input {@link IntMatcher} operator to perform operation by
+     * @return composed {@link IntMatcher} operator
+     * @throws IllegalArgumentException if matcher is {@code null}
+     */
+    default IntMatcher and(final IntMatcher matcher) {
+        ValidationUtils.notNull(matcher, "Matcher should not be null!");
+        return value -> this.matches(value) && matcher.matches(value);
+    }
+
+    /**
+     * Returns composed {@link IntMatcher} operator that represents a short-circuiting logical "OR" of current matcher and another
+     *
+     * @param matcher - initial input {@link IntMatcher} operator to perform operation by
+     * @return composed {@link IntMatcher} operator
+     * @throws IllegalArgumentException if matcher is {@code null}
+     */
+    default IntMatcher or(final IntMatcher matcher) {
+        ValidationUtils.notNull(matcher, "Matcher should not be null!");
+        return value -> this.matches(value) || matcher.matches(value);
+    }
+
+    /**
+     * Returns {@link IntMatcher} operator matching values in range [from, to)
+     *
+     * @param from - initial input lower bound (inclusive)
+     * @param to   - initial input upper bound (exclusive)
+     * @return {@link IntMatcher} operator
+     */
+    static IntMatcher inRange(final int from, final int to) {
+        return value -> value >= from && value < to;
+    }
+}
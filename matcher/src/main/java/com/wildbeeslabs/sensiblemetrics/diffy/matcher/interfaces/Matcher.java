@@ -30,8 +30,10 @@ import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ServiceUtils;
 import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.StringUtils;
 import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ValidationUtils;
 import com.wildbeeslabs.sensiblemetrics.diffy.matcher.description.iface.MatchDescription;
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.enumeration.LogicalOperatorType;
 import com.wildbeeslabs.sensiblemetrics.diffy.matcher.enumeration.MatcherModeType;
 import com.wildbeeslabs.sensiblemetrics.diffy.matcher.exception.MatchOperationException;
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.service.LogicalMatcher;
 import lombok.NonNull;
 
 import javax.annotation.Nullable;
@@ -206,7 +208,7 @@ public interface Matcher<T> extends BaseMatcher<T, T> {
      */
     @NonNull
     default Matcher<T> negate() {
-        return (final T t) -> !this.matches(t);
+        return LogicalMatcher.of(LogicalOperatorType.NOT, this);
     }
 
     /**
@@ -226,7 +228,7 @@ public interface Matcher<T> extends BaseMatcher<T, T> {
     @NonNull
     default Matcher<T> and(final Matcher<? super T> matcher) {
         ValidationUtils.notNull(matcher, "Matcher should not be null!");
-        return (final T t) -> this.matches(t) && matcher.matches(t);
+        return LogicalMatcher.of(LogicalOperatorType.AND, this, matcher);
     }
 
     /**
@@ -264,7 +266,7 @@ public interface Matcher<T> extends BaseMatcher<T, T> {
     @NonNull
     default Matcher<T> or(final Matcher<? super T> matcher) {
         ValidationUtils.notNull(matcher, "Matcher should not be null!");
-        return (final T t) -> this.matches(t) || matcher.matches(t);
+        return LogicalMatcher.of(LogicalOperatorType.OR, this, matcher);
     }
 
     /**
@@ -284,7 +286,7 @@ public interface Matcher<T> extends BaseMatcher<T, T> {
     @NonNull
     default Matcher<T> xor(final Matcher<? super T> matcher) {
         ValidationUtils.notNull(matcher, "Matcher should not be null!");
-        return (final T t) -> this.matches(t) ^ matcher.matches(t);
+        return LogicalMatcher.of(LogicalOperatorType.XOR, this, matcher);
     }
 
     /**
@@ -304,7 +306,7 @@ public interface Matcher<T> extends BaseMatcher<T, T> {
     @NonNull
     default Matcher<T> nand(final Matcher<? super T> matcher) {
         ValidationUtils.notNull(matcher, "Matcher should not be null!");
-        return (final T t) -> not(and(matcher)).matches(t);
+        return LogicalMatcher.of(LogicalOperatorType.NOT, this.and(matcher));
     }
 
     /**
@@ -324,7 +326,7 @@ public interface Matcher<T> extends BaseMatcher<T, T> {
     @NonNull
     default Matcher<T> nor(final Matcher<? super T> matcher) {
         ValidationUtils.notNull(matcher, "Matcher should not be null!");
-        return (final T t) -> not(or(matcher)).matches(t);
+        return LogicalMatcher.of(LogicalOperatorType.NOT, this.or(matcher));
     }
 
     /**
@@ -344,7 +346,7 @@ public interface Matcher<T> extends BaseMatcher<T, T> {
     @NonNull
     default Matcher<T> xnor(final Matcher<? super T> matcher) {
         ValidationUtils.notNull(matcher, "Matcher should not be null!");
-        return (final T t) -> not(xor(matcher)).matches(t);
+        return LogicalMatcher.of(LogicalOperatorType.NOT, this.xor(matcher));
     }
 
     /**
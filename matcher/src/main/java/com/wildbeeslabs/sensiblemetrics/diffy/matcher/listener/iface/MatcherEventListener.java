@@ -24,6 +24,7 @@
 package com.wildbeeslabs.sensiblemetrics.diffy.matcher.listener.iface;
 
 import com.wildbeeslabs.sensiblemetrics.diffy.common.event.iface.EventListener;
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.enumeration.MatcherStateEventType;
 import com.wildbeeslabs.sensiblemetrics.diffy.matcher.event.BaseMatcherEvent;
 
 /**
@@ -64,4 +65,40 @@ public interface MatcherEventListener<T, S> extends EventListener<T, S, BaseMatc
      */
     default void onError(final BaseMatcherEvent<T, S> event) {
     }
+
+    /**
+     * {@link MatcherEventListener} on any {@link BaseMatcherEvent}, notifies the callback by {@link MatcherStateEventType}
+     *
+     * @param event - initial input event {@code E}
+     */
+    default void onEvent(final BaseMatcherEvent<T, S> event) {
+        switch (event.getStateType()) {
+            case MATCH_SUCCESS:
+                this.onSuccess(event);
+                break;
+            case MATCH_FAILURE:
+                this.onFailure(event);
+                break;
+            case MATCH_SKIP:
+                this.onSkip(event);
+                break;
+            case MATCH_ERROR:
+                this.onError(event);
+                break;
+            case MATCH_START:
+                this.onStart(event);
+                break;
+            case MATCH_COMPLETE:
+                this.onComplete(event);
+                break;
+            case MATCH_BEFORE:
+                this.onBefore(event);
+                break;
+            case MATCH_AFTER:
+                this.onAfter(event);
+                break;
+            default:
+                break;
+        }
+    }
 }
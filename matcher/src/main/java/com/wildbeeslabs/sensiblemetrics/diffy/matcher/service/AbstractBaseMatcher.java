@@ -31,13 +31,18 @@ import com.wildbeeslabs.sensiblemetrics.diffy.matcher.listener.iface.MatcherEven
 import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ServiceUtils;
 import lombok.*;
 
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 
 /**
  * Abstract base matcher implementation
+ * <p>
+ * Listeners are kept in a copy-on-write array, so they can be modified while the matcher is shared between threads,
+ * and matching reads them without locking. Matchers without listeners skip creating events
+ * if their {@link MatcherHandler} only notifies listeners (see {@link #isEventDispatchEnabled()}).
  *
  * @param <T> type of input element to be matched by operation
  * @author Alexander Rogalskiy
@@ -56,9 +61,16 @@ public abstract class AbstractBaseMatcher<T, S> implements MatcherEventListenerA
     private static final long serialVersionUID = 1554614973461840605L;
 
     /**
-     * Default {@link List} collection of {@link MatcherEventListener}s
+     * Default empty array of {@link MatcherEventListener}s
      */
-    private final List<MatcherEventListener<T, S>> listeners = new ArrayList<>();
+    private static final MatcherEventListener[] EMPTY_LISTENERS = new MatcherEventListener[0];
+
+    /**
+     * Default copy-on-write array of {@link MatcherEventListener}s, replaced on every modification
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private volatile MatcherEventListener<T, S>[] listeners = EMPTY_LISTENERS;
     /**
      * Default {@link MatcherHandler} implementation
      */
@@ -87,9 +99,17 @@ public abstract class AbstractBaseMatcher<T, S> implements MatcherEventListenerA
      * @param listener - initial input {@link MatcherEventListener} to remove
      */
     @Override
-    public void removeListener(final MatcherEventListener<T, S> listener) {
+    public synchronized void removeListener(final MatcherEventListener<T, S> listener) {
         if (Objects.nonNull(listener)) {
-            this.getListeners().remove(listener);
+            final MatcherEventListener<T, S>[] current = this.listeners;
+            for (int i = 0; i < current.length; i++) {
+                if (Objects.equals(listener, current[i])) {
+                    final MatcherEventListener<T, S>[] updated = Arrays.copyOf(current, current.length - 1);
+                    System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+                    this.listeners = updated;
+                    return;
+                }
+            }
         }
     }
 
@@ -102,7 +122,11 @@ public abstract class AbstractBaseMatcher<T, S> implements MatcherEventListenerA
     @Override
     public boolean containsListener(final MatcherEventListener<T, S> listener) {
         if (Objects.nonNull(listener)) {
-            return this.getListeners().contains(listener);
+            for (final MatcherEventListener<T, S> current : this.listeners) {
+                if (Objects.equals(listener, current)) {
+                    return true;
+                }
+            }
         }
         return false;
     }
@@ -113,7 +137,35 @@ public abstract class AbstractBaseMatcher<T, S> implements MatcherEventListenerA
      * @return the number of registered {@link MatcherEventListener}s
      */
     public int getListenerCount() {
-        return this.getListeners().size();
+        return this.listeners.length;
+    }
+
+    /**
+     * Returns binary flag whether any {@link MatcherEventListener} is registered
+     *
+     * @return true - if there are registered {@link MatcherEventListener}s, false - otherwise
+     */
+    public boolean hasListeners() {
+        return this.listeners.length != 0;
+    }
+
+    /**
+     * Returns unmodifiable snapshot {@link List} of registered {@link MatcherEventListener}s
+     *
+     * @return {@link List} of registered {@link MatcherEventListener}s
+     */
+    public List<MatcherEventListener<T, S>> getListeners() {
+        return Collections.unmodifiableList(Arrays.asList(this.listeners));
+    }
+
+    /**
+     * Returns binary flag whether match events should be created and handled, false if there are no listeners
+     * and {@link MatcherHandler} only notifies listeners, so that matching allocates no events
+     *
+     * @return true - if match events should be dispatched, false - otherwise
+     */
+    protected boolean isEventDispatchEnabled() {
+        return this.listeners.length != 0 || !this.handler.isListenerOnly();
     }
 
     /**
@@ -122,9 +174,12 @@ public abstract class AbstractBaseMatcher<T, S> implements MatcherEventListenerA
      * @param listener - initial input {@link MatcherEventListener} to add
      */
     @Override
-    public void addListener(final MatcherEventListener<T, S> listener) {
+    public synchronized void addListener(final MatcherEventListener<T, S> listener) {
         if (Objects.nonNull(listener)) {
-            this.getListeners().add(listener);
+            final MatcherEventListener<T, S>[] current = this.listeners;
+            final MatcherEventListener<T, S>[] updated = Arrays.copyOf(current, current.length + 1);
+            updated[current.length] = listener;
+            this.listeners = updated;
         }
     }
 
@@ -142,8 +197,8 @@ public abstract class AbstractBaseMatcher<T, S> implements MatcherEventListenerA
      * Removes all {@link MatcherEventListener}s from current {@link List} collection of {@link MatcherEventListener}s
      */
     @Override
-    public void removeAllListeners() {
-        this.getListeners().clear();
+    public synchronized void removeAllListeners() {
+        this.listeners = EMPTY_LISTENERS;
     }
 
     /**
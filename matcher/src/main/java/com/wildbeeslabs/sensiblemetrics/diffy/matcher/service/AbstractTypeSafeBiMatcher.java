@@ -166,6 +166,9 @@ public abstract class AbstractTypeSafeBiMatcher<T, S> extends AbstractBiMatcher<
      * @param type  - initial input {@link MatcherStateEventType}
      */
     protected void emit(final T first, final T last, final MatcherStateEventType type) {
+        if (!this.isEventDispatchEnabled()) {
+            return;
+        }
         log.info("Emitting event with type = {%s}, first value = {%s}, last value = {%s}", type, first, last);
         BiMatcherEvent<T, S> event = null;
         try {
@@ -184,6 +187,9 @@ public abstract class AbstractTypeSafeBiMatcher<T, S> extends AbstractBiMatcher<
      * @param type  - initial input {@link MatcherStateEventType}
      */
     private void dispatch(final T first, final T last, final MatcherStateEventType type) {
+        if (!this.isEventDispatchEnabled()) {
+            return;
+        }
         final BiMatcherEvent<T, S> event = (BiMatcherEvent<T, S>) BiMatcherEvent.of(DefaultEntry.of(first, last), this, type);
         this.dispatch(event, new ApplicationContext());
     }
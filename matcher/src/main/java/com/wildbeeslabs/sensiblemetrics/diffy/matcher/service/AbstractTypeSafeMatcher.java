@@ -162,6 +162,9 @@ public abstract class AbstractTypeSafeMatcher<T> extends AbstractMatcher<T> impl
      * @param type  - initial input {@link MatcherStateEventType}
      */
     private void dispatch(final T value, final MatcherStateEventType type) {
+        if (!this.isEventDispatchEnabled()) {
+            return;
+        }
         this.dispatch(MatcherEvent.of(value, this, type), new ApplicationContext());
     }
 
@@ -23,20 +23,30 @@
  */
 package com.wildbeeslabs.sensiblemetrics.diffy.matcher.service;
 
+import com.wildbeeslabs.sensiblemetrics.diffy.common.cache.impl.ClockCache;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.cache.impl.MapCache;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.cache.interfaces.ConcurrentCache;
 import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ValidationUtils;
 import com.wildbeeslabs.sensiblemetrics.diffy.matcher.interfaces.Matcher;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
 
-import java.util.Iterator;
+import java.util.AbstractMap;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
 /**
  * Caching {@link AbstractMatcher} implementation
+ * <p>
+ * Match results are stored in {@link ConcurrentCache}, either unbounded (backed by {@link ConcurrentMap})
+ * or bounded by {@link ClockCache} with CLOCK eviction and frequency-based admission.
+ * The protected {@link #map} field stays a {@link ConcurrentMap} for subclasses: it is the map given to the constructor,
+ * or a view of the bounded cache that supports lookups and updates but no iteration.
  *
  * @author Alexander Rogalskiy
  * @version 1.1
@@ -61,16 +71,38 @@ public class CachingMatcher<T> extends AbstractMatcher<T> {
      * Default {@link ConcurrentMap}
      */
     protected final ConcurrentMap<? super T, Boolean> map;
+    /**
+     * Default {@link ConcurrentCache}
+     */
+    private final ConcurrentCache<? super T, Boolean> cache;
 
     public CachingMatcher(final Matcher<? super T> matcher, final ConcurrentMap<? super T, Boolean> map) {
+        this(matcher, mapOf(map), Integer.MAX_VALUE);
+    }
+
+    public CachingMatcher(final Matcher<? super T> matcher, int maximumSize) {
+        this(matcher, new ClockCache<>(maximumSize));
+    }
+
+    public CachingMatcher(final Matcher<? super T> matcher, final ConcurrentCache<? super T, Boolean> cache) {
+        this(matcher, viewOf(cache), cache);
+    }
+
+    private <K> CachingMatcher(final Matcher<? super T> matcher, final ConcurrentMap<K, Boolean> map, int maximumSize) {
+        this(matcher, (ConcurrentMap<? super T, Boolean>) map, (ConcurrentCache<? super T, Boolean>) new MapCache<>(map, maximumSize));
+    }
+
+    private CachingMatcher(final Matcher<? super T> matcher, final ConcurrentMap<? super T, Boolean> map, final ConcurrentCache<? super T, Boolean> cache) {
         ValidationUtils.notNull(matcher, "Matcher should not be null");
+        ValidationUtils.notNull(cache, "Cache should not be null");
         this.matcher = matcher;
-        this.map = Optional.ofNullable(map).orElseGet(() -> new ConcurrentHashMap<>());
+        this.map = map;
+        this.cache = cache;
     }
 
     @Override
     public boolean matches(final T target) {
-        Boolean cached = this.map.get(target);
+        Boolean cached = this.cache.get(target);
         if (Objects.isNull(cached)) {
             cached = this.onCacheMiss(target);
         }
@@ -79,26 +111,130 @@ public class CachingMatcher<T> extends AbstractMatcher<T> {
 
     protected boolean onCacheMiss(final T target) {
         boolean cached = this.matcher.matches(target);
-        this.map.put(target, cached);
+        this.cache.put(target, cached);
         return cached;
     }
 
+    private static <K> ConcurrentMap<K, Boolean> mapOf(final ConcurrentMap<K, Boolean> map) {
+        return Optional.ofNullable(map).orElseGet(ConcurrentHashMap::new);
+    }
+
+    private static <K> ConcurrentMap<K, Boolean> viewOf(final ConcurrentCache<K, Boolean> cache) {
+        return Objects.isNull(cache) ? null : new CacheMapView<>(cache);
+    }
+
+    /**
+     * Bounded {@link CachingMatcher} implementation
+     *
+     * @param <S> type of input element to be matched by operation
+     */
     public static class WithInlineEviction<S> extends CachingMatcher<S> {
-        private final int evictionSize;
 
+        public WithInlineEviction(final Matcher<? super S> matcher, int evictionSize) {
+            super(matcher, evictionSize);
+        }
+
+        /**
+         * @deprecated evicts arbitrary entries of the map, use {@link #WithInlineEviction(Matcher, int)}
+         * backed by {@link ClockCache} instead
+         */
+        @Deprecated
         public WithInlineEviction(final Matcher<? super S> matcher, final ConcurrentMap<? super S, Boolean> map, int evictionSize) {
-            super(matcher, map);
-            this.evictionSize = evictionSize;
+            super(matcher, mapOf(map), evictionSize);
+        }
+    }
+
+    /**
+     * {@link ConcurrentMap} view of {@link ConcurrentCache} without iteration
+     *
+     * @param <K> type of cache key
+     * @param <V> type of cache value
+     */
+    private static final class CacheMapView<K, V> extends AbstractMap<K, V> implements ConcurrentMap<K, V> {
+        private final ConcurrentCache<K, V> cache;
+
+        CacheMapView(final ConcurrentCache<K, V> cache) {
+            this.cache = cache;
+        }
+
+        @Override
+        public V get(final Object key) {
+            return this.cache.get((K) key);
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return Objects.nonNull(this.get(key));
+        }
+
+        @Override
+        public V put(final K key, final V value) {
+            final V previous = this.cache.get(key);
+            this.cache.put(key, value);
+            return previous;
+        }
+
+        @Override
+        public V putIfAbsent(final K key, final V value) {
+            return this.cache.putIfAbsent(key, value);
+        }
+
+        @Override
+        public V remove(final Object key) {
+            return this.cache.remove((K) key);
+        }
+
+        @Override
+        public boolean remove(final Object key, final Object value) {
+            return this.cache.remove((K) key, (V) value);
+        }
+
+        @Override
+        public boolean replace(final K key, final V oldValue, final V newValue) {
+            if (this.cache.remove(key, oldValue)) {
+                this.cache.put(key, newValue);
+                return true;
+            }
+            return false;
         }
 
         @Override
-        protected boolean onCacheMiss(final S target) {
-            if (this.map.size() >= this.evictionSize) {
-                final Iterator<?> iterator = this.map.entrySet().iterator();
-                iterator.next();
-                iterator.remove();
+        public V replace(final K key, final V value) {
+            final V previous = this.cache.remove(key);
+            if (Objects.nonNull(previous)) {
+                this.cache.put(key, value);
             }
-            return super.onCacheMiss(target);
+            return previous;
+        }
+
+        @Override
+        public void clear() {
+            this.cache.clear();
+        }
+
+        @Override
+        public int size() {
+            return this.cache.size();
+        }
+
+        @Override
+        public Set<Map.Entry<K, V>> entrySet() {
+            throw new UnsupportedOperationException("Cache view does not support iteration");
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            return (other instanceof CacheMapView) && this.cache == ((CacheMapView<?, ?>) other).cache;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this.cache);
+        }
+
+        @Override
+        public String toString() {
+            return this.cache.toString();
         }
     }
 }
@@ -23,21 +23,23 @@
  */
 package com.wildbeeslabs.sensiblemetrics.diffy.matcher.service;
 
-import com.jayway.jsonpath.JsonPath;
 import com.jayway.jsonpath.JsonPathException;
 import com.jayway.jsonpath.ReadContext;
 import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ValidationUtils;
 import com.wildbeeslabs.sensiblemetrics.diffy.matcher.description.iface.MatchDescription;
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.helpers.impl.JsonDocumentCache;
 import com.wildbeeslabs.sensiblemetrics.diffy.matcher.interfaces.Matcher;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
 
-import java.io.File;
 import java.io.IOException;
 
 /**
  * Json {@link AbstractTypeSafeMatcher} implementation
+ * <p>
+ * String inputs are parsed through {@link JsonDocumentCache}, so matchers evaluated against the same document
+ * (and the mismatch description following a failed match) share a single parse.
  *
  * @param <T> type of matcher item
  */
@@ -88,11 +90,6 @@ public class JsonMatcher<T> extends AbstractTypeSafeMatcher<T> {
     }
 
     private static <T> ReadContext parse(final T object) throws IOException {
-        if (object instanceof String) {
-            return JsonPath.parse((String) object);
-        } else if (object instanceof File) {
-            return JsonPath.parse((File) object);
-        }
-        return JsonPath.parse(object);
+        return JsonDocumentCache.parse(object);
     }
 }
@@ -0,0 +1,145 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software andAll associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, andAll/or sell
+ * copies of the Software, andAll to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice andAll this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.matcher.service;
+
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.JsonPathException;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ValidationUtils;
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.description.iface.MatchDescription;
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.helpers.impl.JsonPathEvaluator;
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.interfaces.Matcher;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Json paths {@link AbstractTypeSafeMatcher} implementation
+ * <p>
+ * Evaluates every json path in one pass over the document by {@link JsonPathEvaluator}
+ * instead of applying a separate {@link WithJsonPath} matcher per path. Inputs other than json strings or files do not match.
+ *
+ * @param <T> type of matcher item
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+@SuppressWarnings("unchecked")
+public class JsonPathsMatcher<T> extends AbstractTypeSafeMatcher<T> {
+    /**
+     * Default value {@link Matcher}s by normalized json path
+     */
+    private final Map<String, Matcher<Object>> matchers = new LinkedHashMap<>();
+    /**
+     * Default {@link JsonPathEvaluator}
+     */
+    private final JsonPathEvaluator evaluator;
+
+    public JsonPathsMatcher(final Map<String, ? extends Matcher<?>> matchers) {
+        ValidationUtils.notNull(matchers, "Json path matchers should not be null");
+
+        final Map<String, JsonPath> paths = new LinkedHashMap<>();
+        matchers.forEach((path, matcher) -> {
+            ValidationUtils.notNull(matcher, "Matcher should not be null");
+            final JsonPath jsonPath = JsonPath.compile(path);
+            paths.put(jsonPath.getPath(), jsonPath);
+            this.matchers.put(jsonPath.getPath(), (Matcher<Object>) matcher);
+        });
+        this.evaluator = new JsonPathEvaluator(paths.values());
+    }
+
+    @Override
+    public boolean matchesSafe(final T json) {
+        if (!JsonPathEvaluator.isSupported(json)) {
+            return false;
+        }
+        try {
+            final Map<String, Object> values = this.evaluator.evaluate(json);
+            for (final Map.Entry<String, Matcher<Object>> entry : this.matchers.entrySet()) {
+                if (!values.containsKey(entry.getKey()) || !entry.getValue().matches(values.get(entry.getKey()))) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (IOException | JsonPathException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void describeTo(final MatchDescription description) {
+        description.appendText("is json");
+        this.matchers.forEach((path, matcher) -> {
+            description
+                .appendText(" with json path ")
+                .append(path)
+                .appendText(" evaluated to ")
+                .appendDescriptionOf(matcher);
+        });
+    }
+
+    protected void describeMismatchSafely(final T json, final MatchDescription mismatchDescription) {
+        if (!JsonPathEvaluator.isSupported(json)) {
+            mismatchDescription
+                .appendText("was ")
+                .append(json)
+                .appendText(" which is neither json string nor file");
+            return;
+        }
+        try {
+            final Map<String, Object> values = this.evaluator.evaluate(json);
+            for (final Map.Entry<String, Matcher<Object>> entry : this.matchers.entrySet()) {
+                if (!values.containsKey(entry.getKey())) {
+                    mismatchDescription
+                        .appendText("json path ")
+                        .append(entry.getKey())
+                        .appendText(" was not found in ")
+                        .append(json);
+                    return;
+                }
+                final Object value = values.get(entry.getKey());
+                if (!entry.getValue().matches(value)) {
+                    mismatchDescription
+                        .appendText("json path ")
+                        .append(entry.getKey())
+                        .appendText(" was evaluated to ")
+                        .append(value);
+                    return;
+                }
+            }
+        } catch (IOException | JsonPathException e) {
+            mismatchDescription
+                .appendText("was ")
+                .append(json)
+                .appendText(" which failed with ")
+                .append(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software andAll associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, andAll/or sell
+ * copies of the Software, andAll to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice andAll this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.matcher.service;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ValidationUtils;
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.enumeration.LogicalOperatorType;
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.interfaces.Matcher;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Logical {@link Matcher} implementation composing operands by {@link LogicalOperatorType}
+ * <p>
+ * Produced by {@link Matcher#and(Matcher)}, {@link Matcher#or(Matcher)}, {@link Matcher#xor(Matcher)}, {@link Matcher#negate()}
+ * and the derived operators, so composed expressions stay inspectable, e.g. by {@code MatcherCompiler}.
+ *
+ * @param <T> type of input element to be matched by operation
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+@EqualsAndHashCode
+@ToString
+public final class LogicalMatcher<T> implements Matcher<T> {
+
+    /**
+     * Default explicit serialVersionUID for interoperability
+     */
+    private static final long serialVersionUID = -2374150834870470571L;
+
+    /**
+     * Default {@link LogicalOperatorType}
+     */
+    @Getter
+    private final LogicalOperatorType operator;
+    /**
+     * Default operand {@link Matcher}s
+     */
+    private final Matcher<? super T>[] operands;
+
+    @SafeVarargs
+    private LogicalMatcher(final LogicalOperatorType operator, final Matcher<? super T>... operands) {
+        ValidationUtils.notNull(operator, "Operator should not be null");
+        ValidationUtils.notNull(operands, "Operands should not be null");
+        ValidationUtils.isTrue(operator != LogicalOperatorType.NOT || operands.length == 1, "Negation should have single operand");
+        for (final Matcher<? super T> operand : operands) {
+            ValidationUtils.notNull(operand, "Matcher should not be null!");
+        }
+        this.operator = operator;
+        this.operands = operands;
+    }
+
+    /**
+     * Returns {@link LogicalMatcher} by input {@link LogicalOperatorType} and operand {@link Matcher}s
+     *
+     * @param <T>      type of input element to be matched by operation
+     * @param operator - initial input {@link LogicalOperatorType}
+     * @param operands - initial input operand {@link Matcher}s
+     * @return {@link LogicalMatcher}
+     * @throws IllegalArgumentException if operator or any operand is {@code null}
+     */
+    @SafeVarargs
+    public static <T> LogicalMatcher<T> of(final LogicalOperatorType operator, final Matcher<? super T>... operands) {
+        return new LogicalMatcher<>(operator, operands.clone());
+    }
+
+    /**
+     * Returns {@link List} of operand {@link Matcher}s
+     *
+     * @return unmodifiable {@link List} of operand {@link Matcher}s
+     */
+    public List<Matcher<? super T>> getOperands() {
+        return Collections.unmodifiableList(Arrays.asList(this.operands));
+    }
+
+    @Override
+    public boolean matches(final T value) {
+        switch (this.operator) {
+            case AND:
+                for (final Matcher<? super T> operand : this.operands) {
+                    if (!operand.matches(value)) {
+                        return false;
+                    }
+                }
+                return true;
+            case OR:
+                for (final Matcher<? super T> operand : this.operands) {
+                    if (operand.matches(value)) {
+                        return true;
+                    }
+                }
+                return false;
+            case XOR:
+                boolean result = false;
+                for (final Matcher<? super T> operand : this.operands) {
+                    result ^= operand.matches(value);
+                }
+                return result;
+            default:
+                return !this.operands[0].matches(value);
+        }
+    }
+}
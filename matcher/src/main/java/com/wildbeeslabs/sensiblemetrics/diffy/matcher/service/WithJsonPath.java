@@ -74,7 +74,7 @@ public class WithJsonPath<T> extends AbstractTypeSafeMatcher<ReadContext> {
 
     protected void describeMismatchSafely(final ReadContext context, final MatchDescription mismatchDescription) {
         try {
-            final T value = this.jsonPath.read((String) context.json());
+            final T value = context.read(this.jsonPath);
             mismatchDescription
                 .appendText("json path ")
                 .append(this.jsonPath.getPath())
@@ -0,0 +1,292 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software andAll associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, andAll/or sell
+ * copies of the Software, andAll to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice andAll this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.matcher.utils;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ValidationUtils;
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.interfaces.DoubleMatcher;
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.interfaces.IntMatcher;
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.interfaces.LongMatcher;
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.interfaces.Matcher;
+import lombok.experimental.UtilityClass;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntPredicate;
+
+/**
+ * Batch matcher utilities implementation
+ * <p>
+ * Evaluates a matcher over arrays, lists or primitive columns in blocks of 64 elements and stores the results
+ * in a {@code long[]} bitset, where bit {@code i % 64} of word {@code i / 64} is set if element {@code i} matches
+ * (compatible with {@link java.util.BitSet#valueOf(long[])}). Inputs of at least {@link #PARALLEL_THRESHOLD} elements
+ * are split into word ranges evaluated by the common {@link ForkJoinPool}, so matchers must be thread-safe.
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+@UtilityClass
+public class BatchMatcherUtils {
+
+    /**
+     * Default minimum number of elements evaluated in parallel
+     */
+    public static final int PARALLEL_THRESHOLD = 1 << 16;
+    /**
+     * Default minimum number of bitset words per parallel task
+     */
+    private static final int MIN_TASK_WORDS = 1 << 9;
+
+    /**
+     * Returns bitset of input values matched by {@link Matcher}
+     *
+     * @param <T>     type of input element to be matched by operation
+     * @param values  - initial input array of values to be matched
+     * @param matcher - initial input {@link Matcher}
+     * @return bitset of matched value indices
+     * @throws IllegalArgumentException if values or matcher is {@code null}
+     */
+    public static <T> long[] matches(final T[] values, final Matcher<? super T> matcher) {
+        ValidationUtils.notNull(values, "Values should not be null");
+        ValidationUtils.notNull(matcher, "Matcher should not be null");
+        return evaluate(values.length, i -> matcher.matches(values[i]));
+    }
+
+    /**
+     * Returns bitset of input values matched by {@link Matcher}
+     *
+     * @param <T>     type of input element to be matched by operation
+     * @param values  - initial input {@link List} of values to be matched
+     * @param matcher - initial input {@link Matcher}
+     * @return bitset of matched value indices
+     * @throws IllegalArgumentException if values or matcher is {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> long[] matches(final List<? extends T> values, final Matcher<? super T> matcher) {
+        ValidationUtils.notNull(values, "Values should not be null");
+        ValidationUtils.notNull(matcher, "Matcher should not be null");
+        if (!(values instanceof RandomAccess)) {
+            return matches((T[]) values.toArray(), matcher);
+        }
+        return evaluate(values.size(), i -> matcher.matches(values.get(i)));
+    }
+
+    /**
+     * Returns bitset of input {@code int} column values matched by {@link IntMatcher}
+     *
+     * @param values  - initial input column of values to be matched
+     * @param matcher - initial input {@link IntMatcher}
+     * @return bitset of matched value indices
+     * @throws IllegalArgumentException if values or matcher is {@code null}
+     */
+    public static long[] matches(final int[] values, final IntMatcher matcher) {
+        ValidationUtils.notNull(values, "Values should not be null");
+        ValidationUtils.notNull(matcher, "Matcher should not be null");
+        return evaluate(values.length, i -> matcher.matches(values[i]));
+    }
+
+    /**
+     * Returns bitset of input {@code long} column values matched by {@link LongMatcher}
+     *
+     * @param values  - initial input column of values to be matched
+     * @param matcher - initial input {@link LongMatcher}
+     * @return bitset of matched value indices
+     * @throws IllegalArgumentException if values or matcher is {@code null}
+     */
+    public static long[] matches(final long[] values, final LongMatcher matcher) {
+        ValidationUtils.notNull(values, "Values should not be null");
+        ValidationUtils.notNull(matcher, "Matcher should not be null");
+        return evaluate(values.length, i -> matcher.matches(values[i]));
+    }
+
+    /**
+     * Returns bitset of input {@code double} column values matched by {@link DoubleMatcher}
+     *
+     * @param values  - initial input column of values to be matched
+     * @param matcher - initial input {@link DoubleMatcher}
+     * @return bitset of matched value indices
+     * @throws IllegalArgumentException if values or matcher is {@code null}
+     */
+    public static long[] matches(final double[] values, final DoubleMatcher matcher) {
+        ValidationUtils.notNull(values, "Values should not be null");
+        ValidationUtils.notNull(matcher, "Matcher should not be null");
+        return evaluate(values.length, i -> matcher.matches(values[i]));
+    }
+
+    /**
+     * Returns number of matched indices in input bitset
+     *
+     * @param bits - initial input bitset
+     * @return number of set bits
+     */
+    public static int count(final long[] bits) {
+        ValidationUtils.notNull(bits, "Bits should not be null");
+        int count = 0;
+        for (final long word : bits) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Returns binary flag whether input index is matched in bitset
+     *
+     * @param bits  - initial input bitset
+     * @param index - initial input element index
+     * @return true - if index is matched, false - otherwise
+     * @throws IllegalArgumentException if bits is {@code null}
+     */
+    public static boolean isMatched(final long[] bits, final int index) {
+        ValidationUtils.notNull(bits, "Bits should not be null");
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Returns matched indices in input bitset in ascending order
+     *
+     * @param bits - initial input bitset
+     * @return array of matched indices
+     * @throws IllegalArgumentException if bits is {@code null}
+     */
+    public static int[] indices(final long[] bits) {
+        ValidationUtils.notNull(bits, "Bits should not be null");
+        final int[] result = new int[count(bits)];
+        int k = 0;
+        for (int w = 0; w < bits.length; w++) {
+            for (long word = bits[w]; word != 0; word &= word - 1) {
+                result[k++] = (w << 6) + Long.numberOfTrailingZeros(word);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns {@link List} of input values at matched indices of bitset
+     *
+     * @param <T>    type of input element
+     * @param values - initial input {@link List} of values
+     * @param bits   - initial input bitset
+     * @return {@link List} of matched values
+     */
+    public static <T> List<T> select(final List<? extends T> values, final long[] bits) {
+        ValidationUtils.notNull(values, "Values should not be null");
+        final int[] indices = indices(bits);
+        final List<T> result = new ArrayList<>(indices.length);
+        for (final int index : indices) {
+            result.add(values.get(index));
+        }
+        return result;
+    }
+
+    /**
+     * Returns {@link List} of input values matched by {@link Matcher}
+     *
+     * @param <T>     type of input element to be matched by operation
+     * @param values  - initial input array of values to be matched
+     * @param matcher - initial input {@link Matcher}
+     * @return {@link List} of matched values
+     * @throws IllegalArgumentException if values or matcher is {@code null}
+     */
+    public static <T> List<T> filter(final T[] values, final Matcher<? super T> matcher) {
+        final long[] bits = matches(values, matcher);
+        final int[] indices = indices(bits);
+        final List<T> result = new ArrayList<>(indices.length);
+        for (final int index : indices) {
+            result.add(values[index]);
+        }
+        return result;
+    }
+
+    /**
+     * Returns {@link List} of input values matched by {@link Matcher}
+     *
+     * @param <T>     type of input element to be matched by operation
+     * @param values  - initial input {@link List} of values to be matched
+     * @param matcher - initial input {@link Matcher}
+     * @return {@link List} of matched values
+     * @throws IllegalArgumentException if values or matcher is {@code null}
+     */
+    public static <T> List<T> filter(final List<? extends T> values, final Matcher<? super T> matcher) {
+        return select(values, matches(values, matcher));
+    }
+
+    private static long[] evaluate(final int size, final IntPredicate matcher) {
+        final long[] bits = new long[(int) ((size + Long.SIZE - 1L) >>> 6)];
+        if (size >= PARALLEL_THRESHOLD && ForkJoinPool.getCommonPoolParallelism() > 1) {
+            ForkJoinPool.commonPool().invoke(new BlockTask(matcher, bits, size, 0, bits.length));
+        } else {
+            match(matcher, bits, size, 0, bits.length);
+        }
+        return bits;
+    }
+
+    /**
+     * Fills bitset words in range [from, to) by matching element indices in blocks of 64
+     */
+    private static void match(final IntPredicate matcher, final long[] bits, final int size, final int from, final int to) {
+        for (int w = from; w < to; w++) {
+            final int end = (int) Math.min(((long) w + 1) << 6, size);
+            long word = 0L;
+            for (int i = w << 6; i < end; i++) {
+                // shift distance is taken modulo 64
+                word |= (matcher.test(i) ? 1L : 0L) << i;
+            }
+            bits[w] = word;
+        }
+    }
+
+    /**
+     * Fork/join task splitting bitset words between workers, each word is written by a single task
+     */
+    private static final class BlockTask extends RecursiveAction {
+        private static final long serialVersionUID = 1516584466331651346L;
+
+        private final IntPredicate matcher;
+        private final long[] bits;
+        private final int size;
+        private final int from;
+        private final int to;
+
+        BlockTask(final IntPredicate matcher, final long[] bits, final int size, final int from, final int to) {
+            this.matcher = matcher;
+            this.bits = bits;
+            this.size = size;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.to - this.from <= MIN_TASK_WORDS) {
+                match(this.matcher, this.bits, this.size, this.from, this.to);
+                return;
+            }
+            final int middle = (this.from + this.to) >>> 1;
+            invokeAll(new BlockTask(this.matcher, this.bits, this.size, this.from, middle), new BlockTask(this.matcher, this.bits, this.size, middle, this.to));
+        }
+    }
+}
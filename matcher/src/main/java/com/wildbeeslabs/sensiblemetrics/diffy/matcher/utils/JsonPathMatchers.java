@@ -28,11 +28,13 @@ import com.jayway.jsonpath.spi.cache.CacheProvider;
 import com.jayway.jsonpath.spi.cache.NOOPCache;
 import com.wildbeeslabs.sensiblemetrics.diffy.matcher.interfaces.Matcher;
 import com.wildbeeslabs.sensiblemetrics.diffy.matcher.service.JsonMatcher;
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.service.JsonPathsMatcher;
 import com.wildbeeslabs.sensiblemetrics.diffy.matcher.service.WithJsonPath;
 import com.wildbeeslabs.sensiblemetrics.diffy.matcher.service.WithoutJsonPath;
 import lombok.experimental.UtilityClass;
 
 import java.io.File;
+import java.util.Map;
 
 import static com.wildbeeslabs.sensiblemetrics.diffy.matcher.interfaces.Matcher.DEFAULT_TRUE_MATCHER;
 
@@ -51,6 +53,10 @@ public class JsonPathMatchers {
         return isJson(withJsonPath(jsonPath, resultMatcher));
     }
 
+    public static <T> Matcher<T> hasJsonPaths(final Map<String, ? extends Matcher<?>> resultMatchers) {
+        return new JsonPathsMatcher<>(resultMatchers);
+    }
+
     public static Matcher<? super Object> hasNoJsonPath(final String jsonPath) {
         return isJson(withoutJsonPath(jsonPath));
     }
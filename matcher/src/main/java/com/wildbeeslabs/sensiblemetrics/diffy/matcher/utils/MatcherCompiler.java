@@ -0,0 +1,526 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software andAll associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, andAll/or sell
+ * copies of the Software, andAll to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice andAll this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.matcher.utils;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ValidationUtils;
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.enumeration.LogicalOperatorType;
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.interfaces.Matcher;
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.service.BooleanMatcher;
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.service.LogicalMatcher;
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.service.TrueMatcher;
+import lombok.experimental.UtilityClass;
+
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * Matcher compiler utilities implementation
+ * <p>
+ * Compiles {@link LogicalMatcher} expressions (built by {@link Matcher#and(Matcher)}, {@link Matcher#or(Matcher)},
+ * {@link Matcher#xor(Matcher)}, {@link Matcher#negate()} and the derived operators) into flat matchers:
+ * <ul>
+ * <li>nested chains of the same operator are flattened into a single n-ary node evaluated by one loop</li>
+ * <li>constant operands ({@link TrueMatcher}, {@link BooleanMatcher}, default true/false matchers) are folded</li>
+ * <li>double negations are removed, negated constants are folded</li>
+ * <li>duplicate operands are removed ({@code a & a = a}, {@code a ^ a = false}),
+ * complementary operands fold the node ({@code a & !a = false}, {@code a | !a = true})</li>
+ * </ul>
+ * Any other {@link Matcher} is kept as an opaque operand. Compilation assumes operands are free of side effects.
+ * <p>
+ * Adaptive compilation additionally samples every {@value #SAMPLE_RATE}-th evaluation of AND/OR nodes, measuring
+ * the cost of each operand and how often it short-circuits, and periodically reorders the operands by
+ * {@code cost / probability of short-circuit}, so that cheap and selective operands are evaluated first.
+ * Reordering changes the evaluation order, so it must not be used with guarding operands,
+ * e.g. {@code notNull().and(value -> value.isEmpty())}.
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+@UtilityClass
+@SuppressWarnings("unchecked")
+public class MatcherCompiler {
+
+    /**
+     * Default number of evaluations per profiled evaluation (power of two)
+     */
+    public static final int SAMPLE_RATE = 64;
+    /**
+     * Default number of profiled evaluations per reordering
+     */
+    public static final int REORDER_INTERVAL = 32;
+
+    /**
+     * Default constant {@link Matcher}s
+     */
+    private static final Matcher<Object> TRUE = (Matcher) TrueMatcher.INSTANCE;
+    private static final Matcher<Object> FALSE = Matcher.DEFAULT_FALSE_MATCHER;
+
+    /**
+     * Returns compiled {@link Matcher} by input {@link Matcher}, keeping the declared order of operands
+     *
+     * @param <T>     type of input element to be matched by operation
+     * @param matcher - initial input {@link Matcher} to compile
+     * @return compiled {@link Matcher}
+     * @throws IllegalArgumentException if matcher is {@code null}
+     */
+    public static <T> Matcher<T> compile(final Matcher<T> matcher) {
+        return compile(matcher, false);
+    }
+
+    /**
+     * Returns compiled {@link Matcher} by input {@link Matcher} and adaptive reordering flag
+     *
+     * @param <T>      type of input element to be matched by operation
+     * @param matcher  - initial input {@link Matcher} to compile
+     * @param adaptive - initial input flag to reorder operands by measured cost and selectivity
+     * @return compiled {@link Matcher}
+     * @throws IllegalArgumentException if matcher is {@code null}
+     */
+    public static <T> Matcher<T> compile(final Matcher<T> matcher, boolean adaptive) {
+        ValidationUtils.notNull(matcher, "Matcher should not be null");
+        return (Matcher<T>) new Compiler(adaptive).compile(matcher);
+    }
+
+    /**
+     * Returns constant value of input {@link Matcher}, or {@code null} if not a known constant
+     *
+     * @param matcher - initial input {@link Matcher}
+     * @return constant value, or {@code null}
+     */
+    private static Boolean constantOf(final Matcher<?> matcher) {
+        if (matcher == TRUE || matcher == Matcher.DEFAULT_TRUE_MATCHER) {
+            return Boolean.TRUE;
+        }
+        if (matcher == FALSE) {
+            return Boolean.FALSE;
+        }
+        if (matcher instanceof BooleanMatcher) {
+            return ((BooleanMatcher<?>) matcher).isMatches();
+        }
+        return null;
+    }
+
+    private static Matcher<Object> constant(boolean value) {
+        return value ? TRUE : FALSE;
+    }
+
+    /**
+     * Single compilation pass, sharing compiled nodes of identical sub-matchers
+     */
+    private static final class Compiler {
+        private final boolean adaptive;
+        private final Map<Matcher<?>, Matcher<Object>> compiled = new IdentityHashMap<>();
+
+        Compiler(boolean adaptive) {
+            this.adaptive = adaptive;
+        }
+
+        Matcher<Object> compile(final Matcher<?> matcher) {
+            Matcher<Object> result = this.compiled.get(matcher);
+            if (Objects.isNull(result)) {
+                result = this.doCompile(matcher);
+                this.compiled.put(matcher, result);
+            }
+            return result;
+        }
+
+        private Matcher<Object> doCompile(final Matcher<?> matcher) {
+            final Boolean constant = constantOf(matcher);
+            if (Objects.nonNull(constant)) {
+                return constant(constant);
+            }
+            if (!(matcher instanceof LogicalMatcher)) {
+                return (Matcher<Object>) matcher;
+            }
+            final LogicalMatcher<?> logical = (LogicalMatcher<?>) matcher;
+            switch (logical.getOperator()) {
+                case NOT:
+                    return negate(this.compile(logical.getOperands().get(0)));
+                case XOR:
+                    return this.compileParity(logical);
+                default:
+                    return this.compileJunction(logical);
+            }
+        }
+
+        private Matcher<Object> compileJunction(final LogicalMatcher<?> matcher) {
+            final boolean conjunction = matcher.getOperator() == LogicalOperatorType.AND;
+            final Set<Matcher<Object>> operands = new LinkedHashSet<>();
+            for (final Matcher<Object> operand : this.flatten(matcher)) {
+                final Boolean constant = constantOf(operand);
+                if (Objects.nonNull(constant)) {
+                    if (constant != conjunction) {
+                        return constant(constant);
+                    }
+                } else if (operand instanceof Junction && ((Junction<?>) operand).conjunction == conjunction) {
+                    operands.addAll(Arrays.asList(((Junction<Object>) operand).plan.operands));
+                } else {
+                    operands.add(operand);
+                }
+            }
+            for (final Matcher<Object> operand : operands) {
+                if (operand instanceof Negation && operands.contains(((Negation<Object>) operand).operand)) {
+                    return constant(!conjunction);
+                }
+            }
+            if (operands.isEmpty()) {
+                return constant(conjunction);
+            }
+            if (operands.size() == 1) {
+                return operands.iterator().next();
+            }
+            return new Junction<>(conjunction, operands.toArray(new Matcher[0]), this.adaptive);
+        }
+
+        private Matcher<Object> compileParity(final LogicalMatcher<?> matcher) {
+            boolean inverted = false;
+            final Map<Matcher<Object>, Boolean> operands = new LinkedHashMap<>();
+            for (Matcher<Object> operand : this.flatten(matcher)) {
+                if (operand instanceof Negation) {
+                    operand = ((Negation<Object>) operand).operand;
+                    inverted = !inverted;
+                }
+                final Boolean constant = constantOf(operand);
+                if (Objects.nonNull(constant)) {
+                    inverted ^= constant;
+                } else if (operand instanceof Parity) {
+                    inverted ^= ((Parity<Object>) operand).inverted;
+                    for (final Matcher<Object> nested : ((Parity<Object>) operand).operands) {
+                        this.toggle(operands, nested);
+                    }
+                } else {
+                    this.toggle(operands, operand);
+                }
+            }
+            if (operands.isEmpty()) {
+                return constant(inverted);
+            }
+            if (operands.size() == 1) {
+                final Matcher<Object> operand = operands.keySet().iterator().next();
+                return inverted ? negate(operand) : operand;
+            }
+            return new Parity<>(operands.keySet().toArray(new Matcher[0]), inverted);
+        }
+
+        private void toggle(final Map<Matcher<Object>, Boolean> operands, final Matcher<Object> operand) {
+            if (Objects.nonNull(operands.remove(operand))) {
+                return;
+            }
+            operands.put(operand, Boolean.TRUE);
+        }
+
+        /**
+         * Returns compiled operands of input {@link LogicalMatcher} with nested operands of the same operator inlined,
+         * iteratively so that long left-deep chains do not exhaust the stack
+         */
+        private List<Matcher<Object>> flatten(final LogicalMatcher<?> matcher) {
+            final List<Matcher<Object>> result = new ArrayList<>();
+            final Deque<Matcher<?>> stack = new ArrayDeque<>();
+            stack.push(matcher);
+            while (!stack.isEmpty()) {
+                final Matcher<?> current = stack.pop();
+                if (current instanceof LogicalMatcher && ((LogicalMatcher<?>) current).getOperator() == matcher.getOperator()
+                    && !this.compiled.containsKey(current)) {
+                    final List<? extends Matcher<?>> operands = ((LogicalMatcher<?>) current).getOperands();
+                    for (int i = operands.size() - 1; i >= 0; i--) {
+                        stack.push(operands.get(i));
+                    }
+                } else {
+                    result.add(this.compile(current));
+                }
+            }
+            return result;
+        }
+    }
+
+    private static Matcher<Object> negate(final Matcher<Object> matcher) {
+        final Boolean constant = constantOf(matcher);
+        if (Objects.nonNull(constant)) {
+            return constant(!constant);
+        }
+        if (matcher instanceof Negation) {
+            return ((Negation<Object>) matcher).operand;
+        }
+        if (matcher instanceof Parity) {
+            return new Parity<>(((Parity<Object>) matcher).operands, !((Parity<Object>) matcher).inverted);
+        }
+        return new Negation<>(matcher);
+    }
+
+    /**
+     * Compiled negation {@link Matcher}
+     *
+     * @param <T> type of input element to be matched by operation
+     */
+    private static final class Negation<T> implements Matcher<T> {
+        private static final long serialVersionUID = 3617563240358452862L;
+
+        private final Matcher<T> operand;
+
+        Negation(final Matcher<T> operand) {
+            this.operand = operand;
+        }
+
+        @Override
+        public boolean matches(final T value) {
+            return !this.operand.matches(value);
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            return this == other || other instanceof Negation && this.operand.equals(((Negation<?>) other).operand);
+        }
+
+        @Override
+        public int hashCode() {
+            return ~this.operand.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return "not(" + this.operand + ")";
+        }
+    }
+
+    /**
+     * Compiled XOR {@link Matcher}, matching if an odd number of operands match (even if inverted)
+     *
+     * @param <T> type of input element to be matched by operation
+     */
+    private static final class Parity<T> implements Matcher<T> {
+        private static final long serialVersionUID = -1749474633934962380L;
+
+        private final Matcher<T>[] operands;
+        private final boolean inverted;
+        private final int hashCode;
+
+        Parity(final Matcher<T>[] operands, boolean inverted) {
+            this.operands = operands;
+            this.inverted = inverted;
+            this.hashCode = new HashSet<>(Arrays.asList(operands)).hashCode() ^ Boolean.hashCode(inverted);
+        }
+
+        @Override
+        public boolean matches(final T value) {
+            boolean result = this.inverted;
+            for (final Matcher<T> operand : this.operands) {
+                result ^= operand.matches(value);
+            }
+            return result;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Parity)) {
+                return false;
+            }
+            final Parity<?> that = (Parity<?>) other;
+            return this.hashCode == that.hashCode && this.inverted == that.inverted
+                && new HashSet<>(Arrays.asList(this.operands)).equals(new HashSet<>(Arrays.asList(that.operands)));
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hashCode;
+        }
+
+        @Override
+        public String toString() {
+            return (this.inverted ? "xnor" : "xor") + Arrays.toString(this.operands);
+        }
+    }
+
+    /**
+     * Compiled AND/OR {@link Matcher}, evaluating operands by a single short-circuiting loop
+     *
+     * @param <T> type of input element to be matched by operation
+     */
+    private static final class Junction<T> implements Matcher<T> {
+        private static final long serialVersionUID = -6205315929358823419L;
+
+        private final boolean conjunction;
+        private final boolean adaptive;
+        private final int hashCode;
+        private volatile Plan<T> plan;
+        private transient int evaluations;
+        private transient int samples;
+
+        Junction(boolean conjunction, final Matcher<T>[] operands, boolean adaptive) {
+            this.conjunction = conjunction;
+            this.adaptive = adaptive;
+            this.plan = new Plan<>(operands, adaptive ? Plan.newStatistics(operands.length) : null);
+            this.hashCode = new HashSet<>(Arrays.asList(operands)).hashCode() ^ Boolean.hashCode(conjunction);
+        }
+
+        @Override
+        public boolean matches(final T value) {
+            if (this.adaptive && (++this.evaluations & (SAMPLE_RATE - 1)) == 0) {
+                return this.profile(value);
+            }
+            final Matcher<T>[] operands = this.plan.operands;
+            if (this.conjunction) {
+                for (final Matcher<T> operand : operands) {
+                    if (!operand.matches(value)) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            for (final Matcher<T> operand : operands) {
+                if (operand.matches(value)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean profile(final T value) {
+            final Plan<T> plan = this.plan;
+            final boolean decisive = !this.conjunction;
+            boolean result = this.conjunction;
+            for (int i = 0; i < plan.operands.length; i++) {
+                final long start = System.nanoTime();
+                final boolean matches = plan.operands[i].matches(value);
+                plan.statistics[i].record(System.nanoTime() - start, matches == decisive);
+                if (matches == decisive) {
+                    result = decisive;
+                    break;
+                }
+            }
+            if (++this.samples % REORDER_INTERVAL == 0) {
+                this.plan = plan.reorder();
+            }
+            return result;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Junction)) {
+                return false;
+            }
+            final Junction<?> that = (Junction<?>) other;
+            return this.hashCode == that.hashCode && this.conjunction == that.conjunction
+                && new HashSet<>(Arrays.asList(this.plan.operands)).equals(new HashSet<>(Arrays.asList(that.plan.operands)));
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hashCode;
+        }
+
+        @Override
+        public String toString() {
+            return (this.conjunction ? "and" : "or") + Arrays.toString(this.plan.operands);
+        }
+    }
+
+    /**
+     * Immutable evaluation order of {@link Junction} operands with their statistics
+     *
+     * @param <T> type of input element to be matched by operation
+     */
+    private static final class Plan<T> implements Serializable {
+        private static final long serialVersionUID = 5204186330372458040L;
+
+        private final Matcher<T>[] operands;
+        private final Statistics[] statistics;
+
+        Plan(final Matcher<T>[] operands, final Statistics[] statistics) {
+            this.operands = operands;
+            this.statistics = statistics;
+        }
+
+        static Statistics[] newStatistics(int size) {
+            final Statistics[] statistics = new Statistics[size];
+            for (int i = 0; i < size; i++) {
+                statistics[i] = new Statistics();
+            }
+            return statistics;
+        }
+
+        Plan<T> reorder() {
+            final Integer[] order = new Integer[this.operands.length];
+            final double[] ranks = new double[this.operands.length];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+                ranks[i] = this.statistics[i].rank();
+                this.statistics[i].decay();
+            }
+            Arrays.sort(order, Comparator.comparingDouble(i -> ranks[i]));
+            final Matcher<T>[] operands = this.operands.clone();
+            final Statistics[] statistics = this.statistics.clone();
+            boolean changed = false;
+            for (int i = 0; i < order.length; i++) {
+                operands[i] = this.operands[order[i]];
+                statistics[i] = this.statistics[order[i]];
+                changed |= (order[i] != i);
+            }
+            return changed ? new Plan<>(operands, statistics) : this;
+        }
+    }
+
+    /**
+     * Sampled operand cost and short-circuit counters, updated without synchronization as estimates
+     */
+    private static final class Statistics implements Serializable {
+        private static final long serialVersionUID = 8802581372271497125L;
+
+        private long calls;
+        private long decisions;
+        private long nanos;
+
+        void record(long nanos, boolean decisive) {
+            this.calls++;
+            this.nanos += nanos;
+            if (decisive) {
+                this.decisions++;
+            }
+        }
+
+        /**
+         * Returns expected cost per short-circuit, operands never reached are ranked last
+         */
+        double rank() {
+            if (this.calls == 0) {
+                return Double.MAX_VALUE;
+            }
+            final double cost = (double) (this.nanos + 1) / this.calls;
+            final double probability = (this.decisions + 1.0) / (this.calls + 2.0);
+            return cost / probability;
+        }
+
+        void decay() {
+            this.calls >>= 1;
+            this.decisions >>= 1;
+            this.nanos >>= 1;
+        }
+    }
+}
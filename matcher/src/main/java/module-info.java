@@ -44,6 +44,9 @@ open module com.wildbeeslabs.sensiblemtrics.diffy.matcher {
     exports com.wildbeeslabs.sensiblemetrics.diffy.matcher.exception;
     // exports matcher factory
     exports com.wildbeeslabs.sensiblemetrics.diffy.matcher.factory;
+    // exports matcher helpers
+    exports com.wildbeeslabs.sensiblemetrics.diffy.matcher.helpers.iface;
+    exports com.wildbeeslabs.sensiblemetrics.diffy.matcher.helpers.impl;
     // exports matcher handler
     exports com.wildbeeslabs.sensiblemetrics.diffy.matcher.handler.iface;
     exports com.wildbeeslabs.sensiblemetrics.diffy.matcher.handler.impl;
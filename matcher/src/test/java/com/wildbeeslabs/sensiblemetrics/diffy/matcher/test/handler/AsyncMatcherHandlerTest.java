@@ -0,0 +1,229 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software andAll associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, andAll/or sell
+ * copies of the Software, andAll to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice andAll this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.matcher.test.handler;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.enumeration.MatcherModeType;
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.enumeration.MatcherStateEventType;
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.event.BaseMatcherEvent;
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.event.MatcherEvent;
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.handler.impl.AsyncMatcherHandler;
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.interfaces.Matcher;
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.listener.iface.MatcherEventListener;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * {@link AsyncMatcherHandler} unit test
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public class AsyncMatcherHandlerTest {
+
+    @Test
+    @DisplayName("Test events are delivered in publication order")
+    public void testSingleProducerOrder() {
+        // given
+        final List<Integer> delivered = Collections.synchronizedList(new ArrayList<>());
+        final TestMatcher matcher = new TestMatcher(MatcherModeType.STRICT, event -> delivered.add(event.getSource()));
+        final AsyncMatcherHandler<Integer, Integer> handler = new AsyncMatcherHandler<>(1 << 14);
+        final List<Integer> expected = new ArrayList<>();
+
+        // when
+        for (int i = 0; i < 10_000; i++) {
+            handler.handleEvent(this.event(i, matcher));
+            expected.add(i);
+        }
+        handler.close();
+
+        // then
+        assertThat(handler.getDroppedCount(), equalTo(0L));
+        assertThat(handler.getPendingCount(), equalTo(0L));
+        assertThat(delivered, equalTo(expected));
+    }
+
+    @Test
+    @DisplayName("Test events of each producer keep their order")
+    public void testMultipleProducersOrder() throws InterruptedException {
+        // given
+        final int producers = 4;
+        final int events = 5_000;
+        final List<Integer> delivered = Collections.synchronizedList(new ArrayList<>());
+        final TestMatcher matcher = new TestMatcher(MatcherModeType.STRICT, event -> delivered.add(event.getSource()));
+        final AsyncMatcherHandler<Integer, Integer> handler = new AsyncMatcherHandler<>(1 << 16);
+        final List<Thread> threads = new ArrayList<>();
+
+        // when
+        for (int p = 0; p < producers; p++) {
+            final int producer = p;
+            final Thread thread = new Thread(() -> {
+                for (int i = 0; i < events; i++) {
+                    handler.handleEvent(this.event(producer * 1_000_000 + i, matcher));
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        handler.close();
+
+        // then
+        assertThat(handler.getDroppedCount(), equalTo(0L));
+        assertThat(delivered.size(), equalTo(producers * events));
+        final int[] next = new int[producers];
+        for (final int source : delivered) {
+            final int producer = source / 1_000_000;
+            assertThat(source % 1_000_000, equalTo(next[producer]++));
+        }
+    }
+
+    @Test
+    @DisplayName("Test events are dropped when the buffer is full")
+    public void testFullBufferDropsEvents() throws InterruptedException {
+        // given
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<Integer> delivered = Collections.synchronizedList(new ArrayList<>());
+        final TestMatcher matcher = new TestMatcher(MatcherModeType.STRICT, event -> {
+            if (event.getSource() == 0) {
+                entered.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            delivered.add(event.getSource());
+        });
+        final AsyncMatcherHandler<Integer, Integer> handler = new AsyncMatcherHandler<>(3);
+
+        // when
+        handler.handleEvent(this.event(0, matcher));
+        assertThat(entered.await(5, TimeUnit.SECONDS), equalTo(true));
+        for (int i = 1; i <= 10; i++) {
+            handler.handleEvent(this.event(i, matcher));
+        }
+
+        // then
+        assertThat(handler.getPendingCount(), equalTo(4L));
+        assertThat(handler.getDroppedCount(), equalTo(6L));
+
+        // when
+        release.countDown();
+        handler.close();
+
+        // then
+        assertThat(delivered, contains(0, 1, 2, 3, 4));
+        assertThat(handler.getPendingCount(), equalTo(0L));
+    }
+
+    @Test
+    @DisplayName("Test handler ignores null, disabled and late events and survives listener errors")
+    public void testIgnoredEventsAndListenerErrors() {
+        // given
+        final List<Integer> delivered = Collections.synchronizedList(new ArrayList<>());
+        final TestMatcher enabled = new TestMatcher(MatcherModeType.STRICT, event -> {
+            if (event.getSource() == 1) {
+                throw new IllegalStateException("listener failure");
+            }
+            delivered.add(event.getSource());
+        });
+        final TestMatcher disabled = new TestMatcher(MatcherModeType.SILENT, event -> delivered.add(event.getSource()));
+        final AsyncMatcherHandler<Integer, Integer> handler = new AsyncMatcherHandler<>();
+
+        // when
+        handler.handleEvent(null);
+        handler.handleEvent(this.event(0, enabled));
+        handler.handleEvent(this.event(1, enabled));
+        handler.handleEvent(this.event(2, disabled));
+        handler.handleEvent(this.event(3, enabled));
+        handler.close();
+        handler.handleEvent(this.event(4, enabled));
+
+        // then
+        assertThat(delivered, contains(0, 3));
+        assertThat(handler.getDroppedCount(), equalTo(0L));
+        assertThat(handler.isListenerOnly(), equalTo(true));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    @DisplayName("Test handler rejects non-positive capacity")
+    public void testInvalidCapacity() {
+        new AsyncMatcherHandler<Integer, Integer>(0);
+    }
+
+    private BaseMatcherEvent<Integer, Integer> event(int source, final Matcher<Integer> matcher) {
+        return MatcherEvent.of(source, matcher, MatcherStateEventType.MATCH_SUCCESS);
+    }
+
+    /**
+     * Test {@link Matcher} with a single recording listener
+     */
+    private static class TestMatcher implements Matcher<Integer> {
+        private final MatcherModeType mode;
+        private final List<MatcherEventListener<Integer, Integer>> listeners;
+
+        TestMatcher(final MatcherModeType mode, final Consumer<BaseMatcherEvent<Integer, Integer>> consumer) {
+            this.mode = mode;
+            this.listeners = Collections.singletonList(new MatcherEventListener<>() {
+                @Override
+                public void onEvent(final BaseMatcherEvent<Integer, Integer> event) {
+                    consumer.accept(event);
+                }
+
+                @Override
+                public Collection<? extends MatcherEventListener<Integer, Integer>> getSupportedListeners() {
+                    return Collections.emptyList();
+                }
+            });
+        }
+
+        @Override
+        public boolean matches(final Integer value) {
+            return true;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <E extends MatcherEventListener<Integer, Integer>> List<E> getListeners() {
+            return (List<E>) this.listeners;
+        }
+
+        @Override
+        public MatcherModeType getMode() {
+            return this.mode;
+        }
+    }
+}
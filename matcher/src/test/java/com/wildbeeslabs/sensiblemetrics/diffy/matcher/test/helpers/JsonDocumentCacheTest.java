@@ -0,0 +1,148 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software andAll associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, andAll/or sell
+ * copies of the Software, andAll to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice andAll this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.matcher.test.helpers;
+
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.ReadContext;
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.helpers.impl.JsonDocumentCache;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * {@link JsonDocumentCache} unit test
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public class JsonDocumentCacheTest {
+
+    /**
+     * Default test json document
+     */
+    private static final String DOCUMENT = "{\"name\": \"diffy\", \"tags\": [\"a\", \"b\"], \"owner\": {\"id\": 1}}";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    @DisplayName("Test equal documents are read from independent copies of one parsed tree")
+    public void testEqualDocumentsAreCopied() throws IOException {
+        // given
+        final String copy = new String(DOCUMENT.toCharArray());
+
+        // when
+        final ReadContext first = JsonDocumentCache.parse(DOCUMENT);
+        final ReadContext second = JsonDocumentCache.parse(copy);
+
+        // then
+        assertThat(first, not(sameInstance(second)));
+        assertThat(second.json(), not(sameInstance(first.json())));
+        assertThat(second.json(), equalTo(first.json()));
+        assertThat(first.read("$.name"), equalTo("diffy"));
+        assertThat(second.read("$.owner.id"), equalTo(1));
+    }
+
+    @Test
+    @DisplayName("Test cached documents keep the json provider types")
+    public void testProviderTypesArePreserved() throws IOException {
+        // given
+        final ReadContext expected = JsonPath.parse(DOCUMENT);
+
+        // when
+        final ReadContext actual = JsonDocumentCache.parse(DOCUMENT);
+
+        // then
+        assertThat(actual.json().getClass(), equalTo(expected.json().getClass()));
+        assertThat(actual.json().toString(), equalTo(expected.json().toString()));
+        for (final String path : new String[]{"$.tags", "$.owner", "$.name"}) {
+            final Object expectedValue = expected.read(path);
+            final Object actualValue = actual.read(path);
+            assertThat(actualValue.getClass(), equalTo(expectedValue.getClass()));
+            assertThat(actualValue.toString(), equalTo(expectedValue.toString()));
+        }
+    }
+
+    @Test
+    @DisplayName("Test changes of read values are not seen by other lookups")
+    public void testReadValuesAreIsolated() throws IOException {
+        // given
+        final ReadContext context = JsonDocumentCache.parse(DOCUMENT);
+        final List<Object> tags = context.read("$.tags");
+        final Map<String, Object> owner = context.read("$.owner");
+
+        // when
+        tags.add("c");
+        owner.put("id", 2);
+
+        // then
+        assertThat(context.read("$.tags"), contains("a", "b", "c"));
+        assertThat(JsonDocumentCache.parse(DOCUMENT).read("$.tags"), contains("a", "b"));
+        assertThat(JsonDocumentCache.parse(DOCUMENT).read("$.owner.id"), equalTo(1));
+    }
+
+    @Test
+    @DisplayName("Test changes made through context are not seen by other lookups")
+    public void testContextChangesAreIsolated() throws IOException {
+        // given
+        final ReadContext context = JsonDocumentCache.parse(DOCUMENT);
+
+        // when
+        ((DocumentContext) context).set("$.name", "changed");
+
+        // then
+        assertThat(context.read("$.name"), equalTo("changed"));
+        assertThat(JsonDocumentCache.parse(DOCUMENT).read("$.name"), equalTo("diffy"));
+    }
+
+    @Test
+    @DisplayName("Test file documents are parsed on every call")
+    public void testFileDocumentsAreNotCached() throws IOException {
+        // given
+        final File file = this.folder.newFile("document.json");
+        Files.write(file.toPath(), DOCUMENT.getBytes(StandardCharsets.UTF_8));
+
+        // when
+        final ReadContext first = JsonDocumentCache.parse(file);
+        Files.write(file.toPath(), DOCUMENT.replace("diffy", "changed").getBytes(StandardCharsets.UTF_8));
+        final ReadContext second = JsonDocumentCache.parse(file);
+
+        // then
+        assertThat(first.read("$.name"), equalTo("diffy"));
+        assertThat(second.read("$.name"), equalTo("changed"));
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software andAll associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, andAll/or sell
+ * copies of the Software, andAll to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice andAll this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.matcher.test.helpers;
+
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.PathNotFoundException;
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.helpers.impl.JsonPathEvaluator;
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.interfaces.Matcher;
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.service.JsonPathsMatcher;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * {@link JsonPathEvaluator} unit test
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public class JsonPathEvaluatorTest {
+
+    /**
+     * Default test json document
+     */
+    private static final String DOCUMENT = "{"
+        + "\"store\": {"
+        + "  \"book\": ["
+        + "    {\"category\": \"reference\", \"author\": \"Nigel Rees\", \"title\": \"Sayings of the Century\", \"price\": 8.95},"
+        + "    {\"category\": \"fiction\", \"author\": \"Evelyn Waugh\", \"title\": \"Sword of Honour\", \"price\": 12.99},"
+        + "    {\"category\": \"fiction\", \"author\": \"Herman Melville\", \"title\": \"Moby Dick\", \"isbn\": \"0-553-21311-3\", \"price\": 8}"
+        + "  ],"
+        + "  \"bicycle\": {\"color\": \"red\", \"price\": 19.95, \"tags\": [\"fast\", null, true]}"
+        + "},"
+        + "\"expensive\": 10,"
+        + "\"empty\": {}"
+        + "}";
+
+    /**
+     * Default definite test paths
+     */
+    private static final String[] DEFINITE_PATHS = {
+        "$.store.book[0].title",
+        "$.store.book[1].price",
+        "$.store.book[2].price",
+        "$['store']['book'][2]['isbn']",
+        "$.store.book[0]",
+        "$.store.book",
+        "$.store.bicycle.color",
+        "$.store.bicycle.tags[1]",
+        "$.store.bicycle.tags[2]",
+        "$.expensive",
+        "$.empty",
+        "$"
+    };
+
+    /**
+     * Default indefinite test paths
+     */
+    private static final String[] INDEFINITE_PATHS = {
+        "$..author",
+        "$.store.book[*].price",
+        "$.store.book[?(@.price < 10)].title",
+        "$.store.*",
+        "$.store.book.length()"
+    };
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    @DisplayName("Test definite paths evaluate as JsonPath.read")
+    public void testDefinitePaths() throws IOException {
+        // given
+        final JsonPathEvaluator evaluator = new JsonPathEvaluator(this.compile(DEFINITE_PATHS));
+
+        // when
+        final Map<String, Object> values = evaluator.evaluate(DOCUMENT);
+
+        // then
+        assertThat(evaluator.getStreamingCount(), equalTo(DEFINITE_PATHS.length));
+        assertThat(values.size(), equalTo(DEFINITE_PATHS.length));
+        for (final String path : DEFINITE_PATHS) {
+            final JsonPath jsonPath = JsonPath.compile(path);
+            assertThat(path, values.get(jsonPath.getPath()), equalTo(jsonPath.read(DOCUMENT)));
+        }
+    }
+
+    @Test
+    @DisplayName("Test indefinite paths evaluate as JsonPath.read")
+    public void testIndefinitePaths() throws IOException {
+        // given
+        final List<String> paths = new ArrayList<>(Arrays.asList(INDEFINITE_PATHS));
+        paths.addAll(Arrays.asList(DEFINITE_PATHS));
+        final JsonPathEvaluator evaluator = new JsonPathEvaluator(this.compile(paths.toArray(new String[0])));
+
+        // when
+        final Map<String, Object> values = evaluator.evaluate(DOCUMENT);
+
+        // then
+        assertThat(evaluator.getStreamingCount(), equalTo(DEFINITE_PATHS.length));
+        for (final String path : paths) {
+            final JsonPath jsonPath = JsonPath.compile(path);
+            assertThat(path, values.get(jsonPath.getPath()), equalTo(jsonPath.read(DOCUMENT)));
+        }
+    }
+
+    @Test
+    @DisplayName("Test absent paths have no entry")
+    public void testAbsentPaths() throws IOException {
+        // given
+        final String[] absent = {"$.store.book[10].title", "$.missing", "$.store.bicycle.color.shade", "$.expensive[0]"};
+        final JsonPathEvaluator evaluator = new JsonPathEvaluator(this.compile(absent));
+
+        // when
+        final Map<String, Object> values = evaluator.evaluate(DOCUMENT);
+
+        // then
+        assertThat(values.isEmpty(), equalTo(true));
+        for (final String path : absent) {
+            try {
+                JsonPath.read(DOCUMENT, path);
+                assertThat(path + " should be absent", false);
+            } catch (PathNotFoundException e) {
+                // absent as expected
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test malformed content after resolved paths is reported")
+    public void testMalformedDocuments() {
+        // given
+        final JsonPathEvaluator evaluator = JsonPathEvaluator.of(JsonPath.compile("$.a"));
+        final String[] documents = {"{\"a\": 1, \"b\": [1, 2", "{\"a\": 1, \"b\": }", "{\"a\": 1} {\"a\": 2}", "{\"a\": 1} x", "", "   "};
+
+        for (final String document : documents) {
+            // when
+            boolean failed = false;
+            try {
+                evaluator.evaluate(document);
+            } catch (IOException e) {
+                failed = true;
+            }
+
+            // then
+            assertThat(document, failed, equalTo(true));
+        }
+    }
+
+    @Test
+    @DisplayName("Test file documents evaluate as strings")
+    public void testFileDocument() throws IOException {
+        // given
+        final File file = this.folder.newFile("document.json");
+        Files.write(file.toPath(), DOCUMENT.getBytes(StandardCharsets.UTF_8));
+        final JsonPathEvaluator evaluator = new JsonPathEvaluator(this.compile(DEFINITE_PATHS));
+
+        // when
+        final Map<String, Object> values = evaluator.evaluate(file);
+
+        // then
+        assertThat(values, equalTo(evaluator.evaluate(DOCUMENT)));
+    }
+
+    @Test
+    @DisplayName("Test unsupported inputs do not match")
+    public void testUnsupportedInputs() {
+        // given
+        final Map<String, Matcher<?>> matchers = new LinkedHashMap<>();
+        matchers.put("$.store.book[0].title", (Matcher<Object>) value -> Objects.equals(value, "Sayings of the Century"));
+        matchers.put("$..author", (Matcher<Object>) value -> ((List<?>) value).size() == 3);
+        final Matcher<Object> matcher = new JsonPathsMatcher<>(matchers);
+
+        // then
+        assertThat(JsonPathEvaluator.isSupported(DOCUMENT), equalTo(true));
+        assertThat(JsonPathEvaluator.isSupported(Collections.emptyMap()), equalTo(false));
+        assertThat(matcher.matches(DOCUMENT), equalTo(true));
+        assertThat(matcher.matches(Collections.singletonMap("store", "value")), equalTo(false));
+        assertThat(matcher.matches(42), equalTo(false));
+        assertThat(matcher.matches("{\"store\": {\"book\": [{\"title\": \"Sayings of the Century\"}]}, \"x\": ["), equalTo(false));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    @DisplayName("Test evaluator rejects unsupported documents")
+    public void testEvaluateUnsupportedDocument() throws IOException {
+        JsonPathEvaluator.of(JsonPath.compile("$.a")).evaluate(Collections.singletonMap("a", 1));
+    }
+
+    private List<JsonPath> compile(final String... paths) {
+        final List<JsonPath> result = new ArrayList<>();
+        for (final String path : paths) {
+            result.add(JsonPath.compile(path));
+        }
+        return result;
+    }
+}
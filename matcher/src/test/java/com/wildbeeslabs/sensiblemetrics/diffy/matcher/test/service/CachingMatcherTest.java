@@ -0,0 +1,152 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software andAll associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, andAll/or sell
+ * copies of the Software, andAll to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice andAll this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.matcher.test.service;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.common.cache.impl.ClockCache;
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.interfaces.Matcher;
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.service.CachingMatcher;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * {@link CachingMatcher} unit test
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public class CachingMatcherTest {
+
+    @Test
+    @DisplayName("Test matcher caches results in the given map")
+    public void testMatcherCachesInMap() {
+        // given
+        final AtomicInteger calls = new AtomicInteger();
+        final Matcher<Integer> matcher = value -> calls.incrementAndGet() > 0 && value % 2 == 0;
+        final ConcurrentMap<Integer, Boolean> map = new ConcurrentHashMap<>();
+        final CachingMatcher<Integer> cachingMatcher = new CachingMatcher<>(matcher, map);
+
+        // when
+        final boolean first = cachingMatcher.matches(2);
+        final boolean second = cachingMatcher.matches(2);
+
+        // then
+        assertThat(first, equalTo(true));
+        assertThat(second, equalTo(true));
+        assertThat(calls.get(), equalTo(1));
+        assertThat(map, hasEntry(2, true));
+        assertThat(cachingMatcher.getMap(), sameInstance(map));
+        assertThat(cachingMatcher.getCache().getHitCount(), equalTo(1L));
+    }
+
+    @Test
+    @DisplayName("Test bounded matcher keeps at most maximum size results")
+    public void testBoundedMatcher() {
+        // given
+        final AtomicInteger calls = new AtomicInteger();
+        final Matcher<Integer> matcher = value -> calls.incrementAndGet() > 0;
+        final CachingMatcher<Integer> cachingMatcher = new CachingMatcher.WithInlineEviction<>(matcher, 8);
+
+        // when
+        for (int i = 0; i < 100; i++) {
+            cachingMatcher.matches(i);
+        }
+
+        // then
+        assertThat(cachingMatcher.getCache(), instanceOf(ClockCache.class));
+        assertThat(cachingMatcher.getCache().size(), equalTo(8));
+        assertThat(cachingMatcher.getMap().size(), equalTo(8));
+        assertThat(calls.get(), equalTo(100));
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    @DisplayName("Test inline eviction matcher bounds the given map")
+    public void testInlineEvictionUsesGivenMap() {
+        // given
+        final Matcher<Integer> matcher = value -> value > 0;
+        final ConcurrentMap<Integer, Boolean> map = new ConcurrentHashMap<>();
+        final CachingMatcher<Integer> cachingMatcher = new CachingMatcher.WithInlineEviction<>(matcher, map, 4);
+
+        // when
+        for (int i = 0; i < 10; i++) {
+            cachingMatcher.matches(i);
+        }
+
+        // then
+        assertThat(map.size(), equalTo(4));
+        assertThat(cachingMatcher.getMap(), sameInstance(map));
+        assertThat(cachingMatcher.getCache().size(), equalTo(4));
+        assertThat(cachingMatcher.getCache().getEvictionCount(), equalTo(6L));
+    }
+
+    @Test
+    @DisplayName("Test subclass reads and updates results through the protected map")
+    public void testSubclassUsesMap() {
+        // given
+        final ConcurrentMap<Integer, Boolean> map = new ConcurrentHashMap<>();
+        final PrecomputedMatcher precomputed = new PrecomputedMatcher(map);
+        final PrecomputedMatcher bounded = new PrecomputedMatcher(8);
+
+        // when
+        precomputed.precompute(1);
+        bounded.precompute(1);
+
+        // then
+        assertThat(map, hasEntry(1, true));
+        assertThat(precomputed.matches(1), equalTo(true));
+        assertThat(precomputed.countEntries(), equalTo(1));
+        assertThat(bounded.matches(1), equalTo(true));
+        assertThat(bounded.getCache().getHitCount(), equalTo(1L));
+    }
+
+    /**
+     * {@link CachingMatcher} storing results through the protected map
+     */
+    private static class PrecomputedMatcher extends CachingMatcher<Integer> {
+
+        PrecomputedMatcher(final ConcurrentMap<Integer, Boolean> map) {
+            super(value -> value > 0, map);
+        }
+
+        PrecomputedMatcher(int maximumSize) {
+            super(value -> value > 0, new ClockCache<>(maximumSize));
+        }
+
+        void precompute(final Integer value) {
+            this.map.computeIfAbsent(value, v -> this.getMatcher().matches(v));
+        }
+
+        int countEntries() {
+            return this.map.entrySet().size();
+        }
+    }
+}
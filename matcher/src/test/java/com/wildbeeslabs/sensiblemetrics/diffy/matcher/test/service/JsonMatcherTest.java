@@ -0,0 +1,82 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software andAll associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, andAll/or sell
+ * copies of the Software, andAll to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice andAll this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.matcher.test.service;
+
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.ReadContext;
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.interfaces.Matcher;
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.service.JsonMatcher;
+import net.minidev.json.JSONArray;
+import net.minidev.json.JSONObject;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * {@link JsonMatcher} unit test
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public class JsonMatcherTest {
+
+    /**
+     * Default test json document
+     */
+    private static final String DOCUMENT = "{\"name\": \"diffy\", \"tags\": [\"a\", \"b\"], \"owner\": {\"id\": 1}}";
+
+    @Test
+    @DisplayName("Test matcher reads the same values from string documents as from a direct parse")
+    public void testMatcherReadsProviderTypes() {
+        // given
+        final ReadContext expected = JsonPath.parse(DOCUMENT);
+        final List<Object> values = new ArrayList<>();
+        final Matcher<ReadContext> reader = context -> {
+            values.add(context.read("$.tags"));
+            values.add(context.read("$.owner"));
+            return context.read("$.tags") instanceof JSONArray && context.read("$.owner") instanceof JSONObject;
+        };
+        final JsonMatcher<String> matcher = new JsonMatcher<>(reader);
+
+        // when
+        final boolean first = matcher.matches(DOCUMENT);
+        final boolean second = matcher.matches(DOCUMENT);
+
+        // then
+        assertThat(first, equalTo(true));
+        assertThat(second, equalTo(true));
+        assertThat(values, hasSize(4));
+        for (int i = 0; i < values.size(); i += 2) {
+            assertThat(values.get(i).toString(), equalTo(expected.read("$.tags").toString()));
+            assertThat(values.get(i + 1).toString(), equalTo(expected.read("$.owner").toString()));
+        }
+        assertThat(values.get(2), not(sameInstance(values.get(0))));
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software andAll associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, andAll/or sell
+ * copies of the Software, andAll to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice andAll this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.matcher.test.utils;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.interfaces.Matcher;
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.utils.BatchMatcherUtils;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntPredicate;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * {@link BatchMatcherUtils} unit test
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public class BatchMatcherUtilsTest {
+
+    /**
+     * Default input sizes around word boundaries and the parallel threshold
+     */
+    private static final int[] SIZES = {0, 1, 63, 64, 65, 128, 1000, BatchMatcherUtils.PARALLEL_THRESHOLD + 77};
+
+    @Test
+    @DisplayName("Test object bitsets match element by element")
+    public void testObjectBitsets() {
+        for (final int size : SIZES) {
+            // given
+            final Integer[] values = this.values(size);
+            final Matcher<Integer> matcher = value -> value % 3 == 0;
+            final BitSet expected = this.expected(size, i -> values[i] % 3 == 0);
+
+            // when
+            final long[] fromArray = BatchMatcherUtils.matches(values, matcher);
+            final long[] fromList = BatchMatcherUtils.matches(Arrays.asList(values), matcher);
+            final long[] fromLinkedList = BatchMatcherUtils.matches(new LinkedList<>(Arrays.asList(values)), matcher);
+
+            // then
+            assertThat(fromArray.length, equalTo((size + 63) / 64));
+            assertThat(BitSet.valueOf(fromArray), equalTo(expected));
+            assertThat(BitSet.valueOf(fromList), equalTo(expected));
+            assertThat(BitSet.valueOf(fromLinkedList), equalTo(expected));
+        }
+    }
+
+    @Test
+    @DisplayName("Test primitive column bitsets match element by element")
+    public void testPrimitiveBitsets() {
+        for (final int size : SIZES) {
+            // given
+            final Integer[] values = this.values(size);
+            final int[] ints = new int[size];
+            final long[] longs = new long[size];
+            final double[] doubles = new double[size];
+            for (int i = 0; i < size; i++) {
+                ints[i] = values[i];
+                longs[i] = values[i];
+                doubles[i] = values[i] / 10.0;
+            }
+            final BitSet expected = this.expected(size, i -> values[i] % 2 == 1);
+
+            // when
+            final long[] intBits = BatchMatcherUtils.matches(ints, value -> value % 2 == 1);
+            final long[] longBits = BatchMatcherUtils.matches(longs, value -> value % 2 == 1);
+            final long[] doubleBits = BatchMatcherUtils.matches(doubles, value -> Math.round(value * 10.0) % 2 == 1);
+
+            // then
+            assertThat(BitSet.valueOf(intBits), equalTo(expected));
+            assertThat(BitSet.valueOf(longBits), equalTo(expected));
+            assertThat(BitSet.valueOf(doubleBits), equalTo(expected));
+        }
+    }
+
+    @Test
+    @DisplayName("Test parallel evaluation visits every element once")
+    public void testParallelEvaluationVisitsEachElementOnce() {
+        // given
+        final int size = BatchMatcherUtils.PARALLEL_THRESHOLD * 4 + 5;
+        final int[] values = new int[size];
+        final AtomicInteger calls = new AtomicInteger();
+
+        // when
+        final long[] bits = BatchMatcherUtils.matches(values, value -> calls.incrementAndGet() > 0);
+
+        // then
+        assertThat(calls.get(), equalTo(size));
+        assertThat(BatchMatcherUtils.count(bits), equalTo(size));
+        assertThat(bits[bits.length - 1], equalTo((1L << 5) - 1));
+    }
+
+    @Test
+    @DisplayName("Test bitset queries and selection")
+    public void testBitsetQueries() {
+        // given
+        final List<String> values = new ArrayList<>();
+        for (int i = 0; i < 130; i++) {
+            values.add("v" + i);
+        }
+        final Matcher<String> matcher = value -> value.endsWith("0");
+
+        // when
+        final long[] bits = BatchMatcherUtils.matches(values, matcher);
+        final int[] indices = BatchMatcherUtils.indices(bits);
+
+        // then
+        assertThat(BatchMatcherUtils.count(bits), equalTo(13));
+        assertThat(indices.length, equalTo(13));
+        assertThat(indices[0], equalTo(0));
+        assertThat(indices[6], equalTo(60));
+        assertThat(indices[7], equalTo(70));
+        assertThat(indices[12], equalTo(120));
+        assertThat(BatchMatcherUtils.isMatched(bits, 70), equalTo(true));
+        assertThat(BatchMatcherUtils.isMatched(bits, 71), equalTo(false));
+        assertThat(BatchMatcherUtils.isMatched(bits, 128), equalTo(false));
+        assertThat(BatchMatcherUtils.select(values, bits), contains("v0", "v10", "v20", "v30", "v40", "v50", "v60", "v70", "v80", "v90", "v100", "v110", "v120"));
+        assertThat(BatchMatcherUtils.filter(values, matcher), equalTo(BatchMatcherUtils.select(values, bits)));
+        assertThat(BatchMatcherUtils.filter(values.toArray(new String[0]), matcher), equalTo(BatchMatcherUtils.select(values, bits)));
+    }
+
+    @Test
+    @DisplayName("Test empty input gives empty bitset")
+    public void testEmptyInput() {
+        // when
+        final long[] bits = BatchMatcherUtils.matches(new int[0], value -> true);
+
+        // then
+        assertThat(bits.length, equalTo(0));
+        assertThat(BatchMatcherUtils.count(bits), equalTo(0));
+        assertThat(BatchMatcherUtils.indices(bits).length, equalTo(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    @DisplayName("Test batch matching rejects null matcher")
+    public void testNullMatcher() {
+        BatchMatcherUtils.matches(new Integer[1], (Matcher<Integer>) null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    @DisplayName("Test bitset index query rejects null bits")
+    public void testIsMatchedNullBits() {
+        BatchMatcherUtils.isMatched(null, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    @DisplayName("Test bitset indices query rejects null bits")
+    public void testIndicesNullBits() {
+        BatchMatcherUtils.indices(null);
+    }
+
+    private Integer[] values(int size) {
+        final Random random = new Random(size);
+        final Integer[] values = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = random.nextInt(1000);
+        }
+        return values;
+    }
+
+    private BitSet expected(int size, final IntPredicate predicate) {
+        final BitSet expected = new BitSet(size);
+        for (int i = 0; i < size; i++) {
+            if (predicate.test(i)) {
+                expected.set(i);
+            }
+        }
+        return expected;
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software andAll associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, andAll/or sell
+ * copies of the Software, andAll to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice andAll this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.matcher.test.utils;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.interfaces.Matcher;
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.service.BooleanMatcher;
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.service.TrueMatcher;
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.utils.MatcherCompiler;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * {@link MatcherCompiler} unit test
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+@SuppressWarnings("unchecked")
+public class MatcherCompilerTest {
+
+    /**
+     * Default leaf {@link Matcher}s
+     */
+    private static final Matcher<Integer> EVEN = value -> value % 2 == 0;
+    private static final Matcher<Integer> POSITIVE = value -> value > 0;
+    private static final Matcher<Integer> SMALL = value -> Math.abs(value) < 10;
+    private static final Matcher<Integer> TRIPLE = value -> value % 3 == 0;
+    private static final Matcher<Integer>[] LEAVES = new Matcher[]{EVEN, POSITIVE, SMALL, TRIPLE};
+
+    @Test
+    @DisplayName("Test compiled matcher evaluates as the source expression")
+    public void testCompiledMatcherIsEquivalent() {
+        // given
+        final Random random = new Random(42);
+
+        for (int i = 0; i < 500; i++) {
+            // when
+            final Matcher<Integer> matcher = this.randomExpression(random, 5);
+            final Matcher<Integer> compiled = MatcherCompiler.compile(matcher);
+
+            // then
+            for (int value = -20; value <= 20; value++) {
+                assertThat(matcher + " on " + value, compiled.matches(value), equalTo(matcher.matches(value)));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test constant operands are folded")
+    public void testConstantFolding() {
+        // when
+        final Matcher<Integer> andTrue = MatcherCompiler.compile(EVEN.and((Matcher) TrueMatcher.INSTANCE));
+        final Matcher<Integer> orFalse = MatcherCompiler.compile(EVEN.or(new BooleanMatcher<>(false)));
+        final Matcher<Integer> orTrue = MatcherCompiler.compile(EVEN.or(Matcher.DEFAULT_TRUE_MATCHER));
+        final Matcher<Integer> andFalse = MatcherCompiler.compile(EVEN.and(Matcher.DEFAULT_FALSE_MATCHER));
+        final Matcher<Integer> notTrue = MatcherCompiler.compile(((Matcher<Integer>) (Matcher) TrueMatcher.INSTANCE).negate());
+
+        // then
+        assertThat(andTrue, sameInstance(EVEN));
+        assertThat(orFalse, sameInstance(EVEN));
+        assertThat(orTrue, sameInstance((Matcher) TrueMatcher.INSTANCE));
+        assertThat(andFalse, sameInstance(Matcher.DEFAULT_FALSE_MATCHER));
+        assertThat(notTrue, sameInstance(Matcher.DEFAULT_FALSE_MATCHER));
+    }
+
+    @Test
+    @DisplayName("Test negations, duplicates and complements are folded")
+    public void testAlgebraicFolding() {
+        // when
+        final Matcher<Integer> doubleNegation = MatcherCompiler.compile(EVEN.negate().negate());
+        final Matcher<Integer> duplicate = MatcherCompiler.compile(EVEN.and(EVEN).and(EVEN));
+        final Matcher<Integer> selfXor = MatcherCompiler.compile(EVEN.xor(EVEN));
+        final Matcher<Integer> contradiction = MatcherCompiler.compile(EVEN.and(POSITIVE).and(EVEN.negate()));
+        final Matcher<Integer> tautology = MatcherCompiler.compile(EVEN.or(EVEN.negate()));
+        final Matcher<Integer> xnor = MatcherCompiler.compile(EVEN.xnor(EVEN));
+
+        // then
+        assertThat(doubleNegation, sameInstance(EVEN));
+        assertThat(duplicate, sameInstance(EVEN));
+        assertThat(selfXor, sameInstance(Matcher.DEFAULT_FALSE_MATCHER));
+        assertThat(contradiction, sameInstance(Matcher.DEFAULT_FALSE_MATCHER));
+        assertThat(tautology, sameInstance((Matcher) TrueMatcher.INSTANCE));
+        assertThat(xnor, sameInstance((Matcher) TrueMatcher.INSTANCE));
+    }
+
+    @Test
+    @DisplayName("Test same-operator chains are flattened into one node")
+    public void testFlattening() {
+        // given
+        final Matcher<Integer>[] operands = new Matcher[10_000];
+        Matcher<Integer> chain = value -> value >= 0;
+        for (int i = 0; i < operands.length; i++) {
+            final int bound = i;
+            operands[i] = value -> value != -bound - 1;
+            chain = chain.and(operands[i]);
+        }
+
+        // when
+        final Matcher<Integer> compiled = MatcherCompiler.compile(chain);
+        final Matcher<Integer> nested = MatcherCompiler.compile(EVEN.and(POSITIVE.and(SMALL.and(TRIPLE))));
+
+        // then
+        assertThat(compiled.matches(5), equalTo(true));
+        assertThat(compiled.matches(-1), equalTo(false));
+        assertThat(nested.toString(), startsWith("and["));
+        assertThat(nested.toString().indexOf("and[", 1), equalTo(-1));
+        assertThat(nested.matches(6), equalTo(true));
+        assertThat(nested.matches(3), equalTo(false));
+    }
+
+    @Test
+    @DisplayName("Test default compilation keeps guarding operands first")
+    public void testDeclaredOrderIsKept() {
+        // given
+        final Matcher<String> guarded = ((Matcher<String>) Objects::nonNull).and(value -> value.isEmpty());
+        final Matcher<String> compiled = MatcherCompiler.compile(guarded);
+
+        // when
+        for (int i = 0; i < 10_000; i++) {
+            compiled.matches(i % 2 == 0 ? null : "value");
+        }
+
+        // then
+        assertThat(compiled.matches(null), equalTo(false));
+        assertThat(compiled.matches(""), equalTo(true));
+    }
+
+    @Test
+    @DisplayName("Test adaptive compilation moves cheap selective operands first")
+    public void testAdaptiveReordering() {
+        // given
+        final AtomicInteger expensiveCalls = new AtomicInteger();
+        final Matcher<Integer> expensive = value -> {
+            expensiveCalls.incrementAndGet();
+            long sum = 0;
+            for (int i = 0; i < 20_000; i++) {
+                sum += i ^ value;
+            }
+            return sum != 0;
+        };
+        final Matcher<Integer> selective = value -> value < 0;
+        final Matcher<Integer> compiled = MatcherCompiler.compile(expensive.and(selective), true);
+
+        // when
+        for (int i = 0; i < MatcherCompiler.SAMPLE_RATE * MatcherCompiler.REORDER_INTERVAL * 2; i++) {
+            assertThat(compiled.matches(i), equalTo(false));
+        }
+        expensiveCalls.set(0);
+        for (int i = 0; i < 1_000; i++) {
+            compiled.matches(i);
+        }
+
+        // then
+        assertThat(expensiveCalls.get(), equalTo(0));
+        assertThat(compiled.matches(-1), equalTo(true));
+        assertThat(MatcherCompiler.compile(expensive.and(selective)).matches(1), equalTo(false));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    @DisplayName("Test compiler rejects null matcher")
+    public void testNullMatcher() {
+        MatcherCompiler.compile(null);
+    }
+
+    private Matcher<Integer> randomExpression(final Random random, int depth) {
+        if (depth == 0 || random.nextInt(4) == 0) {
+            switch (random.nextInt(8)) {
+                case 0:
+                    return (Matcher) TrueMatcher.INSTANCE;
+                case 1:
+                    return new BooleanMatcher<>(random.nextBoolean());
+                default:
+                    return LEAVES[random.nextInt(LEAVES.length)];
+            }
+        }
+        final Matcher<Integer> left = this.randomExpression(random, depth - 1);
+        final Matcher<Integer> right = this.randomExpression(random, depth - 1);
+        switch (random.nextInt(7)) {
+            case 0:
+                return left.and(right);
+            case 1:
+                return left.or(right);
+            case 2:
+                return left.xor(right);
+            case 3:
+                return left.nand(right);
+            case 4:
+                return left.nor(right);
+            case 5:
+                return left.xnor(right);
+            default:
+                return left.negate();
+        }
+    }
+}
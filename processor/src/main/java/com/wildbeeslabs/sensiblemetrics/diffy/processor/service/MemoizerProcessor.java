@@ -23,8 +23,11 @@
  */
 package com.wildbeeslabs.sensiblemetrics.diffy.processor.service;
 
+import com.wildbeeslabs.sensiblemetrics.diffy.common.cache.impl.MapCache;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.cache.interfaces.ConcurrentCache;
 import com.wildbeeslabs.sensiblemetrics.diffy.common.exception.BadOperationException;
 import com.wildbeeslabs.sensiblemetrics.diffy.common.interfaces.Processor;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ValidationUtils;
 import com.wildbeeslabs.sensiblemetrics.diffy.processor.interfaces.ThrowingProcessor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
@@ -40,8 +43,10 @@ import java.util.concurrent.*;
  * be cached for future requests.
  * </p>
  * <p>
- * This is not a fully functional cache, there is no way of limiting or removing
- * results once they have been generated. However, it is possible to get the
+ * Results are kept in an unbounded map by default; a bounded {@link ConcurrentCache}
+ * (e.g. {@code ClockCache}) can be provided to limit them. Pending results bypass the
+ * cache admission policy, so concurrent callers always share one calculation per
+ * parameter until its result is evicted. It is possible to get the
  * implementation to regenerate the result for a given parameter, if an error
  * was thrown during the previous calculation, by setting the option during the
  * construction of the class. If this is not set the class will return the
@@ -62,7 +67,7 @@ import java.util.concurrent.*;
 @ToString
 public class MemoizerProcessor<I, O> implements ThrowingProcessor<I, O, BadOperationException> {
 
-    private final ConcurrentMap<I, Future<O>> cache = new ConcurrentHashMap<>();
+    private final ConcurrentCache<I, Future<O>> cache;
     private final Processor<I, O> computable;
     private final boolean recalculate;
 
@@ -94,8 +99,25 @@ public class MemoizerProcessor<I, O> implements ThrowingProcessor<I, O, BadOpera
      *                    subsequent calls if the previous call failed
      */
     public MemoizerProcessor(final Processor<I, O> computable, final boolean recalculate) {
+        this(computable, recalculate, new MapCache<>(new ConcurrentHashMap<>()));
+    }
+
+    /**
+     * <p>
+     * Constructs a MemoizerProcessor for the provided Computable calculation, storing
+     * results in the provided cache.
+     * </p>
+     *
+     * @param computable  the computation whose results should be memorized
+     * @param recalculate determines whether the computation should be recalculated on
+     *                    subsequent calls if the previous call failed
+     * @param cache       the cache to store results in
+     */
+    public MemoizerProcessor(final Processor<I, O> computable, final boolean recalculate, final ConcurrentCache<I, Future<O>> cache) {
+        ValidationUtils.notNull(cache, "Cache should not be null");
         this.computable = computable;
         this.recalculate = recalculate;
+        this.cache = cache;
     }
 
     /**
@@ -121,7 +143,7 @@ public class MemoizerProcessor<I, O> implements ThrowingProcessor<I, O, BadOpera
             if (future == null) {
                 final Callable<O> eval = () -> (O) this.computable.process(value);
                 final FutureTask<O> futureTask = new FutureTask<>(eval);
-                future = this.cache.putIfAbsent(value, futureTask);
+                future = this.cache.admitIfAbsent(value, futureTask);
                 if (Objects.isNull(future)) {
                     future = futureTask;
                     futureTask.run();
@@ -0,0 +1,79 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software andAll associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, andAll/or sell
+ * copies of the Software, andAll to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice andAll this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.processor.test.service;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.common.cache.impl.ClockCache;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.cache.interfaces.ConcurrentCache;
+import com.wildbeeslabs.sensiblemetrics.diffy.processor.service.MemoizerProcessor;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * {@link MemoizerProcessor} unit test
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public class MemoizerProcessorTest {
+
+    @Test
+    @DisplayName("Test processor memoizes results declined by cache admission")
+    public void testMemoizesInBoundedCache() throws Exception {
+        // given
+        final AtomicInteger calls = new AtomicInteger();
+        final ConcurrentCache<Integer, Future<Integer>> cache = new ClockCache<>(2);
+        final MemoizerProcessor<Integer, Integer> processor = new MemoizerProcessor<>(value -> {
+            calls.incrementAndGet();
+            return value * 2;
+        }, false, cache);
+        for (int i = 0; i < 5; i++) {
+            processor.processOrThrow(1);
+            processor.processOrThrow(2);
+        }
+        calls.set(0);
+
+        // when
+        final Integer first = processor.processOrThrow(3);
+        final Integer second = processor.processOrThrow(3);
+
+        // then
+        assertThat(first, equalTo(6));
+        assertThat(second, equalTo(6));
+        assertThat(calls.get(), equalTo(1));
+        assertThat(cache.size(), equalTo(2));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    @DisplayName("Test processor rejects null cache")
+    public void testNullCache() {
+        new MemoizerProcessor<Integer, Integer>(value -> value, false, null);
+    }
+}